@@ -28,9 +28,13 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionShortcut;
 import org.apache.geode.cache.query.QueryInvalidException;
 import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.Struct;
+import org.apache.geode.cache.query.data.Portfolio;
 import org.apache.geode.test.junit.categories.OQLQueryTest;
 import org.apache.geode.test.junit.rules.ServerStarterRule;
 import org.apache.geode.test.junit.runners.GeodeParamsRunner;
@@ -280,4 +284,30 @@ public class CompiledGroupBySelectIntegrationTest {
             .hasMessageContaining(
                 "Query contains group by columns not present in projected fields");
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void aggregatesShouldBeComputedForEachGroupInTheOrderOfTheGroupByColumns()
+      throws Exception {
+    Region<Integer, Portfolio> region = serverStarterRule.getCache().getRegion("portfolio");
+    for (int i = 10; i > 0; i--) {
+      region.put(i, new Portfolio(i));
+    }
+
+    SelectResults<Struct> results = (SelectResults<Struct>) queryService.newQuery(
+        "SELECT pf.status, COUNT(pf.ID), SUM(pf.ID), MIN(pf.ID), MAX(pf.ID) FROM " + SEPARATOR
+            + "portfolio pf GROUP BY pf.status")
+        .execute();
+    assertThat(results).extracting(Struct::getFieldValues).containsExactly(
+        new Object[] {"active", 5, 30, 2, 10}, new Object[] {"inactive", 5, 25, 1, 9});
+
+    results = (SelectResults<Struct>) queryService.newQuery(
+        "SELECT pf.status, pf.type, COUNT(pf.ID) FROM " + SEPARATOR
+            + "portfolio pf WHERE pf.ID > 1 GROUP BY pf.status, pf.type")
+        .execute();
+    assertThat(results).extracting(Struct::getFieldValues).containsExactly(
+        new Object[] {"active", "type0", 1}, new Object[] {"active", "type1", 2},
+        new Object[] {"active", "type2", 2}, new Object[] {"inactive", "type0", 2},
+        new Object[] {"inactive", "type1", 1}, new Object[] {"inactive", "type2", 1});
+  }
 }
@@ -26,7 +26,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -534,8 +533,7 @@ public class CompactRangeIndexJUnitTest {
 
   private Object getValuesFromMap(String key) {
     MemoryIndexStore ind = (MemoryIndexStore) ((CompactRangeIndex) index).getIndexStorage();
-    Map map = ind.valueToEntriesMap;
-    Object entryValue = map.get(key);
+    Object entryValue = ind.valueToEntriesMap.get(key);
     return entryValue;
   }
 
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.partitioned;
+
+import static org.apache.geode.cache.Region.SEPARATOR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.Struct;
+import org.apache.geode.cache.query.data.PortfolioData;
+import org.apache.geode.internal.cache.PRQueryProcessor;
+import org.apache.geode.internal.cache.PartitionedRegionTestHelper;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+
+/**
+ * Verifies the results of queries whose local buckets are scanned by several threads.
+ */
+@Category({OQLQueryTest.class})
+public class PRQueryParallelScanJUnitTest {
+  private static final int SIZE = 500;
+
+  private Region<Integer, PortfolioData> region;
+
+  @Before
+  public void setUp() {
+    PRQueryProcessor.TEST_MAX_PARALLELISM = 4;
+    region = PartitionedRegionTestHelper.createPartitionedRegion("portfolios", "100", 0);
+    for (int i = 0; i < SIZE; i++) {
+      region.put(i, new PortfolioData(i));
+    }
+  }
+
+  @After
+  public void tearDown() {
+    PRQueryProcessor.TEST_MAX_PARALLELISM = 0;
+    region.close();
+  }
+
+  private SelectResults<?> execute(String queryString) throws Exception {
+    return (SelectResults<?>) region.getCache().getQueryService()
+        .newQuery(queryString.replace("$region", SEPARATOR + region.getName())).execute();
+  }
+
+  @Test
+  public void selectReturnsEntriesOfAllBuckets() throws Exception {
+    assertThat(execute("SELECT * FROM $region p WHERE p.ID >= 100").size())
+        .isEqualTo(SIZE - 100);
+  }
+
+  @Test
+  public void orderByResultsAreMergedInOrder() throws Exception {
+    List<?> ids = execute("SELECT DISTINCT p.ID FROM $region p WHERE p.ID < 300 ORDER BY p.ID DESC")
+        .asList();
+
+    assertThat(ids).hasSize(300);
+    assertThat(ids.get(0)).isEqualTo(299);
+    assertThat(ids.get(299)).isEqualTo(0);
+    for (int i = 1; i < ids.size(); i++) {
+      assertThat((Integer) ids.get(i)).isLessThan((Integer) ids.get(i - 1));
+    }
+  }
+
+  @Test
+  public void orderByWithLimitReturnsTopEntries() throws Exception {
+    assertThat(execute("SELECT DISTINCT p.ID FROM $region p ORDER BY p.ID LIMIT 5").asList())
+        .containsExactly(0, 1, 2, 3, 4);
+  }
+
+  @Test
+  public void limitIsAppliedAcrossBuckets() throws Exception {
+    assertThat(execute("SELECT * FROM $region p LIMIT 7").size()).isEqualTo(7);
+  }
+
+  @Test
+  public void countIsSummedAcrossBuckets() throws Exception {
+    assertThat(execute("SELECT COUNT(*) FROM $region p WHERE p.status = 'active'").asList())
+        .containsExactly(SIZE / 2);
+  }
+
+  @Test
+  public void distinctValuesAreNotRepeatedAcrossBuckets() throws Exception {
+    assertThat(execute("SELECT DISTINCT p.status FROM $region p").asList())
+        .containsExactlyInAnyOrder("active", "inactive");
+  }
+
+  @Test
+  public void groupByAggregatesAcrossBuckets() throws Exception {
+    List<?> groups =
+        execute("SELECT p.status, COUNT(*) FROM $region p GROUP BY p.status").asList();
+
+    assertThat(groups).hasSize(2);
+    for (Object group : groups) {
+      assertThat(((Struct) group).getFieldValues()[1]).isEqualTo(SIZE / 2);
+    }
+  }
+}
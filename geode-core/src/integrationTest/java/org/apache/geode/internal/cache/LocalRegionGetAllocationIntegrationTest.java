@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+/**
+ * Checks that a get of an entry held by a local region allocates nothing once the JIT has
+ * compiled it, like {@code GetOnRegionBenchmark.getExistingEntry} does with the JMH GC profiler.
+ */
+public class LocalRegionGetAllocationIntegrationTest {
+  private static final int ENTRIES = 1000;
+  private static final int WARMUP_GETS = 1_000_000;
+  private static final int MEASURED_GETS = 100_000;
+
+  private Cache cache;
+  private Region<String, String> region;
+  private String[] keys;
+
+  @Before
+  public void setUp() {
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    region = cache.<String, String>createRegionFactory(RegionShortcut.LOCAL).create("region");
+    keys = new String[ENTRIES];
+    for (int i = 0; i < ENTRIES; i++) {
+      keys[i] = Integer.toString(i);
+      region.put(keys[i], "value");
+    }
+  }
+
+  @After
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Test
+  public void getOfExistingEntryDoesNotAllocate() {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+    long threadId = Thread.currentThread().getId();
+
+    assertThat(getExistingEntries(WARMUP_GETS)).isEqualTo(WARMUP_GETS);
+    long before = threads.getThreadAllocatedBytes(threadId);
+    int hits = getExistingEntries(MEASURED_GETS);
+    long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+    assertThat(hits).isEqualTo(MEASURED_GETS);
+    // less than a byte per get leaves room for the measurement itself but not for any object
+    assertThat(allocated).isLessThan(MEASURED_GETS);
+  }
+
+  private int getExistingEntries(int count) {
+    int hits = 0;
+    for (int i = 0; i < count; i++) {
+      if (region.get(keys[i % ENTRIES]) != null) {
+        hits++;
+      }
+    }
+    return hits;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.distributed.ConfigurationProperties;
+import org.apache.geode.internal.lang.SystemUtils;
+
+public class OplogMappedReadIntegrationTest {
+  private static final String DISK_STORE_NAME = "testDiskStore";
+  private static final String REGION_NAME = "testRegion";
+  private static final int VALUE_SIZE = 10 * 1024;
+  private static final int NUM_ENTRIES = 400;
+
+  @Rule
+  public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  private Cache cache;
+  private Region<Integer, byte[]> region;
+  private DiskStoreImpl diskStore;
+  private DiskStoreStats stats;
+
+  @Before
+  public void setUp() throws Exception {
+    assumeFalse(SystemUtils.isWindows());
+    System.setProperty(DiskStoreImpl.MAP_SEALED_OPLOGS_PROPERTY_NAME, "true");
+
+    cache = new CacheFactory().set(ConfigurationProperties.MCAST_PORT, "0").create();
+    diskStore = (DiskStoreImpl) cache.createDiskStoreFactory()
+        .setDiskDirs(new File[] {temporaryDirectory.newFolder()}).setMaxOplogSize(1)
+        .setAutoCompact(false).setAllowForceCompaction(true).create(DISK_STORE_NAME);
+    stats = diskStore.getStats();
+    region = cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+        .setDiskStoreName(DISK_STORE_NAME)
+        .setEvictionAttributes(
+            EvictionAttributes.createLRUEntryAttributes(1, EvictionAction.OVERFLOW_TO_DISK))
+        .create(REGION_NAME);
+
+    for (int i = 0; i < NUM_ENTRIES; i++) {
+      region.put(i, value(i));
+    }
+  }
+
+  @After
+  public void tearDown() {
+    if (cache != null && !cache.isClosed()) {
+      cache.close();
+    }
+  }
+
+  private static byte[] value(int key) {
+    byte[] value = new byte[VALUE_SIZE];
+    Arrays.fill(value, (byte) key);
+    return value;
+  }
+
+  @Test
+  public void valuesInSealedOplogsAreReadFromMapping() {
+    long oplogReads = stats.getOplogReads();
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(region.get(i)).isEqualTo(value(i));
+    }
+
+    assertThat(stats.getMappedOplogReads()).isEqualTo(10);
+    assertThat(stats.getMappedOplogs()).isEqualTo(1);
+    assertThat(stats.getOplogReads()).isEqualTo(oplogReads);
+  }
+
+  @Test
+  public void mappingIsDroppedWhenOplogIsDeleted() {
+    assertThat(region.get(0)).isEqualTo(value(0));
+    assertThat(stats.getMappedOplogs()).isEqualTo(1);
+
+    for (int i = 0; i < NUM_ENTRIES - 1; i++) {
+      region.destroy(i);
+    }
+    diskStore.forceCompaction();
+
+    await().untilAsserted(() -> assertThat(stats.getMappedOplogs()).isZero());
+    assertThat(region.get(NUM_ENTRIES - 1)).isEqualTo(value(NUM_ENTRIES - 1));
+  }
+}
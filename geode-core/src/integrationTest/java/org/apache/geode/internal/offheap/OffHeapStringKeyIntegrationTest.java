@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.distributed.ConfigurationProperties.OFF_HEAP_MEMORY_SIZE;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.test.junit.categories.OffHeapTest;
+
+@Category({OffHeapTest.class})
+public class OffHeapStringKeyIntegrationTest {
+  private static final int THREADS = 8;
+  private static final int KEYS = 2_000;
+
+  private InternalCache cache;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    OffHeapStringKeyHelper.OFF_HEAP_STRING_KEYS = true;
+    Properties props = new Properties();
+    props.setProperty(LOCATORS, "");
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(OFF_HEAP_MEMORY_SIZE, "20m");
+    cache = (InternalCache) new CacheFactory(props).create();
+  }
+
+  @After
+  public void tearDown() {
+    OffHeapStringKeyHelper.OFF_HEAP_STRING_KEYS = false;
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+    if (cache != null) {
+      cache.close();
+    }
+    MemoryAllocatorImpl.freeOffHeapMemory();
+  }
+
+  private static String key(int i) {
+    return "a key that is too long to be inlined " + i;
+  }
+
+  @Test
+  public void concurrentCreatesDoNotOrphanKeys() throws Exception {
+    Region<String, String> region =
+        cache.<String, String>createRegionFactory(RegionShortcut.LOCAL).setOffHeap(true)
+            .create("region");
+    MemoryAllocator ma = cache.getOffHeapStore();
+    CyclicBarrier barrier = new CyclicBarrier(THREADS);
+    executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final boolean removes = t % 2 == 0;
+      futures.add(executor.submit(() -> {
+        barrier.await();
+        for (int i = 0; i < KEYS; i++) {
+          region.putIfAbsent(key(i), "value");
+          if (removes && i % 3 == 0) {
+            region.remove(key(i));
+          }
+        }
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+
+    String liveKey = key(1);
+    region.put(liveKey, "value");
+    assertThat(((LocalRegion) region).getRegionEntry(liveKey).getClass().getSimpleName())
+        .endsWith("StoredStringKey");
+    assertThat(region.get(liveKey)).isEqualTo("value");
+    assertThat(ma.getUsedMemory()).isGreaterThan(0);
+    assertThat(((MemoryAllocatorImpl) ma).getLostChunks(cache)).isEmpty();
+    assertThat(((MemoryAllocatorImpl) ma).getOrphans(cache)).isEmpty();
+
+    region.localDestroyRegion();
+
+    await().untilAsserted(() -> assertThat(ma.getUsedMemory()).isZero());
+  }
+}
@@ -25,12 +25,16 @@ import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.util.internal.GeodeGlossary;
+
 /**
  * This benchmark measures the raw throughput of create actions on a region
  */
@@ -38,23 +42,37 @@ import org.openjdk.jmh.annotations.Warmup;
 @Fork(1)
 public class CreateOnRegionBenchmark {
 
+  private static final String PRIMITIVE_KEY_REGION_MAP_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + SystemPropertyHelper.PRIMITIVE_KEY_REGION_MAP;
+
+  /**
+   * Whether the region with Long keys keeps its entries in a PrimitiveKeyConcurrentHashMap
+   */
+  @Param({"false", "true"})
+  public boolean primitiveKeyRegionMap;
+
   Cache cache;
   Region<String, String> region;
+  Region<Long, String> longKeyRegion;
 
   @Setup(Level.Trial)
   public void setup() {
+    System.setProperty(PRIMITIVE_KEY_REGION_MAP_PROPERTY, Boolean.toString(primitiveKeyRegionMap));
     cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
     region = createRegion(cache);
+    longKeyRegion = createLongKeyRegion(cache);
   }
 
   @TearDown(Level.Trial)
   public void tearDown() {
     cache.close();
+    System.clearProperty(PRIMITIVE_KEY_REGION_MAP_PROPERTY);
   }
 
   @State(Scope.Thread)
   public static class MyState {
     int nextKey;
+    long nextLongKey;
   }
 
   @Benchmark
@@ -66,9 +84,23 @@ public class CreateOnRegionBenchmark {
     return region.put(Integer.toString(state.nextKey++), "value");
   }
 
+  @Benchmark
+  @Measurement(iterations = 50)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String createEntryWithLongKey(MyState state) {
+    return longKeyRegion.put(state.nextLongKey++, "value");
+  }
+
   private Region<String, String> createRegion(Cache cache) {
     Region<String, String> region =
         cache.<String, String>createRegionFactory(RegionShortcut.LOCAL).create("testRegion");
     return region;
   }
+
+  private Region<Long, String> createLongKeyRegion(Cache cache) {
+    return cache.<Long, String>createRegionFactory(RegionShortcut.LOCAL)
+        .setKeyConstraint(Long.class).create("longKeyRegion");
+  }
 }
@@ -16,9 +16,11 @@ package org.apache.geode.cache;
 
 import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -41,8 +43,14 @@ import org.apache.geode.internal.lang.SystemPropertyHelper;
 public class EvictionMultiThreadedPerformanceBenchmark {
   private static final int MAX_ENTRIES = 1_000_000;
 
-  @Param({"true", "false"})
-  public String useAsync;
+  /** The skewed benchmarks get keys from a key space twice as large as the region can hold. */
+  private static final int KEY_SPACE = MAX_ENTRIES * 2;
+
+  /** The share of the key space that gets most of the requests of the skewed benchmarks. */
+  private static final int HOT_KEYS = KEY_SPACE / 5;
+
+  @Param({"async", "sync", "striped"})
+  public String evictionList;
 
   Cache cache;
   Region<String, String> region;
@@ -50,7 +58,13 @@ public class EvictionMultiThreadedPerformanceBenchmark {
 
   @Setup(Level.Trial)
   public void setup() {
-    System.setProperty("geode." + SystemPropertyHelper.EVICTION_SCAN_ASYNC, useAsync);
+    System.setProperty("geode." + SystemPropertyHelper.EVICTION_SCAN_ASYNC,
+        Boolean.toString(!evictionList.equals("sync")));
+    if (evictionList.equals("striped")) {
+      System.setProperty("geode." + SystemPropertyHelper.EVICTION_STRIPED_LRU_REGIONS, "*");
+    } else {
+      System.clearProperty("geode." + SystemPropertyHelper.EVICTION_STRIPED_LRU_REGIONS);
+    }
     cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
     region = createRegion(cache, MAX_ENTRIES);
   }
@@ -115,6 +129,58 @@ public class EvictionMultiThreadedPerformanceBenchmark {
     return region.put(key, "value");
   }
 
+  @Benchmark
+  @Measurement(time = 5, iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(4)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String skewedGetOrPut4Threads(HitCounters counters) {
+    return getOrPut(counters);
+  }
+
+  @Benchmark
+  @Measurement(time = 5, iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(16)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String skewedGetOrPut16Threads(HitCounters counters) {
+    return getOrPut(counters);
+  }
+
+  /**
+   * Gets a key, most often one of the hot keys, and puts it if it is missing, as a cache in front
+   * of a slower store would. The hits and misses counted measure the hit ratio of the eviction
+   * list.
+   */
+  private String getOrPut(HitCounters counters) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int key = random.nextInt(5) < 4 ? random.nextInt(HOT_KEYS)
+        : HOT_KEYS + random.nextInt(KEY_SPACE - HOT_KEYS);
+    String keyString = Integer.toString(key);
+    String value = region.get(keyString);
+    if (value != null) {
+      counters.hits++;
+      return value;
+    }
+    counters.misses++;
+    return region.put(keyString, "value");
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class HitCounters {
+    public long hits;
+    public long misses;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      hits = 0;
+      misses = 0;
+    }
+  }
+
   private Region<String, String> createRegion(Cache cache, int maxSize) {
     Region<String, String> region = cache.<String, String>createRegionFactory(RegionShortcut.LOCAL)
         .setEvictionAttributes(
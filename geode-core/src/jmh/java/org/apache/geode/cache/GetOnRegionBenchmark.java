@@ -26,32 +26,57 @@ import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.util.internal.GeodeGlossary;
+
 /**
  * This benchmark measures the raw throughput of get actions on a region
+ *
+ * <p>
+ * {@link #getExistingEntry(MyState)} uses keys created during setup so that the allocation rate
+ * reported by the GC profiler is that of the get itself. Run it with {@code -Pjmh.profilers=gc}
+ * and check that {@code gc.alloc.rate.norm} stays near 0 B/op.
+ * LocalRegionGetAllocationIntegrationTest checks the same with the allocated bytes of its thread.
  */
 @State(Scope.Thread)
 @Fork(1)
 public class GetOnRegionBenchmark {
   private static final int ENTRIES = 1_000_000;
 
+  private static final String PRIMITIVE_KEY_REGION_MAP_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + SystemPropertyHelper.PRIMITIVE_KEY_REGION_MAP;
+
+  /**
+   * Whether the region with Long keys keeps its entries in a PrimitiveKeyConcurrentHashMap
+   */
+  @Param({"false", "true"})
+  public boolean primitiveKeyRegionMap;
+
   Cache cache;
   Region<String, String> region;
+  String[] keys;
+  Region<Long, String> longKeyRegion;
 
   @Setup(Level.Trial)
   public void setup() {
+    System.setProperty(PRIMITIVE_KEY_REGION_MAP_PROPERTY, Boolean.toString(primitiveKeyRegionMap));
     cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
     region = createRegion(cache);
+    keys = createKeys();
+    longKeyRegion = createLongKeyRegion(cache);
   }
 
   @TearDown(Level.Trial)
   public void tearDown() {
     cache.close();
+    System.clearProperty(PRIMITIVE_KEY_REGION_MAP_PROPERTY);
   }
 
   @State(Scope.Thread)
@@ -69,6 +94,24 @@ public class GetOnRegionBenchmark {
     return region.get(key);
   }
 
+  @Benchmark
+  @Measurement(iterations = 50)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String getExistingEntry(MyState state) {
+    return region.get(keys[state.random.nextInt(ENTRIES)]);
+  }
+
+  @Benchmark
+  @Measurement(iterations = 50)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String getWithLongKey(MyState state) {
+    return longKeyRegion.get((long) state.random.nextInt(ENTRIES));
+  }
+
   private Region<String, String> createRegion(Cache cache) {
     Region<String, String> region =
         cache.<String, String>createRegionFactory(RegionShortcut.LOCAL).create("testRegion");
@@ -77,4 +120,21 @@ public class GetOnRegionBenchmark {
     }
     return region;
   }
+
+  private String[] createKeys() {
+    String[] keys = new String[ENTRIES];
+    for (int i = 0; i < ENTRIES; i++) {
+      keys[i] = Integer.toString(i);
+    }
+    return keys;
+  }
+
+  private Region<Long, String> createLongKeyRegion(Cache cache) {
+    Region<Long, String> region = cache.<Long, String>createRegionFactory(RegionShortcut.LOCAL)
+        .setKeyConstraint(Long.class).create("longKeyRegion");
+    for (long i = 0; i < ENTRIES; i++) {
+      region.put(i, "value");
+    }
+    return region;
+  }
 }
@@ -22,6 +22,7 @@ import java.util.stream.IntStream;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -34,6 +35,7 @@ import org.apache.geode.cache.query.QueryInvocationTargetException;
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.TypeMismatchException;
 import org.apache.geode.cache.query.internal.index.AbstractIndex;
+import org.apache.geode.cache.query.internal.index.IndexManager;
 
 @Fork(3)
 public class RangeQueryWithIndexBenchmark {
@@ -43,10 +45,16 @@ public class RangeQueryWithIndexBenchmark {
     private Region region;
     private Query query;
 
+    @Param({"false", "true"})
+    public boolean primitiveKeys;
+
     public CacheState() {}
 
     @Setup
     public void setup() {
+      if (primitiveKeys) {
+        System.setProperty(IndexManager.PRIMITIVE_KEY_INDEXES_PROPERTY, "Status");
+      }
       Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
 
       region = cache.createRegionFactory(RegionShortcut.REPLICATE).create("region");
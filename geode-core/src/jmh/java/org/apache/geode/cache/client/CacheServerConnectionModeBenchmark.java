@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.server.CacheServer;
+
+/**
+ * This benchmark compares the throughput of client gets against a cache server running in thread
+ * per connection, selector and virtual thread mode while the server also holds a large number of
+ * idle client connections. The server is started in a separate JVM so that the client pool and the
+ * cache server do not share a cache.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class CacheServerConnectionModeBenchmark {
+  private static final int ENTRIES = 10_000;
+  private static final String REGION_NAME = "testRegion";
+
+  public enum ServerMode {
+    THREAD_PER_CONNECTION, SELECTOR, VIRTUAL_THREADS
+  }
+
+  @Param({"THREAD_PER_CONNECTION", "SELECTOR", "VIRTUAL_THREADS"})
+  public ServerMode serverMode;
+
+  @Param({"1000"})
+  public int idleConnections;
+
+  private Process server;
+  private ClientCache clientCache;
+  private Region<Integer, String> region;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add("-DBridgeServer.VIRTUAL_THREADS=" + (serverMode == ServerMode.VIRTUAL_THREADS));
+    command.add(Server.class.getName());
+    command.add(serverMode == ServerMode.SELECTOR ? "16" : "0");
+    command.add(Integer.toString(idleConnections + 100));
+    server = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(server.getInputStream(), UTF_8));
+    int port = -1;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.startsWith(Server.PORT_PREFIX)) {
+        port = Integer.parseInt(line.substring(Server.PORT_PREFIX.length()));
+        break;
+      }
+    }
+    if (port < 0) {
+      throw new IllegalStateException("Cache server did not start");
+    }
+
+    clientCache = new ClientCacheFactory().set(LOG_LEVEL, "warn")
+        .addPoolServer("localhost", port)
+        .setPoolMinConnections(idleConnections)
+        .setPoolMaxConnections(-1)
+        .setPoolIdleTimeout(-1)
+        .create();
+    region = clientCache.<Integer, String>createClientRegionFactory(ClientRegionShortcut.PROXY)
+        .create(REGION_NAME);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    clientCache.close();
+    server.getOutputStream().close();
+    server.waitFor(1, TimeUnit.MINUTES);
+    server.destroyForcibly();
+  }
+
+  @State(Scope.Thread)
+  public static class MyState {
+    Random random = new Random();
+  }
+
+  @Benchmark
+  @Threads(32)
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String get(MyState state) {
+    return region.get(state.random.nextInt(ENTRIES));
+  }
+
+  /**
+   * Starts a cache server with the given max-threads and max-connections, prints its port and runs
+   * until its standard input is closed.
+   */
+  public static class Server {
+    static final String PORT_PREFIX = "CACHE_SERVER_PORT=";
+
+    public static void main(String[] args) throws Exception {
+      Cache cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+      Region<Integer, String> region =
+          cache.<Integer, String>createRegionFactory(RegionShortcut.REPLICATE)
+              .create(REGION_NAME);
+      for (int i = 0; i < ENTRIES; i++) {
+        region.put(i, "value" + i);
+      }
+
+      CacheServer cacheServer = cache.addCacheServer();
+      cacheServer.setPort(0);
+      cacheServer.setMaxThreads(Integer.parseInt(args[0]));
+      cacheServer.setMaxConnections(Integer.parseInt(args[1]));
+      cacheServer.start();
+      System.out.println(PORT_PREFIX + cacheServer.getPort());
+      System.out.flush();
+
+      while (System.in.read() != -1) {
+        // wait for the benchmark to close our input
+      }
+      cache.close();
+    }
+  }
+}
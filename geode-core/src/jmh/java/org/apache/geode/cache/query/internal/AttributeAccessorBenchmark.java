@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading an attribute through {@link Method#invoke} with reading it through the accessor
+ * generated by {@link MethodAccessors}, over objects of a single class as a query over a region
+ * would visit them.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AttributeAccessorBenchmark {
+  private static final int OBJECT_COUNT = 1000;
+
+  private Position[] positions;
+  private Method method;
+  private Function<Object, Object> accessor;
+
+  @Setup
+  public void setup() throws NoSuchMethodException {
+    positions = new Position[OBJECT_COUNT];
+    for (int i = 0; i < OBJECT_COUNT; i++) {
+      positions[i] = new Position(i);
+    }
+    method = Position.class.getMethod("getMarketValue");
+    method.setAccessible(true);
+    accessor = MethodAccessors.getAccessor(method);
+    if (accessor == null) {
+      throw new IllegalStateException("No accessor generated for " + method);
+    }
+  }
+
+  @Benchmark
+  public double reflection() throws Exception {
+    double sum = 0;
+    for (Position position : positions) {
+      sum += (Double) method.invoke(position, (Object[]) null);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double generatedAccessor() {
+    double sum = 0;
+    for (Position position : positions) {
+      sum += (Double) accessor.apply(position);
+    }
+    return sum;
+  }
+
+  public static class Position {
+    private final double marketValue;
+
+    public Position(double marketValue) {
+      this.marketValue = marketValue;
+    }
+
+    public double getMarketValue() {
+      return marketValue;
+    }
+  }
+}
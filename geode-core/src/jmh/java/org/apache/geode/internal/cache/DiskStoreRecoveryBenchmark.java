@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.PartitionAttributesFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+/**
+ * This benchmark measures how long it takes to recover a persistent partitioned region whose data
+ * is spread over many small oplogs, with and without reading the oplog files ahead of their replay.
+ * Values are not recovered so that the time is spent replaying the drf and krf files.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DiskStoreRecoveryBenchmark {
+  private static final String DISK_STORE_NAME = "recoveryDiskStore";
+  private static final String REGION_NAME = "recoveryRegion";
+
+  @Param({"0", "4"})
+  public int prefetchThreads;
+
+  @Param({"200000"})
+  public int entries;
+
+  @Param({"512"})
+  public int valueSize;
+
+  private File diskDir;
+  private Cache cache;
+
+  @Setup(Level.Trial)
+  public void createDiskStore() throws Exception {
+    System.setProperty(DiskStoreImpl.RECOVER_VALUE_PROPERTY_NAME, "false");
+    System.setProperty(RecoveryPrefetcher.THREADS_PROPERTY, Integer.toString(prefetchThreads));
+    diskDir = Files.createTempDirectory("DiskStoreRecoveryBenchmark").toFile();
+
+    Region<Integer, byte[]> region = createRegion();
+    byte[] value = new byte[valueSize];
+    for (int i = 0; i < entries; i++) {
+      region.put(i, value);
+      if (i % 10 == 0) {
+        // leave some deletes for the drfs
+        region.destroy(i);
+      }
+    }
+    cache.close();
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeCache() {
+    if (cache != null && !cache.isClosed()) {
+      cache.close();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteDiskStore() throws Exception {
+    FileUtils.deleteDirectory(diskDir);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 10)
+  public Region<Integer, byte[]> recover() {
+    return createRegion();
+  }
+
+  private Region<Integer, byte[]> createRegion() {
+    cache = new CacheFactory().set(MCAST_PORT, "0").set(LOCATORS, "").set(LOG_LEVEL, "warn")
+        .create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).setMaxOplogSize(1)
+        .setAutoCompact(false).create(DISK_STORE_NAME);
+    return cache.<Integer, byte[]>createRegionFactory(RegionShortcut.PARTITION_PERSISTENT)
+        .setDiskStoreName(DISK_STORE_NAME)
+        .setPartitionAttributes(new PartitionAttributesFactory<Integer, byte[]>()
+            .setTotalNumBuckets(113).create())
+        .create(REGION_NAME);
+  }
+}
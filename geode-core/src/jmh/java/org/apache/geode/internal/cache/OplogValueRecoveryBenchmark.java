@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+/**
+ * This benchmark measures how long it takes to recover a persistent region, including its values,
+ * when the values in its oplogs are stored as they are, checksummed, or compressed. The size of the
+ * disk store is reported by each iteration as the diskStoreBytes counter so that it can be compared
+ * as well.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OplogValueRecoveryBenchmark {
+  private static final String DISK_STORE_NAME = "recoveryDiskStore";
+  private static final String REGION_NAME = "recoveryRegion";
+
+  @Param({"none", "checksum", "compress"})
+  public String encoding;
+
+  @Param({"200000"})
+  public int entries;
+
+  @Param({"1024"})
+  public int valueSize;
+
+  private File diskDir;
+  private long diskStoreBytes;
+  private Cache cache;
+
+  @Setup(Level.Trial)
+  public void createDiskStore() throws Exception {
+    System.setProperty(DiskStoreImpl.RECOVER_VALUES_SYNC_PROPERTY_NAME, "true");
+    OplogValueWriteBenchmark.setEncodingProperties(encoding);
+    diskDir = Files.createTempDirectory("OplogValueRecoveryBenchmark").toFile();
+
+    Region<Integer, String> region = createRegion();
+    for (int i = 0; i < entries; i++) {
+      region.put(i, OplogValueWriteBenchmark.createJsonValue(i, valueSize));
+    }
+    cache.close();
+    diskStoreBytes = FileUtils.sizeOfDirectory(diskDir);
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeCache() {
+    if (cache != null && !cache.isClosed()) {
+      cache.close();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteDiskStore() throws Exception {
+    FileUtils.deleteDirectory(diskDir);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 10)
+  public Region<Integer, String> recover(DiskStoreSize size) {
+    size.diskStoreBytes = diskStoreBytes;
+    return createRegion();
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class DiskStoreSize {
+    public long diskStoreBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      diskStoreBytes = 0;
+    }
+  }
+
+  private Region<Integer, String> createRegion() {
+    cache = new CacheFactory().set(MCAST_PORT, "0").set(LOCATORS, "").set(LOG_LEVEL, "warn")
+        .create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).setAutoCompact(false)
+        .create(DISK_STORE_NAME);
+    return cache.<Integer, String>createRegionFactory(RegionShortcut.REPLICATE_PERSISTENT)
+        .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+  }
+}
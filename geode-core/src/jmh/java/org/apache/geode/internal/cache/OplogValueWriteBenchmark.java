@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+/**
+ * This benchmark measures the throughput of puts of JSON like values into a persistent region
+ * when the values written to its oplogs are stored as they are, checksummed, or compressed.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class OplogValueWriteBenchmark {
+  private static final String DISK_STORE_NAME = "writeDiskStore";
+  private static final String REGION_NAME = "writeRegion";
+  private static final int ENTRIES = 100_000;
+
+  @Param({"none", "checksum", "compress"})
+  public String encoding;
+
+  @Param({"1024"})
+  public int valueSize;
+
+  private File diskDir;
+  private Cache cache;
+  private Region<Integer, String> region;
+  private String[] values;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    setEncodingProperties(encoding);
+    diskDir = Files.createTempDirectory("OplogValueWriteBenchmark").toFile();
+    cache = new CacheFactory().set(MCAST_PORT, "0").set(LOCATORS, "").set(LOG_LEVEL, "warn")
+        .create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).create(DISK_STORE_NAME);
+    region = cache.<Integer, String>createRegionFactory(RegionShortcut.REPLICATE_PERSISTENT)
+        .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+    values = new String[64];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = createJsonValue(i, valueSize);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    cache.close();
+    FileUtils.deleteDirectory(diskDir);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 3)
+  @Measurement(iterations = 10)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String put() {
+    int i = next++;
+    return region.put(i % ENTRIES, values[i % values.length]);
+  }
+
+  static void setEncodingProperties(String encoding) {
+    switch (encoding) {
+      case "none":
+        break;
+      case "checksum":
+        System.setProperty(OplogValueCodec.CHECKSUM_PROPERTY, "true");
+        break;
+      case "compress":
+        System.setProperty(OplogValueCodec.COMPRESS_PROPERTY, "true");
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown encoding " + encoding);
+    }
+  }
+
+  /**
+   * Returns a JSON document of about the given size whose fields repeat, like the documents of a
+   * typical region do.
+   */
+  static String createJsonValue(int id, int size) {
+    StringBuilder json = new StringBuilder(size + 100).append("{\"id\":").append(id)
+        .append(",\"items\":[");
+    for (int item = 0; json.length() < size; item++) {
+      if (item > 0) {
+        json.append(',');
+      }
+      json.append("{\"sku\":\"SKU-").append(id * 31 + item).append("\",\"quantity\":")
+          .append(item % 7).append(",\"status\":\"SHIPPED\"}");
+    }
+    return json.append("]}").toString();
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark off-heap allocations and frees of small chunks by many threads, with and without the
+ * thread caches of {@link ThreadCachingFreeListManager}. Each thread keeps a number of chunks live
+ * and replaces the oldest one by a chunk of random size on each operation.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * $ ./gradlew geode-core:jmh -Pjmh.include=FreeListManagerBenchmark -Pjmh.threads=8
+ * </pre>
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class FreeListManagerBenchmark {
+  private static final int SLAB_SIZE = 256 * 1024 * 1024;
+  private static final int MIN_DATA_SIZE = 16;
+  private static final int MAX_DATA_SIZE = 512;
+
+  public enum Impl {
+    FreeListManager, ThreadCaching
+  }
+
+  @Param
+  public Impl impl;
+
+  @Param({"16"})
+  public int threadCacheSize;
+
+  private FreeListManager freeListManager;
+
+  @Setup
+  public void setup() {
+    MemoryAllocatorImpl ma = MemoryAllocatorImpl.createForUnitTest(
+        new NullOutOfOffHeapMemoryListener(), new NullOffHeapMemoryStats(),
+        new Slab[] {new SlabImpl(1024)});
+    Slab[] slabs = new Slab[] {new SlabImpl(SLAB_SIZE)};
+    switch (impl) {
+      case FreeListManager:
+        freeListManager = new FreeListManager(ma, slabs);
+        break;
+      case ThreadCaching:
+        freeListManager = new ThreadCachingFreeListManager(ma, slabs, threadCacheSize);
+        break;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    freeListManager.freeSlabs();
+    MemoryAllocatorImpl.freeOffHeapMemory();
+  }
+
+  @State(Scope.Thread)
+  public static class LiveChunks {
+    private final long[] addresses = new long[1024];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup(FreeListManagerBenchmark benchmark) {
+      for (int i = 0; i < addresses.length; i++) {
+        addresses[i] = benchmark.allocate();
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(FreeListManagerBenchmark benchmark) {
+      for (long address : addresses) {
+        benchmark.freeListManager.free(address);
+      }
+    }
+  }
+
+  @Benchmark
+  public long replaceOldestChunk(LiveChunks chunks) {
+    int index = chunks.next;
+    chunks.next = (index + 1) % chunks.addresses.length;
+    freeListManager.free(chunks.addresses[index]);
+    long address = allocate();
+    chunks.addresses[index] = address;
+    return address;
+  }
+
+  private long allocate() {
+    int size = ThreadLocalRandom.current().nextInt(MIN_DATA_SIZE, MAX_DATA_SIZE + 1);
+    return freeListManager.allocate(size).getAddress();
+  }
+}
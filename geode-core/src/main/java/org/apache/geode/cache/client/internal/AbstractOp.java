@@ -336,28 +336,39 @@ public abstract class AbstractOp implements Op {
    */
   void processChunkedResponse(ChunkedMessage msg, String opName, ChunkHandler callback)
       throws Exception {
+    readChunkedResponseHeader(msg, opName);
+    do {
+      msg.receiveChunk();
+      callback.handle(msg);
+    } while (!msg.isLastChunk());
+  }
+
+  /**
+   * Reads the header of a chunked response, leaving its chunks to be received by the caller.
+   *
+   * @param msg the message containing the response
+   * @param opName text describing this op
+   * @throws Exception if the server responded with an exception or with an unexpected message
+   */
+  void readChunkedResponseHeader(ChunkedMessage msg, String opName) throws Exception {
     msg.readHeader();
     final MessageType msgType = msg.getMessageType();
     if (msgType == MessageType.RESPONSE) {
-      do {
-        msg.receiveChunk();
-        callback.handle(msg);
-      } while (!msg.isLastChunk());
+      return;
+    }
+    if (msgType == MessageType.EXCEPTION) {
+      msg.receiveChunk();
+      Part part = msg.getPart(0);
+      String s = "While performing a remote " + opName;
+      throw new ServerOperationException(s, (Throwable) part.getObject());
+      // Get the exception toString part.
+      // This was added for c++ thin client and not used in java
+    } else if (isErrorResponse(msgType)) {
+      msg.receiveChunk();
+      Part part = msg.getPart(0);
+      throw new ServerOperationException(part.getString());
     } else {
-      if (msgType == MessageType.EXCEPTION) {
-        msg.receiveChunk();
-        Part part = msg.getPart(0);
-        String s = "While performing a remote " + opName;
-        throw new ServerOperationException(s, (Throwable) part.getObject());
-        // Get the exception toString part.
-        // This was added for c++ thin client and not used in java
-      } else if (isErrorResponse(msgType)) {
-        msg.receiveChunk();
-        Part part = msg.getPart(0);
-        throw new ServerOperationException(part.getString());
-      } else {
-        throw new IOException("Unexpected message type " + msgType);
-      }
+      throw new IOException("Unexpected message type " + msgType);
     }
   }
 
@@ -403,6 +414,54 @@ public abstract class AbstractOp implements Op {
     }
   }
 
+  /**
+   * Attempts this operation on a connection that is shared with other in flight operations. The
+   * request is sent without waiting for the replies of operations sent earlier on the same
+   * connection.
+   *
+   * @see #isPipelineable()
+   */
+  Object attemptPipelined(PipelinedConnection pipelinedConnection) throws Exception {
+    failed = true;
+    timedOut = false;
+    final Connection connection = pipelinedConnection.getConnection();
+    long start = startAttempt(connection.getStats());
+    try {
+      long ticket;
+      try {
+        ticket = pipelinedConnection.send(this);
+        failed = false;
+      } finally {
+        endSendAttempt(connection.getStats(), start);
+      }
+      failed = true;
+      try {
+        Message response = pipelinedConnection.receive(ticket, createResponseMessage());
+        Object result = processResponse(response, connection);
+        failed = false;
+        return result;
+      } catch (SocketTimeoutException ste) {
+        failed = false;
+        timedOut = true;
+        throw ste;
+      }
+    } finally {
+      endAttempt(connection.getStats(), start);
+    }
+  }
+
+  /**
+   * Subclasses should override this method to return true if this operation can be sent on a
+   * connection that already has other operations in flight. That requires a response that is a
+   * single, non chunked message and response processing that does not send further messages on the
+   * connection.
+   *
+   * @return true if this operation can be executed on a {@link PipelinedConnection}
+   */
+  protected boolean isPipelineable() {
+    return false;
+  }
+
   protected boolean hasFailed() {
     return failed;
   }
@@ -68,6 +68,11 @@ public class ContainsKeyOp {
       return processObjResponse(msg, "containsKey");
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected boolean isErrorResponse(MessageType msgType) {
       return msgType == MessageType.CONTAINS_KEY_DATA_ERROR;
@@ -234,6 +234,11 @@ public class DestroyOp {
       return null;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected boolean isErrorResponse(MessageType msgType) {
       return msgType == MessageType.DESTROY_DATA_ERROR;
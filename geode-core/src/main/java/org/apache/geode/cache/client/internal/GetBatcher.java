@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.EntryEventImpl;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PoolStats;
+import org.apache.geode.internal.cache.TXManagerImpl;
+import org.apache.geode.internal.cache.Token;
+import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
+import org.apache.geode.internal.cache.versions.VersionTag;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Coalesces single key gets that different threads issue at about the same time for the same
+ * region and server into one getAll request. The first thread to get a key opens a batch and waits
+ * up to the batch window for other threads to add their keys, then sends the batch and hands each
+ * waiting thread its own value. With single hop enabled keys are grouped by the server hosting
+ * their bucket, so a batch never has to be split on the server side.
+ *
+ * <p>
+ * Batching is enabled by setting the {@value #WINDOW_PROPERTY} system property to the number of
+ * microseconds a batch stays open. A batch is sent early once it holds {@value #MAX_SIZE_PROPERTY}
+ * keys (default {@value #DEFAULT_MAX_SIZE}). Gets that cannot be answered from the batch, because
+ * the batch failed, held only one key or returned an exception for the key, are done as ordinary
+ * gets by the caller so their error handling and retries are unchanged.
+ *
+ * @since Geode 1.16
+ */
+public class GetBatcher {
+  private static final Logger logger = LogService.getLogger();
+
+  static final String WINDOW_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.GET_BATCH_WINDOW_MICROS";
+
+  static final String MAX_SIZE_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.GET_BATCH_MAX_SIZE";
+
+  static final int DEFAULT_MAX_SIZE = 100;
+
+  /**
+   * Returned by {@link #get} when the key has to be fetched with an ordinary get.
+   */
+  @Immutable
+  static final Object NOT_BATCHED = new Object();
+
+  private final ExecutablePool pool;
+  private final PoolStats stats;
+  private final long windowNanos;
+  private final int maxSize;
+
+  private final ConcurrentMap<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+
+  GetBatcher(ExecutablePool pool, @Nullable PoolStats stats, long windowNanos, int maxSize) {
+    this.pool = pool;
+    this.stats = stats;
+    this.windowNanos = windowNanos;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns a batcher configured from system properties, or null if batching is disabled.
+   */
+  static @Nullable GetBatcher create(ExecutablePool pool, @Nullable PoolStats stats) {
+    long windowMicros = Long.getLong(WINDOW_PROPERTY, 0);
+    if (windowMicros <= 0) {
+      return null;
+    }
+    int maxSize = Math.max(2, Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+    return new GetBatcher(pool, stats, TimeUnit.MICROSECONDS.toNanos(windowMicros), maxSize);
+  }
+
+  /**
+   * Returns true if a get with the given callback argument may be batched by the current thread.
+   * getAll has no per key callback argument, and transactional and multiuser gets depend on per
+   * thread state.
+   */
+  boolean canBatch(@Nullable Object callbackArg) {
+    return callbackArg == null
+        && TXManagerImpl.getCurrentTXUniqueId() == TXManagerImpl.NOTX
+        && UserAttributes.userAttributes.get() == null;
+  }
+
+  /**
+   * Gets the value of the given key as part of a batch.
+   *
+   * @param server the server hosting the key's bucket, or null to let the pool pick a server
+   * @param clientEvent holder for returning version information
+   * @return the value, {@link Token#TOMBSTONE} for a destroyed entry, or {@link #NOT_BATCHED} if
+   *         the caller has to do an ordinary get
+   */
+  Object get(LocalRegion region, Object key, @Nullable ServerLocation server,
+      @Nullable EntryEventImpl clientEvent) {
+    final long start = System.nanoTime();
+    final BatchKey batchKey = new BatchKey(region.getFullPath(), server);
+    while (true) {
+      Batch batch = openBatches.get(batchKey);
+      if (batch == null) {
+        batch = new Batch(Thread.currentThread(), key, start);
+        if (openBatches.putIfAbsent(batchKey, batch) == null) {
+          return lead(region, batchKey, batch, start, clientEvent);
+        }
+        continue;
+      }
+      int index = batch.add(key, maxSize, start);
+      if (index < 0) {
+        // the leader has closed the batch but not yet removed it
+        openBatches.remove(batchKey, batch);
+        continue;
+      }
+      batch.awaitResult();
+      return batch.getResult(index, clientEvent);
+    }
+  }
+
+  private Object lead(LocalRegion region, BatchKey batchKey, Batch batch, long start,
+      @Nullable EntryEventImpl clientEvent) {
+    try {
+      long deadline = start + windowNanos;
+      long remaining;
+      while (!batch.isFull(maxSize) && (remaining = deadline - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(this, remaining);
+      }
+    } finally {
+      openBatches.remove(batchKey, batch);
+    }
+
+    List<Object> keys = batch.close();
+    if (keys.size() == 1) {
+      batch.fail();
+      return NOT_BATCHED;
+    }
+    if (stats != null) {
+      stats.incGetBatchWaitTime(batch.getTotalWait(System.nanoTime()));
+    }
+    try {
+      GetAllOp.GetAllOpImpl op = new GetAllOp.GetAllOpImpl(region.getFullPath(), keys, null);
+      op.initMessagePart();
+      Object result;
+      if (batchKey.server != null) {
+        result = pool.executeOn(batchKey.server, op);
+      } else {
+        result = pool.execute(op);
+      }
+      batch.complete(((VersionedObjectList) result).setKeys(keys));
+    } catch (RuntimeException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Batched getAll of {} keys failed, getting them individually", keys.size(),
+            e);
+      }
+    } finally {
+      // releases waiting threads with NOT_BATCHED unless the batch completed
+      batch.fail();
+      if (stats != null) {
+        stats.endGetBatch(keys.size());
+      }
+    }
+    return batch.getResult(0, clientEvent);
+  }
+
+  @VisibleForTesting
+  int getOpenBatchCount() {
+    return openBatches.size();
+  }
+
+  private static class BatchKey {
+    private final String regionPath;
+    private final ServerLocation server;
+
+    BatchKey(String regionPath, @Nullable ServerLocation server) {
+      this.regionPath = regionPath;
+      this.server = server;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof BatchKey)) {
+        return false;
+      }
+      BatchKey other = (BatchKey) o;
+      return regionPath.equals(other.regionPath) && Objects.equals(server, other.server);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(regionPath, server);
+    }
+  }
+
+  private static class Batch {
+    private final Thread leader;
+
+    /** Guarded by this until closed. */
+    private final List<Object> keys = new ArrayList<>();
+
+    /** When the leader opened the batch. */
+    private final long start;
+
+    /**
+     * The sum of how long after {@link #start} each key was added. Guarded by this until closed.
+     */
+    private long addedAfterStart;
+
+    private boolean closed;
+
+    private boolean done;
+
+    private Object[] values;
+
+    private VersionTag<?>[] versionTags;
+
+    Batch(Thread leader, Object key, long start) {
+      this.leader = leader;
+      this.start = start;
+      keys.add(key);
+    }
+
+    /**
+     * Adds the key to this batch and returns its index, or -1 if the batch is already closed.
+     */
+    synchronized int add(Object key, int maxSize, long added) {
+      if (closed) {
+        return -1;
+      }
+      keys.add(key);
+      addedAfterStart += added - start;
+      if (keys.size() >= maxSize) {
+        closed = true;
+        LockSupport.unpark(leader);
+      }
+      return keys.size() - 1;
+    }
+
+    synchronized boolean isFull(int maxSize) {
+      return closed || keys.size() >= maxSize;
+    }
+
+    synchronized List<Object> close() {
+      closed = true;
+      return keys;
+    }
+
+    /**
+     * Returns the total time the gets of this closed batch have waited for it to be sent, if it is
+     * sent at the given time.
+     */
+    long getTotalWait(long sent) {
+      return keys.size() * (sent - start) - addedAfterStart;
+    }
+
+    /**
+     * Unpacks the getAll result in one pass so that each thread can pick up its value by index.
+     */
+    void complete(VersionedObjectList result) {
+      if (result.size() != keys.size()) {
+        return;
+      }
+      Object[] resultValues = new Object[keys.size()];
+      VersionTag<?>[] resultTags = new VersionTag<?>[keys.size()];
+      int i = 0;
+      for (VersionedObjectList.Iterator it = result.iterator(); it.hasNext(); i++) {
+        VersionedObjectList.Entry entry = it.next();
+        VersionTag<?> tag = entry.getVersionTag();
+        resultTags[i] = tag;
+        if (entry.isKeyNotOnServer()) {
+          resultValues[i] = tag != null ? Token.TOMBSTONE : null;
+        } else if (entry.isException() || entry.getObject() instanceof Throwable) {
+          resultValues[i] = NOT_BATCHED;
+        } else {
+          resultValues[i] = entry.getObject();
+        }
+      }
+      synchronized (this) {
+        values = resultValues;
+        versionTags = resultTags;
+        done = true;
+        notifyAll();
+      }
+    }
+
+    synchronized void fail() {
+      done = true;
+      notifyAll();
+    }
+
+    synchronized void awaitResult() {
+      boolean interrupted = false;
+      try {
+        while (!done) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            // the leader always finishes the batch, so keep waiting for it
+            interrupted = true;
+          }
+        }
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
+    synchronized Object getResult(int index, @Nullable EntryEventImpl clientEvent) {
+      if (values == null) {
+        return NOT_BATCHED;
+      }
+      Object value = values[index];
+      if (value != NOT_BATCHED && clientEvent != null && versionTags[index] != null) {
+        clientEvent.setVersionTag(versionTags[index]);
+      }
+      return value;
+    }
+  }
+}
@@ -58,6 +58,11 @@ public class GetEntryOp {
       return snap;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected boolean isErrorResponse(MessageType msgType) {
       return msgType == MessageType.REQUESTDATAERROR;
@@ -66,9 +66,20 @@ public class GetOp {
     if (logger.isDebugEnabled()) {
       logger.debug("GetOp invoked for key {}", key);
     }
+    ServerLocation server = null;
+    if (prSingleHopEnabled) {
+      server = cms.getBucketServerLocation(region, Operation.GET, key, null, callbackArg);
+    }
+    GetBatcher batcher = pool instanceof PoolImpl ? ((PoolImpl) pool).getGetBatcher() : null;
+    if (batcher != null && batcher.canBatch(callbackArg)) {
+      Object result = batcher.get(region, key,
+          server == null ? null : new ServerLocation(server.getHostName(), server.getPort()),
+          clientEvent);
+      if (result != GetBatcher.NOT_BATCHED) {
+        return result;
+      }
+    }
     if (prSingleHopEnabled) {
-      ServerLocation server =
-          cms.getBucketServerLocation(region, Operation.GET, key, null, callbackArg);
       if (server != null) {
         try {
           PoolImpl poolImpl = (PoolImpl) pool;
@@ -214,6 +225,11 @@ public class GetOp {
       return object;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected boolean isErrorResponse(MessageType msgType) {
       return msgType == MessageType.REQUESTDATAERROR;
@@ -165,6 +165,11 @@ public class InvalidateOp {
       return null;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected boolean isErrorResponse(MessageType msgType) {
       return msgType == MessageType.INVALIDATE_ERROR;
@@ -98,6 +98,8 @@ public class OpExecutorImpl implements ExecutablePool {
 
   private final ThreadLocal<Integer> affinityRetryCount = ThreadLocal.withInitial(() -> 0);
 
+  private final PipelinedConnectionManager pipelinedConnectionManager;
+
   public OpExecutorImpl(final @NotNull ConnectionManager connectionManager,
       final @Nullable QueueManager queueManager,
       final @NotNull EndpointManager endpointManager,
@@ -105,6 +107,18 @@ public class OpExecutorImpl implements ExecutablePool {
       final long serverTimeout, final long singleServerTimeout,
       final @NotNull CancelCriterion cancelCriterion,
       final @NotNull PoolImpl pool) {
+    this(connectionManager, queueManager, endpointManager, riTracker, retryAttempts, serverTimeout,
+        singleServerTimeout, cancelCriterion, pool, null);
+  }
+
+  public OpExecutorImpl(final @NotNull ConnectionManager connectionManager,
+      final @Nullable QueueManager queueManager,
+      final @NotNull EndpointManager endpointManager,
+      final @NotNull RegisterInterestTracker riTracker, final int retryAttempts,
+      final long serverTimeout, final long singleServerTimeout,
+      final @NotNull CancelCriterion cancelCriterion,
+      final @NotNull PoolImpl pool,
+      final @Nullable PipelinedConnectionManager pipelinedConnectionManager) {
     this.connectionManager = connectionManager;
     this.queueManager = queueManager;
     this.endpointManager = endpointManager;
@@ -114,6 +128,7 @@ public class OpExecutorImpl implements ExecutablePool {
     this.singleServerTimeout = singleServerTimeout;
     this.cancelCriterion = cancelCriterion;
     this.pool = pool;
+    this.pipelinedConnectionManager = pipelinedConnectionManager;
   }
 
   @Override
@@ -135,6 +150,19 @@ public class OpExecutorImpl implements ExecutablePool {
       return executeWithServerAffinity(loc, op);
     }
 
+    PipelinedConnection pipelined = borrowPipelinedConnection(null, op);
+    if (pipelined != null) {
+      try {
+        return pipelined.execute((AbstractOp) op);
+      } catch (MessageTooLargeException e) {
+        throw new GemFireIOException("unable to transmit message to server", e);
+      } catch (Exception e) {
+        // counts as the first attempt, the op is retried on a pooled connection
+        handleException(e, pipelined.getConnection(), 0, false);
+        ((AbstractOp) op).getMessage().setIsRetry();
+      }
+    }
+
     Connection conn = connectionManager.borrowConnection(serverTimeout);
     try {
       Set<ServerLocation> attemptedServers = null;
@@ -343,6 +371,15 @@ public class OpExecutorImpl implements ExecutablePool {
             onlyUseExistingConnection);
       }
     } else {
+      PipelinedConnection pipelined = borrowPipelinedConnection(server, op);
+      if (pipelined != null) {
+        try {
+          return pipelined.execute((AbstractOp) op);
+        } catch (final Exception e) {
+          handleException(e, pipelined.getConnection(), 0, false);
+          ((AbstractOp) op).getMessage().setIsRetry();
+        }
+      }
       connection = connectionManager.borrowConnection(server, singleServerTimeout,
           onlyUseExistingConnection);
     }
@@ -367,6 +404,19 @@ public class OpExecutorImpl implements ExecutablePool {
     }
   }
 
+  /**
+   * Returns a pipelined connection the given op can be sent on, or null if the op must use a
+   * pooled connection.
+   */
+  private @Nullable PipelinedConnection borrowPipelinedConnection(
+      final @Nullable ServerLocation server, final @NotNull Op op) {
+    if (pipelinedConnectionManager == null || serverAffinity.get()
+        || !pipelinedConnectionManager.canPipeline(op)) {
+      return null;
+    }
+    return pipelinedConnectionManager.borrowConnection(server);
+  }
+
   @Override
   public Object executeOnPrimary(final Op op) {
     if (queueManager == null) {
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.cache.client.internal.pooling.ConnectionDestroyedException;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * A client to server connection that is shared by several in flight operations. Operations write
+ * their request as soon as the connection's send lock is free and do not wait for the replies of
+ * the operations sent before them. The server processes the requests of a connection in the order
+ * they were written, so replies are matched to operations by the order in which they were sent.
+ * Each operation gets a ticket while holding the send lock and reads its own reply once all
+ * operations with a lower ticket have read theirs.
+ *
+ * <p>
+ * Replies cannot be matched by an id instead: the only id a reply carries is the transaction id
+ * echoed from the request, and a server connection processes one request at a time anyway. A slow
+ * operation therefore delays the replies of every operation sent after it on the same connection.
+ * Only operations with a single, quick reply are pipelined to keep that delay short.
+ *
+ * <p>
+ * Any I/O failure leaves the stream in an unknown state, so it destroys the connection and fails
+ * every operation that is still waiting for a reply on it.
+ *
+ * @see PipelinedConnectionManager
+ * @since Geode 1.16
+ */
+public class PipelinedConnection {
+  private static final Logger logger = LogService.getLogger();
+
+  private final Connection connection;
+
+  private final Object sendLock = new Object();
+
+  private final Object receiveLock = new Object();
+
+  /**
+   * The buffer used to read replies. Requests are written with the connection's own comm buffer
+   * so that sends and receives by different threads do not share a buffer.
+   */
+  private ByteBuffer receiveBuffer;
+
+  /** The ticket handed out to the next operation that sends a request. Guarded by sendLock. */
+  private long nextTicket;
+
+  /** The ticket of the operation whose reply is next on the wire. Guarded by receiveLock. */
+  private long nextReceiveTicket;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile Exception failure;
+
+  PipelinedConnection(Connection connection, int socketBufferSize) {
+    this.connection = connection;
+    receiveBuffer =
+        ServerConnection.allocateCommBuffer(socketBufferSize, connection.getSocket());
+  }
+
+  Connection getConnection() {
+    return connection;
+  }
+
+  /**
+   * Returns the number of operations that have been admitted to this connection and have not yet
+   * read their reply.
+   */
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  boolean isDestroyed() {
+    return failure != null || connection.isDestroyed();
+  }
+
+  /**
+   * Executes the given operation on this connection.
+   */
+  Object execute(AbstractOp op) throws Exception {
+    inFlight.incrementAndGet();
+    try {
+      return op.attemptPipelined(this);
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  /**
+   * Writes the request of the given operation and returns the ticket the operation uses to
+   * receive its reply.
+   */
+  long send(AbstractOp op) throws Exception {
+    synchronized (sendLock) {
+      checkFailure();
+      try {
+        op.attemptSend(connection);
+      } catch (Exception e) {
+        fail(e);
+        throw e;
+      }
+      return nextTicket++;
+    }
+  }
+
+  /**
+   * Waits until the reply for the given ticket is the next one on the wire and reads it into the
+   * given message.
+   */
+  Message receive(long ticket, @NotNull Message response) throws Exception {
+    synchronized (receiveLock) {
+      while (nextReceiveTicket != ticket) {
+        checkFailure();
+        boolean interrupted = Thread.interrupted();
+        try {
+          receiveLock.wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } finally {
+          if (interrupted) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+      checkFailure();
+    }
+    // Only the owner of the current ticket reads from the socket so the read itself does not
+    // need to hold receiveLock. That leaves waiters free to notice a failure.
+    try {
+      response.setComms(connection.getSocket(), connection.getInputStream(),
+          connection.getOutputStream(), receiveBuffer, connection.getStats());
+      try {
+        response.receive();
+      } finally {
+        response.unsetComms();
+      }
+    } catch (Exception e) {
+      fail(e);
+      throw e;
+    }
+    synchronized (receiveLock) {
+      nextReceiveTicket++;
+      receiveLock.notifyAll();
+    }
+    connection.getEndpoint().updateLastExecute();
+    return response;
+  }
+
+  private void checkFailure() {
+    Exception cause = failure;
+    if (cause != null) {
+      throw new ConnectionDestroyedException("Pipelined connection failed", cause);
+    }
+    if (connection.isDestroyed()) {
+      throw new ConnectionDestroyedException("Pipelined connection was destroyed");
+    }
+  }
+
+  private void fail(Exception cause) {
+    synchronized (receiveLock) {
+      if (failure == null) {
+        failure = cause;
+        if (logger.isDebugEnabled()) {
+          logger.debug("Destroying pipelined connection {} with {} operations in flight",
+              connection, inFlight.get(), cause);
+        }
+      }
+      receiveLock.notifyAll();
+    }
+    connection.destroy();
+  }
+
+  /**
+   * Closes the connection. Operations that are still in flight fail and are retried by the caller.
+   */
+  void close(boolean keepAlive) {
+    synchronized (sendLock) {
+      try {
+        if (!isDestroyed() && inFlight.get() == 0) {
+          connection.close(keepAlive);
+        }
+      } catch (Exception e) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Error closing pipelined connection {}", connection, e);
+        }
+      } finally {
+        fail(new IOException("Pipelined connection closed"));
+        releaseReceiveBuffer();
+      }
+    }
+  }
+
+  private void releaseReceiveBuffer() {
+    ByteBuffer buffer = receiveBuffer;
+    if (buffer != null && inFlight.get() == 0) {
+      receiveBuffer = null;
+      ServerConnection.releaseCommBuffer(buffer);
+    }
+  }
+
+  @VisibleForTesting
+  long getNextTicket() {
+    synchronized (sendLock) {
+      return nextTicket;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PipelinedConnection[" + connection + ", inFlight=" + inFlight.get() + "]";
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static java.util.Collections.emptySet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.cache.client.ServerConnectivityException;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.TXManagerImpl;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Keeps the {@link PipelinedConnection}s of a pool. Pipelined connections are created outside of
+ * the pool's {@link org.apache.geode.cache.client.internal.pooling.ConnectionManager} and are never
+ * handed out exclusively. Instead each eligible operation is sent on the least loaded pipelined
+ * connection to its server, so that a few sockets can carry many concurrent operations.
+ *
+ * <p>
+ * Pipelining is enabled by setting the {@value #CONNECTIONS_PER_SERVER_PROPERTY} system property
+ * to the maximum number of pipelined connections to keep to each server. Operations that are not
+ * targeted at a specific server share at most that many connections in total, spread over the
+ * servers chosen by the pool's connection source. {@value #MAX_IN_FLIGHT_PROPERTY} bounds the
+ * number of operations in flight on one connection. Operations that find every connection full
+ * use a pooled connection instead.
+ *
+ * @since Geode 1.16
+ */
+public class PipelinedConnectionManager {
+  private static final Logger logger = LogService.getLogger();
+
+  static final String CONNECTIONS_PER_SERVER_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.PIPELINED_CONNECTIONS_PER_SERVER";
+
+  static final String MAX_IN_FLIGHT_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.PIPELINED_MAX_IN_FLIGHT";
+
+  static final int DEFAULT_MAX_IN_FLIGHT = 32;
+
+  private final ConnectionFactory connectionFactory;
+  private final int connectionsPerServer;
+  private final int maxInFlight;
+  private final int socketBufferSize;
+
+  /** Copy on write so that borrowing does not need to lock. Guarded by this for updates. */
+  private volatile List<PipelinedConnection> connections = new ArrayList<>();
+
+  private volatile boolean closed;
+
+  PipelinedConnectionManager(ConnectionFactory connectionFactory, int connectionsPerServer,
+      int maxInFlight, int socketBufferSize) {
+    this.connectionFactory = connectionFactory;
+    this.connectionsPerServer = connectionsPerServer;
+    this.maxInFlight = maxInFlight;
+    this.socketBufferSize = socketBufferSize;
+  }
+
+  /**
+   * Returns a manager configured from system properties, or null if pipelining is disabled.
+   */
+  static @Nullable PipelinedConnectionManager create(ConnectionFactory connectionFactory,
+      int socketBufferSize) {
+    int connectionsPerServer = Integer.getInteger(CONNECTIONS_PER_SERVER_PROPERTY, 0);
+    if (connectionsPerServer <= 0) {
+      return null;
+    }
+    int maxInFlight = Math.max(1, Integer.getInteger(MAX_IN_FLIGHT_PROPERTY,
+        DEFAULT_MAX_IN_FLIGHT));
+    return new PipelinedConnectionManager(connectionFactory, connectionsPerServer, maxInFlight,
+        socketBufferSize);
+  }
+
+  /**
+   * Returns true if the given operation may be sent on a pipelined connection by the current
+   * thread.
+   */
+  boolean canPipeline(Op op) {
+    if (!(op instanceof AbstractOp) || !((AbstractOp) op).isPipelineable()) {
+      return false;
+    }
+    // transactional and multiuser operations depend on per thread state on the server
+    return TXManagerImpl.getCurrentTXUniqueId() == TXManagerImpl.NOTX
+        && UserAttributes.userAttributes.get() == null;
+  }
+
+  /**
+   * Returns a pipelined connection to the given server, or to any server if server is null.
+   * Returns null if every usable connection already has the maximum number of operations in flight
+   * and no more connections may be created, in which case the caller should use a pooled
+   * connection instead.
+   */
+  @Nullable
+  PipelinedConnection borrowConnection(@Nullable ServerLocation server) {
+    if (closed) {
+      return null;
+    }
+    PipelinedConnection best = null;
+    int count = 0;
+    for (PipelinedConnection connection : connections) {
+      if (connection.isDestroyed()) {
+        continue;
+      }
+      if (server != null && !server.equals(connection.getConnection().getServer())) {
+        continue;
+      }
+      count++;
+      if (best == null || connection.getInFlight() < best.getInFlight()) {
+        best = connection;
+      }
+    }
+    if (best != null && best.getInFlight() == 0) {
+      return best;
+    }
+    if (count < connectionsPerServer) {
+      PipelinedConnection created = createConnection(server);
+      if (created != null) {
+        return created;
+      }
+    }
+    if (best != null && best.getInFlight() < maxInFlight) {
+      return best;
+    }
+    if (logger.isDebugEnabled() && count > 0) {
+      logger.debug("All {} pipelined connections to {} have {} operations in flight", count,
+          server == null ? "any server" : server, maxInFlight);
+    }
+    return null;
+  }
+
+  private synchronized PipelinedConnection createConnection(@Nullable ServerLocation server) {
+    if (closed) {
+      return null;
+    }
+    ServerLocation location = server;
+    if (location == null) {
+      location = connectionFactory.findBestServer(null, emptySet());
+      if (location == null) {
+        return null;
+      }
+    }
+    List<PipelinedConnection> live = new ArrayList<>(connections.size() + 1);
+    int toLocation = 0;
+    for (PipelinedConnection connection : connections) {
+      if (connection.isDestroyed()) {
+        continue;
+      }
+      live.add(connection);
+      if (location.equals(connection.getConnection().getServer())) {
+        toLocation++;
+      }
+    }
+    if (toLocation >= connectionsPerServer) {
+      connections = live;
+      return null;
+    }
+
+    Connection connection;
+    try {
+      connection = connectionFactory.createClientToServerConnection(location, false);
+    } catch (ServerConnectivityException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Unable to create a pipelined connection to {}", location, e);
+      }
+      connections = live;
+      return null;
+    }
+    if (connection == null) {
+      connections = live;
+      return null;
+    }
+    if (connection.getServer().getRequiresCredentials()) {
+      // secure operations need per connection state that cannot be shared
+      connection.destroy();
+      connections = live;
+      return null;
+    }
+
+    PipelinedConnection pipelinedConnection =
+        new PipelinedConnection(connection, socketBufferSize);
+    live.add(pipelinedConnection);
+    connections = live;
+    if (logger.isDebugEnabled()) {
+      logger.debug("Created pipelined connection {}", pipelinedConnection);
+    }
+    return pipelinedConnection;
+  }
+
+  @VisibleForTesting
+  List<PipelinedConnection> getConnections() {
+    return connections;
+  }
+
+  void close(boolean keepAlive) {
+    List<PipelinedConnection> toClose;
+    synchronized (this) {
+      closed = true;
+      toClose = connections;
+      connections = new ArrayList<>();
+    }
+    for (PipelinedConnection connection : toClose) {
+      connection.close(keepAlive);
+    }
+  }
+}
@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import org.apache.geode.CancelCriterion;
 import org.apache.geode.CancelException;
@@ -131,6 +132,8 @@ public class PoolImpl implements InternalPool {
 
   private final ConnectionSource source;
   private final ConnectionManager manager;
+  private final PipelinedConnectionManager pipelinedConnectionManager;
+  private final GetBatcher getBatcher;
   private final QueueManager queueManager;
   protected final EndpointManager endpointManager;
   private final PoolManagerImpl pm;
@@ -283,8 +286,13 @@ public class PoolImpl implements InternalPool {
         cancelCriterion, getStats());
     // Fix for 43468 - make sure we check the cache cancel criterion if we get
     // an exception, by passing in the poolOrCache stopper
+    pipelinedConnectionManager = usedByGateway ? null
+        : PipelinedConnectionManager.create(connectionFactory, socketBufferSize);
     executor = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, retryAttempts,
-        freeConnectionTimeout, serverConnectionTimeout, new PoolOrCacheStopper(), this);
+        freeConnectionTimeout, serverConnectionTimeout, new PoolOrCacheStopper(), this,
+        pipelinedConnectionManager);
+    getBatcher = usedByGateway || multiuserSecureModeEnabled ? null
+        : GetBatcher.create(this, stats);
     if (multiuserSecureModeEnabled) {
       proxyCacheList = new ArrayList<>();
     } else {
@@ -637,6 +645,14 @@ public class PoolImpl implements InternalPool {
             e);
       }
 
+      try {
+        if (pipelinedConnectionManager != null) {
+          pipelinedConnectionManager.close(keepAlive);
+        }
+      } catch (RuntimeException e) {
+        logger.error("Error encountered while stopping pipelined connections.", e);
+      }
+
       try {
         if (manager != null) {
           manager.close(keepAlive);
@@ -783,6 +799,15 @@ public class PoolImpl implements InternalPool {
     return stats;
   }
 
+  /**
+   * Returns the batcher that coalesces concurrent single key gets, or null if get batching is
+   * disabled.
+   */
+  @Nullable
+  GetBatcher getGetBatcher() {
+    return getBatcher;
+  }
+
 
   /**
    * Execute the given op on the servers that this pool connects to. This method is responsible for
@@ -381,6 +381,12 @@ public class PutOp {
       }
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      // a failed delta is resent as a full value on the same connection
+      return !deltaSent;
+    }
+
     @Override
     protected boolean isErrorResponse(MessageType msgType) {
       return msgType == MessageType.PUT_DATA_ERROR;
@@ -16,11 +16,14 @@ package org.apache.geode.cache.client.internal;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 import org.jetbrains.annotations.NotNull;
 
 import org.apache.geode.SerializationException;
+import org.apache.geode.cache.client.ServerConnectivityException;
 import org.apache.geode.cache.client.ServerOperationException;
+import org.apache.geode.cache.query.QueryCursor;
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.internal.QueryUtils;
 import org.apache.geode.cache.query.internal.StructImpl;
@@ -66,6 +69,42 @@ public class QueryOp {
     return (SelectResults) pool.execute(op);
   }
 
+  /**
+   * Does a region query on a server, returning an iterator that receives the results from the
+   * server a chunk at a time as it is advanced, rather than collecting all of them first. The
+   * iterator keeps a connection from the pool until it is exhausted or closed. While the
+   * application is not reading, the server's writes block once the socket buffers fill up, so the
+   * server never runs further ahead of the client than that. Closing the iterator before it is
+   * exhausted destroys the connection, which stops the server from sending the remaining chunks.
+   *
+   * @param pool the pool to use to communicate with the server.
+   * @param queryPredicate A query language boolean query predicate
+   * @return an iterator over the values that match the <code>queryPredicate</code>, which must be
+   *         closed if it is not exhausted.
+   */
+  public static QueryCursor<Object> executeWithCursor(PoolImpl pool, String queryPredicate,
+      Object[] queryParams) {
+    CursorQueryOpImpl op;
+    if (queryParams != null && queryParams.length > 0) {
+      op = new CursorQueryOpImpl(pool, queryPredicate, queryParams);
+    } else {
+      op = new CursorQueryOpImpl(pool, queryPredicate);
+    }
+    Connection connection = pool.acquireConnection();
+    boolean opened = false;
+    try {
+      @SuppressWarnings("unchecked")
+      QueryCursor<Object> cursor =
+          (QueryCursor<Object>) pool.executeOn(connection, op);
+      opened = true;
+      return cursor;
+    } finally {
+      if (!opened) {
+        pool.returnConnection(connection);
+      }
+    }
+  }
+
   private QueryOp() {
     // no instances allowed
   }
@@ -170,26 +209,10 @@ public class QueryOp {
           }
           SelectResults selectResults = resultRef[0];
           ObjectType objectType = collectionType.getElementType();
-          Object[] resultArray;
-          // for select * queries, the serialized object byte arrays are
-          // returned as part of ObjectPartList
-          boolean isObjectPartList = false;
-          if (queryResult instanceof ObjectPartList) {
-            isObjectPartList = true;
-            resultArray = ((ObjectPartList) queryResult).getObjects().toArray();
-          } else {
-            // Add the results to the SelectResults
-            resultArray = (Object[]) queryResult;
-          }
+          Object[] resultArray = getResultElements(queryResult, objectType);
           if (objectType.isStructType()) {
             for (Object value : resultArray) {
-              if (isObjectPartList) {
-                selectResults.add(new StructImpl((StructTypeImpl) objectType,
-                    ((ObjectPartList) value).getObjects().toArray()));
-              } else {
-                selectResults
-                    .add(new StructImpl((StructTypeImpl) objectType, (Object[]) value));
-              }
+              selectResults.add(value);
             }
           } else {
             selectResults.addAll(Arrays.asList(resultArray));
@@ -204,6 +227,35 @@ public class QueryOp {
       }
     }
 
+    /**
+     * Returns the elements of a chunk of query results, making structs of their field values if
+     * the elements are structs.
+     */
+    static Object[] getResultElements(Object queryResult, ObjectType objectType) {
+      Object[] resultArray;
+      // for select * queries, the serialized object byte arrays are
+      // returned as part of ObjectPartList
+      boolean isObjectPartList = false;
+      if (queryResult instanceof ObjectPartList) {
+        isObjectPartList = true;
+        resultArray = ((ObjectPartList) queryResult).getObjects().toArray();
+      } else {
+        resultArray = (Object[]) queryResult;
+      }
+      if (objectType.isStructType()) {
+        for (int i = 0; i < resultArray.length; i++) {
+          Object value = resultArray[i];
+          if (isObjectPartList) {
+            resultArray[i] = new StructImpl((StructTypeImpl) objectType,
+                ((ObjectPartList) value).getObjects().toArray());
+          } else {
+            resultArray[i] = new StructImpl((StructTypeImpl) objectType, (Object[]) value);
+          }
+        }
+      }
+      return resultArray;
+    }
+
     protected String getOpName() {
       return "query";
     }
@@ -229,4 +281,160 @@ public class QueryOp {
       stats.endQuery(start, hasTimedOut(), hasFailed());
     }
   }
+  /**
+   * A query whose response is left on the connection after its first chunk, to be read by the
+   * {@link QueryResultCursor} it returns.
+   */
+  static class CursorQueryOpImpl extends QueryOpImpl {
+    private final PoolImpl pool;
+
+    CursorQueryOpImpl(PoolImpl pool, String queryPredicate) {
+      super(queryPredicate);
+      this.pool = pool;
+    }
+
+    CursorQueryOpImpl(PoolImpl pool, String queryPredicate, Object[] queryParams) {
+      super(queryPredicate, queryParams);
+      this.pool = pool;
+    }
+
+    @Override
+    protected Object attemptReadResponse(final @NotNull Connection cnx) throws Exception {
+      final Message msg = createResponseMessage();
+      msg.setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
+          cnx.getCommBuffer(), cnx.getStats());
+      boolean opened = false;
+      try {
+        Object cursor = processResponse(msg, cnx);
+        opened = true;
+        return cursor;
+      } finally {
+        if (!opened) {
+          msg.unsetComms();
+          processSecureBytes(cnx, msg);
+        }
+      }
+    }
+
+    /**
+     * Reads the first chunk of the response and returns a {@link QueryResultCursor} that reads the
+     * rest of it from the connection, which must be left open for it.
+     */
+    @Override
+    protected Object processResponse(final @NotNull Message m, final @NotNull Connection cnx)
+        throws Exception {
+      final ChunkedMessage msg = (ChunkedMessage) m;
+      readChunkedResponseHeader(msg, getOpName());
+      QueryResultCursor cursor = new QueryResultCursor(this, cnx, msg);
+      try {
+        cursor.readChunk();
+      } catch (Exception e) {
+        if (!msg.isLastChunk()) {
+          // the rest of the response cannot be read past, so the connection is unusable
+          cnx.destroy();
+        }
+        throw e;
+      }
+      return cursor;
+    }
+  }
+
+  /**
+   * Iterates over the results of a {@link CursorQueryOpImpl}, receiving a chunk of them from the
+   * connection whenever the previous one has been iterated over.
+   */
+  static class QueryResultCursor implements QueryCursor<Object> {
+    private final CursorQueryOpImpl op;
+    private final Connection connection;
+    private final ChunkedMessage msg;
+
+    private Object[] elements = new Object[0];
+    private int position;
+    private boolean done;
+
+    QueryResultCursor(CursorQueryOpImpl op, Connection connection, ChunkedMessage msg) {
+      this.op = op;
+      this.connection = connection;
+      this.msg = msg;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (position == elements.length) {
+        if (done) {
+          return false;
+        }
+        try {
+          readChunk();
+        } catch (RuntimeException e) {
+          close();
+          throw e;
+        } catch (Exception e) {
+          close();
+          throw new ServerConnectivityException(
+              "While reading the results of a remote " + op.getOpName(), e);
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public Object next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Object element = elements[position];
+      // let the chunk be collected while the rest of it is iterated over
+      elements[position++] = null;
+      return element;
+    }
+
+    @Override
+    public void close() {
+      if (done) {
+        return;
+      }
+      done = true;
+      elements = new Object[0];
+      position = 0;
+      msg.unsetComms();
+      // the chunks the server has yet to send cannot be skipped, so drop the connection
+      connection.destroy();
+      op.pool.returnConnection(connection);
+    }
+
+    /**
+     * Receives the next chunk of results, returning the connection to the pool if it is the last.
+     */
+    void readChunk() throws Exception {
+      msg.receiveChunk();
+      Object o = msg.getPart(0).getObject();
+      if (o instanceof Throwable) {
+        throw new ServerOperationException("While performing a remote " + op.getOpName(),
+            (Throwable) o);
+      }
+      CollectionType collectionType = (CollectionType) o;
+      Object queryResult;
+      try {
+        queryResult = msg.getPart(1).getObject();
+      } catch (Exception e) {
+        throw new SerializationException("While deserializing " + op.getOpName() + " result", e);
+      }
+      if (queryResult instanceof Throwable) {
+        throw new ServerOperationException("While performing a remote " + op.getOpName(),
+            (Throwable) queryResult);
+      } else if (queryResult instanceof Integer) {
+        elements = new Object[] {queryResult};
+      } else {
+        elements = QueryOpImpl.getResultElements(queryResult, collectionType.getElementType());
+      }
+      position = 0;
+      if (msg.isLastChunk()) {
+        done = true;
+        msg.unsetComms();
+        op.processSecureBytes(connection, msg);
+        op.pool.returnConnection(connection);
+      }
+    }
+  }
 }
@@ -15,6 +15,7 @@
 package org.apache.geode.cache.client.internal;
 
 
+import org.apache.geode.cache.query.QueryCursor;
 import org.apache.geode.cache.query.SelectResults;
 
 /**
@@ -59,4 +60,15 @@ public class ServerProxy {
     return QueryOp.execute(pool, queryPredicate, queryParams);
   }
 
+  /**
+   * Does a query on a server, receiving its results as they are iterated over.
+   *
+   * @param queryPredicate A query language boolean query predicate
+   * @return An iterator over the values that match the <code>queryPredicate</code>, which must be
+   *         closed if it is not exhausted.
+   */
+  public QueryCursor<Object> queryWithCursor(String queryPredicate, Object[] queryParams) {
+    return QueryOp.executeWithCursor((PoolImpl) pool, queryPredicate, queryParams);
+  }
+
 }
@@ -15,6 +15,10 @@
 
 package org.apache.geode.cache.query;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.FunctionContext;
@@ -128,6 +132,60 @@ public interface Query {
   Object execute(Object... params) throws FunctionDomainException, TypeMismatchException,
       NameResolutionException, QueryInvocationTargetException;
 
+  /**
+   * Executes this query like {@link #execute(Object...)}, returning a cursor over its results. If
+   * the query is executed on a server through a pool, the cursor receives the results from the
+   * server a chunk at a time as it is advanced, so that the client never has to hold a large result
+   * all at once. Such a cursor keeps a connection to the server until it is exhausted. The server
+   * still evaluates the whole query before it sends the first chunk.
+   *
+   * <p>
+   * The cursor must be closed if it is abandoned before it is exhausted. Closing it early gives up
+   * its connection, which stops the server from sending the rest of the results.
+   *
+   * @param params Values that are bound to parameters (such as <code>$1</code>) in this query.
+   * @return a cursor over the results of the query. If the query is not a select statement, the
+   *         cursor returns its single result.
+   *
+   * @throws FunctionDomainException A function was applied to a parameter that is improper for that
+   *         function.
+   * @throws TypeMismatchException If a bound parameter is not of the expected type.
+   * @throws NameResolutionException If a name in the query cannot be resolved.
+   * @throws QueryInvocationTargetException If the data referenced in from clause is not available
+   *         for querying.
+   *
+   * @since Geode 1.16
+   */
+  default QueryCursor<Object> executeWithCursor(Object... params)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    Object result = execute(params);
+    Iterator<?> results = result instanceof SelectResults ? ((SelectResults<?>) result).iterator()
+        : Collections.singleton(result).iterator();
+    return new QueryCursor<Object>() {
+      private boolean closed;
+
+      @Override
+      public boolean hasNext() {
+        return !closed && results.hasNext();
+      }
+
+      @Override
+      public Object next() {
+        if (closed) {
+          throw new NoSuchElementException();
+        }
+        return results.next();
+      }
+
+      @Override
+      public void close() {
+        // the results are already in memory
+        closed = true;
+      }
+    };
+  }
+
   /**
    * Executes this query on the partitioned data-store associated with the given
    * RegionFunctionContext and returns an object that represents its result. An Exception is thrown
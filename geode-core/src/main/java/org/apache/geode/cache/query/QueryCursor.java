@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query;
+
+import java.util.Iterator;
+
+/**
+ * An iterator over the results of a query, returned by {@link Query#executeWithCursor}. A cursor
+ * may hold resources, such as a connection to a server, until it is exhausted, so it must be
+ * closed if it is abandoned before that.
+ *
+ * @param <E> the type of the results
+ *
+ * @since Geode 1.16
+ */
+public interface QueryCursor<E> extends Iterator<E>, AutoCloseable {
+  /**
+   * Frees the resources held by this cursor. Once it is closed, {@link #hasNext} returns false.
+   */
+  @Override
+  void close();
+}
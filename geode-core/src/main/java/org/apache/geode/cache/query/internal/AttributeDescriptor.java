@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.cache.EntryDestroyedException;
@@ -125,6 +126,15 @@ public class AttributeDescriptor {
             }
           }
 
+          Function<Object, Object> accessor = MethodAccessors.getAccessor(method);
+          if (accessor != null) {
+            try {
+              return accessor.apply(target);
+            } catch (Throwable t) {
+              // handled below just like a failure of the method invoked through reflection
+              throw new InvocationTargetException(t);
+            }
+          }
           return method.invoke(target, (Object[]) null);
         } catch (EntryDestroyedException e) {
           // eat the Exception
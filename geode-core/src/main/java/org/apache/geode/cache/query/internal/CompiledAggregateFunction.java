@@ -14,6 +14,7 @@
  */
 package org.apache.geode.cache.query.internal;
 
+import org.apache.geode.cache.query.Aggregator;
 import org.apache.geode.cache.query.FunctionDomainException;
 import org.apache.geode.cache.query.NameResolutionException;
 import org.apache.geode.cache.query.QueryInvocationTargetException;
@@ -61,6 +62,14 @@ public class CompiledAggregateFunction extends AbstractCompiledValue {
   @Override
   public Object evaluate(ExecutionContext context) throws FunctionDomainException,
       TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
+    return createAggregator(context);
+  }
+
+  /**
+   * Creates the aggregator for this function, as appropriate for the node the query is executing
+   * on.
+   */
+  Aggregator createAggregator(ExecutionContext context) {
     boolean isPRQueryNode = context.getIsPRQueryNode();
     boolean isBucketNode = context.getBucketList() != null;
     switch (aggFuncType) {
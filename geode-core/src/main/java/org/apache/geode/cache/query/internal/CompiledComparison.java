@@ -341,6 +341,25 @@ public class CompiledComparison extends AbstractCompiledValue
     return idxInfo[0]._index.getSizeEstimate(key, op, idxInfo[0]._matchLevel);
   }
 
+  @Override
+  public boolean hasIndexBasedSizeEstimate(ExecutionContext context)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    IndexInfo[] idxInfo = getIndexInfo(context);
+    if (idxInfo == null || idxInfo.length != 1) {
+      return false;
+    }
+    switch (reflectOnOperator(idxInfo[0]._key())) {
+      case TOK_EQ:
+      case TOK_NE:
+      case TOK_NE_ALT:
+        return true;
+      default:
+        return idxInfo[0]._index.hasRangeStatistics(idxInfo[0].evaluateIndexKey(context),
+            idxInfo[0]._matchLevel);
+    }
+  }
+
   /* **************** PRIVATE METHODS ************************** */
   /*
    * evaluate as a filter, involving a single iterator. Use an index if possible.
@@ -852,6 +871,11 @@ public class CompiledComparison extends AbstractCompiledValue
       return thisSize <= thatSize;
     }
 
+    // The estimates can be relied upon when both come from the index keys.
+    if (hasIndexBasedSizeEstimate(context) && comparedTo.hasIndexBasedSizeEstimate(context)) {
+      return thisSize <= thatSize;
+    }
+
     // There may be some hard rules that give unoptimal selections based on these switch cases.
     if (_operator == TOK_EQ || _operator == TOK_NE || _operator == TOK_NE_ALT) {
       switch (thatOperator) {
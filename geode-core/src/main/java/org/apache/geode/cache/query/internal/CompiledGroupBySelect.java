@@ -14,6 +14,7 @@
  */
 package org.apache.geode.cache.query.internal;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
@@ -23,7 +24,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+
 import org.apache.geode.cache.query.Aggregator;
+import org.apache.geode.cache.query.AmbiguousNameException;
 import org.apache.geode.cache.query.FunctionDomainException;
 import org.apache.geode.cache.query.NameResolutionException;
 import org.apache.geode.cache.query.QueryInvalidException;
@@ -168,6 +172,11 @@ public class CompiledGroupBySelect extends CompiledSelect {
     int limitValue = evaluateLimitValue(context, limit);
     SelectResults newResults =
         createResultSet(context, elementType, isStruct, createOrderedResultSet);
+    if (baseResults instanceof GroupAggregatingBag) {
+      addAggregatedGroups((GroupAggregatingBag) baseResults, context, newResults,
+          !createOrderedResultSet, limitValue);
+      return newResults;
+    }
     Aggregator[] aggregators = new Aggregator[aggregateFunctions.length];
     refreshAggregators(aggregators, context);
     if (orderByAttrs != null) {
@@ -190,6 +199,49 @@ public class CompiledGroupBySelect extends CompiledSelect {
     return newResults;
   }
 
+  /**
+   * Rows of a GROUP BY query with aggregates are folded into the aggregates of their group as they
+   * are evaluated, instead of being collected and sorted by the group by columns first.
+   */
+  @Override
+  protected SelectResults prepareEmptyResultSet(ExecutionContext context, boolean ignoreOrderBy)
+      throws TypeMismatchException, AmbiguousNameException {
+    if (!ignoreOrderBy && orderByAttrs != null && aggregateFunctions.length > 0) {
+      ObjectType elementType = cachedElementTypeForOrderBy != null
+          ? cachedElementTypeForOrderBy : prepareResultType(context);
+      if (elementType.isStructType()) {
+        return new GroupAggregatingBag((StructType) elementType, context);
+      }
+    }
+    return super.prepareEmptyResultSet(context, ignoreOrderBy);
+  }
+
+  /**
+   * Adds a row for each group of the bag to the results, in the order of the group by columns,
+   * which is the order the rows would have been grouped in had they been sorted.
+   */
+  private void addAggregatedGroups(GroupAggregatingBag groups, ExecutionContext context,
+      SelectResults newResults, boolean isStructFields, int limitValue)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    StructTypeImpl structType = (StructTypeImpl) groups.getCollectionType().getElementType();
+    OrderByComparator comparator = new OrderByComparator(orderByAttrs, structType, context);
+    List<Group> sortedGroups = new ArrayList<>(groups.groups.values());
+    sortedGroups.sort((group1, group2) -> comparator.compare(group1.firstRow, group2.firstRow));
+
+    for (Group group : sortedGroups) {
+      if (!terminateAndAddToResults(true, newResults, group.aggregators,
+          new StructImpl(structType, group.firstRow), context, isStructFields, limitValue)) {
+        break;
+      }
+    }
+
+    if (originalOrderByClause != null && limitValue > 0
+        && (context.getIsPRQueryNode() || context.getBucketList() == null)) {
+      ((Bag) newResults).applyLimit(limitValue);
+    }
+  }
+
   private SelectResults createResultSet(ExecutionContext context, ObjectType elementType,
       boolean isStruct, boolean createOrderedResults) {
     elementType = createNewElementType(elementType, isStruct);
@@ -374,21 +426,28 @@ public class CompiledGroupBySelect extends CompiledSelect {
 
   private void accumulate(boolean isStruct, Aggregator[] aggregators, Object current,
       boolean[] objectChangedMarker) {
+    if (isStruct) {
+      accumulateFieldValues(aggregators, ((Struct) current).getFieldValues(),
+          objectChangedMarker);
+      return;
+    }
+    for (Aggregator aggregator : aggregators) {
+      current =
+          PDXUtils.convertPDX(current, false, true, true, true, objectChangedMarker, isStruct);
+      aggregator.accumulate(current);
+    }
+  }
+
+  private void accumulateFieldValues(Aggregator[] aggregators, Object[] fieldValues,
+      boolean[] objectChangedMarker) {
     int bitstart = 0;
     for (Aggregator aggregator : aggregators) {
-      if (isStruct) {
-        int pos = aggregateColsPos.nextSetBit(bitstart);
-        bitstart = pos + 1;
-        Struct struct = (Struct) current;
-        Object scalar = PDXUtils.convertPDX(struct.getFieldValues()[pos], false, true, true, true,
-            objectChangedMarker, isStruct);
+      int pos = aggregateColsPos.nextSetBit(bitstart);
+      bitstart = pos + 1;
+      Object scalar = PDXUtils.convertPDX(fieldValues[pos], false, true, true, true,
+          objectChangedMarker, true);
 
-        aggregator.accumulate(scalar);
-      } else {
-        current =
-            PDXUtils.convertPDX(current, false, true, true, true, objectChangedMarker, isStruct);
-        aggregator.accumulate(current);
-      }
+      aggregator.accumulate(scalar);
     }
   }
 
@@ -486,4 +545,76 @@ public class CompiledGroupBySelect extends CompiledSelect {
     return found;
   }
 
+  /**
+   * The aggregators of a group and the first row evaluated for it, which supplies the values of
+   * the group by columns for the group's row in the results.
+   */
+  private static class Group {
+    private final Object[] firstRow;
+    private final Aggregator[] aggregators;
+
+    private Group(Object[] firstRow, Aggregator[] aggregators) {
+      this.firstRow = firstRow;
+      this.aggregators = aggregators;
+    }
+  }
+
+  /**
+   * Collects the rows of a GROUP BY query by accumulating each one into the aggregators of its
+   * group, which are kept in a hash table keyed by the values of the group by columns. Only one
+   * row per group is kept, so the rows of a bucket no longer all have to be held and sorted before
+   * they can be aggregated. The bag itself stays empty; {@link #addAggregatedGroups} turns the
+   * groups into the query results.
+   */
+  private class GroupAggregatingBag extends StructBag implements Ordered {
+    private final ExecutionContext context;
+    private final OrderByComparator comparator;
+    private final Map<Object, Group> groups =
+        new Object2ObjectOpenCustomHashMap<>(new ObjectArrayFUHashingStrategy());
+    private final boolean[] objectChangedMarker = new boolean[] {false};
+
+    private GroupAggregatingBag(StructType elementType, ExecutionContext context) {
+      super(elementType, context.getCachePerfStats());
+      this.context = context;
+      comparator = new OrderByComparator(orderByAttrs, elementType, context);
+    }
+
+    @Override
+    public int addAndGetOccurence(Object element) {
+      Object[] fieldValues = (Object[]) element;
+      Object[] groupKey = groupKey(fieldValues);
+      Group group = groups.get(groupKey);
+      if (group == null) {
+        Aggregator[] aggregators = new Aggregator[aggregateFunctions.length];
+        for (int i = 0; i < aggregators.length; i++) {
+          aggregators[i] = aggregateFunctions[i].createAggregator(context);
+        }
+        group = new Group(fieldValues, aggregators);
+        groups.put(groupKey, group);
+      }
+      accumulateFieldValues(group.aggregators, fieldValues, objectChangedMarker);
+      return 1;
+    }
+
+    private Object[] groupKey(Object[] fieldValues) {
+      Object[] groupKey = new Object[orderByAttrs.size()];
+      int i = 0;
+      for (CompiledSortCriterion csc : orderByAttrs) {
+        groupKey[i++] = PDXUtils.convertPDX(csc.evaluate(fieldValues, context), false, true,
+            true, true, objectChangedMarker, false);
+      }
+      return groupKey;
+    }
+
+    @Override
+    public Comparator comparator() {
+      return comparator;
+    }
+
+    @Override
+    public boolean dataPreordered() {
+      return false;
+    }
+  }
+
 }
@@ -47,7 +47,7 @@ public class CompiledIteratorDef extends AbstractCompiledValue {
   private static final Logger logger = LogService.getLogger();
 
   private final String name;
-  private ObjectType elementType;
+  private final ObjectType elementType;
   private CompiledValue collectionExpr;
 
   /**
@@ -186,18 +186,20 @@ public class CompiledIteratorDef extends AbstractCompiledValue {
       context.currentScope().setLimit(null);
     }
     // if we don't have an elementType and there's a typecast, apply the
-    // element type here
-    if (TypeUtils.OBJECT_TYPE.equals(elementType)) {
+    // element type here. The type is kept to this evaluation, since a compiled
+    // query may be shared by concurrent executions.
+    ObjectType type = elementType;
+    if (TypeUtils.OBJECT_TYPE.equals(type)) {
       ObjectType elmTypc = getCollectionElementTypeCast();
       if (elmTypc != null) {
-        elementType = elmTypc;
+        type = elmTypc;
       }
     }
 
     // PR bucketRegion substitution should have already happened
     // at the expression evaluation level
 
-    return prepareIteratorDef(coll, elementType, context);
+    return prepareIteratorDef(coll, type, context);
   }
 
   @Override
@@ -257,7 +259,7 @@ public class CompiledIteratorDef extends AbstractCompiledValue {
    * in must be unmodified, but the resulting SelectResults may or may not be modifiable. Return
    * null if obj is null or UNDEFINED.
    */
-  private SelectResults prepareIteratorDef(Object obj, ObjectType elementType,
+  private SelectResults prepareIteratorDef(Object obj, ObjectType type,
       ExecutionContext context) throws TypeMismatchException {
     if (obj == null) {
       return null;
@@ -271,17 +273,17 @@ public class CompiledIteratorDef extends AbstractCompiledValue {
       SelectResults sr = (SelectResults) obj;
       // override the elementType if not Object.class (does not apply to
       // StructBags)
-      if (!elementType.equals(TypeUtils.OBJECT_TYPE)) {
-        sr.setElementType(elementType);
+      if (!type.equals(TypeUtils.OBJECT_TYPE)) {
+        sr.setElementType(type);
       }
       return sr;
     }
     if (obj instanceof Region) {
       // this can happen if region passed in as parameter
       QRegion qRegion = new QRegion((Region) obj, false, context);
-      if (!elementType.equals(TypeUtils.OBJECT_TYPE)) {
+      if (!type.equals(TypeUtils.OBJECT_TYPE)) {
         // override the valueConstraint, if any
-        qRegion.setElementType(elementType);
+        qRegion.setElementType(type);
       }
       return qRegion;
     }
@@ -290,7 +292,7 @@ public class CompiledIteratorDef extends AbstractCompiledValue {
     // domain, otherwise it would be a SelectResults.
     if (obj instanceof Collection) {
       // do not lose ordering and duplicate information,
-      ResultsCollectionWrapper res = new ResultsCollectionWrapper(elementType, (Collection) obj);
+      ResultsCollectionWrapper res = new ResultsCollectionWrapper(type, (Collection) obj);
       res.setModifiable(false);
       return res;
     }
@@ -298,38 +300,38 @@ public class CompiledIteratorDef extends AbstractCompiledValue {
     if (obj instanceof Object[]) {
       // the element type is specified in the array itself, unless we have
       // something more specific
-      if (elementType.equals(TypeUtils.OBJECT_TYPE)) { // if we don't have
+      if (type.equals(TypeUtils.OBJECT_TYPE)) { // if we don't have
         // constraint info
-        elementType = TypeUtils.getObjectType(obj.getClass().getComponentType());
+        type = TypeUtils.getObjectType(obj.getClass().getComponentType());
       }
       // do not lose ordering and duplicate information,
       ResultsCollectionWrapper res =
-          new ResultsCollectionWrapper(elementType, Arrays.asList((Object[]) obj));
+          new ResultsCollectionWrapper(type, Arrays.asList((Object[]) obj));
       res.setModifiable(false);
       return res;
     }
     // TODO: primitive arrays?
     if (obj instanceof Map) {
-      if (elementType.equals(TypeUtils.OBJECT_TYPE)) { // if we don't have more
+      if (type.equals(TypeUtils.OBJECT_TYPE)) { // if we don't have more
         // specific type info,
         // use Map.Entry
-        elementType = TypeUtils.getObjectType(Map.Entry.class);
+        type = TypeUtils.getObjectType(Map.Entry.class);
       }
       ResultsCollectionWrapper res =
-          new ResultsCollectionWrapper(elementType, ((Map) obj).entrySet());
+          new ResultsCollectionWrapper(type, ((Map) obj).entrySet());
       res.setModifiable(false);
       return res;
     } else {
       obj = new Object[] {obj};
       // the element type is specified in the array itself, unless we have
       // something more specific
-      if (elementType.equals(TypeUtils.OBJECT_TYPE)) { // if we don't have
+      if (type.equals(TypeUtils.OBJECT_TYPE)) { // if we don't have
         // constraint info
-        elementType = TypeUtils.getObjectType(obj.getClass().getComponentType());
+        type = TypeUtils.getObjectType(obj.getClass().getComponentType());
       }
       // do not lose ordering and duplicate information,
       ResultsCollectionWrapper res =
-          new ResultsCollectionWrapper(elementType, Arrays.asList((Object[]) obj));
+          new ResultsCollectionWrapper(type, Arrays.asList((Object[]) obj));
       res.setModifiable(false);
       return res;
     }
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheClosedException;
@@ -61,9 +62,10 @@ public class CompiledSelect extends AbstractCompiledValue {
   private boolean count;
   // limits the SelectResults by the number specified.
   private final CompiledValue limit;
-  // counts the no of results satisfying where condition for
-  // count(*) non-distinct queries where no indexes are used.
-  private int countStartQueryResult = 0;
+  // keys the count, in the execution context, of results satisfying where condition for
+  // count(*) non-distinct queries where no indexes are used. The count is kept in the context
+  // so that concurrent executions of a shared compiled query do not count into each other.
+  private final Object countStartQueryResultKey = new Object();
 
   protected List<CompiledValue> groupBy = null;
   // Are not serialized and are recreated when compiling the query
@@ -588,6 +590,7 @@ public class CompiledSelect extends AbstractCompiledValue {
         if (count) {
           SelectResults res = result;
 
+          int countStartQueryResult = getCountStartQueryResult(context);
           if ((distinct || evalAsFilters || countStartQueryResult == 0)) {
             // Retrun results as it is as distinct is applied
             // at coordinator node for PR queries.
@@ -616,6 +619,24 @@ public class CompiledSelect extends AbstractCompiledValue {
     }
   }
 
+  private int getCountStartQueryResult(ExecutionContext context) {
+    int[] count = (int[]) context.cacheGet(countStartQueryResultKey);
+    return count == null ? 0 : count[0];
+  }
+
+  private void setCountStartQueryResult(ExecutionContext context, int value) {
+    context.cachePut(countStartQueryResultKey, new int[] {value});
+  }
+
+  private void incCountStartQueryResult(ExecutionContext context) {
+    int[] count = (int[]) context.cacheGet(countStartQueryResultKey);
+    if (count == null) {
+      setCountStartQueryResult(context, 1);
+    } else {
+      count[0]++;
+    }
+  }
+
   /**
    * The index is locked during query to prevent it from being removed by another thread. So we have
    * to release the lock only after whole query is finished as one query can use an index multiple
@@ -813,7 +834,7 @@ public class CompiledSelect extends AbstractCompiledValue {
       if (whereClause == null && iterators.size() == 1 && isCount() && !isDistinct()
           && sr instanceof QRegion) {
         QRegion qr = (QRegion) sr;
-        countStartQueryResult = qr.getRegion().size();
+        setCountStartQueryResult(context, qr.getRegion().size());
         return 1;
       }
 
@@ -948,7 +969,7 @@ public class CompiledSelect extends AbstractCompiledValue {
     private final boolean isOrdered, isDistinct, isStructType, isIgnoreOrderBy;
   }
 
-  private SelectResults prepareEmptyResultSet(ExecutionContext context, boolean ignoreOrderBy)
+  protected SelectResults prepareEmptyResultSet(ExecutionContext context, boolean ignoreOrderBy)
       throws TypeMismatchException, AmbiguousNameException {
     // If no projection attributes or '*' as projection attribute & more than one/RunTimeIterator
     // then create a StructSet.
@@ -965,7 +986,7 @@ public class CompiledSelect extends AbstractCompiledValue {
       // Shobhit: If it's a 'COUNT' query and no End processing required Like for 'DISTINCT'
       // we can directly keep count in ResultSet and ResultBag is good enough for that.
       results = new ResultsBag(new ObjectTypeImpl(Integer.class), 1, context.getCachePerfStats());
-      countStartQueryResult = 0;
+      setCountStartQueryResult(context, 0);
       return results;
     }
 
@@ -1149,14 +1170,11 @@ public class CompiledSelect extends AbstractCompiledValue {
     ArrayList evaluatedOrderByClause = null;
     OrderByComparator comparator = null;
     boolean applyOrderBy = false;
+    // Only the first LIMIT rows in sort order can be in the results of an ordered query, so the
+    // sorted results are kept to that many rows rather than sorting every row that is evaluated
+    int topK = -1;
     if (orderByAttrs != null && !ignoreOrderBy) {
-      // In case PR order-by will get applied on the coordinator node
-      // on the cumulative results. Apply the order-by on PR only if
-      // limit is specified.
-      Integer limitValue = evaluateLimitValue(context, limit);
-      if (context.getPartitionedRegion() != null && limitValue < 0) {
-        applyOrderBy = false;
-      }
+      topK = evaluateLimitValue(context, limit);
       applyOrderBy = true;
     }
 
@@ -1186,7 +1204,7 @@ public class CompiledSelect extends AbstractCompiledValue {
         // Counter is local to CompileSelect and not available in ResultSet
         // until
         // the end of evaluate call to this CompiledSelect object.
-        countStartQueryResult++;
+        incCountStartQueryResult(context);
         occurrence = 1;
       } else {
         // if order by is present
@@ -1366,9 +1384,29 @@ public class CompiledSelect extends AbstractCompiledValue {
         }
       }
     }
+    if (applyOrderBy && topK > -1 && resultSet.size() > topK) {
+      removeLastInOrder(resultSet, comparator);
+    }
     return occurrence;
   }
 
+  /**
+   * Drops the row that sorts last from the sorted results of an ordered query.
+   */
+  private static void removeLastInOrder(SelectResults resultSet, OrderByComparator comparator) {
+    Object removed;
+    if (resultSet instanceof SortedResultsBag) {
+      removed = ((SortedResultsBag) resultSet).removeLast();
+    } else if (resultSet instanceof TreeSet) {
+      removed = ((TreeSet) resultSet).pollLast();
+    } else {
+      return;
+    }
+    if (removed != null) {
+      comparator.removeEvaluatedSortCriteria(removed);
+    }
+  }
+
   private String generateProjectionName(CompiledValue projExpr, ExecutionContext context) {
     String name = null;
     if (projExpr instanceof RuntimeIterator) {
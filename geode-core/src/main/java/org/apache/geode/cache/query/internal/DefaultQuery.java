@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -41,8 +42,7 @@ import org.apache.geode.cache.persistence.PartitionOfflineException;
 import org.apache.geode.cache.query.FunctionDomainException;
 import org.apache.geode.cache.query.NameResolutionException;
 import org.apache.geode.cache.query.Query;
-import org.apache.geode.cache.query.QueryException;
-import org.apache.geode.cache.query.QueryInvalidException;
+import org.apache.geode.cache.query.QueryCursor;
 import org.apache.geode.cache.query.QueryInvocationTargetException;
 import org.apache.geode.cache.query.QueryService;
 import org.apache.geode.cache.query.QueryStatistics;
@@ -160,19 +160,16 @@ public class DefaultQuery implements Query {
    * @see QueryService#newQuery
    */
   public DefaultQuery(String queryString, InternalCache cache, boolean isForRemote) {
+    this(queryString, QueryPlanCache.Plan.compile(queryString, cache, isForRemote), cache);
+  }
+
+  /**
+   * Creates a query from an already compiled plan, which may be shared with other queries.
+   */
+  DefaultQuery(String queryString, QueryPlanCache.Plan plan, InternalCache cache) {
     this.queryString = queryString;
-    QCompiler compiler = new QCompiler();
-    compiledQuery = compiler.compileQuery(queryString);
-    CompiledSelect cs = getSimpleSelect();
-    if (cs != null && !isForRemote && (cs.isGroupBy() || cs.isOrderBy())) {
-      QueryExecutionContext ctx = new QueryExecutionContext(null, cache);
-      try {
-        cs.computeDependencies(ctx);
-      } catch (QueryException qe) {
-        throw new QueryInvalidException("", qe);
-      }
-    }
-    traceOn = compiler.isTraceRequested() || QUERY_VERBOSE;
+    compiledQuery = plan.getCompiledQuery();
+    traceOn = plan.isTraceRequested() || QUERY_VERBOSE;
     this.cache = cache;
     statisticsClock = cache.getStatisticsClock();
     stats = new DefaultQueryStatistics();
@@ -314,6 +311,85 @@ public class DefaultQuery implements Query {
     return !isRemoteQuery() && !cache.getPdxReadSerialized();
   }
 
+  @Override
+  public QueryCursor<Object> executeWithCursor(Object... params)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    if (params == null) {
+      throw new IllegalArgumentException(
+          "'parameters' cannot be null");
+    }
+    if (serverProxy != null) {
+      return executeOnServerWithCursor(params);
+    }
+    return Query.super.executeWithCursor(params);
+  }
+
+  /**
+   * The statistics of a query executed with a cursor are recorded once the cursor is exhausted,
+   * fails or is closed, since the results are only read from the server as it is iterated over.
+   */
+  private QueryCursor<Object> executeOnServerWithCursor(Object[] parameters) {
+    final long startTime = statisticsClock.getTime();
+    final QueryCursor<Object> cursor;
+    boolean opened = false;
+    try {
+      if (proxyCache != null) {
+        if (proxyCache.isClosed()) {
+          throw proxyCache.getCacheClosedException("Cache is closed for this user.");
+        }
+        UserAttributes.userAttributes.set(proxyCache.getUserAttributes());
+      }
+      cursor = serverProxy.queryWithCursor(queryString, parameters);
+      opened = true;
+    } finally {
+      UserAttributes.userAttributes.set(null);
+      if (!opened) {
+        updateStatistics(statisticsClock.getTime() - startTime);
+      }
+    }
+    return new QueryCursor<Object>() {
+      private boolean finished;
+
+      @Override
+      public boolean hasNext() {
+        boolean hasNext = false;
+        try {
+          hasNext = cursor.hasNext();
+        } finally {
+          if (!hasNext) {
+            finish();
+          }
+        }
+        return hasNext;
+      }
+
+      @Override
+      public Object next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return cursor.next();
+      }
+
+      @Override
+      public void close() {
+        try {
+          cursor.close();
+        } finally {
+          finish();
+        }
+      }
+
+      private void finish() {
+        if (!finished) {
+          finished = true;
+          updateStatistics(statisticsClock.getTime() - startTime);
+        }
+      }
+    };
+  }
+
   private Object executeOnServer(Object[] parameters) {
     long startTime = statisticsClock.getTime();
     Object result;
@@ -644,6 +720,7 @@ public class DefaultQuery implements Query {
     if (observer instanceof IndexTrackingQueryObserver) {
       IndexTrackingQueryObserver indexObserver = (IndexTrackingQueryObserver) observer;
       Map usedIndexes = indexObserver.getUsedIndexes();
+      List<String> indexSelections = indexObserver.getIndexSelections();
       indexObserver.reset();
       StringBuilder sb = new StringBuilder();
       sb.append(" indexesUsed(");
@@ -659,6 +736,9 @@ public class DefaultQuery implements Query {
           }
         }
       }
+      if (!indexSelections.isEmpty()) {
+        sb.append(" indexesChosen:").append(String.join(",", indexSelections));
+      }
       usedIndexesString = sb.toString();
     } else if (DefaultQuery.QUERY_VERBOSE) {
       usedIndexesString = " indexesUsed(NA due to other observer in the way: "
@@ -101,6 +101,8 @@ public class DefaultQueryService implements InternalQueryService {
 
   private final MethodInvocationAuthorizer methodInvocationAuthorizer;
 
+  private final QueryPlanCache queryPlanCache;
+
   private InternalPool pool;
 
   private final Map<Region, HashSet<IndexCreationData>> indexDefinitions =
@@ -115,6 +117,7 @@ public class DefaultQueryService implements InternalQueryService {
 
     this.cache = cache;
     methodInvocationAuthorizer = queryConfigurationService.getMethodAuthorizer();
+    queryPlanCache = queryConfigurationService.getQueryPlanCache();
 
     // Should never happen, adding the check as a safeguard.
     if (methodInvocationAuthorizer == null) {
@@ -148,7 +151,12 @@ public class DefaultQueryService implements InternalQueryService {
           "The query string must not be empty");
     }
     ServerProxy serverProxy = pool == null ? null : new ServerProxy(pool);
-    DefaultQuery query = new DefaultQuery(queryString, cache, serverProxy != null);
+    DefaultQuery query;
+    if (serverProxy == null && queryPlanCache != null) {
+      query = new DefaultQuery(queryString, queryPlanCache.getPlan(queryString, cache), cache);
+    } else {
+      query = new DefaultQuery(queryString, cache, serverProxy != null);
+    }
     query.setServerProxy(serverProxy);
     return query;
   }
@@ -102,6 +102,17 @@ public interface Filter {
   int getSizeEstimate(ExecutionContext context) throws FunctionDomainException,
       TypeMismatchException, NameResolutionException, QueryInvocationTargetException;
 
+  /**
+   * Returns true if the size estimate of this filter is worked out from the keys held by its index,
+   * rather than being a fixed guess. Filters whose estimates are both worked out this way are
+   * chosen between on their estimates alone.
+   */
+  default boolean hasIndexBasedSizeEstimate(ExecutionContext context)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    return false;
+  }
+
   boolean isProjectionEvaluationAPossibility(ExecutionContext context)
       throws FunctionDomainException, TypeMismatchException, NameResolutionException,
       QueryInvocationTargetException;
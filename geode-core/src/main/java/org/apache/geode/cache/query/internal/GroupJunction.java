@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.geode.cache.query.FunctionDomainException;
+import org.apache.geode.cache.query.Index;
 import org.apache.geode.cache.query.NameResolutionException;
 import org.apache.geode.cache.query.QueryInvocationTargetException;
 import org.apache.geode.cache.query.TypeMismatchException;
@@ -106,6 +107,8 @@ public class GroupJunction extends AbstractGroupOrRangeJunction {
 
         Filter currentBestFilter = null;
         int currentBestFilterSize = -1;
+        Index currentBestIndex = null;
+        QueryObserver observer = QueryObserverHolder.getInstance();
         indexCount = 1;
 
         for (CompiledValue operand : _operands) {
@@ -138,22 +141,32 @@ public class GroupJunction extends AbstractGroupOrRangeJunction {
               // new best
               currentBestFilter = (Filter) operand;
               currentBestFilterSize = ((Filter) operand).getSizeEstimate(context);
+              currentBestIndex = (Index) pi.indexes.get(0);
               foundPreferredCondition = true;
               continue;
             }
             if (currentBestFilter == null) {
               currentBestFilter = (Filter) operand;
               currentBestFilterSize = ((Filter) operand).getSizeEstimate(context);
-            } else if (foundPreferredCondition || currentBestFilter.isBetterFilter((Filter) operand,
-                context, currentBestFilterSize)) {
+              currentBestIndex = (Index) pi.indexes.get(0);
+            } else if (foundPreferredCondition) {
               evalOperands.add(operand);
             } else {
-              evalOperands.add(currentBestFilter);
-              currentBestFilter = (Filter) operand;
-              // TODO:Asif: Avoid this call. Let the function which is doing the
-              // comparison return some how the size of comparedTo operand.
-              currentBestFilterSize = ((Filter) operand).getSizeEstimate(context);
-
+              Index operandIndex = (Index) pi.indexes.get(0);
+              int operandSize = ((Filter) operand).getSizeEstimate(context);
+              if (currentBestFilter.isBetterFilter((Filter) operand, context,
+                  currentBestFilterSize)) {
+                evalOperands.add(operand);
+                observer.afterIndexSelection(currentBestIndex, currentBestFilterSize,
+                    operandIndex, operandSize);
+              } else {
+                observer.afterIndexSelection(operandIndex, operandSize, currentBestIndex,
+                    currentBestFilterSize);
+                evalOperands.add(currentBestFilter);
+                currentBestFilter = (Filter) operand;
+                currentBestFilterSize = operandSize;
+                currentBestIndex = operandIndex;
+              }
             }
           } else if (!operand.isDependentOnCurrentScope(context)) {
             // TODO: Asif :Remove this Assert & else if condition after successful
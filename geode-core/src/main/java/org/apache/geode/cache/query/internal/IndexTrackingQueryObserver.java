@@ -18,9 +18,11 @@
 //
 package org.apache.geode.cache.query.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -42,6 +44,7 @@ public class IndexTrackingQueryObserver extends QueryObserverAdapter {
   private static final ThreadLocal indexInfo = new ThreadLocal();
   private static final ThreadLocal lastKeyUsed = new ThreadLocal();
   private static final ThreadLocal lastIndexUsed = new ThreadLocal();
+  private static final ThreadLocal<List<String>> indexSelections = new ThreadLocal<>();
   private volatile TestHook th;
 
   @Override
@@ -119,6 +122,21 @@ public class IndexTrackingQueryObserver extends QueryObserverAdapter {
     }
   }
 
+  /**
+   * records which of two indexes was chosen for a lookup, along with the estimates it was chosen on
+   */
+  @Override
+  public void afterIndexSelection(Index chosenIndex, int chosenSizeEstimate, Index rejectedIndex,
+      int rejectedSizeEstimate) {
+    List<String> selections = indexSelections.get();
+    if (selections == null) {
+      selections = new ArrayList<>();
+      indexSelections.set(selections);
+    }
+    selections.add(chosenIndex.getName() + "(Estimate: " + chosenSizeEstimate + ") over "
+        + rejectedIndex.getName() + "(Estimate: " + rejectedSizeEstimate + ")");
+  }
+
   private String getIndexName(Index index, Object key) {
     String indexName;
     if ((index instanceof MapRangeIndex || index instanceof CompactMapRangeIndex)
@@ -140,12 +158,21 @@ public class IndexTrackingQueryObserver extends QueryObserverAdapter {
       th.hook(4);
     }
     indexInfo.set(null);
+    indexSelections.set(null);
   }
 
   public void setIndexInfo(Map indexInfoMap) {
     indexInfo.set(indexInfoMap);
   }
 
+  public List<String> getIndexSelections() {
+    List<String> selections = indexSelections.get();
+    if (selections == null) {
+      return Collections.emptyList();
+    }
+    return selections;
+  }
+
   public Map getUsedIndexes() {
     Map map = (Map) indexInfo.get();
     if (map == null) {
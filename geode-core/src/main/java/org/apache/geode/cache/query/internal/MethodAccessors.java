@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.internal.MakeNotStatic;
+import org.apache.geode.internal.lang.utils.JavaWorkarounds;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Generates, with {@link LambdaMetafactory}, a class that calls a given no argument method
+ * directly, so that queries reading an attribute through a getter do not pay for
+ * {@link Method#invoke} on every object they visit. Each method is generated once and the accessor
+ * is shared by every query.
+ *
+ * <p>
+ * Only public instance methods of public classes that are visible to this class's loader can be
+ * called from a generated class. For any other method, such as one of a class from a deployed jar,
+ * {@link #getAccessor} returns null and the caller keeps invoking the method through reflection.
+ *
+ * <p>
+ * A generated accessor throws whatever the method throws, including checked exceptions, without
+ * wrapping it in an {@link java.lang.reflect.InvocationTargetException}.
+ *
+ * @since Geode 1.16
+ */
+class MethodAccessors {
+  private static final Logger logger = LogService.getLogger();
+
+  /** Cached for methods that cannot be called from a generated class. */
+  @Immutable
+  private static final Function<Object, Object> NO_ACCESSOR = target -> {
+    throw new UnsupportedOperationException();
+  };
+
+  @MakeNotStatic
+  private static final ConcurrentMap<Method, Function<Object, Object>> accessors =
+      new ConcurrentHashMap<>();
+
+  private MethodAccessors() {}
+
+  /**
+   * Returns a function that calls the given method on its argument, or null if the method has to
+   * be invoked through reflection.
+   */
+  static @Nullable Function<Object, Object> getAccessor(Method method) {
+    Function<Object, Object> accessor =
+        JavaWorkarounds.computeIfAbsent(accessors, method, MethodAccessors::generate);
+    return accessor == NO_ACCESSOR ? null : accessor;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> generate(Method method) {
+    if (!canGenerate(method)) {
+      return NO_ACCESSOR;
+    }
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MethodHandle handle = lookup.unreflect(method);
+      Class<?> returnType = method.getReturnType();
+      MethodType instantiatedType = MethodType.methodType(
+          returnType.isPrimitive() ? MethodType.methodType(returnType).wrap().returnType()
+              : Object.class,
+          method.getDeclaringClass());
+      return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+          MethodType.methodType(Function.class),
+          MethodType.methodType(Object.class, Object.class), handle, instantiatedType)
+          .getTarget().invokeExact();
+    } catch (Throwable t) {
+      if (t instanceof Error && !(t instanceof LinkageError)) {
+        throw (Error) t;
+      }
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not generate an accessor for {}, using reflection", method, t);
+      }
+      return NO_ACCESSOR;
+    }
+  }
+
+  private static boolean canGenerate(Method method) {
+    Class<?> declaringClass = method.getDeclaringClass();
+    Class<?> returnType = method.getReturnType();
+    return method.getParameterCount() == 0
+        && Modifier.isPublic(method.getModifiers())
+        && !Modifier.isStatic(method.getModifiers())
+        && returnType != void.class
+        && Modifier.isPublic(declaringClass.getModifiers())
+        && isVisible(declaringClass)
+        && (returnType.isPrimitive() || isVisible(returnType));
+  }
+
+  /**
+   * Returns true if the given class is the one this class's loader resolves its name to, which a
+   * generated class, defined alongside this one, has to be able to do.
+   */
+  private static boolean isVisible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    try {
+      return Class.forName(type.getName(), false, MethodAccessors.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 
 import org.apache.geode.cache.query.AmbiguousNameException;
 import org.apache.geode.cache.query.NameNotFoundException;
@@ -40,6 +41,8 @@ public class MethodDispatch {
   private final Class _targetClass;
   private final String _methodName;
   private final Class[] _argTypes;
+  /** Calls the method without reflection, or null if it takes arguments or can't be generated */
+  private final Function<Object, Object> _accessor;
 
   public MethodDispatch(Class targetClass, String methodName, List argTypes)
       throws NameResolutionException {
@@ -51,6 +54,7 @@ public class MethodDispatch {
     // override security in case this is a method on a nonpublic class
     // with a public method
     _method.setAccessible(true);
+    _accessor = _argTypes.length == 0 ? MethodAccessors.getAccessor(_method) : null;
   }
 
   public Object invoke(Object target, List args, ExecutionContext executionContext)
@@ -84,6 +88,14 @@ public class MethodDispatch {
         }
       }
 
+      if (_accessor != null) {
+        try {
+          return _accessor.apply(target);
+        } catch (Throwable t) {
+          // handled below just like a failure of the method invoked through reflection
+          throw new InvocationTargetException(t);
+        }
+      }
       return _method.invoke(target, argsArray);
     } catch (IllegalAccessException e) {
       throw new NameNotFoundException(
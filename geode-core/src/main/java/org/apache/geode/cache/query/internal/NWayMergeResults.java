@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 import org.apache.geode.DataSerializer;
@@ -227,83 +228,59 @@ public class NWayMergeResults<E> implements SelectResults<E>, Ordered, DataSeria
       return iter;
     }
 
+    /**
+     * Merges the sorted results by keeping the iterators in a heap ordered by their current
+     * element, so producing each element costs O(log n) comparisons for n sorted results rather
+     * than a comparison against the head of every one of them. Iterators with equal elements are
+     * ordered by their position in the sorted results, which keeps the merge stable.
+     */
     private class NWayMergeIterator implements Iterator<E> {
 
-      protected final IteratorWrapper<E>[] iterators;
-      protected int lastReturnedIteratorIndex = -1;
+      protected final PriorityQueue<IteratorWrapper<E>> heads;
+      /** The iterator whose element was returned last, which is advanced lazily. */
+      protected IteratorWrapper<E> lastReturned = null;
 
       protected NWayMergeIterator() {
-        iterators = new IteratorWrapper[sortedResults.size()];
-        Iterator<? extends Collection<E>> listIter = sortedResults.iterator();
+        heads = new PriorityQueue<>(Math.max(1, sortedResults.size()), (wrapper1, wrapper2) -> {
+          int result = compare(wrapper1.get(), wrapper2.get());
+          return result != 0 ? result : Integer.compare(wrapper1.index, wrapper2.index);
+        });
         int index = 0;
-        while (listIter.hasNext()) {
-          IteratorWrapper<E> temp = new IteratorWrapper<>(listIter.next().iterator());
-          iterators[index++] = temp;
+        for (Collection<E> result : sortedResults) {
+          IteratorWrapper<E> temp = new IteratorWrapper<>(result.iterator(), index++);
           // initialize
-          temp.move();
-        }
-      }
-
-      @Override
-      public boolean hasNext() {
-        boolean hasNext = false;
-        for (int i = 0; i < iterators.length; ++i) {
-          if (i == lastReturnedIteratorIndex) {
-            hasNext = iterators[i].hasNext();
-          } else {
-            hasNext = !iterators[i].EOF;
-          }
-          if (hasNext) {
-            break;
+          if (temp.move()) {
+            heads.add(temp);
           }
         }
-        return hasNext;
       }
 
-      protected E basicNext() {
-        if (iterators.length == 1) {
-          lastReturnedIteratorIndex = 0;
-          if (iterators[0].EOF) {
-            throw new NoSuchElementException();
+      /**
+       * Moves the iterator of the element returned last to its next element and puts it back in
+       * the heap, unless it has run out of elements.
+       */
+      protected void advanceLastReturned() {
+        if (lastReturned != null) {
+          if (lastReturned.move()) {
+            heads.add(lastReturned);
           }
-          return iterators[0].get();
+          lastReturned = null;
         }
+      }
 
-        int iteratorIndex = -1;
-        E refObject = null;
-        for (int j = 0; j < iterators.length; ++j) {
-          if (!iterators[j].EOF) {
-            E temp = iterators[j].get();
-            iteratorIndex = j;
-            refObject = temp;
-            break;
+      @Override
+      public boolean hasNext() {
+        advanceLastReturned();
+        return !heads.isEmpty();
+      }
 
-          }
-        }
-        if (iteratorIndex == -1) {
+      protected E basicNext() {
+        advanceLastReturned();
+        lastReturned = heads.poll();
+        if (lastReturned == null) {
           throw new NoSuchElementException();
         }
-
-        E currentOptima = null;
-        int indexOfIteratorForOptima = -1;
-
-        currentOptima = refObject;
-        indexOfIteratorForOptima = iteratorIndex;
-        for (int j = iteratorIndex + 1; j < iterators.length; ++j) {
-          if (iterators[j].EOF) {
-            continue;
-          }
-          E temp = iterators[j].get();
-
-          int compareResult = compare(currentOptima, temp);
-
-          if (compareResult > 0) {
-            currentOptima = temp;
-            indexOfIteratorForOptima = j;
-          }
-        }
-        lastReturnedIteratorIndex = indexOfIteratorForOptima;
-        return currentOptima;
+        return lastReturned.get();
       }
 
       protected int compare(E obj1, E obj2) {
@@ -315,9 +292,6 @@ public class NWayMergeResults<E> implements SelectResults<E>, Ordered, DataSeria
 
       @Override
       public E next() {
-        if (lastReturnedIteratorIndex != -1) {
-          iterators[lastReturnedIteratorIndex].move();
-        }
         return basicNext();
       }
 
@@ -326,100 +300,36 @@ public class NWayMergeResults<E> implements SelectResults<E>, Ordered, DataSeria
         throw new UnsupportedOperationException("remove not supported");
 
       }
-
-      private class IteratorWrapper<T> {
-        private final Iterator<T> iter;
-        private T current = null;
-        private boolean EOF = false;
-
-        private IteratorWrapper(Iterator<T> iter) {
-          this.iter = iter;
-        }
-
-        T get() {
-          return current;
-        }
-
-        boolean hasNext() {
-          return iter.hasNext();
-        }
-
-        void move() {
-          if (iter.hasNext()) {
-            current = iter.next();
-          } else {
-            current = null;
-            EOF = true;
-          }
-        }
-
-      }
     }
 
     private class NWayMergeDistinctIterator extends NWayMergeIterator {
 
-      private E lastReturned = null;
-      private Boolean cachedHasNext = null;
-      private boolean uninitialized = true;
+      private E lastReturnedElement = null;
+      private boolean returnedAny = false;
 
       NWayMergeDistinctIterator() {}
 
       @Override
       public boolean hasNext() {
-        if (cachedHasNext != null) {
-          return cachedHasNext;
-        }
-        boolean hasNext = false;
-        for (int i = 0; i < iterators.length; ++i) {
-          if (uninitialized) {
-            hasNext = !iterators[i].EOF;
-            if (hasNext) {
-              break;
-            }
-          } else {
-            if (lastReturnedIteratorIndex == i) {
-              do {
-                iterators[i].move();
-                if (iterators[i].EOF) {
-                  break;
-                } // else if (!this.lastReturned.equals(this.iterators[i].get()))
-                  // {
-                else if (compare(lastReturned, iterators[i].get()) != 0) {
-                  hasNext = true;
-                  break;
-                }
-              } while (true);
-            } else {
-              do {
-                if (iterators[i].EOF) {
-                  break;
-                } // else if
-                  // (!this.iterators[i].get().equals(this.lastReturned)) {
-                else if (compare(iterators[i].get(), lastReturned) != 0) {
-                  hasNext = true;
-                  break;
-                } else {
-                  iterators[i].move();
-                }
-              } while (true);
-            }
+        advanceLastReturned();
+        if (returnedAny) {
+          // skip the elements equal to the one returned last, from whichever iterators hold them
+          while (!heads.isEmpty() && compare(heads.peek().get(), lastReturnedElement) == 0) {
+            lastReturned = heads.poll();
+            advanceLastReturned();
           }
         }
-        uninitialized = false;
-        cachedHasNext = hasNext;
-        return hasNext;
+        return !heads.isEmpty();
       }
 
-
-
       @Override
       public E next() {
-        if (cachedHasNext == null) {
-          hasNext();
+        if (!hasNext()) {
+          throw new NoSuchElementException();
         }
-        cachedHasNext = null;
-        lastReturned = basicNext();
-        return lastReturned;
+        lastReturnedElement = basicNext();
+        returnedAny = true;
+        return lastReturnedElement;
       }
 
       @Override
@@ -428,8 +338,35 @@ public class NWayMergeResults<E> implements SelectResults<E>, Ordered, DataSeria
       }
 
     }
+  }
 
+  private static class IteratorWrapper<T> {
+    private final Iterator<T> iter;
+    private final int index;
+    private T current = null;
 
+    private IteratorWrapper(Iterator<T> iter, int index) {
+      this.iter = iter;
+      this.index = index;
+    }
+
+    T get() {
+      return current;
+    }
+
+    /**
+     * Moves to the next element of the iterator.
+     *
+     * @return false if the iterator has no more elements
+     */
+    boolean move() {
+      if (iter.hasNext()) {
+        current = iter.next();
+        return true;
+      }
+      current = null;
+      return false;
+    }
   }
 
   @Override
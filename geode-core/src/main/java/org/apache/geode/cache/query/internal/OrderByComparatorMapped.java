@@ -50,6 +50,11 @@ public class OrderByComparatorMapped extends OrderByComparator {
     orderByMap.put(row, calculateSortCriteria(context, row));
   }
 
+  @Override
+  void removeEvaluatedSortCriteria(Object row) {
+    orderByMap.remove(row);
+  }
+
   @Override
   public int evaluateSortCriteria(Object obj1, Object obj2) {
     int result = -1;
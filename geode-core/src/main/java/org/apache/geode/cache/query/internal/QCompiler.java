@@ -58,6 +58,7 @@ public class QCompiler implements OQLLexerTokenTypes {
   private final Map<String, String> imports = new HashMap<>();
   private final boolean isForIndexCompilation;
   private boolean traceOn;
+  private boolean typesResolved;
 
   public QCompiler() {
     isForIndexCompilation = false;
@@ -612,6 +613,14 @@ public class QCompiler implements OQLLexerTokenTypes {
     return traceOn;
   }
 
+  /**
+   * Returns true if the query named a type that had to be resolved to a class, which a later
+   * deployment may replace.
+   */
+  public boolean hasResolvedTypes() {
+    return typesResolved;
+  }
+
   public void setHint(final int numOfChildren) {
     final List<String> list = new ArrayList<>();
     for (int i = 0; i < numOfChildren; i++) {
@@ -667,6 +676,7 @@ public class QCompiler implements OQLLexerTokenTypes {
       }
       return TypeUtils.OBJECT_TYPE;
     }
+    typesResolved = true;
     // resolve with imports
     final String as = imports.get(typeName);
     if (as != null) {
@@ -31,6 +31,13 @@ public interface QueryConfigurationService extends CacheService {
    */
   MethodInvocationAuthorizer getMethodAuthorizer();
 
+  /**
+   * Returns the cache of compiled queries shared by the query services of the cache.
+   *
+   * @return the {@link QueryPlanCache}, or {@code null} if compiled queries are not cached.
+   */
+  QueryPlanCache getQueryPlanCache();
+
   /**
    * Sets the configured {@link MethodInvocationAuthorizer} when creating the cache using a
    * declarative approach.
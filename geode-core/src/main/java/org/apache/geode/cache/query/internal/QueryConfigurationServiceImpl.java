@@ -70,6 +70,8 @@ public class QueryConfigurationServiceImpl implements QueryConfigurationService
 
   private MethodInvocationAuthorizer authorizer;
 
+  private QueryPlanCache queryPlanCache;
+
   @Immutable
   private static final MethodInvocationAuthorizer NO_OP_AUTHORIZER = new NoOpAuthorizer();
 
@@ -98,6 +100,7 @@ public class QueryConfigurationServiceImpl implements QueryConfigurationService
     } else {
       authorizer = new RestrictedMethodAuthorizer(cache);
     }
+    queryPlanCache = QueryPlanCache.create(((InternalCache) cache).getCachePerfStats());
 
     return true;
   }
@@ -120,6 +123,11 @@ public class QueryConfigurationServiceImpl implements QueryConfigurationService
     return authorizer;
   }
 
+  @Override
+  public QueryPlanCache getQueryPlanCache() {
+    return queryPlanCache;
+  }
+
   @Override
   public void updateMethodAuthorizer(Cache cache, boolean forceUpdate,
       QueryMethodAuthorizerCreation creation) throws QueryConfigurationServiceException {
@@ -294,4 +294,18 @@ public interface QueryObserver {
    */
   default void beforeAggregationsAndGroupBy(
       @SuppressWarnings("unused") SelectResults selectResults) {}
+
+  /**
+   * Invoked when two conditions of an AND junction that can each be evaluated using an index have
+   * been weighed against each other. The index of the chosen condition is used for the lookup,
+   * while the other condition is evaluated on the results of the lookup.
+   *
+   * @param chosenIndex The index of the chosen condition
+   * @param chosenSizeEstimate The estimated number of results of the chosen condition
+   * @param rejectedIndex The index of the condition that was not chosen
+   * @param rejectedSizeEstimate The estimated number of results of the condition not chosen
+   */
+  @SuppressWarnings("unused")
+  default void afterIndexSelection(Index chosenIndex, int chosenSizeEstimate,
+      Index rejectedIndex, int rejectedSizeEstimate) {}
 }
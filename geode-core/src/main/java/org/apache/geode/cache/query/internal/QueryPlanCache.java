@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.apache.geode.util.internal.GeodeGlossary.GEMFIRE_PREFIX;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.cache.query.QueryException;
+import org.apache.geode.cache.query.QueryInvalidException;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.InternalCache;
+
+/**
+ * A bounded cache of compiled queries keyed by query string, so that a query created over and over
+ * is parsed and compiled only once. Once the cache is full the least recently used query is
+ * evicted.
+ *
+ * <p>
+ * A compiled query holds no per-execution state, and which indexes to use is still decided each
+ * time it is executed, so one compiled query is shared by every {@link DefaultQuery} created from
+ * the same string. The cache is nevertheless cleared whenever an index is created or removed, so
+ * that no cached query outlives the indexes that existed when it was compiled. Queries naming
+ * types that had to be resolved to classes are not cached, since a deployment may replace them,
+ * and neither are queries with a group by or order by select that is only transformed when the
+ * query is executed.
+ *
+ * @since Geode 1.16
+ */
+public class QueryPlanCache {
+  /**
+   * System property to set the maximum number of compiled queries to cache. Set it to 0 to disable
+   * the cache.
+   */
+  public static final String MAX_SIZE_PROPERTY = GEMFIRE_PREFIX + "Query.PLAN_CACHE_SIZE";
+
+  static final int DEFAULT_MAX_SIZE = 1000;
+
+  private final Map<String, Plan> plans;
+  private final CachePerfStats stats;
+
+  @VisibleForTesting
+  QueryPlanCache(int maxSize, CachePerfStats stats) {
+    plans = new LinkedHashMap<String, Plan>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Plan> eldest) {
+        return size() > maxSize;
+      }
+    };
+    this.stats = stats;
+  }
+
+  /**
+   * Returns a plan cache sized from system properties, or null if queries are not to be cached.
+   */
+  static @Nullable QueryPlanCache create(CachePerfStats stats) {
+    int maxSize = Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+    if (maxSize <= 0) {
+      return null;
+    }
+    return new QueryPlanCache(maxSize, stats);
+  }
+
+  /**
+   * Returns the compiled form of the given query string, compiling it if it is not cached.
+   *
+   * @throws QueryInvalidException if the query string is not a valid query
+   */
+  Plan getPlan(String queryString, InternalCache cache) {
+    Plan plan;
+    synchronized (plans) {
+      plan = plans.get(queryString);
+    }
+    if (plan != null) {
+      stats.incQueryPlanCacheHits();
+      return plan;
+    }
+    stats.incQueryPlanCacheMisses();
+    plan = Plan.compile(queryString, cache, false);
+    if (plan.isCacheable()) {
+      synchronized (plans) {
+        Plan cached = plans.putIfAbsent(queryString, plan);
+        if (cached != null) {
+          return cached;
+        }
+      }
+    }
+    return plan;
+  }
+
+  /**
+   * Removes all cached queries.
+   */
+  public void clear() {
+    synchronized (plans) {
+      plans.clear();
+    }
+  }
+
+  int size() {
+    synchronized (plans) {
+      return plans.size();
+    }
+  }
+
+  /**
+   * A compiled query, together with what compiling it found out about the query.
+   */
+  static class Plan {
+    private final CompiledValue compiledQuery;
+    private final boolean traceRequested;
+    private final boolean cacheable;
+
+    private Plan(CompiledValue compiledQuery, boolean traceRequested, boolean cacheable) {
+      this.compiledQuery = compiledQuery;
+      this.traceRequested = traceRequested;
+      this.cacheable = cacheable;
+    }
+
+    /**
+     * Compiles the given query string. Unless the query is to be executed remotely, the group by
+     * and order by clauses of a select are also transformed, so that executions of the query do
+     * not have to.
+     *
+     * @throws QueryInvalidException if the query string is not a valid query
+     */
+    static Plan compile(String queryString, InternalCache cache, boolean isForRemote) {
+      QCompiler compiler = new QCompiler();
+      CompiledValue compiledQuery = compiler.compileQuery(queryString);
+      if (compiledQuery instanceof CompiledSelect && !isForRemote) {
+        CompiledSelect cs = (CompiledSelect) compiledQuery;
+        if (cs.isGroupBy() || cs.isOrderBy()) {
+          QueryExecutionContext ctx = new QueryExecutionContext(null, cache);
+          try {
+            cs.computeDependencies(ctx);
+          } catch (QueryException qe) {
+            throw new QueryInvalidException("", qe);
+          }
+        }
+      }
+      return new Plan(compiledQuery, compiler.isTraceRequested(),
+          !compiler.hasResolvedTypes() && !hasUntransformedSelect(compiledQuery));
+    }
+
+    /**
+     * Returns true if the given query contains a select with a group by or order by clause that
+     * compiling it did not transform, such as one nested in the where clause. Its first execution
+     * would transform it, which it must not do to a query shared by concurrent executions.
+     */
+    private static boolean hasUntransformedSelect(CompiledValue value) {
+      if (value instanceof CompiledSelect) {
+        CompiledSelect cs = (CompiledSelect) value;
+        if ((cs.isGroupBy() || cs.isOrderBy()) && !cs.transformationDone) {
+          return true;
+        }
+      }
+      for (Object child : value.getChildren()) {
+        if (child instanceof CompiledValue && hasUntransformedSelect((CompiledValue) child)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    CompiledValue getCompiledQuery() {
+      return compiledQuery;
+    }
+
+    boolean isTraceRequested() {
+      return traceRequested;
+    }
+
+    boolean isCacheable() {
+      return cacheable;
+    }
+  }
+}
@@ -120,6 +120,11 @@ public class RangeJunction extends AbstractGroupOrRangeJunction {
       return thisSize <= comparedTo.getSizeEstimate(context);
     }
 
+    // The estimates can be relied upon when both come from the index keys.
+    if (hasIndexBasedSizeEstimate(context) && comparedTo.hasIndexBasedSizeEstimate(context)) {
+      return thisSize <= comparedTo.getSizeEstimate(context);
+    }
+
     int thatOperator = comparedTo.getOperator();
     switch (thatOperator) {
       case TOK_EQ:
@@ -517,9 +522,35 @@ public class RangeJunction extends AbstractGroupOrRangeJunction {
   }
 
   @Override
-  public int getSizeEstimate(ExecutionContext context) {
-    // TODO:Asif:Try to estimate better
-    return RANGE_SIZE_ESTIMATE;
+  public int getSizeEstimate(ExecutionContext context) throws FunctionDomainException,
+      TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
+    if (!hasIndexBasedSizeEstimate(context)) {
+      return RANGE_SIZE_ESTIMATE;
+    }
+    // The junction selects no more values than the most selective of its conditions
+    int size = Integer.MAX_VALUE;
+    for (CompiledValue operand : _operands) {
+      if (operand.getPlanInfo(context).evalAsFilter) {
+        size = Math.min(size, ((Filter) operand).getSizeEstimate(context));
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public boolean hasIndexBasedSizeEstimate(ExecutionContext context)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    boolean hasFilterOperand = false;
+    for (CompiledValue operand : _operands) {
+      if (operand.getPlanInfo(context).evalAsFilter) {
+        if (!((Filter) operand).hasIndexBasedSizeEstimate(context)) {
+          return false;
+        }
+        hasFilterOperand = true;
+      }
+    }
+    return hasFilterOperand;
   }
 
   /*
@@ -844,6 +875,11 @@ public class RangeJunction extends AbstractGroupOrRangeJunction {
         return thisSize <= comparedTo.getSizeEstimate(context);
       }
 
+      // The estimates can be relied upon when both come from the index keys.
+      if (hasIndexBasedSizeEstimate(context) && comparedTo.hasIndexBasedSizeEstimate(context)) {
+        return thisSize <= comparedTo.getSizeEstimate(context);
+      }
+
       switch (thatOperator) {
         case TOK_EQ:
           isThisBetter = false;
@@ -897,6 +933,19 @@ public class RangeJunction extends AbstractGroupOrRangeJunction {
       condnKey = key;
     }
 
+    @Override
+    public int getSizeEstimate(ExecutionContext context) throws TypeMismatchException {
+      if (hasIndexBasedSizeEstimate(context)) {
+        return indxInfo._index.getSizeEstimate(condnKey, condnOp, indxInfo._matchLevel);
+      }
+      return RANGE_SIZE_ESTIMATE;
+    }
+
+    @Override
+    public boolean hasIndexBasedSizeEstimate(ExecutionContext context) {
+      return indxInfo._index.hasRangeStatistics(condnKey, indxInfo._matchLevel);
+    }
+
     @Override
     public SelectResults filterEvaluate(ExecutionContext context, SelectResults iterationLimit,
         boolean completeExpansionNeeded, CompiledValue iterOperands, RuntimeIterator[] indpndntItrs,
@@ -1027,6 +1076,19 @@ public class RangeJunction extends AbstractGroupOrRangeJunction {
       this.greaterCondnKey = greaterCondnKey;
     }
 
+    @Override
+    public int getSizeEstimate(ExecutionContext context) {
+      int size = indxInfo._index.getRangeSizeEstimate(greaterCondnKey, lessCondnKey,
+          indxInfo._matchLevel);
+      return size == Integer.MAX_VALUE ? RANGE_SIZE_ESTIMATE : size;
+    }
+
+    @Override
+    public boolean hasIndexBasedSizeEstimate(ExecutionContext context) {
+      return indxInfo._index.hasRangeStatistics(greaterCondnKey, indxInfo._matchLevel)
+          && indxInfo._index.hasRangeStatistics(lessCondnKey, indxInfo._matchLevel);
+    }
+
     @Override
     public SelectResults filterEvaluate(ExecutionContext context, SelectResults iterationLimit)
         throws FunctionDomainException, TypeMismatchException, NameResolutionException,
@@ -18,6 +18,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -175,6 +176,35 @@ public class SortedResultsBag<E> extends Bag implements Ordered {
     }
   }
 
+  /**
+   * Removes one occurrence of the element that sorts last. This is used to keep a bag that is
+   * collecting the rows of an ORDER BY query with a LIMIT down to the rows that can still be in
+   * the result.
+   *
+   * @return the element if this removed its last occurrence, otherwise null
+   */
+  E removeLast() {
+    if (orderedDataAddition) {
+      throw new UnsupportedOperationException("The elements of this bag are not sorted by it");
+    }
+    if (numNulls > 0 && (!emitNullAtStart || sortedMap.isEmpty())) {
+      numNulls--;
+      size--;
+      return null;
+    }
+    Map.Entry<E, Integer> last = ((NavigableMap<E, Integer>) sortedMap).lastEntry();
+    if (last == null) {
+      return null;
+    }
+    size--;
+    if (last.getValue() > 1) {
+      sortedMap.put(last.getKey(), last.getValue() - 1);
+      return null;
+    }
+    sortedMap.remove(last.getKey());
+    return last.getKey();
+  }
+
   @Override
   protected void mapClear() {
     sortedMap.clear();
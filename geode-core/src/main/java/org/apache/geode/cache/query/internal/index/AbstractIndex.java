@@ -537,6 +537,16 @@ public abstract class AbstractIndex implements IndexProtocol {
     return indexedExpression.equals(condnExprStr);
   }
 
+  @Override
+  public boolean hasRangeStatistics(Object key, int matchLevel) {
+    return false;
+  }
+
+  @Override
+  public int getRangeSizeEstimate(Object lowerBoundKey, Object upperBoundKey, int matchLevel) {
+    return Integer.MAX_VALUE;
+  }
+
   // package-private to avoid synthetic accessor
   Object verifyAndGetPdxDomainObject(Object value) {
     if (value instanceof StructImpl) {
@@ -810,6 +820,14 @@ public abstract class AbstractIndex implements IndexProtocol {
 
   protected abstract boolean isCompactRangeIndex();
 
+  /**
+   * Returns the queue of updates if this index is maintained asynchronously, or null if it is
+   * updated by the thread changing the entry.
+   */
+  IndexUpdateQueue getUpdateQueue() {
+    return null;
+  }
+
   protected abstract InternalIndexStatistics createStats(String indexName);
 
   @Override
@@ -941,6 +959,12 @@ public abstract class AbstractIndex implements IndexProtocol {
     public void incReadLockCount(int delta) {}
 
     public void incNumBucketIndexes(int delta) {}
+
+    public void incPendingUpdates(int delta) {}
+
+    public void incCoalescedUpdates() {}
+
+    public void setUpdateQueueLag(long nanos) {}
   }
 
   class IMQEvaluator implements IndexedExpressionEvaluator {
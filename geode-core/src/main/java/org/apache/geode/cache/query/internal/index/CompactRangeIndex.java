@@ -93,6 +93,9 @@ public class CompactRangeIndex extends AbstractIndex {
 
   private final IndexStore indexStore;
 
+  /** The queue of updates if this index is maintained asynchronously, or null. */
+  private final IndexUpdateQueue updateQueue;
+
   @MutableForTesting
   static boolean TEST_ALWAYS_UPDATE_IN_PROGRESS = false;
 
@@ -105,8 +108,17 @@ public class CompactRangeIndex extends AbstractIndex {
       indexStore = new MapIndexStore(
           ((LocalRegion) region).getIndexMap(indexName, indexedExpression, origFromClause), region);
     } else {
-      indexStore =
-          new MemoryIndexStore(region, internalIndexStats, (InternalCache) region.getCache());
+      IndexStoreMap valueToEntriesMap = IndexManager.usesPrimitiveKeys(indexName)
+          ? new PrimitiveKeyIndexStoreMap() : new SkipListIndexStoreMap();
+      // queued updates are applied without the old value, so the old key must be remembered
+      indexStore = new MemoryIndexStore(region, internalIndexStats,
+          (InternalCache) region.getCache(), valueToEntriesMap,
+          IndexManager.isMaintainedAsynchronously(indexName));
+    }
+    if (IndexManager.isMaintainedAsynchronously(indexName) && !IndexManager.IS_TEST_LDM) {
+      updateQueue = new IndexUpdateQueue(this, internalIndexStats);
+    } else {
+      updateQueue = null;
     }
   }
 
@@ -129,6 +141,26 @@ public class CompactRangeIndex extends AbstractIndex {
     return true;
   }
 
+  @Override
+  IndexUpdateQueue getUpdateQueue() {
+    return updateQueue;
+  }
+
+  @Override
+  public void destroy() {
+    if (updateQueue != null) {
+      updateQueue.close();
+    }
+    super.destroy();
+  }
+
+  /** Waits for the queued updates a query is to see, if this index is maintained asynchronously. */
+  private void awaitQueuedUpdates() {
+    if (updateQueue != null) {
+      updateQueue.awaitUpdates();
+    }
+  }
+
   @Override
   public void initializeIndex(boolean loadEntries) throws IMQException {
     long startTime = System.nanoTime();
@@ -201,6 +233,7 @@ public class CompactRangeIndex extends AbstractIndex {
   public List queryEquijoinCondition(IndexProtocol indx, ExecutionContext context)
       throws TypeMismatchException, FunctionDomainException, NameResolutionException,
       QueryInvocationTargetException {
+    awaitQueuedUpdates();
     // get a read lock when doing a lookup
     long start = updateIndexUseStats();
     ((AbstractIndex) indx).updateIndexUseStats();
@@ -333,7 +366,9 @@ public class CompactRangeIndex extends AbstractIndex {
           break;
         case OQLLexerTokenTypes.TOK_LE:
         case OQLLexerTokenTypes.TOK_LT:
-          if (matchLevel <= 0 && (key instanceof Number)) {
+          if (hasRangeStatistics(key, matchLevel)) {
+            size = getKeyHistogram().estimate(null, (Number) key);
+          } else if (matchLevel <= 0 && (key instanceof Number)) {
 
             int totalSize = indexStore.size();
             if (CompactRangeIndex.testHook != null) {
@@ -397,7 +432,9 @@ public class CompactRangeIndex extends AbstractIndex {
 
         case OQLLexerTokenTypes.TOK_GE:
         case OQLLexerTokenTypes.TOK_GT:
-          if (matchLevel <= 0 && (key instanceof Number)) {
+          if (hasRangeStatistics(key, matchLevel)) {
+            size = getKeyHistogram().estimate((Number) key, null);
+          } else if (matchLevel <= 0 && (key instanceof Number)) {
             int totalSize = indexStore.size();
             if (CompactRangeIndex.testHook != null) {
               CompactRangeIndex.testHook.hook(2);
@@ -467,12 +504,40 @@ public class CompactRangeIndex extends AbstractIndex {
     return size;
   }
 
+  @Override
+  public boolean hasRangeStatistics(Object key, int matchLevel) {
+    IndexKeyHistogram histogram = getKeyHistogram();
+    return matchLevel <= 0 && key instanceof Number && histogram != null && histogram.size() > 0;
+  }
+
+  @Override
+  public int getRangeSizeEstimate(Object lowerBoundKey, Object upperBoundKey, int matchLevel) {
+    if (!hasRangeStatistics(lowerBoundKey, matchLevel)
+        || !hasRangeStatistics(upperBoundKey, matchLevel)) {
+      return Integer.MAX_VALUE;
+    }
+    long start = updateIndexUseStats(false);
+    try {
+      return getKeyHistogram().estimate((Number) lowerBoundKey, (Number) upperBoundKey);
+    } finally {
+      updateIndexUseEndStats(start, false);
+    }
+  }
+
+  private IndexKeyHistogram getKeyHistogram() {
+    if (indexStore instanceof MemoryIndexStore) {
+      return ((MemoryIndexStore) indexStore).getKeyHistogram();
+    }
+    return null;
+  }
+
   /** Method called while appropriate lock held on index */
   private void lockedQueryPrivate(Object key, int operator, Collection results,
       CompiledValue iterOps, RuntimeIterator runtimeItr, ExecutionContext context, Set keysToRemove,
       List projAttrib, SelectResults intermediateResults, boolean isIntersection)
       throws TypeMismatchException, FunctionDomainException, NameResolutionException,
       QueryInvocationTargetException {
+    awaitQueuedUpdates();
     if (keysToRemove == null) {
       keysToRemove = new HashSet(0);
     }
@@ -505,6 +570,7 @@ public class CompactRangeIndex extends AbstractIndex {
       int upperBoundOperator, Collection results, Set keysToRemove, ExecutionContext context)
       throws TypeMismatchException, FunctionDomainException, NameResolutionException,
       QueryInvocationTargetException {
+    awaitQueuedUpdates();
     lowerBoundKey = TypeUtils.indexKeyFor(lowerBoundKey);
     upperBoundKey = TypeUtils.indexKeyFor(upperBoundKey);
     boolean lowerBoundInclusive = lowerBoundOperator == OQLLexerTokenTypes.TOK_GE;
@@ -1040,6 +1106,21 @@ public class CompactRangeIndex extends AbstractIndex {
       vsdStats.incReadLockCount(delta);
     }
 
+    @Override
+    public void incPendingUpdates(int delta) {
+      vsdStats.incPendingUpdates(delta);
+    }
+
+    @Override
+    public void incCoalescedUpdates() {
+      vsdStats.incCoalescedUpdates();
+    }
+
+    @Override
+    public void setUpdateQueueLag(long nanos) {
+      vsdStats.setUpdateQueueLag(nanos);
+    }
+
     @Override
     public long getTotalUpdateTime() {
       return vsdStats.getTotalUpdateTime();
@@ -457,7 +457,7 @@ public class HashIndex extends AbstractIndex {
         case OQLLexerTokenTypes.TOK_NE:
           size = region.size();
           key = TypeUtils.indexKeyFor(key);
-          size = entriesSet.size(key);
+          size -= entriesSet.size(key);
           break;
       }
     } finally {
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Runs the tasks that populate indexes created on a region that already holds entries, such as
+ * the tasks populating the indexes of each bucket of a partitioned region, on a bounded pool of
+ * threads. Once all of the threads are busy and a few more tasks are waiting, the thread
+ * submitting tasks runs the next one itself, so tasks are not produced faster than they complete.
+ *
+ * <p>
+ * The pool only lives as long as the indexes are being created.
+ *
+ * @since Geode 1.16
+ */
+public class IndexCreationExecutor implements AutoCloseable {
+
+  /**
+   * System property setting the number of threads that populate indexes created on a region that
+   * already holds entries. Defaults to the number of available processors. With 1, indexes are
+   * populated by the thread creating them.
+   */
+  public static final String THREADS_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "index.CREATION_THREADS";
+
+  /** A task populating indexes. */
+  @FunctionalInterface
+  public interface Task {
+    void run() throws Exception;
+  }
+
+  private final ExecutorService executor;
+
+  private final List<Future<Void>> futures = new ArrayList<>();
+
+  /**
+   * Creates an executor with the number of threads set by {@link #THREADS_PROPERTY}.
+   */
+  public IndexCreationExecutor() {
+    this(getThreads());
+  }
+
+  IndexCreationExecutor(int threads) {
+    if (threads > 1) {
+      executor = LoggingExecutors.newFixedThreadPoolWithFeedSize(threads, threads,
+          "IndexCreationThread");
+    } else {
+      executor = null;
+    }
+  }
+
+  /** Returns true if tasks are run by more than one thread. */
+  public boolean isParallel() {
+    return executor != null;
+  }
+
+  /**
+   * Runs the given task, or queues it to be run. A failure of the task is thrown by
+   * {@link #awaitCompletion()}.
+   */
+  public void submit(Task task) {
+    FutureTask<Void> future = new FutureTask<>(() -> {
+      task.run();
+      return null;
+    });
+    futures.add(future);
+    if (executor == null) {
+      future.run();
+    } else {
+      executor.execute(future);
+    }
+  }
+
+  /**
+   * Waits for all of the submitted tasks to complete, and throws the failure of the first one that
+   * failed, if any.
+   */
+  public void awaitCompletion() throws Exception {
+    Throwable failure = null;
+    try {
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+        }
+      }
+    } finally {
+      futures.clear();
+    }
+    if (failure instanceof Exception) {
+      throw (Exception) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  /**
+   * Cancels the tasks that have not completed and stops the threads.
+   */
+  @Override
+  public void close() {
+    for (Future<Void> future : futures) {
+      future.cancel(true);
+    }
+    futures.clear();
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  static int getThreads() {
+    int threads = Integer.getInteger(THREADS_PROPERTY, 0);
+    return threads < 1 ? Runtime.getRuntime().availableProcessors() : threads;
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.geode.annotations.VisibleForTesting;
+
+/**
+ * An equi-width histogram of the numeric keys of an index, counting the values mapped to each key.
+ * It is updated as mappings are added and removed, so that the number of values selected by a
+ * range condition can be estimated without walking the index.
+ *
+ * <p>
+ * The buckets start out covering a narrow range around the first key. When a key falls outside of
+ * them, adjacent buckets are merged in pairs, doubling their width, until the key is covered. The
+ * range is chosen afresh when a key falls outside of it once the histogram has become empty. Keys
+ * that are not finite numbers are not counted.
+ *
+ * <p>
+ * Adding or removing a key that is already covered only increments or decrements a
+ * {@link LongAdder}, so that index maintenance does not contend on the histogram. Widening the
+ * buckets replaces them under a lock, and an update racing with it may be lost; the histogram is
+ * only used for estimates, so this is tolerated rather than made exact.
+ *
+ * @since Geode 1.16
+ */
+class IndexKeyHistogram {
+  @VisibleForTesting
+  static final int NUMBER_OF_BUCKETS = 64;
+
+  private volatile Buckets buckets;
+
+  void add(Object key) {
+    double value = valueOf(key);
+    if (Double.isNaN(value)) {
+      return;
+    }
+    Buckets current = buckets;
+    if (current == null || !current.covers(value)) {
+      current = cover(value);
+    }
+    current.counts[current.bucketOf(value)].increment();
+  }
+
+  void remove(Object key) {
+    double value = valueOf(key);
+    Buckets current = buckets;
+    if (Double.isNaN(value) || current == null) {
+      return;
+    }
+    current.counts[current.bucketOf(value)].decrement();
+  }
+
+  synchronized void clear() {
+    buckets = null;
+  }
+
+  long size() {
+    Buckets current = buckets;
+    return current == null ? 0 : current.size();
+  }
+
+  /**
+   * Estimates the number of values mapped to keys between the given bounds. Whether the bounds are
+   * inclusive is not taken into account.
+   *
+   * @param lower the lower bound, or null if the range is not bounded below
+   * @param upper the upper bound, or null if the range is not bounded above
+   */
+  int estimate(Number lower, Number upper) {
+    Buckets current = buckets;
+    if (current == null) {
+      return 0;
+    }
+    long[] counts = current.snapshot();
+    double below = upper == null ? sum(counts) : current.countBelow(counts, upper.doubleValue());
+    if (lower != null) {
+      below -= current.countBelow(counts, lower.doubleValue());
+    }
+    return below <= 0 ? 0 : (int) Math.min(Math.round(below), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Replaces the buckets with wider ones until the value falls in one of them, or with a narrow
+   * range around the value if nothing is counted.
+   */
+  private synchronized Buckets cover(double value) {
+    Buckets current = buckets;
+    if (current == null || current.size() == 0) {
+      current = new Buckets(value, Math.max(Math.ulp(value), Double.MIN_NORMAL), false,
+          new long[NUMBER_OF_BUCKETS]);
+    } else if (!current.covers(value)) {
+      current = current.widen(value);
+    } else {
+      return current;
+    }
+    buckets = current;
+    return current;
+  }
+
+  private static long sum(long[] counts) {
+    long sum = 0;
+    for (long count : counts) {
+      sum += count;
+    }
+    return sum;
+  }
+
+  /** Bucket counts over a fixed range, replaced as a whole when the range has to grow. */
+  private static class Buckets {
+    /** The lowest value counted by the first bucket. */
+    private final double low;
+
+    /** The width of the range of values counted by each bucket. */
+    private final double width;
+
+    /** Whether the buckets can no longer be widened, so values beyond them are clamped. */
+    private final boolean saturated;
+
+    private final LongAdder[] counts = new LongAdder[NUMBER_OF_BUCKETS];
+
+    Buckets(double low, double width, boolean saturated, long[] initialCounts) {
+      this.low = low;
+      this.width = width;
+      this.saturated = saturated;
+      for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+        counts[i] = new LongAdder();
+        counts[i].add(initialCounts[i]);
+      }
+    }
+
+    boolean covers(double value) {
+      return saturated || (value >= low && value < low + width * NUMBER_OF_BUCKETS);
+    }
+
+    /** Doubles the width of the buckets until the value falls in one of them. */
+    Buckets widen(double value) {
+      long[] merged = snapshot();
+      double newLow = low;
+      double newWidth = width;
+      boolean newSaturated = false;
+      while (value < newLow || value >= newLow + newWidth * NUMBER_OF_BUCKETS) {
+        double doubled = newWidth * 2;
+        if (Double.isInfinite(doubled * NUMBER_OF_BUCKETS)) {
+          // the value is counted in the first or last bucket
+          newSaturated = true;
+          break;
+        }
+        int half = NUMBER_OF_BUCKETS / 2;
+        if (value < newLow) {
+          // grow downwards by moving the merged buckets to the upper half
+          for (int i = half - 1; i >= 0; i--) {
+            merged[half + i] = merged[2 * i] + merged[2 * i + 1];
+          }
+          Arrays.fill(merged, 0, half, 0);
+          newLow -= half * doubled;
+        } else {
+          for (int i = 0; i < half; i++) {
+            merged[i] = merged[2 * i] + merged[2 * i + 1];
+          }
+          Arrays.fill(merged, half, NUMBER_OF_BUCKETS, 0);
+        }
+        newWidth = doubled;
+      }
+      return new Buckets(newLow, newWidth, newSaturated, merged);
+    }
+
+    /**
+     * Reads the counts, treating a bucket as empty if removals racing with a widening have taken
+     * it below zero.
+     */
+    long[] snapshot() {
+      long[] snapshot = new long[NUMBER_OF_BUCKETS];
+      for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+        snapshot[i] = Math.max(0, counts[i].sum());
+      }
+      return snapshot;
+    }
+
+    long size() {
+      return sum(snapshot());
+    }
+
+    double countBelow(long[] snapshot, double value) {
+      if (!(value > low)) {
+        return 0;
+      }
+      double position = (value - low) / width;
+      if (position >= NUMBER_OF_BUCKETS) {
+        return sum(snapshot);
+      }
+      int bucket = (int) position;
+      long count = 0;
+      for (int i = 0; i < bucket; i++) {
+        count += snapshot[i];
+      }
+      return count + snapshot[bucket] * (position - bucket);
+    }
+
+    int bucketOf(double value) {
+      double position = (value - low) / width;
+      if (position < 0) {
+        return 0;
+      }
+      return position >= NUMBER_OF_BUCKETS ? NUMBER_OF_BUCKETS - 1 : (int) position;
+    }
+  }
+
+  private static double valueOf(Object key) {
+    if (key instanceof Number) {
+      double value = ((Number) key).doubleValue();
+      if (!Double.isInfinite(value)) {
+        return value;
+      }
+    }
+    return Double.NaN;
+  }
+}
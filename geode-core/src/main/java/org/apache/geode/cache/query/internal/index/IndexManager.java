@@ -29,6 +29,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -56,9 +57,11 @@ import org.apache.geode.cache.query.internal.CompiledValue;
 import org.apache.geode.cache.query.internal.ExecutionContext;
 import org.apache.geode.cache.query.internal.MapIndexable;
 import org.apache.geode.cache.query.internal.NullToken;
+import org.apache.geode.cache.query.internal.QueryConfigurationService;
 import org.apache.geode.cache.query.internal.QueryMonitor;
 import org.apache.geode.cache.query.internal.QueryObserver;
 import org.apache.geode.cache.query.internal.QueryObserverHolder;
+import org.apache.geode.cache.query.internal.QueryPlanCache;
 import org.apache.geode.cache.query.internal.index.AbstractIndex.InternalIndexStatistics;
 import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
 import org.apache.geode.internal.Assert;
@@ -137,6 +140,27 @@ public class IndexManager {
 
   @MutableForTesting
   public static boolean TEST_RANGEINDEX_ONLY = false;
+
+  /**
+   * System property naming the compact range indexes, as a comma separated list or "*" for all of
+   * them, that keep their numeric keys in primitive arrays instead of a skip list. This saves the
+   * boxed key and skip list nodes of every mapping, and makes range scans read contiguous arrays.
+   */
+  public static final String PRIMITIVE_KEY_INDEXES_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "index.PRIMITIVE_KEY_INDEXES";
+
+  /**
+   * System property naming the compact range indexes, as a comma separated list or "*" for all of
+   * them, that are maintained asynchronously. Changed entries are queued and applied to such an
+   * index by a shared pool of threads, so that the thread changing the entry does not evaluate the
+   * indexed expression.
+   */
+  public static final String ASYNC_MAINTENANCE_INDEXES_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "index.ASYNC_MAINTENANCE_INDEXES";
+
+  /** The number of entries each thread populating indexes in parallel adds at a time. */
+  static final int POPULATE_BATCH_SIZE = 1000;
+
   public static final String INDEX_ELEMARRAY_THRESHOLD_PROP = "index_elemarray_threshold";
   public static final String INDEX_ELEMARRAY_SIZE_PROP = "index_elemarray_size";
   public static final int INDEX_ELEMARRAY_THRESHOLD =
@@ -418,6 +442,7 @@ public class IndexManager {
         }
       }
       assert (index != null);
+      invalidateQueryPlans();
       if (logger.isDebugEnabled()) {
         logger.debug("Completed creating index with indexName: {} On region: {}", indexName,
             region.getFullPath());
@@ -506,6 +531,7 @@ public class IndexManager {
   public void addIndex(String indexName, Index index) {
     IndexTask indexTask = new IndexTask(cache, indexName);
     indexes.put(indexTask, index);
+    invalidateQueryPlans();
   }
 
   /**
@@ -831,6 +857,7 @@ public class IndexManager {
     if (indexes.remove(indexTask) != null) {
       AbstractIndex indexHandle = (AbstractIndex) index;
       indexHandle.destroy();
+      invalidateQueryPlans();
     }
   }
 
@@ -853,9 +880,24 @@ public class IndexManager {
       IndexTask indexTask = (IndexTask) entry.getKey();
       indexes.remove(indexTask);
     }
+    if (numIndexes > 0) {
+      invalidateQueryPlans();
+    }
     return numIndexes;
   }
 
+  /**
+   * Clears the compiled queries cached for the cache, so that none is reused across a change to
+   * the indexes.
+   */
+  private void invalidateQueryPlans() {
+    QueryConfigurationService service = cache.getService(QueryConfigurationService.class);
+    QueryPlanCache queryPlanCache = service == null ? null : service.getQueryPlanCache();
+    if (queryPlanCache != null) {
+      queryPlanCache.clear();
+    }
+  }
+
 
   /**
    * Asif : This function is invoked during clear operation on Region. It causes re execution of
@@ -891,48 +933,32 @@ public class IndexManager {
     if (region.getCache().getLogger().infoEnabled()) {
       region.getCache().getLogger().info("Populating indexes for region " + region.getName());
     }
-    boolean throwException = false;
-    HashMap<String, Exception> exceptionsMap = new HashMap<>();
+    Map<String, Exception> exceptionsMap = new ConcurrentHashMap<>();
     boolean oldReadSerialized = cache.getPdxReadSerializedOverride();
     cache.setPdxReadSerializedOverride(true);
-    try {
+    // the buckets of a partitioned region are already populated in parallel
+    try (IndexCreationExecutor executor = region instanceof BucketRegion
+        ? new IndexCreationExecutor(1) : new IndexCreationExecutor()) {
       Iterator entryIter = ((LocalRegion) region).getBestIterator(true);
-      while (entryIter.hasNext()) {
-        RegionEntry entry = (RegionEntry) entryIter.next();
-        if (entry == null || entry.isInvalidOrRemoved()) {
-          continue;
-        }
-        // Fault in the value once before index update so that every index
-        // update does not have
-        // to read the value from disk every time.
-        entry.getValue((LocalRegion) region);
-        Iterator<Index> indexSetIterator = indexSet.iterator();
-        while (indexSetIterator.hasNext()) {
-          AbstractIndex index = (AbstractIndex) indexSetIterator.next();
-          if (!index.isPopulated() && index.getType() != IndexType.PRIMARY_KEY) {
-            if (logger.isDebugEnabled()) {
-              logger.debug("Adding to index :{}{} value :{}", index.getName(),
-                  region.getFullPath(), entry.getKey());
-            }
-            long start = index.updateIndexUpdateStats();
-            try {
-              index.addIndexMapping(entry);
-            } catch (IMQException e) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("Adding to index failed for: {}, {}", index.getName(), e.getMessage(),
-                    e);
-              }
-              exceptionsMap.put(index.indexName, e);
-              indexSetIterator.remove();
-              throwException = true;
-            }
-            index.updateIndexUpdateStats(start);
+      if (executor.isParallel()) {
+        // every batch of entries is added to all of the indexes, so that the entries are read once
+        while (entryIter.hasNext()) {
+          List<RegionEntry> batch = new ArrayList<>(POPULATE_BATCH_SIZE);
+          while (entryIter.hasNext() && batch.size() < POPULATE_BATCH_SIZE) {
+            batch.add((RegionEntry) entryIter.next());
           }
+          executor.submit(() -> addToIndexesInBatch(batch, indexSet, exceptionsMap));
+        }
+        awaitPopulation(executor);
+      } else {
+        while (entryIter.hasNext()) {
+          addToIndexes((RegionEntry) entryIter.next(), indexSet, exceptionsMap);
         }
       }
+      indexSet.removeIf(index -> exceptionsMap.containsKey(((AbstractIndex) index).indexName));
       setPopulateFlagForIndexes(indexSet);
-      if (throwException) {
-        throw new MultiIndexCreationException(exceptionsMap);
+      if (!exceptionsMap.isEmpty()) {
+        throw new MultiIndexCreationException(new HashMap<>(exceptionsMap));
       }
     } finally {
       cache.setPdxReadSerializedOverride(oldReadSerialized);
@@ -940,6 +966,68 @@ public class IndexManager {
     }
   }
 
+  private void addToIndexesInBatch(List<RegionEntry> batch, Collection<Index> indexSet,
+      Map<String, Exception> exceptionsMap) {
+    boolean oldReadSerialized = cache.getPdxReadSerializedOverride();
+    cache.setPdxReadSerializedOverride(true);
+    try {
+      for (RegionEntry entry : batch) {
+        addToIndexes(entry, indexSet, exceptionsMap);
+      }
+    } finally {
+      cache.setPdxReadSerializedOverride(oldReadSerialized);
+    }
+  }
+
+  /**
+   * Adds the entry to those of the given indexes that are not populated yet, and have not failed
+   * to add an entry so far.
+   */
+  private void addToIndexes(RegionEntry entry, Collection<Index> indexSet,
+      Map<String, Exception> exceptionsMap) {
+    if (entry == null || entry.isInvalidOrRemoved()) {
+      return;
+    }
+    // Fault in the value once before index update so that every index
+    // update does not have
+    // to read the value from disk every time.
+    entry.getValue((LocalRegion) region);
+    for (Index ind : indexSet) {
+      AbstractIndex index = (AbstractIndex) ind;
+      if (!index.isPopulated() && index.getType() != IndexType.PRIMARY_KEY
+          && !exceptionsMap.containsKey(index.indexName)) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Adding to index :{}{} value :{}", index.getName(),
+              region.getFullPath(), entry.getKey());
+        }
+        long start = index.updateIndexUpdateStats();
+        try {
+          index.addIndexMapping(entry);
+        } catch (IMQException e) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("Adding to index failed for: {}, {}", index.getName(), e.getMessage(),
+                e);
+          }
+          exceptionsMap.putIfAbsent(index.indexName, e);
+        }
+        index.updateIndexUpdateStats(start);
+      }
+    }
+  }
+
+  private static void awaitPopulation(IndexCreationExecutor executor) {
+    try {
+      executor.awaitCompletion();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IndexMaintenanceException(e);
+    } catch (Exception e) {
+      throw new IndexMaintenanceException(e);
+    }
+  }
+
   /**
    * Sets the {@link AbstractIndex#isPopulated} after populating all the indexes in this region
    */
@@ -1042,11 +1130,14 @@ public class IndexManager {
 
             if (index.isValid() && ((AbstractIndex) index).isPopulated()
                 && index.getType() != IndexType.PRIMARY_KEY) {
-              // Asif : If the current Index contains an entry inspite
-              // of add operation , this can only mean that Index
-              // has already acted on it during creation, so do not
-              // apply IMQ on it
-              if (!index.containsEntry(entry)) {
+              IndexUpdateQueue updateQueue = ((AbstractIndex) index).getUpdateQueue();
+              if (updateQueue != null) {
+                updateQueue.enqueue(entry);
+              } else if (!index.containsEntry(entry)) {
+                // Asif : If the current Index contains an entry inspite
+                // of add operation , this can only mean that Index
+                // has already acted on it during creation, so do not
+                // apply IMQ on it
                 if (logger.isDebugEnabled()) {
                   logger.debug("Adding to index: {}{} value: {}", index.getName(),
                       region.getFullPath(), entry.getKey());
@@ -1080,6 +1171,11 @@ public class IndexManager {
             IndexProtocol index = (IndexProtocol) ind;
 
             if (((AbstractIndex) index).isPopulated() && index.getType() != IndexType.PRIMARY_KEY) {
+              IndexUpdateQueue updateQueue = ((AbstractIndex) index).getUpdateQueue();
+              if (updateQueue != null) {
+                updateQueue.enqueue(entry);
+                continue;
+              }
               if (logger.isDebugEnabled()) {
                 logger.debug("Updating index: {}{} value: {}", index.getName(),
                     region.getFullPath(), entry.getKey());
@@ -1112,6 +1208,16 @@ public class IndexManager {
 
             if (((AbstractIndex) index).isPopulated() && index.getType() != IndexType.PRIMARY_KEY) {
               AbstractIndex abstractIndex = (AbstractIndex) index;
+              IndexUpdateQueue updateQueue = abstractIndex.getUpdateQueue();
+              if (updateQueue != null) {
+                // the old key is found in the reverse map when the update is applied, so only
+                // the removal of the entry itself is queued
+                if (opCode == IndexProtocol.OTHER_OP
+                    || opCode == IndexProtocol.REMOVE_DUE_TO_GII_TOMBSTONE_CLEANUP) {
+                  updateQueue.enqueue(entry);
+                }
+                continue;
+              }
               if (logger.isDebugEnabled()) {
                 logger.debug("Removing from index: {}{} value: {}", index.getName(),
                     region.getFullPath(), entry.getKey());
@@ -1295,7 +1401,10 @@ public class IndexManager {
    * Callback for destroying IndexManager Called after Region.destroy() called
    */
   public void destroy() throws QueryException {
-    indexes.clear();
+    if (!indexes.isEmpty()) {
+      indexes.clear();
+      invalidateQueryPlans();
+    }
     if (!isIndexMaintenanceTypeSynchronous()) {
       updater.shutdown();
     }
@@ -1350,6 +1459,44 @@ public class IndexManager {
     return (INPLACE_OBJECT_MODIFICATION || INPLACE_OBJECT_MODIFICATION_FOR_TEST);
   }
 
+  /**
+   * Returns true if the index with the given name is to keep its numeric keys in primitive arrays,
+   * as set by {@link #PRIMITIVE_KEY_INDEXES_PROPERTY}.
+   */
+  public static boolean usesPrimitiveKeys(String indexName) {
+    return isIndexNamedBy(PRIMITIVE_KEY_INDEXES_PROPERTY, indexName);
+  }
+
+  /**
+   * Returns true if the index with the given name is to be maintained asynchronously, as set by
+   * {@link #ASYNC_MAINTENANCE_INDEXES_PROPERTY}.
+   */
+  public static boolean isMaintainedAsynchronously(String indexName) {
+    return isIndexNamedBy(ASYNC_MAINTENANCE_INDEXES_PROPERTY, indexName);
+  }
+
+  /**
+   * Creates the pool of threads that applies the updates of the asynchronously maintained indexes
+   * of a cache. The cache shuts it down when it is closed.
+   */
+  public static ExecutorService createIndexMaintenanceExecutor() {
+    return IndexUpdateQueue.createExecutor();
+  }
+
+  private static boolean isIndexNamedBy(String property, String indexName) {
+    String indexNames = System.getProperty(property);
+    if (indexNames == null) {
+      return false;
+    }
+    for (String name : indexNames.split(",")) {
+      name = name.trim();
+      if (name.equals("*") || name.equals(indexName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Asif : This function is used exclusively by Index Manager. It gets the unique Iterator name for
    * a Iterator definition, if it already exists, else creates a unqiue name & also stores it in a
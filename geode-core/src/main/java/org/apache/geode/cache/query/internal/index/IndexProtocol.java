@@ -163,6 +163,21 @@ public interface IndexProtocol extends Index {
 
   int getSizeEstimate(Object key, int op, int matchLevel) throws TypeMismatchException;
 
+  /**
+   * Returns true if the index keeps statistics on the distribution of its keys from which the size
+   * of a range condition on the given key is estimated, so that the estimate can be weighed
+   * against the exact size of an equality condition.
+   */
+  boolean hasRangeStatistics(Object key, int matchLevel);
+
+  /**
+   * Estimates the number of values selected by a range bounded below and above, such as
+   * {@code a > 5 AND a < 10}, from the statistics on the distribution of the index keys.
+   *
+   * @return the estimated size, or Integer.MAX_VALUE if the index keeps no such statistics
+   */
+  int getRangeSizeEstimate(Object lowerBoundKey, Object upperBoundKey, int matchLevel);
+
   boolean isMatchingWithIndexExpression(CompiledValue condnExpr, String condnExprStr,
       ExecutionContext context)
       throws TypeMismatchException, NameResolutionException;
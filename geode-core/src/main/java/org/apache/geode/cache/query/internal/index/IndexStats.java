@@ -43,6 +43,9 @@ public class IndexStats {
   private static final int readLockCountId;
   private static final int numMapIndexKeysId;
   private static final int numBucketIndexesId;
+  private static final int pendingUpdatesId;
+  private static final int coalescedUpdatesId;
+  private static final int updateQueueLagId;
 
   /** The Statistics object that we delegate most behavior to */
   private final Statistics stats;
@@ -71,7 +74,17 @@ public class IndexStats {
             f.createLongGauge("readLockCount", "Current number of read locks taken.", "uses"),
             f.createLongGauge("numMapIndexKeys", "Number of keys in this Map index", "keys"),
             f.createLongGauge("numBucketIndexes",
-                "Number of bucket indexes in the partitioned region", "indexes"),});
+                "Number of bucket indexes in the partitioned region", "indexes"),
+            f.createLongGauge("pendingUpdates",
+                "Current number of updates queued for an index that is maintained asynchronously.",
+                "updates"),
+            f.createLongCounter("coalescedUpdates",
+                "Number of updates of an asynchronously maintained index combined with an update"
+                    + " already queued for the same entry.",
+                "updates"),
+            f.createLongGauge("updateQueueLag",
+                "Time the last applied update of an asynchronously maintained index spent queued.",
+                "nanoseconds"),});
 
     // Initialize id fields
     numKeysId = type.nameToId("numKeys");
@@ -85,6 +98,9 @@ public class IndexStats {
     readLockCountId = type.nameToId("readLockCount");
     numMapIndexKeysId = type.nameToId("numMapIndexKeys");
     numBucketIndexesId = type.nameToId("numBucketIndexes");
+    pendingUpdatesId = type.nameToId("pendingUpdates");
+    coalescedUpdatesId = type.nameToId("coalescedUpdates");
+    updateQueueLagId = type.nameToId("updateQueueLag");
   }
 
   /**
@@ -136,6 +152,18 @@ public class IndexStats {
     return stats.getLong(numBucketIndexesId);
   }
 
+  public long getPendingUpdates() {
+    return stats.getLong(pendingUpdatesId);
+  }
+
+  public long getCoalescedUpdates() {
+    return stats.getLong(coalescedUpdatesId);
+  }
+
+  public long getUpdateQueueLag() {
+    return stats.getLong(updateQueueLagId);
+  }
+
   public void incNumUpdates() {
     stats.incLong(numUpdatesId, 1);
   }
@@ -192,6 +220,18 @@ public class IndexStats {
     stats.incLong(numBucketIndexesId, delta);
   }
 
+  public void incPendingUpdates(int delta) {
+    stats.incLong(pendingUpdatesId, delta);
+  }
+
+  public void incCoalescedUpdates() {
+    stats.incLong(coalescedUpdatesId, 1);
+  }
+
+  public void setUpdateQueueLag(long nanos) {
+    stats.setLong(updateQueueLagId, nanos);
+  }
+
   /**
    * Closes these stats so that they can not longer be used. The stats are closed when the cache is
    * closed.
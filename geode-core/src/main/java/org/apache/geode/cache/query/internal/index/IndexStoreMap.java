@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The sorted, concurrent map from index keys to region entries that a {@link MemoryIndexStore}
+ * keeps its mappings in. Keys are ordered by
+ * {@link org.apache.geode.cache.query.internal.types.ExtendedNumericComparator}, and values are
+ * compared with {@link Object#equals}, as in a {@link java.util.concurrent.ConcurrentMap}.
+ *
+ * @since Geode 1.16
+ */
+interface IndexStoreMap {
+
+  Object get(Object key);
+
+  Object putIfAbsent(Object key, Object value);
+
+  boolean replace(Object key, Object oldValue, Object newValue);
+
+  boolean remove(Object key, Object value);
+
+  void clear();
+
+  /**
+   * Returns a weakly consistent iterator over the mappings with keys between the given bounds, in
+   * ascending or descending key order. A null bound leaves that end of the range open. The
+   * iterator supports {@link Iterator#remove}.
+   */
+  Iterator<Map.Entry<Object, Object>> iterator(Object start, boolean startInclusive, Object end,
+      boolean endInclusive, boolean descending);
+
+  default Iterator<Map.Entry<Object, Object>> iterator() {
+    return iterator(null, false, null, false, false);
+  }
+}
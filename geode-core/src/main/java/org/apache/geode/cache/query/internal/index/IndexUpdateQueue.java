@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Queues the updates of an index that is maintained asynchronously, so that they are applied by a
+ * bounded pool of threads shared by all such indexes instead of by the thread changing the entry.
+ *
+ * <p>
+ * Only the changed entry is queued. When it is applied, the index is brought up to date with the
+ * current state of the entry, so an entry that is changed again before its update is applied is
+ * not queued a second time. The updates of each index are applied in order by at most one thread
+ * at a time.
+ *
+ * <p>
+ * Queued and applied updates are counted. A query waits until as many updates have been applied as
+ * had been queued when it started, unless the oldest update still queued has waited for no longer
+ * than the staleness allowed by {@link #MAX_STALENESS_PROPERTY}. An update is counted before it is
+ * added to the queue and the queue is applied in order, so by then every update queued before the
+ * query started has been applied.
+ *
+ * <p>
+ * The updates are applied by the cache's {@link InternalCache#getIndexMaintenanceExecutor()}.
+ *
+ * @since Geode 1.16
+ */
+class IndexUpdateQueue {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * System property setting the number of threads applying the updates of asynchronously
+   * maintained indexes. Defaults to a quarter of the available processors.
+   */
+  static final String MAX_THREADS_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "index.ASYNC_MAINTENANCE_MAX_THREADS";
+
+  /**
+   * System property setting for how many milliseconds the updates of an asynchronously maintained
+   * index may remain queued before queries wait for them. Defaults to 0, so that queries always
+   * see the updates made before they started.
+   */
+  static final String MAX_STALENESS_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "index.ASYNC_MAINTENANCE_MAX_STALENESS_MS";
+
+  /** The most updates applied by one task before the thread is given to another index. */
+  static final int MAX_BATCH_SIZE = 1000;
+
+  private static final long WAIT_MILLIS = 100;
+
+  private final CompactRangeIndex index;
+
+  private final AbstractIndex.InternalIndexStatistics stats;
+
+  private final Executor executor;
+
+  private final long maxStalenessNanos;
+
+  /** The entries that have an update queued, so that they are not queued twice. */
+  private final Set<RegionEntry> pending = ConcurrentHashMap.newKeySet();
+
+  private final Queue<QueuedUpdate> queue = new ConcurrentLinkedQueue<>();
+
+  /** True while a task applying the queued updates is submitted or running. */
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  private final AtomicLong queuedCount = new AtomicLong();
+
+  private final AtomicLong appliedCount = new AtomicLong();
+
+  private volatile boolean closed;
+
+  /**
+   * Creates the pool of threads that applies the updates of the asynchronously maintained indexes
+   * of a cache.
+   */
+  static ExecutorService createExecutor() {
+    int threads = Integer.getInteger(MAX_THREADS_PROPERTY, 0);
+    if (threads < 1) {
+      threads = Math.max(Runtime.getRuntime().availableProcessors() / 4, 1);
+    }
+    return LoggingExecutors.newFixedThreadPool(threads, "IndexUpdateQueueThread", true);
+  }
+
+  IndexUpdateQueue(CompactRangeIndex index, AbstractIndex.InternalIndexStatistics stats) {
+    this(index, stats, index.cache.getIndexMaintenanceExecutor(),
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong(MAX_STALENESS_PROPERTY, 0)));
+  }
+
+  IndexUpdateQueue(CompactRangeIndex index, AbstractIndex.InternalIndexStatistics stats,
+      Executor executor, long maxStalenessNanos) {
+    this.index = index;
+    this.stats = stats;
+    this.executor = executor;
+    this.maxStalenessNanos = maxStalenessNanos;
+  }
+
+  /**
+   * Queues an update of the index for the given entry, unless one is already queued.
+   */
+  void enqueue(RegionEntry entry) {
+    if (closed) {
+      return;
+    }
+    if (!pending.add(entry)) {
+      stats.incCoalescedUpdates();
+      return;
+    }
+    queuedCount.incrementAndGet();
+    queue.add(new QueuedUpdate(entry, System.nanoTime()));
+    stats.incPendingUpdates(1);
+    schedule();
+  }
+
+  /**
+   * Waits until the updates queued so far have been applied, unless they are recent enough to be
+   * ignored.
+   */
+  void awaitUpdates() {
+    long queued = queuedCount.get();
+    if (appliedCount.get() >= queued || isWithinStaleness()) {
+      return;
+    }
+    synchronized (this) {
+      while (appliedCount.get() < queued && !closed && index.isValid()) {
+        try {
+          wait(WAIT_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /** Returns the number of updates queued and not applied yet. */
+  int size() {
+    return pending.size();
+  }
+
+  /**
+   * Discards the queued updates and releases the queries waiting for them. Nothing is queued once
+   * the queue is closed.
+   */
+  void close() {
+    closed = true;
+    queue.clear();
+    for (RegionEntry entry : pending) {
+      if (pending.remove(entry)) {
+        stats.incPendingUpdates(-1);
+      }
+    }
+    synchronized (this) {
+      notifyAll();
+    }
+  }
+
+  private boolean isWithinStaleness() {
+    if (maxStalenessNanos <= 0) {
+      return false;
+    }
+    QueuedUpdate oldest = queue.peek();
+    return oldest == null || System.nanoTime() - oldest.queuedTime <= maxStalenessNanos;
+  }
+
+  private void schedule() {
+    if (scheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::applyUpdates);
+      } catch (RejectedExecutionException e) {
+        // the cache is closing
+        scheduled.set(false);
+      }
+    }
+  }
+
+  private void applyUpdates() {
+    InternalCache cache = index.cache;
+    Boolean initialPdxReadSerialized = null;
+    if (cache != null) {
+      initialPdxReadSerialized = cache.getPdxReadSerializedOverride();
+      cache.setPdxReadSerializedOverride(true);
+    }
+    try {
+      for (int i = 0; i < MAX_BATCH_SIZE && !closed; i++) {
+        QueuedUpdate update = queue.poll();
+        if (update == null) {
+          break;
+        }
+        // remove the entry first so that a change made while it is applied is queued again
+        if (pending.remove(update.entry)) {
+          stats.incPendingUpdates(-1);
+        }
+        apply(update.entry);
+        stats.setUpdateQueueLag(System.nanoTime() - update.queuedTime);
+        appliedCount.incrementAndGet();
+      }
+    } finally {
+      if (cache != null) {
+        cache.setPdxReadSerializedOverride(initialPdxReadSerialized);
+      }
+      synchronized (this) {
+        notifyAll();
+      }
+      scheduled.set(false);
+    }
+    if (!queue.isEmpty() && !closed) {
+      schedule();
+    }
+  }
+
+  /**
+   * Brings the index up to date with the current state of the entry. Failures mark the index as
+   * invalid, like those of synchronous updates.
+   */
+  private void apply(RegionEntry entry) {
+    long start = index.updateIndexUpdateStats();
+    try {
+      if (entry.isInvalidOrRemoved()) {
+        // the key the entry was mapped to is found in the reverse map
+        index.removeMapping(QueryService.UNDEFINED, entry);
+      } else {
+        index.addMapping(entry);
+      }
+    } catch (Exception exception) {
+      index.markValid(false);
+      if (index.prIndex != null) {
+        ((AbstractIndex) index.prIndex).markValid(false);
+      }
+      logger.warn(String.format(
+          "Updating the Index %s failed. The index is corrupted and marked as invalid.",
+          index.indexName), exception);
+    } finally {
+      index.updateIndexUpdateStats(start);
+    }
+  }
+
+  private static class QueuedUpdate {
+    private final RegionEntry entry;
+    private final long queuedTime;
+
+    private QueuedUpdate(RegionEntry entry, long queuedTime) {
+      this.entry = entry;
+      this.queuedTime = queuedTime;
+    }
+  }
+}
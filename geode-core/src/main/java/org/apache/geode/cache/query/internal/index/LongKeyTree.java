@@ -0,0 +1,598 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.geode.annotations.VisibleForTesting;
+
+/**
+ * A B+-tree mapping primitive long keys to values. Keys are kept in long arrays in the nodes of
+ * the tree, so a mapping costs a slot in a key array and one in a value array instead of the
+ * boxed key, node and index objects of a skip list.
+ *
+ * <p>
+ * The tree is guarded by a read-write lock. Lookups and changes hold it for the duration of the
+ * operation, while a {@link Cursor} holds it only to copy the mappings of one leaf at a time, so
+ * that a long scan does not hold up changes. A cursor is weakly consistent: it sees each mapping
+ * that exists for the whole scan, and may or may not see mappings added or removed during it.
+ *
+ * <p>
+ * Values are compared with {@link Object#equals}, as {@link java.util.concurrent.ConcurrentMap}
+ * does. Null values are not allowed.
+ *
+ * @since Geode 1.16
+ */
+class LongKeyTree {
+  @VisibleForTesting
+  static final int NODE_CAPACITY = 64;
+
+  /** A node with fewer keys than this is merged with a sibling if they fit in one node. */
+  private static final int MIN_KEYS = NODE_CAPACITY / 4;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private Node root = new Leaf();
+  private int size;
+
+  /** Incremented by every change, so that a cursor can tell whether its leaf is still current. */
+  private long modCount;
+
+  Object get(long key) {
+    lock.readLock().lock();
+    try {
+      Leaf leaf = findLeaf(key);
+      int index = leaf.indexOf(key);
+      return index >= 0 ? leaf.values[index] : null;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Maps the given key to the given value unless the key is already mapped.
+   *
+   * @return the value the key is already mapped to, or null if it was not
+   */
+  Object putIfAbsent(long key, Object value) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
+    lock.writeLock().lock();
+    try {
+      Leaf leaf = findLeaf(key);
+      int index = leaf.indexOf(key);
+      if (index >= 0) {
+        return leaf.values[index];
+      }
+      Node sibling = insert(root, key, value);
+      if (sibling != null) {
+        Inner newRoot = new Inner();
+        newRoot.keys[0] = sibling.firstKey();
+        newRoot.children[0] = root;
+        newRoot.children[1] = sibling;
+        newRoot.size = 1;
+        root = newRoot;
+      }
+      size++;
+      modCount++;
+      return null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Maps the given key to the new value if it is mapped to the old one.
+   */
+  boolean replace(long key, Object oldValue, Object newValue) {
+    if (oldValue == null || newValue == null) {
+      throw new NullPointerException();
+    }
+    lock.writeLock().lock();
+    try {
+      Leaf leaf = findLeaf(key);
+      int index = leaf.indexOf(key);
+      if (index < 0 || !oldValue.equals(leaf.values[index])) {
+        return false;
+      }
+      leaf.values[index] = newValue;
+      modCount++;
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the mapping of the given key if it is mapped to the given value.
+   */
+  boolean remove(long key, Object value) {
+    if (value == null) {
+      return false;
+    }
+    lock.writeLock().lock();
+    try {
+      Leaf leaf = findLeaf(key);
+      int index = leaf.indexOf(key);
+      if (index < 0 || !value.equals(leaf.values[index])) {
+        return false;
+      }
+      delete(root, key);
+      if (root instanceof Inner && root.size == 0) {
+        root = ((Inner) root).children[0];
+      }
+      size--;
+      modCount++;
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void clear() {
+    lock.writeLock().lock();
+    try {
+      root = new Leaf();
+      size = 0;
+      modCount++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Returns a cursor over the mappings with keys between the given bounds, both inclusive, in
+   * ascending or descending key order.
+   */
+  Cursor cursor(long low, long high, boolean descending) {
+    return new Cursor(low, high, descending);
+  }
+
+  /** Must be called with the lock held. */
+  private Leaf findLeaf(long key) {
+    Node node = root;
+    while (node instanceof Inner) {
+      Inner inner = (Inner) node;
+      node = inner.children[inner.childIndex(key)];
+    }
+    return (Leaf) node;
+  }
+
+  /**
+   * Inserts a key known not to be in the tree below the given node.
+   *
+   * @return the new right sibling of the node if it had to be split, or null
+   */
+  private Node insert(Node node, long key, Object value) {
+    if (node instanceof Leaf) {
+      Leaf leaf = (Leaf) node;
+      int index = -(leaf.indexOf(key) + 1);
+      if (leaf.size < NODE_CAPACITY) {
+        leaf.insertAt(index, key, value);
+        return null;
+      }
+      Leaf right = leaf.split();
+      if (index <= leaf.size) {
+        leaf.insertAt(index, key, value);
+      } else {
+        right.insertAt(index - leaf.size, key, value);
+      }
+      return right;
+    }
+
+    Inner inner = (Inner) node;
+    int childIndex = inner.childIndex(key);
+    Node newChild = insert(inner.children[childIndex], key, value);
+    if (newChild == null) {
+      return null;
+    }
+    long separator = newChild.firstKey();
+    if (inner.size < NODE_CAPACITY) {
+      inner.insertAt(childIndex, separator, newChild);
+      return null;
+    }
+    Inner right = inner.split();
+    if (childIndex <= inner.size) {
+      inner.insertAt(childIndex, separator, newChild);
+    } else {
+      right.insertAt(childIndex - inner.size - 1, separator, newChild);
+    }
+    return right;
+  }
+
+  /**
+   * Deletes a key known to be in the tree below the given node, merging any child left with too
+   * few keys into a sibling.
+   */
+  private void delete(Node node, long key) {
+    if (node instanceof Leaf) {
+      Leaf leaf = (Leaf) node;
+      leaf.removeAt(leaf.indexOf(key));
+      return;
+    }
+    Inner inner = (Inner) node;
+    int childIndex = inner.childIndex(key);
+    Node child = inner.children[childIndex];
+    delete(child, key);
+    if (child.size >= MIN_KEYS) {
+      return;
+    }
+    if (childIndex > 0 && inner.canMerge(childIndex - 1)) {
+      inner.mergeChildren(childIndex - 1);
+    } else if (childIndex < inner.size && inner.canMerge(childIndex)) {
+      inner.mergeChildren(childIndex);
+    }
+  }
+
+  @VisibleForTesting
+  int height() {
+    lock.readLock().lock();
+    try {
+      int height = 1;
+      for (Node node = root; node instanceof Inner; node = ((Inner) node).children[0]) {
+        height++;
+      }
+      return height;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private abstract static class Node {
+    final long[] keys;
+    int size;
+
+    Node(int capacity) {
+      keys = new long[capacity];
+    }
+
+    abstract long firstKey();
+  }
+
+  private static class Leaf extends Node {
+    final Object[] values = new Object[NODE_CAPACITY];
+    Leaf next;
+    Leaf previous;
+
+    Leaf() {
+      super(NODE_CAPACITY);
+    }
+
+    @Override
+    long firstKey() {
+      return keys[0];
+    }
+
+    /**
+     * Returns the index of the given key, or -(insertion point + 1) if it is not in this leaf.
+     */
+    int indexOf(long key) {
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        long middleKey = keys[middle];
+        if (middleKey < key) {
+          low = middle + 1;
+        } else if (middleKey > key) {
+          high = middle - 1;
+        } else {
+          return middle;
+        }
+      }
+      return -(low + 1);
+    }
+
+    void insertAt(int index, long key, Object value) {
+      System.arraycopy(keys, index, keys, index + 1, size - index);
+      System.arraycopy(values, index, values, index + 1, size - index);
+      keys[index] = key;
+      values[index] = value;
+      size++;
+    }
+
+    void removeAt(int index) {
+      System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+      System.arraycopy(values, index + 1, values, index, size - index - 1);
+      size--;
+      values[size] = null;
+    }
+
+    /**
+     * Moves the upper half of this full leaf to a new leaf linked after it.
+     */
+    Leaf split() {
+      Leaf right = new Leaf();
+      int half = size / 2;
+      right.size = size - half;
+      System.arraycopy(keys, half, right.keys, 0, right.size);
+      System.arraycopy(values, half, right.values, 0, right.size);
+      Arrays.fill(values, half, size, null);
+      size = half;
+      right.next = next;
+      right.previous = this;
+      if (next != null) {
+        next.previous = right;
+      }
+      next = right;
+      return right;
+    }
+
+    /**
+     * Moves all mappings of the given leaf, the one linked after this one, to this leaf.
+     */
+    void absorb(Leaf right) {
+      System.arraycopy(right.keys, 0, keys, size, right.size);
+      System.arraycopy(right.values, 0, values, size, right.size);
+      size += right.size;
+      next = right.next;
+      if (next != null) {
+        next.previous = this;
+      }
+      right.size = 0;
+      right.next = null;
+      right.previous = null;
+    }
+  }
+
+  /**
+   * An inner node, in which keys[i] is the smallest key under children[i + 1].
+   */
+  private static class Inner extends Node {
+    final Node[] children = new Node[NODE_CAPACITY + 1];
+
+    Inner() {
+      super(NODE_CAPACITY);
+    }
+
+    @Override
+    long firstKey() {
+      return children[0].firstKey();
+    }
+
+    int childIndex(long key) {
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        if (keys[middle] <= key) {
+          low = middle + 1;
+        } else {
+          high = middle - 1;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Adds the given child after the child at the given index.
+     */
+    void insertAt(int childIndex, long separator, Node child) {
+      System.arraycopy(keys, childIndex, keys, childIndex + 1, size - childIndex);
+      System.arraycopy(children, childIndex + 1, children, childIndex + 2, size - childIndex);
+      keys[childIndex] = separator;
+      children[childIndex + 1] = child;
+      size++;
+    }
+
+    /**
+     * Moves the upper half of the children of this full node to a new node. The key separating
+     * the two halves is dropped, as it is the first key of the new node.
+     */
+    Inner split() {
+      Inner right = new Inner();
+      int half = size / 2;
+      right.size = size - half - 1;
+      System.arraycopy(keys, half + 1, right.keys, 0, right.size);
+      System.arraycopy(children, half + 1, right.children, 0, right.size + 1);
+      Arrays.fill(children, half + 1, size + 1, null);
+      size = half;
+      return right;
+    }
+
+    boolean canMerge(int leftIndex) {
+      Node left = children[leftIndex];
+      Node right = children[leftIndex + 1];
+      int merged = left.size + right.size + (left instanceof Inner ? 1 : 0);
+      return merged <= NODE_CAPACITY;
+    }
+
+    /**
+     * Merges the child after the given index into the child at it.
+     */
+    void mergeChildren(int leftIndex) {
+      Node left = children[leftIndex];
+      Node right = children[leftIndex + 1];
+      if (left instanceof Leaf) {
+        ((Leaf) left).absorb((Leaf) right);
+      } else {
+        Inner leftInner = (Inner) left;
+        Inner rightInner = (Inner) right;
+        leftInner.keys[leftInner.size] = keys[leftIndex];
+        System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.size + 1,
+            rightInner.size);
+        System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.size + 1,
+            rightInner.size + 1);
+        leftInner.size += rightInner.size + 1;
+      }
+      System.arraycopy(keys, leftIndex + 1, keys, leftIndex, size - leftIndex - 1);
+      System.arraycopy(children, leftIndex + 2, children, leftIndex + 1, size - leftIndex - 1);
+      children[size] = null;
+      size--;
+    }
+  }
+
+  /**
+   * Iterates over the mappings of a key range, copying them one leaf at a time.
+   */
+  class Cursor {
+    private final long low;
+    private final long high;
+    private final boolean descending;
+
+    private final long[] keys = new long[NODE_CAPACITY];
+    private final Object[] values = new Object[NODE_CAPACITY];
+    private int count;
+    private int position;
+
+    /** The leaf the mappings were copied from, and the modCount they were copied at. */
+    private Leaf leaf;
+    private long copiedAt;
+
+    private boolean exhausted;
+    private long key;
+    private Object value;
+
+    Cursor(long low, long high, boolean descending) {
+      this.low = low;
+      this.high = high;
+      this.descending = descending;
+      exhausted = low > high;
+    }
+
+    boolean hasNext() {
+      if (position < count) {
+        return true;
+      }
+      if (exhausted) {
+        return false;
+      }
+      copyNextLeaf();
+      return position < count;
+    }
+
+    /**
+     * Moves to the next mapping.
+     */
+    void next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      key = keys[position];
+      value = values[position];
+      values[position] = null;
+      position++;
+    }
+
+    long key() {
+      return key;
+    }
+
+    Object value() {
+      return value;
+    }
+
+    private void copyNextLeaf() {
+      lock.readLock().lock();
+      try {
+        Leaf source;
+        int start;
+        if (leaf == null) {
+          source = findLeaf(descending ? high : low);
+          start = descending ? lastIndexAtMost(source, high) : firstIndexAtLeast(source, low);
+        } else if (copiedAt == modCount) {
+          source = descending ? leaf.previous : leaf.next;
+          start = descending && source != null ? source.size - 1 : 0;
+        } else {
+          // the tree has changed since the last copy, so find where to continue from its keys
+          if (descending) {
+            if (key == Long.MIN_VALUE) {
+              exhausted = true;
+              count = position = 0;
+              return;
+            }
+            source = findLeaf(key - 1);
+            start = lastIndexAtMost(source, key - 1);
+          } else {
+            if (key == Long.MAX_VALUE) {
+              exhausted = true;
+              count = position = 0;
+              return;
+            }
+            source = findLeaf(key + 1);
+            start = firstIndexAtLeast(source, key + 1);
+          }
+        }
+        copyFrom(source, start);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /**
+     * Copies the mappings in range from the given leaf, stepping to its neighbor if the start
+     * index is past its end. Must be called with the lock held.
+     */
+    private void copyFrom(Leaf source, int start) {
+      count = position = 0;
+      if (source != null && (start < 0 || start >= source.size)) {
+        source = descending ? source.previous : source.next;
+        start = descending && source != null ? source.size - 1 : 0;
+      }
+      if (source == null || source.size == 0) {
+        exhausted = true;
+        return;
+      }
+      if (descending) {
+        for (int i = start; i >= 0; i--) {
+          if (source.keys[i] < low) {
+            exhausted = true;
+            break;
+          }
+          keys[count] = source.keys[i];
+          values[count++] = source.values[i];
+        }
+      } else {
+        for (int i = start; i < source.size; i++) {
+          if (source.keys[i] > high) {
+            exhausted = true;
+            break;
+          }
+          keys[count] = source.keys[i];
+          values[count++] = source.values[i];
+        }
+      }
+      leaf = source;
+      copiedAt = modCount;
+    }
+
+    private int firstIndexAtLeast(Leaf leaf, long bound) {
+      int index = leaf.indexOf(bound);
+      return index >= 0 ? index : -(index + 1);
+    }
+
+    private int lastIndexAtMost(Leaf leaf, long bound) {
+      int index = leaf.indexOf(bound);
+      return index >= 0 ? index : -(index + 1) - 1;
+    }
+  }
+}
@@ -24,9 +24,8 @@ import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.apache.geode.cache.EntryDestroyedException;
 import org.apache.geode.cache.Region;
@@ -58,14 +57,16 @@ public class MemoryIndexStore implements IndexStore {
    * Map for valueOf(indexedExpression)=>RegionEntries. SortedMap<Object, (RegionEntry |
    * List<RegionEntry>)>. Package access for unit tests.
    */
-  final ConcurrentNavigableMap valueToEntriesMap =
-      new ConcurrentSkipListMap(TypeUtils.getExtendedNumericComparator());
+  final IndexStoreMap valueToEntriesMap;
 
   // number of keys
   private final AtomicInteger numIndexKeys = new AtomicInteger(0);
 
-  // Map for RegionEntries=>value of indexedExpression (reverse map)
-  private ConcurrentMap entryToValuesMap;
+  // values per numeric key, for estimating the size of range conditions
+  private final IndexKeyHistogram keyHistogram = new IndexKeyHistogram();
+
+  // Map for RegionEntries=>value of indexedExpression (reverse map), null if not kept
+  private final ConcurrentMap entryToValuesMap;
 
   private final InternalIndexStatistics internalIndexStats;
 
@@ -87,13 +88,30 @@ public class MemoryIndexStore implements IndexStore {
   private final Object TRANSITIONING_TOKEN = new IndexElemArray(1);
 
   MemoryIndexStore(Region region, InternalIndexStatistics internalIndexStats, InternalCache cache) {
+    this(region, internalIndexStats, cache, new SkipListIndexStoreMap());
+  }
+
+  MemoryIndexStore(Region region, InternalIndexStatistics internalIndexStats, InternalCache cache,
+      IndexStoreMap valueToEntriesMap) {
+    this(region, internalIndexStats, cache, valueToEntriesMap, false);
+  }
+
+  /**
+   * @param keepReverseMap true if the index key of each entry is to be remembered even if objects
+   *        are not modified in place, so that mappings can be removed without the old value
+   */
+  MemoryIndexStore(Region region, InternalIndexStatistics internalIndexStats, InternalCache cache,
+      IndexStoreMap valueToEntriesMap, boolean keepReverseMap) {
+    this.valueToEntriesMap = valueToEntriesMap;
     this.region = region;
     RegionAttributes ra = region.getAttributes();
     // Initialize the reverse-map if in-place modification is set by the
     // application.
-    if (IndexManager.isObjectModificationInplace()) {
+    if (keepReverseMap || IndexManager.isObjectModificationInplace()) {
       entryToValuesMap = new ConcurrentHashMap(ra.getInitialCapacity(), ra.getLoadFactor(),
           ra.getConcurrencyLevel());
+    } else {
+      entryToValuesMap = null;
     }
     this.internalIndexStats = internalIndexStats;
     this.cache = cache;
@@ -111,7 +129,7 @@ public class MemoryIndexStore implements IndexStore {
       }
 
       // Check if reverse-map is present.
-      if (IndexManager.isObjectModificationInplace()) {
+      if (entryToValuesMap != null) {
         // If reverse map get the old index key from reverse map.
         if (entryToValuesMap.containsKey(re)) {
           oldKey = entryToValuesMap.get(re);
@@ -253,7 +271,7 @@ public class MemoryIndexStore implements IndexStore {
             basicRemoveMapping(oldKey, re, false);
           }
 
-          if (IndexManager.isObjectModificationInplace()) {
+          if (entryToValuesMap != null) {
             entryToValuesMap.put(re, indexKey);
           }
         }
@@ -262,6 +280,7 @@ public class MemoryIndexStore implements IndexStore {
       throw new IMQException("Could not add object of type " + indexKey.getClass().getName(), ex);
     }
     internalIndexStats.incNumValues(1);
+    keyHistogram.add(indexKey);
   }
 
   /**
@@ -270,9 +289,11 @@ public class MemoryIndexStore implements IndexStore {
    *
    */
   private Object getOldKey(Object newKey, RegionEntry entry) throws TypeMismatchException {
-    for (Object mapEntry : valueToEntriesMap.entrySet()) {
-      Object regionEntries = ((Entry) mapEntry).getValue();
-      Object indexKey = ((Entry) mapEntry).getKey();
+    Iterator<Entry<Object, Object>> iterator = valueToEntriesMap.iterator();
+    while (iterator.hasNext()) {
+      Entry<Object, Object> mapEntry = iterator.next();
+      Object regionEntries = mapEntry.getValue();
+      Object indexKey = mapEntry.getKey();
       // if more than one index key maps to the same RegionEntry that
       // means there has been an in-place modification
       if (TypeUtils.compare(indexKey, newKey, CompiledComparison.TOK_NE).equals(Boolean.TRUE)) {
@@ -303,7 +324,7 @@ public class MemoryIndexStore implements IndexStore {
     // We do NOT need to synchronize here as different RegionEntries will be
     // operating concurrently i.e. different keys in entryToValuesMap which
     // is a concurrent map.
-    if (found && IndexManager.isObjectModificationInplace()) {
+    if (found && entryToValuesMap != null) {
       entryToValuesMap.remove(re);
     }
   }
@@ -312,8 +333,9 @@ public class MemoryIndexStore implements IndexStore {
       throws IMQException {
     boolean found = false;
     boolean possiblyAlreadyRemoved = false;
+    Object newKey = null;
     try {
-      Object newKey = convertToIndexKey(key, entry);
+      newKey = convertToIndexKey(key, entry);
       if (DefaultQuery.testHook != null) {
         DefaultQuery.testHook.doTestHook(DefaultQuery.TestHook.SPOTS.ATTEMPT_REMOVE, null, null);
       }
@@ -393,8 +415,8 @@ public class MemoryIndexStore implements IndexStore {
     if (found) {
       // Update stats if entry was actually removed
       internalIndexStats.incNumValues(-1);
-    } else if (!found && !possiblyAlreadyRemoved && !IndexManager.isObjectModificationInplace()
-        && key != null) {
+      keyHistogram.remove(newKey);
+    } else if (!found && !possiblyAlreadyRemoved && entryToValuesMap == null && key != null) {
       // if there is an inplace-modification find old key by iterating
       // over fwd map and then remove the mapping
       if (findOldKey) {
@@ -411,7 +433,7 @@ public class MemoryIndexStore implements IndexStore {
 
   private Object convertToIndexKey(Object key, RegionEntry entry) throws TypeMismatchException {
     Object newKey;
-    if (IndexManager.isObjectModificationInplace() && entryToValuesMap.containsKey(entry)) {
+    if (entryToValuesMap != null && entryToValuesMap.containsKey(entry)) {
       newKey = entryToValuesMap.get(entry);
     } else {
       newKey = TypeUtils.indexKeyFor(key);
@@ -422,25 +444,22 @@ public class MemoryIndexStore implements IndexStore {
   @Override
   public CloseableIterator<IndexStoreEntry> get(Object indexKey) {
     return new MemoryIndexStoreIterator(
-        valueToEntriesMap.subMap(indexKey, true, indexKey, true), indexKey, null);
+        () -> valueToEntriesMap.iterator(indexKey, true, indexKey, true, false), indexKey, null);
   }
 
   @Override
   public CloseableIterator<IndexStoreEntry> iterator(Object start, boolean startInclusive,
       Object end, boolean endInclusive, Collection keysToRemove) {
-    if (start == null) {
-      return new MemoryIndexStoreIterator(valueToEntriesMap.headMap(end, endInclusive), null,
-          keysToRemove);
-    }
     return new MemoryIndexStoreIterator(
-        valueToEntriesMap.subMap(start, startInclusive, end, endInclusive), null,
+        () -> valueToEntriesMap.iterator(start, startInclusive, end, endInclusive, false), null,
         keysToRemove);
   }
 
   @Override
   public CloseableIterator<IndexStoreEntry> iterator(Object start, boolean startInclusive,
       Collection keysToRemove) {
-    return new MemoryIndexStoreIterator(valueToEntriesMap.tailMap(start, startInclusive), null,
+    return new MemoryIndexStoreIterator(
+        () -> valueToEntriesMap.iterator(start, startInclusive, null, false, false), null,
         keysToRemove);
   }
 
@@ -450,31 +469,29 @@ public class MemoryIndexStore implements IndexStore {
 
   @Override
   public CloseableIterator<IndexStoreEntry> iterator(Collection keysToRemove) {
-    return new MemoryIndexStoreIterator(valueToEntriesMap, null, keysToRemove);
+    return new MemoryIndexStoreIterator(valueToEntriesMap::iterator, null, keysToRemove);
   }
 
   @Override
   public CloseableIterator<IndexStoreEntry> descendingIterator(Object start, boolean startInclusive,
       Object end, boolean endInclusive, Collection keysToRemove) {
-    if (start == null) {
-      return new MemoryIndexStoreIterator(
-          valueToEntriesMap.headMap(end, endInclusive).descendingMap(), null, keysToRemove);
-    }
     return new MemoryIndexStoreIterator(
-        valueToEntriesMap.subMap(start, startInclusive, end, endInclusive).descendingMap(),
-        null, keysToRemove);
+        () -> valueToEntriesMap.iterator(start, startInclusive, end, endInclusive, true), null,
+        keysToRemove);
   }
 
   @Override
   public CloseableIterator<IndexStoreEntry> descendingIterator(Object start, boolean startInclusive,
       Collection keysToRemove) {
     return new MemoryIndexStoreIterator(
-        valueToEntriesMap.tailMap(start, startInclusive).descendingMap(), null, keysToRemove);
+        () -> valueToEntriesMap.iterator(start, startInclusive, null, false, true), null,
+        keysToRemove);
   }
 
   @Override
   public CloseableIterator<IndexStoreEntry> descendingIterator(Collection keysToRemove) {
-    return new MemoryIndexStoreIterator(valueToEntriesMap.descendingMap(), null, keysToRemove);
+    return new MemoryIndexStoreIterator(
+        () -> valueToEntriesMap.iterator(null, false, null, false, true), null, keysToRemove);
   }
 
   @Override
@@ -566,10 +583,11 @@ public class MemoryIndexStore implements IndexStore {
   @Override
   public boolean clear() {
     valueToEntriesMap.clear();
-    if (IndexManager.isObjectModificationInplace()) {
+    if (entryToValuesMap != null) {
       entryToValuesMap.clear();
     }
     numIndexKeys.set(0);
+    keyHistogram.clear();
     return true;
   }
 
@@ -588,20 +606,24 @@ public class MemoryIndexStore implements IndexStore {
     return numIndexKeys.get();
   }
 
+  IndexKeyHistogram getKeyHistogram() {
+    return keyHistogram;
+  }
+
   private class MemoryIndexStoreKeyIterator implements Iterator<IndexStoreEntry> {
 
-    private final Map valuesToEntriesMap;
+    private final IndexStoreMap valuesToEntriesMap;
     private Object currKey;
-    private Iterator<Map.Entry> mapIterator;
+    private Iterator<Map.Entry<Object, Object>> mapIterator;
 
-    public MemoryIndexStoreKeyIterator(Map valuesToEntriesMap) {
+    public MemoryIndexStoreKeyIterator(IndexStoreMap valuesToEntriesMap) {
       this.valuesToEntriesMap = valuesToEntriesMap;
     }
 
     @Override
     public boolean hasNext() {
       if (mapIterator == null) {
-        mapIterator = valuesToEntriesMap.entrySet().iterator();
+        mapIterator = valuesToEntriesMap.iterator();
       }
       if (mapIterator.hasNext()) {
         Map.Entry currentEntry = mapIterator.next();
@@ -625,23 +647,25 @@ public class MemoryIndexStore implements IndexStore {
    * mapping (value -> Collection) as well as over the Collection.
    */
   private class MemoryIndexStoreIterator implements CloseableIterator<IndexStoreEntry> {
-    final Map map;
+    final Supplier<Iterator<Map.Entry<Object, Object>>> mapIteratorSupplier;
     Object indexKey;
     Collection keysToRemove;
-    Iterator<Map.Entry> mapIterator;
+    Iterator<Map.Entry<Object, Object>> mapIterator;
     Iterator valuesIterator;
     Object currKey;
     Object currValue; // RegionEntry
     final long iteratorStartTime;
     MemoryIndexStoreEntry currentEntry;
 
-    MemoryIndexStoreIterator(Map submap, Object indexKey, Collection keysToRemove) {
-      this(submap, indexKey, keysToRemove, cache.cacheTimeMillis());
+    MemoryIndexStoreIterator(Supplier<Iterator<Map.Entry<Object, Object>>> mapIteratorSupplier,
+        Object indexKey, Collection keysToRemove) {
+      this(mapIteratorSupplier, indexKey, keysToRemove, cache.cacheTimeMillis());
     }
 
-    private MemoryIndexStoreIterator(Map submap, Object indexKey, Collection keysToRemove,
-        long iteratorStartTime) {
-      map = submap;
+    private MemoryIndexStoreIterator(
+        Supplier<Iterator<Map.Entry<Object, Object>>> mapIteratorSupplier,
+        Object indexKey, Collection keysToRemove, long iteratorStartTime) {
+      this.mapIteratorSupplier = mapIteratorSupplier;
       this.indexKey = indexKey;
       this.keysToRemove = keysToRemove == null ? null : new HashSet(keysToRemove);
       this.iteratorStartTime = iteratorStartTime;
@@ -664,7 +688,7 @@ public class MemoryIndexStore implements IndexStore {
       }
       // sets the next values iterator
       if (mapIterator == null) {
-        mapIterator = map.entrySet().iterator();
+        mapIterator = mapIteratorSupplier.get();
       }
       if (mapIterator.hasNext()) {
         // set the next entry in the map as current
@@ -749,8 +773,9 @@ public class MemoryIndexStore implements IndexStore {
   @Override
   public String printAll() {
     StringBuilder sb = new StringBuilder();
-    for (final Object item : valueToEntriesMap.entrySet()) {
-      Entry mapEntry = (Entry) item;
+    Iterator<Entry<Object, Object>> iterator = valueToEntriesMap.iterator();
+    while (iterator.hasNext()) {
+      Entry<Object, Object> mapEntry = iterator.next();
       sb.append("Key: " + mapEntry.getKey());
       Object value = mapEntry.getValue();
       if (value instanceof Collection) {
@@ -520,6 +520,21 @@ public class PartitionedIndex extends AbstractIndex {
       vsdStats.incNumBucketIndexes(delta);
     }
 
+    @Override
+    public void incPendingUpdates(int delta) {
+      vsdStats.incPendingUpdates(delta);
+    }
+
+    @Override
+    public void incCoalescedUpdates() {
+      vsdStats.incCoalescedUpdates();
+    }
+
+    @Override
+    public void setUpdateQueueLag(long nanos) {
+      vsdStats.setUpdateQueueLag(nanos);
+    }
+
     @Override
     public long getNumberOfMapIndexKeys() {
       return vsdStats.getNumberOfMapIndexKeys();
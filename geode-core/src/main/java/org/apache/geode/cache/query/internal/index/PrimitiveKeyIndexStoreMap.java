@@ -0,0 +1,478 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.geode.cache.query.internal.NullToken;
+import org.apache.geode.cache.query.internal.Undefined;
+import org.apache.geode.cache.query.internal.types.TypeUtils;
+
+/**
+ * An {@link IndexStoreMap} for indexes on numeric fields. The numeric keys are kept as primitive
+ * longs in a {@link LongKeyTree}, and any other keys, such as {@link IndexManager#NULL} and
+ * {@link org.apache.geode.cache.query.QueryService#UNDEFINED}, in a skip list alongside it.
+ *
+ * <p>
+ * The class of the first number put in the map decides how numbers are encoded in the tree:
+ * Integers as ints, Longs as longs and Doubles by their bits, arranged to sort in the order of
+ * {@link Double#compareTo}. A number that cannot be encoded exactly, such as 1.5 in a map of
+ * Integers, goes to the skip list, which is also where all keys go if the first number is of any
+ * other class. Numbers read back from the tree are of the class of the first one, so an index
+ * that mixes key types may return an equal key of a different class than the one put in.
+ *
+ * @since Geode 1.16
+ */
+class PrimitiveKeyIndexStoreMap implements IndexStoreMap {
+
+  private final LongKeyTree tree = new LongKeyTree();
+
+  private final SkipListIndexStoreMap others = new SkipListIndexStoreMap();
+
+  /** Null until the first number is put. */
+  private volatile KeyKind kind;
+
+  @Override
+  public Object get(Object key) {
+    KeyKind kind = this.kind;
+    if (kind != null && kind.holds(key)) {
+      return tree.get(kind.encode((Number) key));
+    }
+    return others.get(key);
+  }
+
+  @Override
+  public Object putIfAbsent(Object key, Object value) {
+    KeyKind kind = kindFor(key);
+    if (kind.holds(key)) {
+      return tree.putIfAbsent(kind.encode((Number) key), value);
+    }
+    return others.putIfAbsent(key, value);
+  }
+
+  @Override
+  public boolean replace(Object key, Object oldValue, Object newValue) {
+    KeyKind kind = this.kind;
+    if (kind != null && kind.holds(key)) {
+      return tree.replace(kind.encode((Number) key), oldValue, newValue);
+    }
+    return others.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    KeyKind kind = this.kind;
+    if (kind != null && kind.holds(key)) {
+      return tree.remove(kind.encode((Number) key), value);
+    }
+    return others.remove(key, value);
+  }
+
+  @Override
+  public void clear() {
+    tree.clear();
+    others.clear();
+  }
+
+  @Override
+  public Iterator<Map.Entry<Object, Object>> iterator(Object start, boolean startInclusive,
+      Object end, boolean endInclusive, boolean descending) {
+    // the skip list checks the bounds, so a range it would reject is rejected here too
+    Iterator<Map.Entry<Object, Object>> otherEntries =
+        others.iterator(start, startInclusive, end, endInclusive, descending);
+    KeyKind kind = this.kind;
+    if (kind == null || tree.isEmpty()) {
+      return otherEntries;
+    }
+    long low = Long.MIN_VALUE;
+    long high = Long.MAX_VALUE;
+    if (start != null && !isToken(start)) {
+      Number bound = toNumber(start);
+      if (kind.isAboveAll(bound, startInclusive)) {
+        return otherEntries;
+      }
+      low = kind.lowerBound(bound, startInclusive);
+    }
+    if (end != null) {
+      // every number is greater than the tokens
+      if (isToken(end)) {
+        return otherEntries;
+      }
+      Number bound = toNumber(end);
+      if (kind.isBelowAll(bound, endInclusive)) {
+        return otherEntries;
+      }
+      high = kind.upperBound(bound, endInclusive);
+    }
+    Iterator<Map.Entry<Object, Object>> treeEntries =
+        new TreeIterator(kind, tree.cursor(low, high, descending));
+    if (!otherEntries.hasNext()) {
+      return treeEntries;
+    }
+    return new MergingIterator(treeEntries, otherEntries, descending);
+  }
+
+  private synchronized KeyKind kindFor(Object key) {
+    if (kind == null && key instanceof Number) {
+      kind = KeyKind.of((Number) key);
+    }
+    return kind == null ? KeyKind.NONE : kind;
+  }
+
+  private static boolean isToken(Object bound) {
+    return bound instanceof NullToken || bound instanceof Undefined;
+  }
+
+  /**
+   * Numbers in the tree cannot be compared to bounds other than numbers and tokens, which the skip
+   * list would report by throwing a ClassCastException.
+   */
+  private static Number toNumber(Object bound) {
+    if (!(bound instanceof Number)) {
+      throw new ClassCastException(bound.getClass().getName() + " cannot be compared to a number");
+    }
+    return (Number) bound;
+  }
+
+  private static boolean isIntegral(Object key) {
+    return key instanceof Integer || key instanceof Long || key instanceof Short
+        || key instanceof Byte;
+  }
+
+  /**
+   * Returns true if the given number is a whole number that a long holds exactly and that is
+   * neither -0.0, which sorts below 0, nor beyond 2^53, past which doubles are compared to longs
+   * inexactly.
+   */
+  private static boolean isExactLong(double value) {
+    return value == Math.rint(value) && Math.abs(value) <= (1L << 53)
+        && !(value == 0 && Double.doubleToRawLongBits(value) != 0);
+  }
+
+  /**
+   * Returns the smallest long that is greater than (or equal to, if inclusive) the given bound.
+   */
+  private static long longLowerBound(Number bound, boolean inclusive) {
+    if (isIntegral(bound)) {
+      return inclusive ? bound.longValue() : bound.longValue() + 1;
+    }
+    double value = bound.doubleValue();
+    if (value == 0) {
+      // 0 is greater than -0.0, and -1 less than it
+      return Double.doubleToRawLongBits(value) != 0 || inclusive ? 0 : 1;
+    }
+    double ceiling = Math.ceil(value);
+    if (!inclusive && ceiling == value) {
+      ceiling += 1;
+    }
+    return ceiling <= Long.MIN_VALUE ? Long.MIN_VALUE : (long) ceiling;
+  }
+
+  /**
+   * Returns the greatest long that is less than (or equal to, if inclusive) the given bound.
+   */
+  private static long longUpperBound(Number bound, boolean inclusive) {
+    if (isIntegral(bound)) {
+      return inclusive ? bound.longValue() : bound.longValue() - 1;
+    }
+    double value = bound.doubleValue();
+    if (value == 0) {
+      return Double.doubleToRawLongBits(value) != 0 || !inclusive ? -1 : 0;
+    }
+    if (Double.isNaN(value)) {
+      // NaN sorts above all numbers
+      return Long.MAX_VALUE;
+    }
+    double floor = Math.floor(value);
+    if (!inclusive && floor == value) {
+      floor -= 1;
+    }
+    return floor >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) floor;
+  }
+
+  private static boolean longAboveAll(Number bound, boolean inclusive) {
+    if (isIntegral(bound)) {
+      return !inclusive && bound.longValue() == Long.MAX_VALUE;
+    }
+    double value = bound.doubleValue();
+    // NaN sorts above all numbers, and the greatest double below 2^63 is a long
+    return Double.isNaN(value) || value >= 0x1p63;
+  }
+
+  private static boolean longBelowAll(Number bound, boolean inclusive) {
+    if (isIntegral(bound)) {
+      return !inclusive && bound.longValue() == Long.MIN_VALUE;
+    }
+    double value = bound.doubleValue();
+    return value < -0x1p63 || !inclusive && value == -0x1p63;
+  }
+
+  /**
+   * Encodes a double as a long that sorts in the order of {@link Double#compareTo}.
+   */
+  static long sortableBits(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  static double fromSortableBits(long sortableBits) {
+    return Double.longBitsToDouble(sortableBits ^ ((sortableBits >> 63) & Long.MAX_VALUE));
+  }
+
+  /**
+   * How the numbers of a map are encoded as longs.
+   */
+  enum KeyKind {
+    INT {
+      @Override
+      boolean holds(Object key) {
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+          return true;
+        }
+        if (key instanceof Long) {
+          long value = (Long) key;
+          return value == (int) value;
+        }
+        if (key instanceof Double) {
+          double value = (Double) key;
+          return isExactLong(value) && value == (int) value;
+        }
+        return false;
+      }
+
+      @Override
+      Object decode(long key) {
+        return (int) key;
+      }
+    },
+
+    LONG {
+      @Override
+      boolean holds(Object key) {
+        return isIntegral(key) || key instanceof Double && isExactLong((Double) key);
+      }
+
+      @Override
+      Object decode(long key) {
+        return key;
+      }
+    },
+
+    DOUBLE {
+      @Override
+      boolean holds(Object key) {
+        if (key instanceof Double || key instanceof Float || key instanceof Integer
+            || key instanceof Short || key instanceof Byte) {
+          return true;
+        }
+        if (key instanceof Long) {
+          long value = (Long) key;
+          return value != Long.MAX_VALUE && (long) (double) value == value;
+        }
+        return false;
+      }
+
+      @Override
+      long encode(Number key) {
+        return sortableBits(key.doubleValue());
+      }
+
+      @Override
+      Object decode(long key) {
+        return fromSortableBits(key);
+      }
+
+      @Override
+      long lowerBound(Number bound, boolean inclusive) {
+        long bits = sortableBits(bound.doubleValue());
+        return inclusive ? bits : bits + 1;
+      }
+
+      @Override
+      long upperBound(Number bound, boolean inclusive) {
+        long bits = sortableBits(bound.doubleValue());
+        return inclusive ? bits : bits - 1;
+      }
+
+      @Override
+      boolean isAboveAll(Number bound, boolean inclusive) {
+        return !inclusive && sortableBits(bound.doubleValue()) == Long.MAX_VALUE;
+      }
+
+      @Override
+      boolean isBelowAll(Number bound, boolean inclusive) {
+        return !inclusive && sortableBits(bound.doubleValue()) == Long.MIN_VALUE;
+      }
+    },
+
+    /** Keeps every key in the skip list. */
+    NONE {
+      @Override
+      boolean holds(Object key) {
+        return false;
+      }
+
+      @Override
+      Object decode(long key) {
+        throw new IllegalStateException();
+      }
+    };
+
+    static KeyKind of(Number key) {
+      if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+        return INT;
+      } else if (key instanceof Long) {
+        return LONG;
+      } else if (key instanceof Double) {
+        return DOUBLE;
+      }
+      return NONE;
+    }
+
+    /**
+     * Returns true if the given key is a number that is encoded in the tree.
+     */
+    abstract boolean holds(Object key);
+
+    long encode(Number key) {
+      return key instanceof Double ? (long) key.doubleValue() : key.longValue();
+    }
+
+    abstract Object decode(long key);
+
+    long lowerBound(Number bound, boolean inclusive) {
+      return longLowerBound(bound, inclusive);
+    }
+
+    long upperBound(Number bound, boolean inclusive) {
+      return longUpperBound(bound, inclusive);
+    }
+
+    /** Returns true if no key can be greater than (or equal to) the given bound. */
+    boolean isAboveAll(Number bound, boolean inclusive) {
+      return longAboveAll(bound, inclusive);
+    }
+
+    /** Returns true if no key can be less than (or equal to) the given bound. */
+    boolean isBelowAll(Number bound, boolean inclusive) {
+      return longBelowAll(bound, inclusive);
+    }
+  }
+
+  private class TreeIterator implements Iterator<Map.Entry<Object, Object>> {
+    private final KeyKind kind;
+    private final LongKeyTree.Cursor cursor;
+    private boolean canRemove;
+
+    TreeIterator(KeyKind kind, LongKeyTree.Cursor cursor) {
+      this.kind = kind;
+      this.cursor = cursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return cursor.hasNext();
+    }
+
+    @Override
+    public Map.Entry<Object, Object> next() {
+      cursor.next();
+      canRemove = true;
+      return new AbstractMap.SimpleImmutableEntry<>(kind.decode(cursor.key()), cursor.value());
+    }
+
+    @Override
+    public void remove() {
+      if (!canRemove) {
+        throw new IllegalStateException();
+      }
+      canRemove = false;
+      tree.remove(cursor.key(), cursor.value());
+    }
+  }
+
+  /**
+   * Merges the entries of the tree and the skip list into one sorted sequence.
+   */
+  private class MergingIterator implements Iterator<Map.Entry<Object, Object>> {
+    @SuppressWarnings("unchecked")
+    private final Comparator<Object> comparator = TypeUtils.getExtendedNumericComparator();
+    private final Iterator<Map.Entry<Object, Object>> first;
+    private final Iterator<Map.Entry<Object, Object>> second;
+    private final boolean descending;
+
+    private Map.Entry<Object, Object> nextFromFirst;
+    private Map.Entry<Object, Object> nextFromSecond;
+    private Map.Entry<Object, Object> lastReturned;
+
+    MergingIterator(Iterator<Map.Entry<Object, Object>> first,
+        Iterator<Map.Entry<Object, Object>> second, boolean descending) {
+      this.first = first;
+      this.second = second;
+      this.descending = descending;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextFromFirst == null && first.hasNext()) {
+        nextFromFirst = first.next();
+      }
+      if (nextFromSecond == null && second.hasNext()) {
+        nextFromSecond = second.next();
+      }
+      return nextFromFirst != null || nextFromSecond != null;
+    }
+
+    @Override
+    public Map.Entry<Object, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Map.Entry<Object, Object> next;
+      if (nextFromSecond == null || nextFromFirst != null && isBefore(nextFromFirst.getKey(),
+          nextFromSecond.getKey())) {
+        next = nextFromFirst;
+        nextFromFirst = null;
+      } else {
+        next = nextFromSecond;
+        nextFromSecond = null;
+      }
+      lastReturned = next;
+      return next;
+    }
+
+    /**
+     * Removes the last entry returned by its key, since hasNext may already have moved the source
+     * it came from past it.
+     */
+    @Override
+    public void remove() {
+      if (lastReturned == null) {
+        throw new IllegalStateException();
+      }
+      PrimitiveKeyIndexStoreMap.this.remove(lastReturned.getKey(), lastReturned.getValue());
+      lastReturned = null;
+    }
+
+    private boolean isBefore(Object key, Object otherKey) {
+      int comparison = comparator.compare(key, otherKey);
+      return descending ? comparison >= 0 : comparison <= 0;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.geode.cache.query.internal.types.TypeUtils;
+
+/**
+ * An {@link IndexStoreMap} backed by a {@link ConcurrentSkipListMap}, which can hold keys of any
+ * {@link Comparable} type.
+ *
+ * @since Geode 1.16
+ */
+class SkipListIndexStoreMap implements IndexStoreMap {
+  @SuppressWarnings("unchecked")
+  private final ConcurrentNavigableMap<Object, Object> map =
+      new ConcurrentSkipListMap<>(TypeUtils.getExtendedNumericComparator());
+
+  @Override
+  public Object get(Object key) {
+    return map.get(key);
+  }
+
+  @Override
+  public Object putIfAbsent(Object key, Object value) {
+    return map.putIfAbsent(key, value);
+  }
+
+  @Override
+  public boolean replace(Object key, Object oldValue, Object newValue) {
+    return map.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    return map.remove(key, value);
+  }
+
+  @Override
+  public void clear() {
+    map.clear();
+  }
+
+  @Override
+  public Iterator<Map.Entry<Object, Object>> iterator(Object start, boolean startInclusive,
+      Object end, boolean endInclusive, boolean descending) {
+    ConcurrentNavigableMap<Object, Object> range;
+    if (start == null && end == null) {
+      range = map;
+    } else if (start == null) {
+      range = map.headMap(end, endInclusive);
+    } else if (end == null) {
+      range = map.tailMap(start, startInclusive);
+    } else {
+      range = map.subMap(start, startInclusive, end, endInclusive);
+    }
+    if (descending) {
+      range = range.descendingMap();
+    }
+    return range.entrySet().iterator();
+  }
+}
@@ -79,4 +79,8 @@ public class HistogramStats {
     stats.incInt(statCounterIndex[index], 1);
     stats.incLong(statCounterIndex[index + 1], delta);
   }
+
+  public void close() {
+    stats.close();
+  }
 }
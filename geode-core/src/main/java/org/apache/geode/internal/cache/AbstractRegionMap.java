@@ -62,6 +62,8 @@ import org.apache.geode.internal.cache.versions.VersionSource;
 import org.apache.geode.internal.cache.versions.VersionStamp;
 import org.apache.geode.internal.cache.versions.VersionTag;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.lang.SystemProperty;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.internal.offheap.OffHeapClearRequired;
 import org.apache.geode.internal.offheap.OffHeapHelper;
@@ -72,6 +74,7 @@ import org.apache.geode.internal.sequencelog.EntryLogger;
 import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
 import org.apache.geode.internal.util.concurrent.ConcurrentMapWithReusableEntries;
 import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
+import org.apache.geode.internal.util.concurrent.PrimitiveKeyConcurrentHashMap;
 import org.apache.geode.logging.internal.log4j.api.LogService;
 
 /**
@@ -112,7 +115,8 @@ public abstract class AbstractRegionMap extends BaseRegionMap
     _setAttributes(attr);
     setOwner(owner);
     setEntryMap(createConcurrentMapWithReusableEntries(attr.initialCapacity, attr.loadFactor,
-        attr.concurrencyLevel, false, new AbstractRegionEntry.HashRegionEntryCreator()));
+        attr.concurrencyLevel, false, new AbstractRegionEntry.HashRegionEntryCreator(),
+        attr.keyConstraint));
 
     boolean isDisk;
     boolean withVersioning;
@@ -137,8 +141,14 @@ public abstract class AbstractRegionMap extends BaseRegionMap
 
   private ConcurrentMapWithReusableEntries<Object, Object> createConcurrentMapWithReusableEntries(
       int initialCapacity, float loadFactor, int concurrencyLevel, boolean isIdentityMap,
-      CustomEntryConcurrentHashMap.HashEntryCreator<Object, Object> entryCreator) {
-    if (entryCreator != null) {
+      CustomEntryConcurrentHashMap.HashEntryCreator<Object, Object> entryCreator,
+      Class<?> keyConstraint) {
+    if (!isIdentityMap && PrimitiveKeyConcurrentHashMap.isSupportedKeyClass(keyConstraint)
+        && SystemProperty.getProductBooleanProperty(SystemPropertyHelper.PRIMITIVE_KEY_REGION_MAP)
+            .orElse(false)) {
+      return new PrimitiveKeyConcurrentHashMap(keyConstraint, initialCapacity, loadFactor,
+          concurrencyLevel);
+    } else if (entryCreator != null) {
       return new CustomEntryConcurrentHashMap<>(initialCapacity, loadFactor, concurrencyLevel,
           isIdentityMap, entryCreator);
     } else {
@@ -270,6 +280,11 @@ public abstract class AbstractRegionMap extends BaseRegionMap
   @Override
   public RegionEntry putEntryIfAbsent(Object key, RegionEntry regionEntry) {
     RegionEntry oldRe = (RegionEntry) getEntryMap().putIfAbsent(key, regionEntry);
+    if (oldRe == null && regionEntry instanceof OffHeapRegionEntry) {
+      // entries that lose the race to be installed are thrown away, so only store the key
+      // off-heap once the entry is in the map
+      ((OffHeapRegionEntry) regionEntry).storeKey();
+    }
     if (oldRe == null && (regionEntry instanceof OffHeapRegionEntry) && _isOwnerALocalRegion()
         && _getOwner().isThisRegionBeingClosedOrDestroyed()) {
       // prevent orphan during concurrent destroy (#48068)
@@ -625,6 +640,9 @@ public abstract class AbstractRegionMap extends BaseRegionMap
       _getOwner().getDiskRegion().replaceIncompatibleEntry((DiskEntry) oldRe, (DiskEntry) newRe);
     }
     getEntryMap().put(newRe.getKey(), newRe);
+    if (newRe instanceof OffHeapRegionEntry) {
+      ((OffHeapRegionEntry) newRe).storeKey();
+    }
   }
 
   @Override
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import org.apache.geode.annotations.VisibleForTesting;
+
+/**
+ * The queue through which a disk store in asynchronous mode hands writes to its flusher thread.
+ * Producers append to a ring buffer by claiming a slot with a single compare-and-set of its tail,
+ * and the flusher drains every queued item in one pass, so producers and the flusher never wait
+ * for each other's locks.
+ *
+ * <p>
+ * The ring has at most {@value #MAX_RING_SIZE} slots. Items that find it full go to an overflow
+ * queue, and once the overflow is in use every later item goes there too until the flusher has
+ * drained it. The flusher drains the overflow only after the ring is empty, so an item is never
+ * drained before the items queued ahead of it by {@link #forcePut}. {@link #offer} additionally
+ * fails once the queue holds its capacity.
+ *
+ * <p>
+ * Any number of threads may add and remove items, but only one thread may drain the queue.
+ *
+ * @since Geode 1.16
+ */
+class AsyncWriteQueue<E> {
+  static final int MAX_RING_SIZE = 1 << 13;
+
+  /** Returned by {@link #getFirstQueuedTime} if nothing has been queued since the last drain. */
+  static final long NOT_QUEUED = Long.MIN_VALUE;
+
+  /** Left in the slot of an item that was removed before it was drained. */
+  private static final Object REMOVED = new Object();
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<Object> ring;
+  private final LongSupplier clock;
+
+  /** The sequence of the next slot to be claimed by a producer. */
+  private final AtomicLong tail = new AtomicLong();
+
+  /** The sequence of the next slot to be drained. Only written by the draining thread. */
+  private volatile long head;
+
+  private final Queue<E> overflow = new ConcurrentLinkedQueue<>();
+
+  /** Counts items being added to the overflow as well as those in it. */
+  private final AtomicInteger overflowSize = new AtomicInteger();
+
+  /**
+   * Counts the items in the queue, including those being added and removed items that have not
+   * been drained yet. A producer reserves its item's place here before it adds it, so that
+   * concurrent calls of {@link #offer} cannot take the queue past its capacity.
+   */
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final AtomicLong firstQueuedTime = new AtomicLong(NOT_QUEUED);
+
+  /**
+   * Creates a queue that {@link #offer} fills at the given number of items.
+   */
+  AsyncWriteQueue(int capacity) {
+    this(capacity, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  AsyncWriteQueue(int capacity, LongSupplier clock) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    int ringSize = capacity >= MAX_RING_SIZE ? MAX_RING_SIZE
+        : Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    mask = ringSize - 1;
+    ring = new AtomicReferenceArray<>(mask + 1);
+    this.clock = clock;
+  }
+
+  /**
+   * Adds the given item unless the queue already holds its capacity.
+   *
+   * @return true if the item was added
+   */
+  boolean offer(E item) {
+    int reserved;
+    do {
+      reserved = size.get();
+      if (reserved >= capacity) {
+        return false;
+      }
+    } while (!size.compareAndSet(reserved, reserved + 1));
+    add(item);
+    return true;
+  }
+
+  /**
+   * Adds the given item even if the queue already holds its capacity.
+   */
+  void forcePut(E item) {
+    size.incrementAndGet();
+    add(item);
+  }
+
+  private void add(E item) {
+    if (overflowSize.get() > 0 || !addToRing(item)) {
+      overflowSize.incrementAndGet();
+      overflow.add(item);
+    }
+    if (firstQueuedTime.get() == NOT_QUEUED) {
+      firstQueuedTime.compareAndSet(NOT_QUEUED, clock.getAsLong());
+    }
+  }
+
+  private boolean addToRing(E item) {
+    long sequence;
+    do {
+      sequence = tail.get();
+      if (sequence - head > mask) {
+        return false;
+      }
+    } while (!tail.compareAndSet(sequence, sequence + 1));
+    ring.lazySet(index(sequence), item);
+    return true;
+  }
+
+  /**
+   * Removes the given item if it has not been drained yet.
+   *
+   * @return true if the item was removed
+   */
+  boolean remove(Object item) {
+    long end = tail.get();
+    for (long sequence = head; sequence < end; sequence++) {
+      if (ring.compareAndSet(index(sequence), item, REMOVED)) {
+        return true;
+      }
+    }
+    if (overflow.remove(item)) {
+      overflowSize.decrementAndGet();
+      size.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Removes every item that has not been drained yet and matches the given filter. Items added
+   * while this runs may or may not be looked at.
+   *
+   * @return the number of items removed
+   */
+  @SuppressWarnings("unchecked")
+  int removeIf(Predicate<? super E> filter) {
+    int count = 0;
+    long end = tail.get();
+    for (long sequence = head; sequence < end; sequence++) {
+      int index = index(sequence);
+      Object item = ring.get(index);
+      if (item != null && item != REMOVED && filter.test((E) item)
+          && ring.compareAndSet(index, item, REMOVED)) {
+        count++;
+      }
+    }
+    for (Iterator<E> iterator = overflow.iterator(); iterator.hasNext();) {
+      E item = iterator.next();
+      if (filter.test(item) && overflow.remove(item)) {
+        overflowSize.decrementAndGet();
+        size.decrementAndGet();
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Moves all the items in the queue to the given collection, in the order they were queued. Must
+   * only be called by one thread at a time.
+   *
+   * @return the number of items drained
+   */
+  int drainTo(Collection<? super E> drained) {
+    firstQueuedTime.set(NOT_QUEUED);
+    int count = drainRing(tail.get(), drained);
+    if (overflowSize.get() == 0) {
+      return count;
+    }
+    // producers that claimed a slot before the overflow was in use may still be adding to the
+    // ring, and their items have to be drained first
+    long end;
+    while ((end = tail.get()) != head) {
+      count += drainRing(end, drained);
+    }
+    for (int pending = overflowSize.get(); pending > 0; pending--) {
+      E item = overflow.poll();
+      if (item == null) {
+        break;
+      }
+      overflowSize.decrementAndGet();
+      size.decrementAndGet();
+      drained.add(item);
+      count++;
+    }
+    return count;
+  }
+
+  @SuppressWarnings("unchecked")
+  private int drainRing(long end, Collection<? super E> drained) {
+    int count = 0;
+    long start = head;
+    for (long sequence = start; sequence < end; sequence++) {
+      int index = index(sequence);
+      Object item;
+      while ((item = ring.getAndSet(index, null)) == null) {
+        // the producer that claimed the slot has not stored its item yet
+        Thread.yield();
+      }
+      head = sequence + 1;
+      if (item != REMOVED) {
+        drained.add((E) item);
+        count++;
+      }
+    }
+    if (end > start) {
+      size.addAndGet((int) (start - end));
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of items in the queue, including removed items that have not been drained
+   * yet.
+   */
+  int size() {
+    return size.get();
+  }
+
+  /**
+   * Returns the {@link System#nanoTime} at which the first item since the last drain was queued,
+   * or {@link #NOT_QUEUED} if none was.
+   */
+  long getFirstQueuedTime() {
+    return firstQueuedTime.get();
+  }
+
+  private int index(long sequence) {
+    return (int) sequence & mask;
+  }
+}
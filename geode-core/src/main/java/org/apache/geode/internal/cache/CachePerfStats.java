@@ -80,6 +80,8 @@ public class CachePerfStats {
   static final int queryResultsHashCollisionsId;
   static final int queryResultsHashCollisionProbeTimeId;
   static final int partitionedRegionQueryRetriesId;
+  static final int queryPlanCacheHitsId;
+  static final int queryPlanCacheMissesId;
 
   static final int txSuccessLifeTimeId;
   static final int txFailedLifeTimeId;
@@ -249,6 +251,10 @@ public class CachePerfStats {
         "Total time spent probing the hashtable in an OQL result set due to hash code collisions, includes reads, writes, and rehashes";
     final String partitionedRegionOQLQueryRetriesDesc =
         "Total number of times an OQL Query on a Partitioned Region had to be retried";
+    final String queryPlanCacheHitsDesc =
+        "Total number of times a query was created from an already compiled query";
+    final String queryPlanCacheMissesDesc =
+        "Total number of times a query had to be compiled because it was not in the query plan cache";
     final String txSuccessLifeTimeDesc =
         "The total amount of time, in nanoseconds, spent in a transaction before a successful commit. The time measured starts at transaction begin and ends when commit is called.";
     final String txFailedLifeTimeDesc =
@@ -432,6 +438,8 @@ public class CachePerfStats {
                 queryResultsHashCollisionProbeTimeDesc, "nanoseconds"),
             f.createLongCounter("partitionedRegionQueryRetries",
                 partitionedRegionOQLQueryRetriesDesc, "retries"),
+            f.createLongCounter("queryPlanCacheHits", queryPlanCacheHitsDesc, "operations"),
+            f.createLongCounter("queryPlanCacheMisses", queryPlanCacheMissesDesc, "operations"),
 
             f.createLongCounter("txCommits", txCommitsDesc, "commits"),
             f.createLongCounter("txCommitChanges", txCommitChangesDesc, "changes"),
@@ -585,6 +593,8 @@ public class CachePerfStats {
     queryResultsHashCollisionsId = type.nameToId("queryResultsHashCollisions");
     queryResultsHashCollisionProbeTimeId = type.nameToId("queryResultsHashCollisionProbeTime");
     partitionedRegionQueryRetriesId = type.nameToId("partitionedRegionQueryRetries");
+    queryPlanCacheHitsId = type.nameToId("queryPlanCacheHits");
+    queryPlanCacheMissesId = type.nameToId("queryPlanCacheMisses");
 
     txSuccessLifeTimeId = type.nameToId("txSuccessLifeTime");
     txFailedLifeTimeId = type.nameToId("txFailedLifeTime");
@@ -1190,6 +1200,22 @@ public class CachePerfStats {
     stats.incLong(queryResultsHashCollisionsId, 1);
   }
 
+  public void incQueryPlanCacheHits() {
+    stats.incLong(queryPlanCacheHitsId, 1);
+  }
+
+  public long getQueryPlanCacheHits() {
+    return stats.getLong(queryPlanCacheHitsId);
+  }
+
+  public void incQueryPlanCacheMisses() {
+    stats.incLong(queryPlanCacheMissesId, 1);
+  }
+
+  public long getQueryPlanCacheMisses() {
+    return stats.getLong(queryPlanCacheMissesId);
+  }
+
   public long getTxCommits() {
     return stats.getLong(txCommitsId);
   }
@@ -17,6 +17,7 @@ package org.apache.geode.internal.cache;
 import org.apache.geode.internal.cache.DiskStoreImpl.OplogCompactor;
 import org.apache.geode.internal.cache.persistence.BytesAndBits;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 
 /**
  * Contract that must be implemented by oplogs so that they can be compacted.
@@ -33,4 +34,22 @@ public interface CompactableOplog {
   BytesAndBits getBytesAndBits(DiskRegionView dr, DiskId id, boolean faultIn, boolean bitOnly);
 
   BytesAndBits getNoBuffer(DiskRegion dr, DiskId id);
+
+  /**
+   * Returns the location of the given entry's value in this oplog's crf file so that it can be
+   * sent without reading it into memory, or null if the value can only be read with
+   * {@link #getBytesAndBits}.
+   */
+  OplogFileRegion getFileRegion(DiskRegionView dr, DiskId id);
+
+  /**
+   * Returns the fraction, between 0 and 1, of the records in this oplog that are garbage. The
+   * higher it is, the more space compacting the oplog reclaims per byte it has to copy forward.
+   */
+  double getGarbageRatio();
+
+  /**
+   * Returns an estimate of the number of bytes of this oplog taken up by garbage.
+   */
+  long getGarbageBytes();
 }
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+import org.jetbrains.annotations.Nullable;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Spreads the I/O of compaction over time so that copying the live entries of an oplog forward
+ * does not compete with foreground writes in bursts.
+ *
+ * <p>
+ * The compactor works in slices of {@value #SLICE_MILLIS} ms. Within a slice it may copy forward
+ * no more than {@value #BYTES_PER_SECOND_PROPERTY} bytes per second and sleeps once it gets ahead
+ * of that budget. Between slices it pauses for as long as synchronous disk writes have taken more
+ * than {@value #PAUSE_WRITE_LATENCY_PROPERTY} microseconds on average since the previous slice,
+ * but never for more than {@value #MAX_PAUSE_MILLIS} ms at a time, so that compaction makes
+ * progress even under constant load. Write latency is taken from the disk store statistics, so
+ * pausing requires time statistics to be enabled.
+ *
+ * <p>
+ * Only used by the compactor thread of a disk store.
+ *
+ * @since Geode 1.16
+ */
+class CompactionThrottle {
+  static final String BYTES_PER_SECOND_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.compactionBytesPerSecond";
+
+  static final String PAUSE_WRITE_LATENCY_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.compactionPauseWriteLatencyMicros";
+
+  static final long SLICE_MILLIS = 100;
+
+  static final long MAX_PAUSE_MILLIS = 10_000;
+
+  private static final long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(SLICE_MILLIS);
+
+  private static final long MAX_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(MAX_PAUSE_MILLIS);
+
+  interface Sleeper {
+    void sleep(long nanos) throws InterruptedException;
+  }
+
+  private final long bytesPerSecond;
+  private final long pauseWriteLatencyNanos;
+  private final DiskStoreStats stats;
+  private final LongSupplier clock;
+  private final Sleeper sleeper;
+
+  private boolean sliceStarted;
+  private long sliceStart;
+  private long sliceBytes;
+
+  private long lastWrites;
+  private long lastWriteTime;
+
+  @VisibleForTesting
+  CompactionThrottle(long bytesPerSecond, long pauseWriteLatencyNanos, DiskStoreStats stats,
+      LongSupplier clock, Sleeper sleeper) {
+    this.bytesPerSecond = bytesPerSecond;
+    this.pauseWriteLatencyNanos = pauseWriteLatencyNanos;
+    this.stats = stats;
+    this.clock = clock;
+    this.sleeper = sleeper;
+  }
+
+  /**
+   * Returns a throttle configured from system properties, or null if compaction is not to be
+   * throttled.
+   */
+  static @Nullable CompactionThrottle create(DiskStoreStats stats) {
+    long bytesPerSecond = Long.getLong(BYTES_PER_SECOND_PROPERTY, 0);
+    if (bytesPerSecond <= 0) {
+      return null;
+    }
+    long pauseWriteLatencyMicros = Long.getLong(PAUSE_WRITE_LATENCY_PROPERTY, 0);
+    return new CompactionThrottle(bytesPerSecond,
+        TimeUnit.MICROSECONDS.toNanos(Math.max(0, pauseWriteLatencyMicros)), stats,
+        System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+  }
+
+  /**
+   * Called by the compactor when it starts compacting, so that the budget and the write latency
+   * are measured from then on.
+   */
+  void reset() {
+    sliceStarted = false;
+  }
+
+  /**
+   * Called by the compactor after it has copied forward the given number of bytes. Returns once
+   * the compactor may go on, or as soon as keepRunning returns false. The compactor holds locks
+   * while it calls this, so keepRunning should also return false while other threads are waiting
+   * for them.
+   */
+  void compacted(long bytes, BooleanSupplier keepRunning) {
+    long now = clock.getAsLong();
+    if (!sliceStarted) {
+      startSlice(now);
+      lastWrites = stats.getWrites();
+      lastWriteTime = stats.getWriteTime();
+    }
+    sliceBytes += bytes;
+
+    long allowedAt = sliceStart + TimeUnit.SECONDS.toNanos(sliceBytes) / bytesPerSecond;
+    if (allowedAt > now) {
+      long slept = sleep(allowedAt - now, keepRunning);
+      stats.incCompactionThrottleTime(slept);
+      now += slept;
+    }
+
+    if (now - sliceStart >= SLICE_NANOS) {
+      pauseWhileWritesAreSlow(keepRunning);
+      startSlice(clock.getAsLong());
+    }
+  }
+
+  private void startSlice(long now) {
+    sliceStarted = true;
+    sliceStart = now;
+    sliceBytes = 0;
+  }
+
+  private void pauseWhileWritesAreSlow(BooleanSupplier keepRunning) {
+    if (pauseWriteLatencyNanos <= 0) {
+      return;
+    }
+    long paused = 0;
+    while (paused < MAX_PAUSE_NANOS && writeLatencySinceLastCheck() > pauseWriteLatencyNanos) {
+      long slept = sleep(SLICE_NANOS, keepRunning);
+      if (slept < SLICE_NANOS) {
+        break;
+      }
+      paused += slept;
+    }
+    if (paused > 0) {
+      stats.incCompactionPauseTime(paused);
+    }
+  }
+
+  /**
+   * Returns the average time of the synchronous writes done since the last call, or zero if there
+   * were none.
+   */
+  private long writeLatencySinceLastCheck() {
+    long writes = stats.getWrites();
+    long writeTime = stats.getWriteTime();
+    long newWrites = writes - lastWrites;
+    long newWriteTime = writeTime - lastWriteTime;
+    lastWrites = writes;
+    lastWriteTime = writeTime;
+    if (newWrites <= 0) {
+      return 0;
+    }
+    return newWriteTime / newWrites;
+  }
+
+  /**
+   * Sleeps for the given time, in steps of at most a slice so that a stopped compactor is not kept
+   * waiting. Returns the time actually slept.
+   */
+  private long sleep(long nanos, BooleanSupplier keepRunning) {
+    long slept = 0;
+    while (slept < nanos && keepRunning.getAsBoolean()) {
+      long step = Math.min(nanos - slept, SLICE_NANOS);
+      try {
+        sleeper.sleep(step);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      slept += step;
+    }
+    return slept;
+  }
+}
@@ -33,6 +33,7 @@ import org.apache.geode.internal.cache.persistence.BytesAndBits;
 import org.apache.geode.internal.cache.persistence.DiskExceptionHandler;
 import org.apache.geode.internal.cache.persistence.DiskRecoveryStore;
 import org.apache.geode.internal.cache.persistence.DiskStoreID;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 import org.apache.geode.internal.cache.versions.RegionVersionVector;
 import org.apache.geode.internal.cache.versions.VersionStamp;
 import org.apache.geode.internal.util.concurrent.StoppableReentrantReadWriteLock;
@@ -423,6 +424,10 @@ public class DiskRegion extends AbstractDiskRegion {
     return getDiskStore().getSerializedData(this, id);
   }
 
+  public OplogFileRegion getFileRegion(DiskId id) {
+    return getDiskStore().getFileRegion(this, id);
+  }
+
   /**
    * @since GemFire prPersistSprint1
    */
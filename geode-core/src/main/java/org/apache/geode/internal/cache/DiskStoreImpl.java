@@ -62,6 +62,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.function.BooleanSupplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -71,6 +72,7 @@ import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
 
 import org.apache.geode.CancelCriterion;
@@ -104,6 +106,7 @@ import org.apache.geode.internal.cache.persistence.DiskRecoveryStore;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
 import org.apache.geode.internal.cache.persistence.DiskStoreFilter;
 import org.apache.geode.internal.cache.persistence.DiskStoreID;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 import org.apache.geode.internal.cache.persistence.OplogType;
 import org.apache.geode.internal.cache.persistence.PRPersistentConfig;
 import org.apache.geode.internal.cache.persistence.PersistentMemberID;
@@ -115,6 +118,7 @@ import org.apache.geode.internal.cache.versions.RegionVersionVector;
 import org.apache.geode.internal.cache.versions.VersionSource;
 import org.apache.geode.internal.cache.versions.VersionStamp;
 import org.apache.geode.internal.cache.versions.VersionTag;
+import org.apache.geode.internal.lang.SystemUtils;
 import org.apache.geode.internal.monitoring.ThreadsMonitoring;
 import org.apache.geode.internal.monitoring.executor.AbstractExecutor;
 import org.apache.geode.internal.serialization.KnownVersion;
@@ -198,6 +202,14 @@ public class DiskStoreImpl implements DiskStore {
   public static final String RECOVER_LRU_VALUES_PROPERTY_NAME =
       GeodeGlossary.GEMFIRE_PREFIX + "disk.recoverLruValues";
 
+  /**
+   * Memory maps the crf of each oplog that is no longer being written to, so that values are read
+   * from the mapping instead of with a seek and read of the file. Ignored on Windows, which cannot
+   * delete a file while it is mapped.
+   */
+  public static final String MAP_SEALED_OPLOGS_PROPERTY_NAME =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.mapSealedOplogs";
+
   static final long DRF_HASHMAP_OVERFLOW_THRESHOLD_DEFAULT = 805306368;
   final long DRF_HASHMAP_OVERFLOW_THRESHOLD =
       Long.getLong(DRF_HASHMAP_OVERFLOW_THRESHOLD_NAME, DRF_HASHMAP_OVERFLOW_THRESHOLD_DEFAULT);
@@ -212,6 +224,9 @@ public class DiskStoreImpl implements DiskStore {
   final boolean RECOVER_LRU_VALUES =
       getBoolean(DiskStoreImpl.RECOVER_LRU_VALUES_PROPERTY_NAME, false);
 
+  final boolean MAP_SEALED_OPLOGS =
+      getBoolean(MAP_SEALED_OPLOGS_PROPERTY_NAME, false) && !SystemUtils.isWindows();
+
   public static boolean getBoolean(String sysProp, boolean def) {
     return Boolean.parseBoolean(System.getProperty(sysProp, Boolean.valueOf(def).toString()));
   }
@@ -286,6 +301,15 @@ public class DiskStoreImpl implements DiskStore {
   /** The stats for this store */
   private final DiskStoreStats stats;
 
+  /** Forces the oplogs for groups of synchronous writes, or null to force them for each write */
+  private final GroupCommitter groupCommitter;
+
+  /** Limits the I/O rate of compaction, or null to compact as fast as possible */
+  private final CompactionThrottle compactionThrottle;
+
+  /** Checksums and compresses the values written to oplogs, or null to write them as they are */
+  private final OplogValueCodec valueCodec;
+
   /**
    * Added as stop gap arrangement to fix bug 39380. It is not a clean fix as keeping track of the
    * threads acquiring read lock, etc is not a good idea to solve the issue
@@ -448,6 +472,13 @@ public class DiskStoreImpl implements DiskStore {
 
     this.cache = cache;
     stats = new DiskStoreStats(statisticsFactory, getName());
+    groupCommitter = GroupCommitter.create(stats);
+    if (groupCommitter != null) {
+      stats.createGroupCommitHistograms(statisticsFactory, getName());
+    }
+    compactionThrottle = CompactionThrottle.create(stats);
+    valueCodec = OplogValueCodec.create(stats);
+    stats.setCompactionDebtSupplier(this::getCompactionDebt);
 
     // start simple init
 
@@ -458,21 +489,9 @@ public class DiskStoreImpl implements DiskStore {
     maxAsyncItems = getQueueSize();
     forceFlushCount = new AtomicInteger();
     asyncMonitor = new Object();
-    // always use LinkedBlockingQueue to work around bug 41470
-    // if (this.maxAsyncItems > 0 && this.maxAsyncItems < 1000000) {
-    // // we compare to 1,000,000 so that very large maxItems will
-    // // not cause us to consume too much memory in our queue.
-    // // Removed the +13 since it made the queue bigger than was configured.
-    // // The +13 is to give us a bit of headroom during the drain.
-    // this.asyncQueue = new
-    // ArrayBlockingQueue<Object>(this.maxAsyncItems/*+13*/);
-    // } else {
-    if (maxAsyncItems > 0) {
-      asyncQueue = new ForceableLinkedBlockingQueue<>(maxAsyncItems); // fix for bug
-                                                                      // 41310
-    } else {
-      asyncQueue = new ForceableLinkedBlockingQueue<>();
-    }
+    // the ring of the queue is limited in size so that very large maxItems will not
+    // cause us to consume too much memory in our queue (bug 41470)
+    asyncQueue = new AsyncWriteQueue<>(maxAsyncItems > 0 ? maxAsyncItems : Integer.MAX_VALUE);
     if (!isOffline()) {
       startAsyncFlusher();
     }
@@ -602,6 +621,16 @@ public class DiskStoreImpl implements DiskStore {
     return stats;
   }
 
+  @Nullable
+  GroupCommitter getGroupCommitter() {
+    return groupCommitter;
+  }
+
+  @Nullable
+  OplogValueCodec getValueCodec() {
+    return valueCodec;
+  }
+
   public Map<Long, AbstractDiskRegion> getAllDiskRegions() {
     Map<Long, AbstractDiskRegion> results = new HashMap<>();
     results.putAll(drMap);
@@ -995,6 +1024,26 @@ public class DiskStoreImpl implements DiskStore {
 
   }
 
+  /**
+   * Returns the location of the given entry's value in its oplog, or null if the value has to be
+   * read with {@link #getBytesAndBits}.
+   */
+  OplogFileRegion getFileRegion(DiskRegion dr, DiskId id) {
+    acquireReadLock(dr);
+    try {
+      if (dr.isRegionClosed() || dr.didClearCountChange()) {
+        return null;
+      }
+      CompactableOplog oplog = getOplogSet(dr).getChild(id.getOplogId());
+      if (oplog == null) {
+        return null;
+      }
+      return oplog.getFileRegion(dr, id);
+    } finally {
+      releaseReadLock(dr);
+    }
+  }
+
   /**
    * @since GemFire 3.2.1
    */
@@ -1303,7 +1352,9 @@ public class DiskStoreImpl implements DiskStore {
       } else {
         if (!getAsyncQueue().offer(item)) {
           // queue is full so do a sync write to prevent deadlock
+          long start = getStats().getStatTime();
           handleFullAsyncQueue(item);
+          getStats().incAsyncWriteStallTime(getStats().getStatTime() - start);
           // return early since we didn't add it to the queue
           return;
         }
@@ -1389,15 +1440,19 @@ public class DiskStoreImpl implements DiskStore {
   /**
    * This queue can continue DiskEntry of FlushNotifier.
    */
-  private final ForceableLinkedBlockingQueue<Object> asyncQueue;
+  private final AsyncWriteQueue<Object> asyncQueue;
   private final Object drainSync = new Object();
   private ArrayList<Object> drainList = null;
 
   int fillDrainList() {
     synchronized (getDrainSync()) {
-      ForceableLinkedBlockingQueue<Object> queue = getAsyncQueue();
+      AsyncWriteQueue<Object> queue = getAsyncQueue();
       drainList = new ArrayList<>(queue.size());
-      return queue.drainTo(drainList);
+      int drainCount = queue.drainTo(drainList);
+      if (drainCount > 0) {
+        getStats().incAsyncWriteBatches(drainCount);
+      }
+      return drainCount;
     }
   }
 
@@ -1602,7 +1657,7 @@ public class DiskStoreImpl implements DiskStore {
     return drainSync;
   }
 
-  ForceableLinkedBlockingQueue<Object> getAsyncQueue() {
+  AsyncWriteQueue<Object> getAsyncQueue() {
     return asyncQueue;
   }
 
@@ -1677,8 +1732,8 @@ public class DiskStoreImpl implements DiskStore {
         final long time = diskStore.getTimeInterval();
         synchronized (diskStore.getAsyncMonitor()) {
           if (time > 0) {
-            long nanosRemaining = TimeUnit.MILLISECONDS.toNanos(time);
-            final long endTime = System.nanoTime() + nanosRemaining;
+            final long endTime = getFlushDeadline(time);
+            long nanosRemaining = endTime - System.nanoTime();
             boolean done = diskStore.checkAndClearForceFlush() || diskStore.checkAsyncItemLimit();
             while (!done && nanosRemaining > 0) {
               TimeUnit.NANOSECONDS.timedWait(diskStore.getAsyncMonitor(), nanosRemaining);
@@ -1698,8 +1753,8 @@ public class DiskStoreImpl implements DiskStore {
       } else {
         long time = diskStore.getTimeInterval();
         if (time > 0) {
-          long nanosRemaining = TimeUnit.MILLISECONDS.toNanos(time);
-          final long endTime = System.nanoTime() + nanosRemaining;
+          final long endTime = getFlushDeadline(time);
+          long nanosRemaining = endTime - System.nanoTime();
           synchronized (diskStore.getAsyncMonitor()) {
             boolean done = diskStore.checkAndClearForceFlush();
             while (!done && nanosRemaining > 0) {
@@ -1724,6 +1779,22 @@ public class DiskStoreImpl implements DiskStore {
       return !diskStore.isStopFlusher();
     }
 
+    /**
+     * Returns the {@link System#nanoTime} by which the queue has to be flushed so that no item
+     * waits in it for longer than the given time interval.
+     */
+    private long getFlushDeadline(long time) {
+      long interval = TimeUnit.MILLISECONDS.toNanos(time);
+      long deadline = System.nanoTime() + interval;
+      long firstQueuedTime = diskStore.getAsyncQueue().getFirstQueuedTime();
+      if (firstQueuedTime != AsyncWriteQueue.NOT_QUEUED
+          && firstQueuedTime + interval - deadline < 0) {
+        // the items queued while the last batch was written have already waited
+        deadline = firstQueuedTime + interval;
+      }
+      return deadline;
+    }
+
     private void flushChild() {
       diskStore.getPersistentOplogs().flushChild();
     }
@@ -2145,6 +2216,7 @@ public class DiskStoreImpl implements DiskStore {
   }
 
   void scheduleCompaction() {
+    updateCompactionDebt();
     if (isCompactionEnabled() && !isOfflineCompacting()) {
       oplogCompactor.scheduleIfNeeded(getOplogToBeCompacted());
     }
@@ -2212,13 +2284,10 @@ public class DiskStoreImpl implements DiskStore {
     try {
       // Now while holding the write lock remove any elements from the queue
       // for this region.
-      for (final Object o : getAsyncQueue()) {
-        if (o instanceof AsyncDiskEntry) {
-          AsyncDiskEntry ade = (AsyncDiskEntry) o;
-          if (shouldClear(region, rvv, ade)) {
-            rmAsyncItem(o);
-          }
-        }
+      int removed = getAsyncQueue().removeIf(o -> o instanceof AsyncDiskEntry
+          && shouldClear(region, rvv, (AsyncDiskEntry) o));
+      if (removed > 0) {
+        getStats().incQueueSize(-removed);
       }
     } finally {
       if (needsWriteLock) {
@@ -2784,11 +2853,26 @@ public class DiskStoreImpl implements DiskStore {
     if (!all && max > MAX_OPLOGS_PER_COMPACTION && MAX_OPLOGS_PER_COMPACTION > 0) {
       max = MAX_OPLOGS_PER_COMPACTION;
     }
-    getPersistentOplogs().getCompactableOplogs(l, max);
+    if (compactionThrottle != null && max < Integer.MAX_VALUE) {
+      // throttled compaction is too slow to waste on oplogs with little garbage, so pick the ones
+      // that reclaim the most space per byte copied from all oplogs of this disk store
+      getPersistentOplogs().getCompactableOplogs(l, Integer.MAX_VALUE);
+      overflowOplogs.getCompactableOplogs(l, Integer.MAX_VALUE);
+      Map<CompactableOplog, Double> garbageRatios = new HashMap<>();
+      for (CompactableOplog oplog : l) {
+        garbageRatios.put(oplog, oplog.getGarbageRatio());
+      }
+      l.sort(Comparator.comparing(garbageRatios::get, Comparator.reverseOrder()));
+      while (l.size() > max) {
+        l.remove(l.size() - 1);
+      }
+    } else {
+      getPersistentOplogs().getCompactableOplogs(l, max);
 
-    // Note this always puts overflow oplogs on the end of the list.
-    // They may get starved.
-    overflowOplogs.getCompactableOplogs(l, max);
+      // Note this always puts overflow oplogs on the end of the list.
+      // They may get starved.
+      overflowOplogs.getCompactableOplogs(l, max);
+    }
 
     if (l.isEmpty()) {
       return null;
@@ -2797,6 +2881,28 @@ public class DiskStoreImpl implements DiskStore {
     return l.toArray(new CompactableOplog[0]);
   }
 
+  private volatile long compactionDebt;
+
+  /**
+   * Returns an estimate of the number of bytes of garbage in the oplogs ready to be compacted, as
+   * of the last time an oplog became ready to be compacted or a compaction ended. The statistics
+   * sampler reads this, so it must not walk the oplogs itself.
+   */
+  long getCompactionDebt() {
+    return compactionDebt;
+  }
+
+  private void updateCompactionDebt() {
+    CompactableOplog[] oplogs = getOplogsToBeCompacted(true);
+    long debt = 0;
+    if (oplogs != null) {
+      for (CompactableOplog oplog : oplogs) {
+        debt += oplog.getGarbageBytes();
+      }
+    }
+    compactionDebt = debt;
+  }
+
   /**
    * Get all of the oplogs
    */
@@ -2909,6 +3015,9 @@ public class DiskStoreImpl implements DiskStore {
       int totalCount = 0;
       long compactionStart = getStats().startCompaction();
       long start = System.nanoTime();
+      if (compactionThrottle != null) {
+        compactionThrottle.reset();
+      }
       try {
         for (int i = 0; i < oplogs.length && keepCompactorRunning(); i++) {
           totalCount += oplogs[i].compact(this);
@@ -2997,6 +3106,7 @@ public class DiskStoreImpl implements DiskStore {
       } catch (CancelException ignore) {
         // if cache is closed, just about the compaction
       } finally {
+        updateCompactionDebt();
         reschedule(compactedSuccessfully);
       }
     }
@@ -3041,6 +3151,19 @@ public class DiskStoreImpl implements DiskStore {
     boolean keepCompactorRunning() {
       return compactorEnabled || compactionCompletionRequired;
     }
+
+    /**
+     * Called by an oplog being compacted after it has copied forward an entry of the given size, to
+     * keep compaction within its I/O budget. The oplog holds the compactor read lock and its own
+     * compactor lock while it compacts, so the compactor is not kept waiting while another thread
+     * is waiting for either of them, as tested by oplogLockWanted.
+     */
+    void compacted(int bytes, BooleanSupplier oplogLockWanted) {
+      if (compactionThrottle != null) {
+        compactionThrottle.compacted(bytes, () -> keepCompactorRunning()
+            && !compactorLock.hasQueuedThreads() && !oplogLockWanted.getAsBoolean());
+      }
+    }
   }
 
   /**
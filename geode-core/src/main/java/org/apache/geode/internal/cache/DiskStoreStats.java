@@ -24,6 +24,7 @@ import org.apache.geode.StatisticsTypeFactory;
 import org.apache.geode.annotations.Immutable;
 import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.distributed.internal.DistributionStats;
+import org.apache.geode.internal.HistogramStats;
 import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
 
 /**
@@ -55,6 +56,9 @@ public class DiskStoreStats {
   private static final int recoveredEntryDestroysId;
   private static final int recoveredValuesSkippedDueToLRUId;
   private static final int recoveryRecordsSkippedId;
+  private static final int recoveryOplogsPendingId;
+  private static final int recoveryPrefetchedBytesId;
+  private static final int recoveryPrefetchWaitTimeId;
   private static final int compactsInProgressId;
   private static final int writesInProgressId;
   private static final int flushesInProgressId;
@@ -67,6 +71,9 @@ public class DiskStoreStats {
   private static final int removesId;
   private static final int removeTimeId;
   private static final int queueSizeId;
+  private static final int asyncWriteBatchesId;
+  private static final int asyncWriteBatchEntriesId;
+  private static final int asyncWriteStallTimeId;
 
   private static final int compactInsertsId;
   private static final int compactInsertTimeId;
@@ -78,9 +85,22 @@ public class DiskStoreStats {
   private static final int openOplogsId;
   private static final int inactiveOplogsId;
   private static final int compactableOplogsId;
+  private static final int compactionDebtId;
+  private static final int compactionThrottleTimeId;
+  private static final int compactionPauseTimeId;
 
   private static final int oplogReadsId;
   private static final int oplogSeeksId;
+  private static final int mappedOplogReadsId;
+  private static final int mappedOplogsId;
+
+  private static final int groupCommitsId;
+  private static final int groupCommitWritesId;
+  private static final int groupCommitTimeId;
+  private static final int groupCommitWaitTimeId;
+
+  private static final int compressedValueBytesSavedId;
+  private static final int valueChecksumFailuresId;
 
   private static final int uncreatedRecoveredRegionsId;
   private static final int backupsInProgress;
@@ -150,6 +170,15 @@ public class DiskStoreStats {
 
             f.createLongCounter("recoveryRecordsSkipped",
                 "The total number of oplog records skipped during recovery.", "ops"),
+            f.createIntGauge("recoveryOplogsPending",
+                "Current number of oplogs that the recovery in progress has not yet replayed.",
+                "oplogs"),
+            f.createLongCounter("recoveryPrefetchedBytes",
+                "The total number of bytes of drf and krf files read ahead of their replay during recovery.",
+                "bytes"),
+            f.createLongCounter("recoveryPrefetchWaitTime",
+                "The total amount of time, in nanoseconds, recovery waited for a file to be read ahead.",
+                "nanoseconds"),
 
             f.createIntCounter("oplogRecoveries", oplogRecoveriesDesc, "ops"),
             f.createLongCounter("oplogRecoveryTime", oplogRecoveryTimeDesc, "nanoseconds"),
@@ -157,6 +186,14 @@ public class DiskStoreStats {
             f.createLongCounter("removes", removesDesc, "ops"),
             f.createLongCounter("removeTime", removeTimeDesc, "nanoseconds"),
             f.createIntGauge("queueSize", queueSizeDesc, "entries"),
+            f.createLongCounter("asyncWriteBatches",
+                "Total number of batches the async writer has drained from the async queue",
+                "batches"),
+            f.createLongCounter("asyncWriteBatchEntries",
+                "Total number of entries in the batches drained from the async queue", "entries"),
+            f.createLongCounter("asyncWriteStallTime",
+                "Total amount of time, in nanoseconds, spent writing entries synchronously because the async queue was full",
+                "nanoseconds"),
             f.createLongCounter("compactInserts",
                 "Total number of times an oplog compact did a db insert", "inserts"),
             f.createLongCounter("compactInsertTime",
@@ -185,11 +222,40 @@ public class DiskStoreStats {
                 "oplogs"),
             f.createIntGauge("compactableOplogs", "Current number of oplogs ready to be compacted",
                 "oplogs"),
+            f.createLongGauge("compactionDebt",
+                "Estimated number of bytes of garbage in the oplogs ready to be compacted",
+                "bytes"),
+            f.createLongCounter("compactionThrottleTime",
+                "Total amount of time, in nanoseconds, compaction slept to stay within its I/O budget",
+                "nanoseconds"),
+            f.createLongCounter("compactionPauseTime",
+                "Total amount of time, in nanoseconds, compaction paused because disk writes were slow",
+                "nanoseconds"),
             f.createIntGauge("inactiveOplogs",
                 "Current number of oplogs that are no longer being written but are not ready ready to compact",
                 "oplogs"),
             f.createLongCounter("oplogReads", "Total number of oplog reads", "reads"),
             f.createLongCounter("oplogSeeks", "Total number of oplog seeks", "seeks"),
+            f.createLongCounter("mappedOplogReads",
+                "Total number of values read from memory mapped oplogs instead of with an oplog read",
+                "reads"),
+            f.createIntGauge("mappedOplogs",
+                "Current number of oplogs this disk store has memory mapped for reading",
+                "oplogs"),
+            f.createLongCounter("groupCommits",
+                "Total number of forces done for a group of synchronous writes", "commits"),
+            f.createLongCounter("groupCommitWrites",
+                "Total number of synchronous writes made durable by group commits", "writes"),
+            f.createLongCounter("groupCommitTime",
+                "Total amount of time, in nanoseconds, spent forcing oplogs for group commits",
+                "nanoseconds"),
+            f.createLongCounter("groupCommitWaitTime",
+                "Total amount of time, in nanoseconds, that synchronous writes waited for their group commit",
+                "nanoseconds"),
+            f.createLongCounter("compressedValueBytesSaved",
+                "Total number of bytes saved by compressing the values written to oplogs", "bytes"),
+            f.createLongCounter("valueChecksumFailures",
+                "Total number of values read from oplogs whose checksum did not match", "values"),
             f.createIntGauge("uncreatedRecoveredRegions",
                 "The current number of regions that have been recovered but have not yet been created.",
                 "regions"),
@@ -214,6 +280,9 @@ public class DiskStoreStats {
     recoveredEntryDestroysId = type.nameToId("recoveredEntryDestroys");
     recoveredValuesSkippedDueToLRUId = type.nameToId("recoveredValuesSkippedDueToLRU");
     recoveryRecordsSkippedId = type.nameToId("recoveryRecordsSkipped");
+    recoveryOplogsPendingId = type.nameToId("recoveryOplogsPending");
+    recoveryPrefetchedBytesId = type.nameToId("recoveryPrefetchedBytes");
+    recoveryPrefetchWaitTimeId = type.nameToId("recoveryPrefetchWaitTime");
 
     compactsInProgressId = type.nameToId("compactsInProgress");
     writesInProgressId = type.nameToId("writesInProgress");
@@ -226,6 +295,9 @@ public class DiskStoreStats {
     removesId = type.nameToId("removes");
     removeTimeId = type.nameToId("removeTime");
     queueSizeId = type.nameToId("queueSize");
+    asyncWriteBatchesId = type.nameToId("asyncWriteBatches");
+    asyncWriteBatchEntriesId = type.nameToId("asyncWriteBatchEntries");
+    asyncWriteStallTimeId = type.nameToId("asyncWriteStallTime");
 
     compactDeletesId = type.nameToId("compactDeletes");
     compactDeleteTimeId = type.nameToId("compactDeleteTime");
@@ -235,10 +307,21 @@ public class DiskStoreStats {
     compactUpdateTimeId = type.nameToId("compactUpdateTime");
     oplogReadsId = type.nameToId("oplogReads");
     oplogSeeksId = type.nameToId("oplogSeeks");
+    mappedOplogReadsId = type.nameToId("mappedOplogReads");
+    mappedOplogsId = type.nameToId("mappedOplogs");
+    groupCommitsId = type.nameToId("groupCommits");
+    groupCommitWritesId = type.nameToId("groupCommitWrites");
+    groupCommitTimeId = type.nameToId("groupCommitTime");
+    groupCommitWaitTimeId = type.nameToId("groupCommitWaitTime");
+    compressedValueBytesSavedId = type.nameToId("compressedValueBytesSaved");
+    valueChecksumFailuresId = type.nameToId("valueChecksumFailures");
 
     openOplogsId = type.nameToId("openOplogs");
     inactiveOplogsId = type.nameToId("inactiveOplogs");
     compactableOplogsId = type.nameToId("compactableOplogs");
+    compactionDebtId = type.nameToId("compactionDebt");
+    compactionThrottleTimeId = type.nameToId("compactionThrottleTime");
+    compactionPauseTimeId = type.nameToId("compactionPauseTime");
     uncreatedRecoveredRegionsId = type.nameToId("uncreatedRecoveredRegions");
     backupsInProgress = type.nameToId("backupsInProgress");
     backupsCompleted = type.nameToId("backupsCompleted");
@@ -251,6 +334,12 @@ public class DiskStoreStats {
 
   private final LongSupplier clock;
 
+  /** Histogram of the number of writes per group commit, if group commit is enabled */
+  private HistogramStats groupCommitSizes;
+
+  /** Histogram of the time writes waited for their group commit, if group commit is enabled */
+  private HistogramStats groupCommitLatencies;
+
   /////////////////////// Constructors ///////////////////////
 
   /**
@@ -274,6 +363,22 @@ public class DiskStoreStats {
 
   public void close() {
     stats.close();
+    if (groupCommitSizes != null) {
+      groupCommitSizes.close();
+      groupCommitLatencies.close();
+    }
+  }
+
+  /**
+   * Creates the histograms of group commit sizes and latencies. Only done for disk stores that use
+   * group commit, before any commit is recorded.
+   */
+  void createGroupCommitHistograms(StatisticsFactory factory, String name) {
+    groupCommitSizes = new HistogramStats(name + "GroupCommitSizes", "writes", factory,
+        new long[] {1, 2, 4, 8, 16, 32, 64, 64}, true);
+    groupCommitLatencies = new HistogramStats(name + "GroupCommitLatencies", "nanoseconds",
+        factory, new long[] {10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 100_000_000},
+        false);
   }
 
   /**
@@ -347,6 +452,23 @@ public class DiskStoreStats {
     stats.incInt(queueSizeId, delta);
   }
 
+  public void incAsyncWriteBatches(int entries) {
+    stats.incLong(asyncWriteBatchesId, 1);
+    stats.incLong(asyncWriteBatchEntriesId, entries);
+  }
+
+  public long getAsyncWriteBatches() {
+    return stats.getLong(asyncWriteBatchesId);
+  }
+
+  public long getAsyncWriteBatchEntries() {
+    return stats.getLong(asyncWriteBatchEntriesId);
+  }
+
+  public void incAsyncWriteStallTime(long time) {
+    stats.incLong(asyncWriteStallTimeId, time);
+  }
+
   public void incUncreatedRecoveredRegions(int delta) {
     stats.incInt(uncreatedRecoveredRegionsId, delta);
   }
@@ -484,6 +606,22 @@ public class DiskStoreStats {
     stats.incLong(recoveryRecordsSkippedId, 1);
   }
 
+  public void incRecoveryOplogsPending(int delta) {
+    stats.incInt(recoveryOplogsPendingId, delta);
+  }
+
+  public void incRecoveryPrefetchedBytes(long bytes) {
+    stats.incLong(recoveryPrefetchedBytesId, bytes);
+  }
+
+  public void incRecoveryPrefetchWaitTime(long time) {
+    stats.incLong(recoveryPrefetchWaitTimeId, time);
+  }
+
+  public long getRecoveryPrefetchedBytes() {
+    return stats.getLong(recoveryPrefetchedBytesId);
+  }
+
   public void incRecoveredValuesSkippedDueToLRU() {
     stats.incLong(recoveredValuesSkippedDueToLRUId, 1);
   }
@@ -519,6 +657,79 @@ public class DiskStoreStats {
     stats.incLong(oplogSeeksId, 1);
   }
 
+  /**
+   * @param writes the number of writes made durable by the commit
+   * @param time the time, in nanoseconds, spent forcing the oplogs
+   */
+  public void endGroupCommit(int writes, long time) {
+    stats.incLong(groupCommitsId, 1);
+    stats.incLong(groupCommitWritesId, writes);
+    stats.incLong(groupCommitTimeId, time);
+    if (groupCommitSizes != null) {
+      groupCommitSizes.endOp(writes);
+    }
+  }
+
+  /**
+   * @param time the time, in nanoseconds, a write waited for its group commit
+   */
+  public void endGroupCommitWait(long time) {
+    stats.incLong(groupCommitWaitTimeId, time);
+    if (groupCommitLatencies != null) {
+      groupCommitLatencies.endOp(time);
+    }
+  }
+
+  public long getGroupCommits() {
+    return stats.getLong(groupCommitsId);
+  }
+
+  public long getGroupCommitWrites() {
+    return stats.getLong(groupCommitWritesId);
+  }
+
+  public void incCompressedValueBytesSaved(long bytes) {
+    stats.incLong(compressedValueBytesSavedId, bytes);
+  }
+
+  public long getCompressedValueBytesSaved() {
+    return stats.getLong(compressedValueBytesSavedId);
+  }
+
+  public void incValueChecksumFailures() {
+    stats.incLong(valueChecksumFailuresId, 1);
+  }
+
+  public long getValueChecksumFailures() {
+    return stats.getLong(valueChecksumFailuresId);
+  }
+
+  public void incMappedOplogReads() {
+    stats.incLong(mappedOplogReadsId, 1);
+  }
+
+  public void incMappedOplogs(int delta) {
+    stats.incInt(mappedOplogsId, delta);
+  }
+
+  /**
+   * Returns the total number of oplog reads done with a seek and read of the file.
+   */
+  public long getOplogReads() {
+    return stats.getLong(oplogReadsId);
+  }
+
+  /**
+   * Returns the total number of values read from memory mapped oplogs.
+   */
+  public long getMappedOplogReads() {
+    return stats.getLong(mappedOplogReadsId);
+  }
+
+  public int getMappedOplogs() {
+    return stats.getInt(mappedOplogsId);
+  }
+
   public void incInactiveOplogs(int delta) {
     stats.incInt(inactiveOplogsId, delta);
   }
@@ -527,6 +738,21 @@ public class DiskStoreStats {
     stats.incInt(compactableOplogsId, delta);
   }
 
+  /**
+   * Sets the function sampled for the compactionDebt statistic.
+   */
+  void setCompactionDebtSupplier(LongSupplier supplier) {
+    stats.setLongSupplier(compactionDebtId, supplier);
+  }
+
+  public void incCompactionThrottleTime(long time) {
+    stats.incLong(compactionThrottleTimeId, time);
+  }
+
+  public void incCompactionPauseTime(long time) {
+    stats.incLong(compactionPauseTimeId, time);
+  }
+
   public void endCompactionDeletes(int count, long delta) {
     stats.incLong(compactDeletesId, count);
     stats.incLong(compactDeleteTimeId, delta);
@@ -253,6 +253,22 @@ public class DummyCachePerfStats extends CachePerfStats {
   @Override
   public void endQueryExecution(long executionTime) {}
 
+  @Override
+  public void incQueryPlanCacheHits() {}
+
+  @Override
+  public long getQueryPlanCacheHits() {
+    return 0L;
+  }
+
+  @Override
+  public void incQueryPlanCacheMisses() {}
+
+  @Override
+  public long getQueryPlanCacheMisses() {
+    return 0L;
+  }
+
   @Override
   public long getTxCommits() {
     return 0L;
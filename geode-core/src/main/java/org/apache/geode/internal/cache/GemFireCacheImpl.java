@@ -178,6 +178,7 @@ import org.apache.geode.cache.query.internal.InternalQueryService;
 import org.apache.geode.cache.query.internal.QueryMonitor;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.query.internal.cq.CqServiceProvider;
+import org.apache.geode.cache.query.internal.index.IndexManager;
 import org.apache.geode.cache.server.CacheServer;
 import org.apache.geode.cache.snapshot.CacheSnapshotService;
 import org.apache.geode.cache.util.GatewayConflictResolver;
@@ -427,6 +428,8 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
    */
   private final ExecutorService eventThreadPool;
 
+  private final ExecutorService indexMaintenanceExecutor;
+
   /**
    * List of all cache servers. CopyOnWriteArrayList is used to allow concurrent add, remove and
    * retrieval operations. It is assumed that the traversal operations on cache servers list vastly
@@ -1028,6 +1031,8 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
         eventThreadPool = null;
       }
 
+      indexMaintenanceExecutor = IndexManager.createIndexMaintenanceExecutor();
+
       // Initialize the advisor here, but wait to exchange profiles until cache is fully built
       resourceAdvisor = resourceAdvisorFactory.apply(this);
 
@@ -2265,6 +2270,8 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
             eventThreadPool.shutdown();
           }
 
+          indexMaintenanceExecutor.shutdown();
+
           // IMPORTANT: any operation during shut down that can time out (create a CancelException)
           // must be inside of this try block. If all else fails, we *must* ensure that the cache
           // gets
@@ -3711,6 +3718,11 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
     return eventThreadPool;
   }
 
+  @Override
+  public Executor getIndexMaintenanceExecutor() {
+    return indexMaintenanceExecutor;
+  }
+
   @Override
   public CacheServer addCacheServer() {
     throwIfClient();
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jetbrains.annotations.Nullable;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Makes the writes of concurrent synchronous disk operations durable with one force per group of
+ * operations instead of one force per operation.
+ *
+ * <p>
+ * An operation first calls {@link #beginDeferring()}. Its writes are then made to the oplog files
+ * as usual, but instead of forcing a file after writing it the oplog {@linkplain #written records}
+ * the file and gives the operation a ticket. When the operation calls {@link #commit()} the first
+ * waiting thread becomes the leader of a group. It waits up to the commit window for more
+ * operations to join, or until the group has {@value #MAX_SIZE_PROPERTY} operations, then forces
+ * every file written by the group once and releases all of them. An operation does not return
+ * before a force that started after its bytes were written has completed, so it is exactly as
+ * durable as with a force per operation.
+ *
+ * <p>
+ * Group commit is enabled with the {@value #ENABLED_PROPERTY} system property. It only has an
+ * effect if oplog writes are forced at all, which is the case when the {@code gemfire.syncWrites}
+ * system property is set.
+ *
+ * @since Geode 1.16
+ */
+class GroupCommitter {
+  static final String ENABLED_PROPERTY = GeodeGlossary.GEMFIRE_PREFIX + "disk.groupCommit";
+
+  static final String WINDOW_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.groupCommitWindowMicros";
+
+  static final String MAX_SIZE_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.groupCommitMaxSize";
+
+  static final long DEFAULT_WINDOW_MICROS = 100;
+
+  static final int DEFAULT_MAX_SIZE = 64;
+
+  /**
+   * A file that has to be forced for a group to be durable.
+   */
+  interface SyncTarget {
+    void sync() throws IOException;
+  }
+
+  private final DiskStoreStats stats;
+  private final long windowNanos;
+  private final int maxGroupSize;
+
+  private final ReentrantLock groupLock = new ReentrantLock();
+  private final Condition groupFull = groupLock.newCondition();
+  private final Condition committed = groupLock.newCondition();
+
+  /** The ticket given to the most recent write. Guarded by groupLock. */
+  private long lastTicket;
+
+  /** Every write with a ticket up to this one is durable. Guarded by groupLock. */
+  private long committedTicket;
+
+  /**
+   * The last ticket of the group most recently gathered by a leader. Writes with a ticket up to this
+   * one are durable once that group's force completes. Guarded by groupLock.
+   */
+  private long gatheredTicket;
+
+  /** True while a leader is gathering or forcing a group. Guarded by groupLock. */
+  private boolean leading;
+
+  /** The files written since the last group was forced. Guarded by groupLock. */
+  private List<SyncTarget> unsynced = new ArrayList<>(4);
+
+  private final ThreadLocal<PendingCommit> pendingCommit =
+      ThreadLocal.withInitial(PendingCommit::new);
+
+  GroupCommitter(DiskStoreStats stats, long windowNanos, int maxGroupSize) {
+    this.stats = stats;
+    this.windowNanos = windowNanos;
+    this.maxGroupSize = maxGroupSize;
+  }
+
+  /**
+   * Returns a committer configured from system properties, or null if group commit is disabled.
+   */
+  static @Nullable GroupCommitter create(DiskStoreStats stats) {
+    if (!Boolean.getBoolean(ENABLED_PROPERTY) || !Oplog.SYNC_WRITES) {
+      return null;
+    }
+    long windowMicros = Math.max(0, Long.getLong(WINDOW_PROPERTY, DEFAULT_WINDOW_MICROS));
+    int maxGroupSize = Math.max(1, Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+    return new GroupCommitter(stats, TimeUnit.MICROSECONDS.toNanos(windowMicros), maxGroupSize);
+  }
+
+  /**
+   * Starts deferring the forces of the current thread's writes until {@link #commit()} or
+   * {@link #abandon()}. Returns false, without changing anything, if the current thread is already
+   * deferring.
+   */
+  boolean beginDeferring() {
+    PendingCommit pending = pendingCommit.get();
+    if (pending.deferring) {
+      return false;
+    }
+    pending.deferring = true;
+    pending.ticket = 0;
+    return true;
+  }
+
+  /**
+   * Returns true if the current thread's writes are to be recorded with {@link #written} instead of
+   * being forced.
+   */
+  boolean isDeferring() {
+    return pendingCommit.get().deferring;
+  }
+
+  /**
+   * Records that the current thread has written the given file. Must be called after the bytes have
+   * been written to the file's channel, while no other thread can write to it.
+   *
+   * @param needsSync false if everything written to the file has already been handed to this
+   *        committer by an earlier call, so that the file only has to be forced if that has not
+   *        happened yet
+   */
+  void written(SyncTarget target, boolean needsSync) {
+    PendingCommit pending = pendingCommit.get();
+    groupLock.lock();
+    try {
+      if (needsSync && !unsynced.contains(target)) {
+        unsynced.add(target);
+      }
+      // the thread's earlier write can share its ticket if no write has come in between and no
+      // leader has gathered it into a group yet
+      if (pending.ticket != lastTicket || pending.ticket <= gatheredTicket) {
+        pending.ticket = ++lastTicket;
+      }
+      if (lastTicket - committedTicket >= maxGroupSize) {
+        groupFull.signal();
+      }
+    } finally {
+      groupLock.unlock();
+    }
+  }
+
+  /**
+   * Stops deferring and waits until everything the current thread has written since
+   * {@link #beginDeferring()} is durable.
+   */
+  void commit() throws IOException {
+    PendingCommit pending = pendingCommit.get();
+    long ticket = pending.ticket;
+    pending.deferring = false;
+    pending.ticket = 0;
+    if (ticket == 0) {
+      return;
+    }
+    long start = System.nanoTime();
+    awaitCommitted(ticket);
+    stats.endGroupCommitWait(System.nanoTime() - start);
+  }
+
+  /**
+   * Stops deferring without waiting, because the operation failed.
+   */
+  void abandon() {
+    PendingCommit pending = pendingCommit.get();
+    pending.deferring = false;
+    pending.ticket = 0;
+  }
+
+  private void awaitCommitted(long ticket) throws IOException {
+    groupLock.lock();
+    try {
+      while (committedTicket < ticket) {
+        if (leading) {
+          committed.awaitUninterruptibly();
+        } else {
+          leadGroup();
+        }
+      }
+    } finally {
+      groupLock.unlock();
+    }
+  }
+
+  /**
+   * Gathers a group and forces its files. Called with groupLock held, which is released while the
+   * files are forced.
+   */
+  private void leadGroup() throws IOException {
+    leading = true;
+    boolean interrupted = false;
+    try {
+      long remaining = windowNanos;
+      while (remaining > 0 && lastTicket - committedTicket < maxGroupSize) {
+        try {
+          remaining = groupFull.awaitNanos(remaining);
+        } catch (InterruptedException e) {
+          // the writes are already done, so cut the window short but still make them durable
+          interrupted = true;
+          break;
+        }
+      }
+      long groupTicket = lastTicket;
+      gatheredTicket = groupTicket;
+      List<SyncTarget> targets = unsynced;
+      unsynced = new ArrayList<>(4);
+      long start = System.nanoTime();
+      groupLock.unlock();
+      boolean synced = false;
+      try {
+        for (SyncTarget target : targets) {
+          target.sync();
+        }
+        synced = true;
+      } finally {
+        groupLock.lock();
+        if (synced) {
+          stats.endGroupCommit((int) (groupTicket - committedTicket), System.nanoTime() - start);
+          committedTicket = groupTicket;
+        } else {
+          // let the next leader try again
+          for (SyncTarget target : targets) {
+            if (!unsynced.contains(target)) {
+              unsynced.add(target);
+            }
+          }
+        }
+      }
+    } finally {
+      leading = false;
+      committed.signalAll();
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  long getCommittedTicket() {
+    groupLock.lock();
+    try {
+      return committedTicket;
+    } finally {
+      groupLock.unlock();
+    }
+  }
+
+  private static class PendingCommit {
+    private boolean deferring;
+    private long ticket;
+  }
+}
@@ -253,6 +253,11 @@ public interface InternalCache extends Cache, Extensible<Cache>, CacheTime, Inte
    */
   Executor getEventThreadPool();
 
+  /**
+   * Returns the {@code Executor} that applies the updates of asynchronously maintained indexes.
+   */
+  Executor getIndexMaintenanceExecutor();
+
   /**
    * Get a reference to a Region that is reinitializing, or null if that Region is not
    * reinitializing or this thread is interrupted. If a reinitializing region is found, then this
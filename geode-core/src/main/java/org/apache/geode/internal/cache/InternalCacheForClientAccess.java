@@ -813,6 +813,11 @@ public class InternalCacheForClientAccess implements InternalCache {
     return delegate.getEventThreadPool();
   }
 
+  @Override
+  public Executor getIndexMaintenanceExecutor() {
+    return delegate.getIndexMaintenanceExecutor();
+  }
+
   @Override
   public boolean keepDurableSubscriptionsAlive() {
     return delegate.keepDurableSubscriptionsAlive();
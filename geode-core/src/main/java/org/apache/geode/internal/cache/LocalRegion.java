@@ -189,6 +189,7 @@ import org.apache.geode.internal.cache.partitioned.colocation.ColocationLoggerFa
 import org.apache.geode.internal.cache.persistence.DefaultDiskDirs;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
 import org.apache.geode.internal.cache.persistence.PersistentMemberID;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 import org.apache.geode.internal.cache.persistence.query.IndexMap;
 import org.apache.geode.internal.cache.persistence.query.mock.IndexMapImpl;
 import org.apache.geode.internal.cache.tier.InterestType;
@@ -692,6 +693,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       ma.loadFactor = loadFactor;
       ma.initialCapacity = initialCapacity;
       ma.concurrencyLevel = concurrencyLevel;
+      ma.keyConstraint = keyConstraint;
       result = regionMapConstructor.create(this, ma, internalRegionArgs);
     }
     return result;
@@ -1369,9 +1371,20 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     long start = startGet();
     boolean isMiss = true;
     try {
-      KeyInfo keyInfo = getKeyInfo(key, aCallbackArgument);
-      Object value = getDataView().getDeserializedValue(keyInfo, this, true, disableCopyOnRead,
-          preferCD, clientEvent, returnTombstones, retainResult, true);
+      final boolean readRegionMap =
+          clientEvent == null && !retainResult && readsRegionMapDirectly();
+      KeyInfo keyInfo = null;
+      RegionEntry regionEntry = null;
+      Object value;
+      if (readRegionMap) {
+        regionEntry = entries.getEntry(key);
+        value = regionEntry == null ? null
+            : getDeserialized(regionEntry, true, disableCopyOnRead, preferCD, false);
+      } else {
+        keyInfo = getKeyInfo(key, aCallbackArgument);
+        value = getDataView().getDeserializedValue(keyInfo, this, true, disableCopyOnRead,
+            preferCD, clientEvent, returnTombstones, retainResult, true);
+      }
       final boolean isCreate = value == null;
       isMiss = value == null || Token.isInvalid(value)
           || !returnTombstones && value == Token.TOMBSTONE;
@@ -1381,6 +1394,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
         // then don't go further to try and get value
         if (!opScopeIsLocal
             && (getScope().isDistributed() || hasServerProxy() || basicGetLoader() != null)) {
+          if (keyInfo == null) {
+            keyInfo = getKeyInfo(key, aCallbackArgument);
+          }
           // serialize search/load threads if not in txn
           value = getDataView().findObject(keyInfo, this, isCreate, generateCallbacks, value,
               disableCopyOnRead, preferCD, requestingClient, clientEvent, returnTombstones);
@@ -1389,7 +1405,10 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
           }
         } else {
           // local scope with no loader, still might need to update stats
-          if (isCreate) {
+          if (isCreate && readRegionMap) {
+            // the region map has already been searched for the entry
+            updateStatsForGet(regionEntry, false);
+          } else if (isCreate) {
             recordMiss(null, key);
           }
           value = null;
@@ -1401,6 +1420,59 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     }
   }
 
+  /**
+   * Returns true if a get can read the entry straight from the region map, without the KeyInfo and
+   * data view of a normal get. The data view of a region that is not in a transaction only reads
+   * the region map, except that a disk region also needs the clear count to be referenced. Apart
+   * from what the value's form requires, such as deserializing a value stored in serialized form,
+   * nothing is allocated to read a hit this way.
+   */
+  private boolean readsRegionMapDirectly() {
+    return diskRegion == null && !isTX();
+  }
+
+  /**
+   * Returns the location in its oplog of the value of the given key if that value is only on disk
+   * and at least minLength bytes long, so that a cache server can send it to a client straight
+   * from the file without faulting it in. The entry's version tag, if any, is put into the given
+   * holder. Returns null if the value has to be read with a normal get.
+   *
+   * @see DiskEntry.Helper#getValueFileRegion(DiskEntry, DiskRegion, int)
+   */
+  public OplogFileRegion getValueFileRegionForClient(Object key, int minLength,
+      VersionTagHolder versionHolder) {
+    DiskRegion dr = getDiskRegion();
+    if (dr == null || getCompressor() != null || !isInitialized() || isTX()) {
+      return null;
+    }
+    validateKey(key);
+    checkReadiness();
+    RegionEntry re = getRegionMap().getEntry(key);
+    if (!(re instanceof DiskEntry)) {
+      return null;
+    }
+    long start = startGet();
+    OplogFileRegion fileRegion;
+    synchronized (re) {
+      if (re.isDestroyedOrRemoved() || re.isInvalidOrRemoved()) {
+        fileRegion = null;
+      } else {
+        fileRegion = DiskEntry.Helper.getValueFileRegion((DiskEntry) re, dr, minLength);
+        if (fileRegion != null && getConcurrencyChecksEnabled()) {
+          VersionStamp<?> stamp = re.getVersionStamp();
+          if (stamp != null) {
+            versionHolder.setVersionTag(stamp.asVersionTag());
+          }
+        }
+      }
+    }
+    if (fileRegion != null) {
+      updateStatsForGet(re, true);
+      endGet(start, false);
+    }
+    return fileRegion;
+  }
+
   protected long startGet() {
     return getCachePerfStats().startGet();
   }
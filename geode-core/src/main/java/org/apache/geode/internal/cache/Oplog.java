@@ -26,9 +26,14 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -45,8 +50,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -87,6 +92,8 @@ import org.apache.geode.internal.cache.persistence.BytesAndBits;
 import org.apache.geode.internal.cache.persistence.DiskRecoveryStore;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
 import org.apache.geode.internal.cache.persistence.DiskStoreID;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
+import org.apache.geode.internal.cache.persistence.PositionalReadChannel;
 import org.apache.geode.internal.cache.persistence.UninterruptibleFileChannel;
 import org.apache.geode.internal.cache.persistence.UninterruptibleRandomAccessFile;
 import org.apache.geode.internal.cache.versions.CompactVersionHolder;
@@ -179,7 +186,7 @@ public class Oplog implements CompactableOplog, Flushable {
    * This system property instructs that writes be synchronously written to disk and not to file
    * system. (Use rwd instead of rw - RandomAccessFile property)
    */
-  private static final boolean SYNC_WRITES =
+  static final boolean SYNC_WRITES =
       Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "syncWrites");
 
   /**
@@ -527,6 +534,18 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   private boolean doneAppending = false;
 
+  /**
+   * Read only mapping of the crf, created on the first read after this oplog is sealed if the disk
+   * store maps sealed oplogs.
+   */
+  private volatile MappedByteBuffer crfMapping;
+
+  /**
+   * Set to true once the crf must no longer be mapped, because mapping it failed or because it is
+   * being closed or deleted. Guarded by lock.
+   */
+  private boolean crfMappingDisabled;
+
   /**
    * Used to track all information's about live entries that region has in this oplog.
    */
@@ -1073,7 +1092,7 @@ public class Oplog implements CompactableOplog, Flushable {
     }
     crf.f = f;
     preblow(crf, getMaxCrfSize());
-    crf.raf = new UninterruptibleRandomAccessFile(f, SYNC_WRITES ? "rwd" : "rw");
+    crf.raf = new UninterruptibleRandomAccessFile(f, getWriteMode());
     crf.RAFClosed = false;
     oplogSet.crfCreate(oplogId);
     crf.writeBuf = allocateWriteBuf(prevOlf);
@@ -1127,7 +1146,7 @@ public class Oplog implements CompactableOplog, Flushable {
       logger.debug("Creating operation log file {}", f);
     }
     preblow(drf, getMaxDrfSize());
-    drf.raf = new UninterruptibleRandomAccessFile(f, SYNC_WRITES ? "rwd" : "rw");
+    drf.raf = new UninterruptibleRandomAccessFile(f, getWriteMode());
     drf.RAFClosed = false;
     oplogSet.drfCreate(oplogId);
     drf.writeBuf = allocateWriteBuf(prevOlf);
@@ -1301,6 +1320,55 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  @Override
+  public OplogFileRegion getFileRegion(DiskRegionView dr, DiskId id) {
+    Oplog retryOplog = null;
+    long offset;
+    int valueLength;
+    byte userBits;
+    synchronized (id) {
+      long opId = id.getOplogId();
+      if (opId != getOplogId()) {
+        // the oplog changed on us so we need to do a recursive call after unsyncing
+        retryOplog = getOplogSet().getChild(opId);
+        offset = -1;
+        valueLength = 0;
+        userBits = 0;
+      } else {
+        // fetch these while synced so they will be consistent with oplogId
+        offset = id.getOffsetInOplog();
+        valueLength = id.getValueLength();
+        userBits = id.getUserBits();
+      }
+    }
+    if (retryOplog != null) {
+      return retryOplog.getFileRegion(dr, id);
+    }
+    if (offset < 0 || valueLength == 0 || EntryBits.isAnyInvalid(userBits)
+        || EntryBits.isTombstone(userBits) || EntryBits.isEncoded(userBits)
+        || getProductVersionIfOld() != null) {
+      return null;
+    }
+    synchronized (lock) {
+      if ((offset + valueLength) > crf.bytesFlushed && !closed) {
+        flushAllNoSync(true); // fix for bug 41205
+      }
+      if ((offset + valueLength) > crf.bytesFlushed) {
+        return null;
+      }
+    }
+    return new OplogFileRegion(lock, this::getCrfReadChannel, crf.f, offset, valueLength,
+        userBits);
+  }
+
+  /**
+   * Returns the crf channel for positional reads, or null if the crf has been closed. Must be
+   * called with lock held.
+   */
+  private PositionalReadChannel getCrfReadChannel() {
+    return crf.RAFClosed ? null : crf.raf.getChannel();
+  }
+
   void close(DiskRegion dr) {
     // while a krf is being created can not close a region
     lockCompactor();
@@ -1468,9 +1536,9 @@ public class Oplog implements CompactableOplog, Flushable {
       try {
         int recordCount = 0;
         boolean foundDiskStoreRecord = false;
-        FileInputStream fis = null;
+        InputStream fis = null;
         try {
-          fis = new FileInputStream(drfFile);
+          fis = openForRecovery(drfFile);
           dis = new CountingDataInputStream(new BufferedInputStream(fis, 32 * 1024),
               drfFile.length());
           boolean endOfLog = false;
@@ -1581,6 +1649,17 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Opens a drf or krf file for recovery, from memory if the recovery has read it ahead.
+   */
+  private InputStream openForRecovery(File file) throws FileNotFoundException {
+    RecoveryPrefetcher prefetcher = getOplogSet().getRecoveryPrefetcher();
+    if (prefetcher != null) {
+      return prefetcher.open(file);
+    }
+    return new FileInputStream(file);
+  }
+
   /**
    * This map is used during recovery to keep track of what entries were recovered. Its keys are the
    * oplogEntryId; its values are the actual logical keys that end up in the Region's keys. It used
@@ -1624,9 +1703,9 @@ public class Oplog implements CompactableOplog, Flushable {
       return false;
     }
 
-    FileInputStream fis;
+    InputStream fis;
     try {
-      fis = new FileInputStream(f);
+      fis = openForRecovery(f);
     } catch (FileNotFoundException ignore) {
       return false;
     }
@@ -2276,6 +2355,10 @@ public class Oplog implements CompactableOplog, Flushable {
       KnownVersion version, ByteArrayDataInput in) {
     DiskEntry.RecoveredEntry re;
     if (recoverValue || EntryBits.isAnyInvalid(userBits) || EntryBits.isTombstone(userBits)) {
+      if (EntryBits.isEncoded(userBits) && EntryBits.isNeedsValue(userBits)) {
+        // valueLength and userBits still describe the record on disk
+        valueBytes = decodeValue(valueBytes);
+      }
       Object value;
       if (EntryBits.isLocalInvalid(userBits)) {
         value = Token.LOCAL_INVALID;
@@ -2776,6 +2859,9 @@ public class Oplog implements CompactableOplog, Flushable {
   private void validateValue(byte[] valueBytes, byte userBits, KnownVersion version,
       ByteArrayDataInput in) {
     if (getParent().isValidating()) {
+      if (EntryBits.isEncoded(userBits) && EntryBits.isNeedsValue(userBits)) {
+        valueBytes = decodeValue(valueBytes);
+      }
       if (EntryBits.isSerialized(userBits)) {
         // make sure values are deserializable
         if (!PdxWriterImpl.isPdx(valueBytes)) { // fix bug 43011
@@ -3200,6 +3286,7 @@ public class Oplog implements CompactableOplog, Flushable {
     // No need to get the backup lock prior to synchronizing (correct lock order) since the
     // synchronized block does not attempt to get the backup lock (incorrect lock order)
     synchronized (lock/* crf */) {
+      invalidateCrfMapping();
       unpreblow(crf, getMaxCrfSize());
       if (!crf.RAFClosed) {
         try {
@@ -3397,6 +3484,7 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean exceptionOccurred = false;
       byte prevUsrBit = did.getUserBits();
       int len = did.getValueLength();
+      GroupCommitter committer = beginGroupCommit(async);
       try {
         // It is ok to do this outside of "lock" because
         // create records do not need to change.
@@ -3412,6 +3500,7 @@ public class Oplog implements CompactableOplog, Flushable {
           userBits = EntryBits.setWithVersions(userBits, true);
         }
         basicCreate(region.getDiskRegion(), entry, value, userBits, async);
+        commitGroup(committer);
       } catch (IOException ex) {
         exceptionOccurred = true;
         region.getCancelCriterion().checkCancelInProgress(ex);
@@ -3427,6 +3516,7 @@ public class Oplog implements CompactableOplog, Flushable {
                 diskFile.getPath()),
             ie, region.getFullPath());
       } finally {
+        abandonGroupCommit(committer);
         if (exceptionOccurred) {
           did.setValueLength(len);
           did.setUserBits(prevUsrBit);
@@ -3454,6 +3544,11 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   private void basicCreate(DiskRegion dr, DiskEntry entry, ValueWrapper value, byte userBits,
       boolean async) throws IOException, InterruptedException {
+    OplogValueCodec codec = getParent().getValueCodec();
+    if (codec != null && EntryBits.isNeedsValue(userBits) && !EntryBits.isEncoded(userBits)) {
+      value = encodeValue(codec, value);
+      userBits = EntryBits.setEncoded(userBits, true);
+    }
     DiskId id = entry.getDiskId();
     boolean useNextOplog = false;
     long startPosForSynchOp = -1;
@@ -4250,6 +4345,7 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean exceptionOccurred = false;
       byte prevUsrBit = did.getUserBits();
       int len = did.getValueLength();
+      GroupCommitter committer = beginGroupCommit(async);
       try {
         byte userBits = calcUserBits(value);
         // save versions for creates and updates even if value is bytearrary in
@@ -4263,6 +4359,7 @@ public class Oplog implements CompactableOplog, Flushable {
           userBits = EntryBits.setWithVersions(userBits, true);
         }
         basicModify(region.getDiskRegion(), entry, value, userBits, async, false);
+        commitGroup(committer);
       } catch (IOException ex) {
         exceptionOccurred = true;
         region.getCancelCriterion().checkCancelInProgress(ex);
@@ -4278,6 +4375,7 @@ public class Oplog implements CompactableOplog, Flushable {
                 diskFile.getPath()),
             ie, region.getFullPath());
       } finally {
+        abandonGroupCommit(committer);
         if (exceptionOccurred) {
           did.setValueLength(len);
           did.setUserBits(prevUsrBit);
@@ -4327,8 +4425,10 @@ public class Oplog implements CompactableOplog, Flushable {
     if (getOplogSet().getChild() != this) {
       getOplogSet().getChild().saveConflictVersionTag(region, tag, async);
     } else {
+      GroupCommitter committer = beginGroupCommit(async);
       try {
         basicSaveConflictVersionTag(region.getDiskRegion(), tag, async);
+        commitGroup(committer);
       } catch (IOException ex) {
         region.getCancelCriterion().checkCancelInProgress(ex);
         throw new DiskAccessException(String.format("Failed writing conflict version tag to %s",
@@ -4338,6 +4438,8 @@ public class Oplog implements CompactableOplog, Flushable {
         region.getCancelCriterion().checkCancelInProgress(ie);
         throw new DiskAccessException(String.format("Failed writing conflict version tag to %s",
             diskFile.getPath()), ie, region.getFullPath());
+      } finally {
+        abandonGroupCommit(committer);
       }
     }
   }
@@ -4418,6 +4520,13 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   private void basicModify(DiskRegionView dr, DiskEntry entry, ValueWrapper value, byte userBits,
       boolean async, boolean calledByCompactor) throws IOException, InterruptedException {
+    OplogValueCodec codec = getParent().getValueCodec();
+    // the compactor copies records forward as they are
+    if (codec != null && !calledByCompactor && EntryBits.isNeedsValue(userBits)
+        && !EntryBits.isEncoded(userBits)) {
+      value = encodeValue(codec, value);
+      userBits = EntryBits.setEncoded(userBits, true);
+    }
     DiskId id = entry.getDiskId();
     boolean useNextOplog = false;
     long startPosForSynchOp = -1L;
@@ -4736,8 +4845,10 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean exceptionOccurred = false;
       byte prevUsrBit = did.getUserBits();
       int len = did.getValueLength();
+      GroupCommitter committer = beginGroupCommit(async);
       try {
         basicRemove(dr, entry, async, isClear);
+        commitGroup(committer);
       } catch (IOException ex) {
         exceptionOccurred = true;
         getParent().getCancelCriterion().checkCancelInProgress(ex);
@@ -4753,6 +4864,7 @@ public class Oplog implements CompactableOplog, Flushable {
                 diskFile.getPath()),
             ie, dr.getName());
       } finally {
+        abandonGroupCommit(committer);
         if (exceptionOccurred) {
           did.setValueLength(len);
           did.setUserBits(prevUsrBit);
@@ -5002,6 +5114,46 @@ public class Oplog implements CompactableOplog, Flushable {
     flushAll(false);
   }
 
+  /**
+   * Returns the mode to open oplog files for writing in. With group commit every write is forced
+   * explicitly, so the files do not also need to be written synchronously.
+   */
+  private String getWriteMode() {
+    return SYNC_WRITES && getParent().getGroupCommitter() == null ? "rwd" : "rw";
+  }
+
+  /**
+   * Starts deferring the forces of the current thread's synchronous writes to a group commit.
+   * Returns the committer to {@link #commitGroup} with, or null if each write is forced as it is
+   * made.
+   */
+  private GroupCommitter beginGroupCommit(boolean async) {
+    GroupCommitter committer = getParent().getGroupCommitter();
+    if (committer == null || async || !committer.beginDeferring()) {
+      return null;
+    }
+    return committer;
+  }
+
+  /**
+   * Waits until the writes of the current thread's operation are durable.
+   */
+  private void commitGroup(GroupCommitter committer) throws IOException {
+    if (committer != null) {
+      committer.commit();
+    }
+  }
+
+  /**
+   * Stops deferring the current thread's writes without waiting, if the operation failed before
+   * {@link #commitGroup}.
+   */
+  private void abandonGroupCommit(GroupCommitter committer) {
+    if (committer != null) {
+      committer.abandon();
+    }
+  }
+
   private static final int MAX_CHANNEL_RETRIES = 5;
 
   private void flush(OplogFile olf, boolean doSync) throws IOException {
@@ -5044,12 +5196,21 @@ public class Oplog implements CompactableOplog, Flushable {
           // update bytesFlushed after entire writeBuffer is flushed to fix bug
           // 41201
           olf.bytesFlushed += flushed;
+          olf.forceNeeded = true;
           bb.clear();
         }
         if (doSync) {
           if (SYNC_WRITES) {
-            // Synch Meta Data as well as content
-            olf.channel.force(true);
+            GroupCommitter committer = getParent().getGroupCommitter();
+            if (committer != null && committer.isDeferring()) {
+              // the operation's group commit will force it
+              committer.written(olf, olf.forceNeeded);
+              olf.forceNeeded = false;
+            } else {
+              // Synch Meta Data as well as content
+              olf.channel.force(true);
+              olf.forceNeeded = false;
+            }
           }
         }
       }
@@ -5081,6 +5242,7 @@ public class Oplog implements CompactableOplog, Flushable {
         bbArray[1] = null;
         // update bytesFlushed after entire writeBuffer is flushed to fix bug 41201
         olf.bytesFlushed += flushed;
+        olf.forceNeeded = true;
         b1.clear();
       }
     } catch (ClosedChannelException ignore) {
@@ -5222,6 +5384,77 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Returns a view of the crf mapping positioned at the given record, or null if the record has to
+   * be read from the file. Reads from the mapping need neither the oplog lock nor an open file.
+   */
+  private ByteBuffer getCrfMappingView(long offsetInOplog, int valueLength) {
+    MappedByteBuffer mapping = getCrfMapping();
+    if (mapping == null || offsetInOplog < 0
+        || offsetInOplog + valueLength > mapping.capacity()) {
+      return null;
+    }
+    ByteBuffer view = mapping.duplicate();
+    view.position((int) offsetInOplog);
+    return view;
+  }
+
+  private MappedByteBuffer getCrfMapping() {
+    MappedByteBuffer mapping = crfMapping;
+    if (mapping != null || !getParent().MAP_SEALED_OPLOGS) {
+      return mapping;
+    }
+    // No need to get the backup lock prior to synchronizing (correct lock order) since the
+    // synchronized block does not attempt to get the backup lock (incorrect lock order)
+    synchronized (lock/* crf */) {
+      if (crfMapping != null || crfMappingDisabled || !doneAppending || closed
+          || isRecovering || deleted.get() || crf.f == null) {
+        return crfMapping;
+      }
+      if (crf.bytesFlushed < crf.currSize) {
+        flushAllNoSync(true);
+      }
+      // only map what has been written; the rest of a preblown file may be truncated later
+      long size = Math.min(crf.bytesFlushed, crf.currSize);
+      try (FileChannel channel = FileChannel.open(crf.f.toPath(), StandardOpenOption.READ)) {
+        size = Math.min(size, channel.size());
+        if (size == 0 || size > Integer.MAX_VALUE) {
+          crfMappingDisabled = true;
+          return null;
+        }
+        // the mapping stays valid after the channel is closed
+        crfMapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        stats.incMappedOplogs(1);
+        if (logger.isDebugEnabled()) {
+          logger.debug("Mapped {} bytes of {} for disk store {}", size, crf.f,
+              getParent().getName());
+        }
+      } catch (IOException e) {
+        crfMappingDisabled = true;
+        logger.warn("Could not memory map {} for disk store {}, reading it from the file instead",
+            crf.f, getParent().getName(), e);
+      }
+      return crfMapping;
+    }
+  }
+
+  /**
+   * Stops reads from using the crf mapping. The mapping itself is released by the garbage
+   * collector once reads that already hold it have finished, since unmapping it explicitly could
+   * crash such a read.
+   */
+  private void invalidateCrfMapping() {
+    // No need to get the backup lock prior to synchronizing (correct lock order) since the
+    // synchronized block does not attempt to get the backup lock (incorrect lock order)
+    synchronized (lock/* crf */) {
+      crfMappingDisabled = true;
+      if (crfMapping != null) {
+        crfMapping = null;
+        stats.incMappedOplogs(-1);
+      }
+    }
+  }
+
   private BytesAndBits attemptGet(DiskRegionView dr, long offsetInOplog,
       int valueLength, byte userBits) throws IOException {
     boolean didReopen = false;
@@ -5334,6 +5567,19 @@ public class Oplog implements CompactableOplog, Flushable {
       if (offsetInOplog == -1) {
         return null;
       }
+      ByteBuffer mapped = getCrfMappingView(offsetInOplog, valueLength);
+      if (mapped != null) {
+        byte[] valueBytes = new byte[valueLength];
+        mapped.get(valueBytes);
+        stats.incMappedOplogReads();
+        bb = new BytesAndBits(valueBytes, userBits);
+        // also set the product version for an older product
+        final KnownVersion version = getProductVersionIfOld();
+        if (version != null) {
+          bb.setVersion(version);
+        }
+        return decodeIfEncoded(bb);
+      }
       try {
         for (;;) {
           dr.getCancelCriterion().checkCancelInProgress(null);
@@ -5361,10 +5607,64 @@ public class Oplog implements CompactableOplog, Flushable {
         checkClosed();
         throw ex;
       }
+      bb = decodeIfEncoded(bb);
     }
     return bb;
   }
 
+  /**
+   * Returns the given value as it was before the {@link OplogValueCodec} encoded it, with the
+   * encoded bit cleared.
+   */
+  private BytesAndBits decodeIfEncoded(BytesAndBits bb) {
+    if (!EntryBits.isEncoded(bb.getBits())) {
+      return bb;
+    }
+    BytesAndBits decoded = new BytesAndBits(decodeValue(bb.getBytes()),
+        EntryBits.setEncoded(bb.getBits(), false));
+    decoded.setVersion(bb.getVersion());
+    return decoded;
+  }
+
+  private byte[] decodeValue(byte[] valueBytes) {
+    try {
+      return OplogValueCodec.decode(valueBytes);
+    } catch (DataFormatException ex) {
+      stats.incValueChecksumFailures();
+      throw new DiskAccessException(
+          String.format("Failed decoding a value read from %s: %s", diskFile.getPath(),
+              ex.getMessage()),
+          ex, getParent());
+    }
+  }
+
+  /**
+   * Returns the value to write for the given one once the {@link OplogValueCodec} has encoded it.
+   */
+  private static ValueWrapper encodeValue(OplogValueCodec codec, ValueWrapper value)
+      throws IOException {
+    byte[] bytes;
+    if (value instanceof DiskEntry.Helper.ByteArrayValueWrapper
+        && ((DiskEntry.Helper.ByteArrayValueWrapper) value).bytes.length == value.getLength()) {
+      bytes = ((DiskEntry.Helper.ByteArrayValueWrapper) value).bytes;
+    } else {
+      ByteBuffer bb = ByteBuffer.allocate(value.getLength());
+      value.sendTo(bb, new Flushable() {
+        @Override
+        public void flush() {
+          // the buffer holds the whole value
+        }
+
+        @Override
+        public void flush(ByteBuffer buffer, ByteBuffer chunkbb) {
+          buffer.put(chunkbb);
+        }
+      });
+      bytes = bb.array();
+    }
+    return new DiskEntry.Helper.ByteArrayValueWrapper(value.isSerialized(), codec.encode(bytes));
+  }
+
   /**
    * Extracts the Value byte array & UserBit from the OpLog and inserts it in the wrapper Object of
    * type BytesAndBitsForCompactor which is passed
@@ -5399,6 +5699,19 @@ public class Oplog implements CompactableOplog, Flushable {
                                                          */);
       }
     } else {
+      ByteBuffer mapped = getCrfMappingView(offsetInOplog, valueLength);
+      if (mapped != null) {
+        final byte[] valueBytes;
+        if (wrapper.getBytes().length < valueLength) {
+          valueBytes = new byte[valueLength];
+        } else {
+          valueBytes = wrapper.getBytes();
+        }
+        mapped.get(valueBytes, 0, valueLength);
+        stats.incMappedOplogReads();
+        wrapper.setData(valueBytes, userBits, valueLength, true);
+        return true;
+      }
       try {
         // No need to get the backup lock prior to synchronizing (correct lock order) since the
         // synchronized block does not attempt to get the backup lock (incorrect lock order)
@@ -5509,6 +5822,7 @@ public class Oplog implements CompactableOplog, Flushable {
   }
 
   public void deleteCRF() {
+    invalidateCrfMapping();
     oplogSet.crfDelete(oplogId);
     if (!getInternalCache().getBackupService().deferCrfDelete(getParent(), this)) {
       deleteCRFFileOnly();
@@ -5688,6 +6002,22 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  @Override
+  public double getGarbageRatio() {
+    long total = totalCount.get();
+    if (total <= 0) {
+      // nothing has to be copied forward
+      return 1.0;
+    }
+    long live = Math.min(Math.max(totalLiveCount.get(), 0), total);
+    return (double) (total - live) / total;
+  }
+
+  @Override
+  public long getGarbageBytes() {
+    return (long) (getOplogSize() * getGarbageRatio());
+  }
+
   public boolean hadLiveEntries() {
     return totalCount.get() != 0;
   }
@@ -5822,7 +6152,7 @@ public class Oplog implements CompactableOplog, Flushable {
     compacting = true;
   }
 
-  private final Lock compactorLock = new ReentrantLock();
+  private final ReentrantLock compactorLock = new ReentrantLock();
 
   private void lockCompactor() {
     compactorLock.lock();
@@ -5888,6 +6218,7 @@ public class Oplog implements CompactableOplog, Flushable {
             }
             lastDe = de;
             didCompact = false;
+            int compactedBytes = 0;
             synchronized (de) {
               DiskId did = de.getDiskId();
               assert did != null;
@@ -5908,6 +6239,8 @@ public class Oplog implements CompactableOplog, Flushable {
                     }
                     continue;
                   }
+                  compactedBytes = wrapper.getOffHeapData() != null
+                      ? wrapper.getOffHeapData().getDataSize() : wrapper.getValidLength();
                   // write it to the current oplog
                   getOplogSet().getChild().copyForwardModifyForCompact(dr, de, wrapper);
                   // the did's oplogId will now be set to the current active oplog
@@ -5918,6 +6251,7 @@ public class Oplog implements CompactableOplog, Flushable {
             if (didCompact) {
               totalCount++;
               getStats().endCompactionUpdate(opStart);
+              compactor.compacted(compactedBytes, compactorLock::hasQueuedThreads);
               opStart = getStats().getStatTime();
               // Check if the value byte array happens to be any of the
               // constant
@@ -6356,7 +6690,7 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
-  private static class OplogFile {
+  private static class OplogFile implements GroupCommitter.SyncTarget {
     public File f;
     public UninterruptibleRandomAccessFile raf;
     public volatile boolean RAFClosed = true;
@@ -6365,6 +6699,23 @@ public class Oplog implements CompactableOplog, Flushable {
     public long currSize;
     public long bytesFlushed;
     public boolean unpreblown;
+    /** True if bytes have been written to the channel since it was last forced */
+    public boolean forceNeeded;
+
+    @Override
+    public void sync() throws IOException {
+      try {
+        channel.force(true);
+      } catch (ClosedChannelException e) {
+        // the channel may have been closed without a force, for example when an inactive oplog
+        // is closed, so force the file through a channel of our own
+        try (FileChannel syncChannel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+          syncChannel.force(true);
+        } catch (NoSuchFileException ignore) {
+          // the oplog has been deleted, so its records are no longer needed
+        }
+      }
+    }
   }
 
   private static class KRFile {
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+
+import org.jetbrains.annotations.Nullable;
+
+import org.apache.geode.compression.CompressionException;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.SnappyCompressor;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Encodes the values written to oplogs so that each carries a checksum and, optionally, is
+ * compressed. Encoded values are written with the {@link EntryBits#isEncoded encoded} user bit set
+ * and are laid out as:
+ *
+ * <pre>
+ * byte   codec     NONE or SNAPPY
+ * int    length    length of the value before encoding
+ * int    checksum  CRC32 of the value before encoding
+ * byte[] payload   the value, compressed with the codec
+ * </pre>
+ *
+ * <p>
+ * Compression uses the same {@link SnappyCompressor} regions can be configured with. Values
+ * shorter than {@value #MIN_COMPRESS_LENGTH} bytes, or that do not get smaller, are stored
+ * uncompressed so that they only pay for the header.
+ *
+ * <p>
+ * Values written without the encoded bit are read as they are, so oplogs written before encoding
+ * was enabled are recovered as before. Oplogs holding encoded values cannot be read by releases
+ * that predate this format.
+ *
+ * @since Geode 1.16
+ */
+class OplogValueCodec {
+  static final String CHECKSUM_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.checksumValues";
+
+  static final String COMPRESS_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.compressValues";
+
+  static final byte NONE = 0;
+  static final byte SNAPPY = 1;
+
+  static final int HEADER_LENGTH = 1 + 4 + 4;
+
+  static final int MIN_COMPRESS_LENGTH = 64;
+
+  private static final Compressor SNAPPY_COMPRESSOR = new SnappyCompressor();
+
+  private final boolean compress;
+  private final DiskStoreStats stats;
+
+  OplogValueCodec(boolean compress, DiskStoreStats stats) {
+    this.compress = compress;
+    this.stats = stats;
+  }
+
+  /**
+   * Returns a codec configured from system properties, or null if values are to be written as
+   * they are. Compressing values implies checksumming them.
+   */
+  static @Nullable OplogValueCodec create(DiskStoreStats stats) {
+    boolean compress = DiskStoreImpl.getBoolean(COMPRESS_PROPERTY, false);
+    if (!compress && !DiskStoreImpl.getBoolean(CHECKSUM_PROPERTY, false)) {
+      return null;
+    }
+    return new OplogValueCodec(compress, stats);
+  }
+
+  /**
+   * Returns the encoded form of the given value.
+   */
+  byte[] encode(byte[] value) {
+    byte codec = NONE;
+    byte[] payload = value;
+    if (compress && value.length >= MIN_COMPRESS_LENGTH) {
+      byte[] compressed = SNAPPY_COMPRESSOR.compress(value);
+      if (compressed.length < value.length) {
+        codec = SNAPPY;
+        payload = compressed;
+        stats.incCompressedValueBytesSaved(value.length - compressed.length);
+      }
+    }
+    ByteBuffer encoded = ByteBuffer.allocate(HEADER_LENGTH + payload.length);
+    encoded.put(codec);
+    encoded.putInt(value.length);
+    encoded.putInt(checksum(value));
+    encoded.put(payload);
+    return encoded.array();
+  }
+
+  /**
+   * Returns the value the given bytes were encoded from.
+   *
+   * @throws DataFormatException if the bytes are not a valid encoding or their checksum does not
+   *         match
+   */
+  static byte[] decode(byte[] encoded) throws DataFormatException {
+    if (encoded.length < HEADER_LENGTH) {
+      throw new DataFormatException(
+          "Encoded value of " + encoded.length + " bytes is shorter than its header");
+    }
+    ByteBuffer bb = ByteBuffer.wrap(encoded);
+    byte codec = bb.get();
+    int length = bb.getInt();
+    int checksum = bb.getInt();
+    byte[] value;
+    switch (codec) {
+      case NONE:
+        value = Arrays.copyOfRange(encoded, HEADER_LENGTH, encoded.length);
+        break;
+      case SNAPPY:
+        try {
+          value = SNAPPY_COMPRESSOR
+              .decompress(Arrays.copyOfRange(encoded, HEADER_LENGTH, encoded.length));
+        } catch (CompressionException e) {
+          DataFormatException ex = new DataFormatException("Could not decompress value");
+          ex.initCause(e);
+          throw ex;
+        }
+        break;
+      default:
+        throw new DataFormatException("Unknown value codec " + codec);
+    }
+    if (value.length != length || checksum(value) != checksum) {
+      throw new DataFormatException("Checksum of value does not match");
+    }
+    return value;
+  }
+
+  private static int checksum(byte[] value) {
+    CRC32 crc = new CRC32();
+    crc.update(value, 0, value.length);
+    return (int) crc.getValue();
+  }
+}
@@ -23,7 +23,6 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.Logger;
@@ -40,6 +39,8 @@ import org.apache.geode.internal.cache.entries.DiskEntry.Helper.Flushable;
 import org.apache.geode.internal.cache.entries.DiskEntry.Helper.ValueWrapper;
 import org.apache.geode.internal.cache.persistence.BytesAndBits;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
+import org.apache.geode.internal.cache.persistence.PositionalReadChannel;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.logging.internal.log4j.api.LogService;
 
@@ -325,6 +326,54 @@ class OverflowOplog implements CompactableOplog, Flushable {
     return bb;
   }
 
+  @Override
+  public OplogFileRegion getFileRegion(DiskRegionView dr, DiskId id) {
+    OverflowOplog retryOplog = null;
+    long offset;
+    int valueLength;
+    byte userBits;
+    synchronized (id) {
+      long opId = id.getOplogId();
+      if (opId != getOplogId()) {
+        // the oplog changed on us so we need to do a recursive call after unsyncing
+        retryOplog = getOplogSet().getChild((int) opId);
+        offset = -1;
+        valueLength = 0;
+        userBits = 0;
+      } else {
+        // fetch these while synced so they will be consistent with oplogId
+        offset = id.getOffsetInOplog();
+        valueLength = id.getValueLength();
+        userBits = id.getUserBits();
+      }
+    }
+    if (retryOplog != null) {
+      return retryOplog.getFileRegion(dr, id);
+    }
+    if (offset < 0 || valueLength == 0 || EntryBits.isAnyInvalid(userBits)
+        || EntryBits.isTombstone(userBits)) {
+      return null;
+    }
+    synchronized (crf) {
+      if ((offset + valueLength) > crf.bytesFlushed && !closed) {
+        flushAll(); // fix for bug 41205
+      }
+      if ((offset + valueLength) > crf.bytesFlushed) {
+        return null;
+      }
+    }
+    return new OplogFileRegion(crf, this::getCrfReadChannel, crf.f, offset, valueLength,
+        userBits);
+  }
+
+  /**
+   * Returns the crf channel for positional reads, or null if the crf has been closed. Must be
+   * called with crf synchronized.
+   */
+  private PositionalReadChannel getCrfReadChannel() {
+    return crf.RAFClosed ? null : PositionalReadChannel.of(crf.channel);
+  }
+
   /**
    * Returns the object stored on disk with the given id. This method is used for testing purposes
    * only. As such, it bypasses the buffer and goes directly to the disk. This is not a thread safe
@@ -1074,6 +1123,22 @@ class OverflowOplog implements CompactableOplog, Flushable {
     }
   }
 
+  @Override
+  public double getGarbageRatio() {
+    long total = totalCount.get();
+    if (total <= 0) {
+      // nothing has to be copied forward
+      return 1.0;
+    }
+    long live = Math.min(Math.max(totalLiveCount.get(), 0), total);
+    return (double) (total - live) / total;
+  }
+
+  @Override
+  public long getGarbageBytes() {
+    return (long) (getOplogSize() * getGarbageRatio());
+  }
+
   public boolean hasNoLiveValues() {
     return totalLiveCount.get() <= 0;
   }
@@ -1234,7 +1299,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
     return v != null && v == Boolean.TRUE;
   }
 
-  private final Lock compactorLock = new ReentrantLock();
+  private final ReentrantLock compactorLock = new ReentrantLock();
 
   private void lockCompactor() {
     compactorLock.lock();
@@ -1282,6 +1347,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
           }
           lastDe = de;
           didCompact = false;
+          int compactedBytes = 0;
           synchronized (de) { // fix for bug 41797
             DiskId did = de.getDiskId();
             assert did != null;
@@ -1321,6 +1387,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
                 }
                 // write it to the current oplog
                 getOplogSet().copyForwardForOverflowCompact(de, valueBytes, length, userBits);
+                compactedBytes = length;
                 // the did's oplogId will now be set to the current active oplog
                 didCompact = true;
               }
@@ -1329,6 +1396,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
           if (didCompact) {
             totalCount++;
             getStats().endCompactionUpdate(opStart);
+            compactor.compacted(compactedBytes, compactorLock::hasQueuedThreads);
             opStart = getStats().getStatTime();
             // Check if the value byte array happens to be any of the constant
             // static byte arrays or references the value byte array of underlying RegionEntry.
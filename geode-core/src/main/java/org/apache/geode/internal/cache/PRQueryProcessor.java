@@ -28,8 +28,11 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.Logger;
 
@@ -39,6 +42,7 @@ import org.apache.geode.annotations.internal.MutableForTesting;
 import org.apache.geode.cache.CacheRuntimeException;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.query.QueryException;
+import org.apache.geode.cache.query.QueryExecutionLowMemoryException;
 import org.apache.geode.cache.query.QueryInvocationTargetException;
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.internal.CompiledSelect;
@@ -65,6 +69,11 @@ import org.apache.geode.util.internal.GeodeGlossary;
  *
  * The QueryTasks add results directly to a results queue. The BucketQueryResult is used not only to
  * indicate completion, and holds an exception if there one occurred while processing a query.
+ *
+ * Unless {@code PRQueryExecutor} is configured with more than one thread, the buckets of a query
+ * are scanned by the querying thread, helped by as many threads of a shared work-stealing pool as
+ * {@link #MAX_PARALLELISM} allows and the pool has idle. Each thread takes the next bucket not yet
+ * taken, so threads that are given cheap buckets go on to take more of them.
  */
 public class PRQueryProcessor {
   private static final Logger logger = LogService.getLogger();
@@ -78,6 +87,23 @@ public class PRQueryProcessor {
   @MutableForTesting
   public static int TEST_NUM_THREADS = 0;
 
+  /**
+   * The maximum number of threads, the querying thread included, that scan the local buckets of a
+   * single query in parallel. Set it to 1 to scan them in the querying thread only.
+   */
+  public static final int MAX_PARALLELISM =
+      getInteger(GeodeGlossary.GEMFIRE_PREFIX + "PRQueryProcessor.maxParallelism",
+          Runtime.getRuntime().availableProcessors());
+
+  /* For Test purpose */
+  @MutableForTesting
+  public static int TEST_MAX_PARALLELISM = 0;
+
+  /**
+   * The fewest buckets worth scanning in a thread of their own.
+   */
+  static final int MIN_BUCKETS_PER_THREAD = 2;
+
   private PartitionedRegionDataStore _prds;
   private PartitionedRegion pr;
   private final DefaultQuery query;
@@ -86,7 +112,7 @@ public class PRQueryProcessor {
   private final int numBucketsProcessed = 0;
   private volatile ObjectType resultType = null;
 
-  private boolean isIndexUsedForLocalQuery = false;
+  private volatile boolean isIndexUsedForLocalQuery = false;
 
   public PRQueryProcessor(PartitionedRegionDataStore prDS, DefaultQuery query, Object[] parameters,
       List<Integer> buckets) {
@@ -117,14 +143,81 @@ public class PRQueryProcessor {
    */
   public boolean executeQuery(Collection<Collection> resultCollector)
       throws QueryException, InterruptedException, ForceReattemptException {
+    int parallelism;
     if (NUM_THREADS > 1 || TEST_NUM_THREADS > 1) {
       executeWithThreadPool(resultCollector);
+    } else if ((parallelism = getParallelism()) > 1) {
+      executeInParallel(resultCollector, parallelism);
     } else {
       executeSequentially(resultCollector, _bucketsToQuery);
     }
     return resultType.isStructType();
   }
 
+  /**
+   * Returns the number of threads to scan the buckets with, which is limited by the number of
+   * buckets and by the number of idle threads in the scan pool.
+   */
+  private int getParallelism() {
+    int maxParallelism = TEST_MAX_PARALLELISM > 0 ? TEST_MAX_PARALLELISM : MAX_PARALLELISM;
+    int parallelism = Math.min(maxParallelism, _bucketsToQuery.size() / MIN_BUCKETS_PER_THREAD);
+    if (parallelism <= 1) {
+      return 1;
+    }
+    return Math.min(parallelism, PRQueryScanPool.getIdleThreads() + 1);
+  }
+
+  private void executeInParallel(Collection<Collection> resultCollector, int parallelism)
+      throws QueryException, InterruptedException, ForceReattemptException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+
+    // monitored as a whole so that the query is canceled once its time is up, however many
+    // buckets each thread has scanned by then
+    ExecutionContext queryContext = new QueryExecutionContext(parameters, pr.getCache(), query);
+    QueryMonitor queryMonitor = getQueryMonitor();
+    ParallelBucketScan scan = new ParallelBucketScan(resultCollector, queryContext);
+    List<Future<?>> helpers = new ArrayList<>(parallelism - 1);
+    try {
+      if (queryMonitor != null) {
+        queryMonitor.monitorQueryExecution(queryContext);
+      }
+      boolean pdxReadSerialized = pr.getCache().getPdxReadSerializedOverride();
+      for (int i = 1; i < parallelism; i++) {
+        Future<?> helper = PRQueryScanPool.submit(() -> scan.help(pdxReadSerialized));
+        if (helper == null) {
+          // the pool has been shut down, so leave the remaining buckets to this thread
+          break;
+        }
+        helpers.add(helper);
+      }
+      scan.scanBuckets();
+      for (Future<?> helper : helpers) {
+        helper.get();
+      }
+    } catch (ExecutionException e) {
+      throw new InternalGemFireException(
+          "Got unexpected exception while executing query on partitioned region bucket",
+          e.getCause());
+    } finally {
+      // keeps helpers from taking more buckets if this thread gave up early
+      scan.stop();
+      if (queryMonitor != null) {
+        queryMonitor.stopMonitoringQueryExecution(queryContext);
+      }
+    }
+    scan.throwFailure();
+
+    CompiledSelect cs = query.getSimpleSelect();
+    if (cs != null && (cs.isOrderBy() || cs.isGroupBy())) {
+      int limit = query.getLimit(parameters);
+      Collection mergedResults = coalesceOrderedResults(resultCollector, queryContext, cs, limit);
+      resultCollector.clear();
+      resultCollector.add(mergedResults);
+    }
+  }
+
   private void executeWithThreadPool(Collection<Collection> resultCollector)
       throws QueryException, InterruptedException, ForceReattemptException {
     if (Thread.interrupted()) {
@@ -234,10 +327,7 @@ public class PRQueryProcessor {
       ExecutionContext context)
       throws ForceReattemptException, QueryException {
     // Check if QueryMonitor is enabled, if so add query to be monitored.
-    QueryMonitor queryMonitor = null;
-    if (GemFireCacheImpl.getInstance() != null) {
-      queryMonitor = GemFireCacheImpl.getInstance().getQueryMonitor();
-    }
+    QueryMonitor queryMonitor = getQueryMonitor();
 
     try {
       if (queryMonitor != null) {
@@ -251,7 +341,9 @@ public class PRQueryProcessor {
         resultType = ((SelectResults) results).getCollectionType().getElementType();
         resultCollector.add((Collection) results);
       }
-      isIndexUsedForLocalQuery = ((QueryExecutionContext) context).isIndexUsed();
+      if (((QueryExecutionContext) context).isIndexUsed()) {
+        isIndexUsedForLocalQuery = true;
+      }
 
     } catch (BucketMovedException bme) {
       if (logger.isDebugEnabled()) {
@@ -276,6 +368,13 @@ public class PRQueryProcessor {
     }
   }
 
+  private static QueryMonitor getQueryMonitor() {
+    if (GemFireCacheImpl.getInstance() != null) {
+      return GemFireCacheImpl.getInstance().getQueryMonitor();
+    }
+    return null;
+  }
+
   private List<QueryTask> buildCallableTaskList(Collection<Collection> resultsColl) {
     List<QueryTask> callableTasks = new ArrayList<>();
     for (Integer bId : _bucketsToQuery) {
@@ -290,10 +389,12 @@ public class PRQueryProcessor {
 
   public static void shutdown() {
     PRQueryExecutor.shutdown();
+    PRQueryScanPool.shutdown();
   }
 
   public static void shutdownNow() {
     PRQueryExecutor.shutdownNow();
+    PRQueryScanPool.shutdownNow();
   }
 
   /**
@@ -340,6 +441,152 @@ public class PRQueryProcessor {
     }
   }
 
+  /**
+   * A work-stealing pool, shared by all queries, of threads that help querying threads scan their
+   * buckets.
+   */
+  static class PRQueryScanPool {
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    @MakeNotStatic
+    private static ExecutorService pool = null;
+
+    @MakeNotStatic
+    private static final AtomicInteger busyThreads = new AtomicInteger();
+
+    static synchronized void shutdown() {
+      if (pool != null) {
+        pool.shutdown();
+      }
+    }
+
+    static synchronized void shutdownNow() {
+      if (pool != null) {
+        pool.shutdownNow();
+      }
+    }
+
+    /**
+     * Returns the number of threads in the pool not helping a query, which is only an estimate,
+     * since other queries may be submitting tasks at the same time.
+     */
+    static int getIdleThreads() {
+      return Math.max(0, POOL_SIZE - busyThreads.get());
+    }
+
+    /**
+     * Runs the given task in the pool, creating the pool if needed.
+     *
+     * @return the future of the task, or null if the pool has been shut down
+     */
+    static Future<?> submit(Runnable task) {
+      ExecutorService executor;
+      synchronized (PRQueryScanPool.class) {
+        if (pool == null) {
+          pool = LoggingExecutors.newWorkStealingPool("PRQueryScanner-", POOL_SIZE);
+        }
+        executor = pool;
+      }
+      busyThreads.incrementAndGet();
+      try {
+        return executor.submit(() -> {
+          try {
+            task.run();
+          } finally {
+            busyThreads.decrementAndGet();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        busyThreads.decrementAndGet();
+        return null;
+      }
+    }
+  }
+
+  /**
+   * The buckets of a query that are being scanned by several threads. Each thread repeatedly takes
+   * the next bucket that no thread has taken yet and queries it on its own, so that the results of
+   * every bucket can be merged like those of {@link QueryTask}s. Threads stop taking buckets once
+   * the query has been canceled, memory is low, or a bucket failed.
+   */
+  private class ParallelBucketScan {
+    private final Collection<Collection> resultCollector;
+    private final ExecutionContext queryContext;
+    private final AtomicInteger nextBucket = new AtomicInteger();
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private volatile boolean stopped;
+    private volatile boolean lowMemory;
+
+    ParallelBucketScan(Collection<Collection> resultCollector, ExecutionContext queryContext) {
+      this.resultCollector = resultCollector;
+      this.queryContext = queryContext;
+    }
+
+    /**
+     * Scans buckets in a thread of the scan pool, reading PDX as the querying thread does.
+     */
+    void help(boolean pdxReadSerialized) {
+      InternalCache cache = pr.getCache();
+      Boolean initialPdxReadSerialized = cache.getPdxReadSerializedOverride();
+      cache.setPdxReadSerializedOverride(pdxReadSerialized);
+      try {
+        scanBuckets();
+      } finally {
+        cache.setPdxReadSerializedOverride(initialPdxReadSerialized);
+      }
+    }
+
+    void scanBuckets() {
+      int index;
+      while (!stopped && (index = nextBucket.getAndIncrement()) < _bucketsToQuery.size()) {
+        if (queryContext.isCanceled()) {
+          stop();
+          return;
+        }
+        if (QueryMonitor.isLowMemory()) {
+          lowMemory = true;
+          stop();
+          return;
+        }
+        ExecutionContext context = new QueryExecutionContext(parameters, pr.getCache(), query);
+        context.setBucketList(Collections.singletonList(_bucketsToQuery.get(index)));
+        try {
+          executeQueryOnBuckets(resultCollector, context);
+        } catch (ForceReattemptException | QueryException | CacheRuntimeException e) {
+          failure.compareAndSet(null, e);
+          stop();
+        }
+      }
+    }
+
+    void stop() {
+      stopped = true;
+    }
+
+    /**
+     * Throws the reason the scan stopped before all buckets were scanned, if any.
+     */
+    void throwFailure() throws QueryException, ForceReattemptException {
+      if (queryContext.isCanceled()) {
+        throw queryContext.getQueryCanceledException();
+      }
+      if (lowMemory) {
+        String reason = String.format(
+            "Query execution canceled due to memory threshold crossed in system, memory used: %s bytes.",
+            QueryMonitor.getMemoryUsedBytes());
+        throw new QueryExecutionLowMemoryException(reason);
+      }
+      Exception e = failure.get();
+      if (e instanceof ForceReattemptException) {
+        throw (ForceReattemptException) e;
+      } else if (e instanceof QueryException) {
+        throw (QueryException) e;
+      } else if (e instanceof CacheRuntimeException) {
+        throw (CacheRuntimeException) e;
+      }
+    }
+  }
+
   /**
    * Status token placed in results stream to track completion of query results for a given bucket
    */
@@ -131,6 +131,7 @@ import org.apache.geode.cache.query.internal.ResultsCollectionWrapper;
 import org.apache.geode.cache.query.internal.ResultsSet;
 import org.apache.geode.cache.query.internal.index.AbstractIndex;
 import org.apache.geode.cache.query.internal.index.IndexCreationData;
+import org.apache.geode.cache.query.internal.index.IndexCreationExecutor;
 import org.apache.geode.cache.query.internal.index.IndexManager;
 import org.apache.geode.cache.query.internal.index.IndexUtils;
 import org.apache.geode.cache.query.internal.index.PartitionedIndex;
@@ -227,6 +228,7 @@ import org.apache.geode.internal.cache.partitioned.SizeMessage;
 import org.apache.geode.internal.cache.partitioned.SizeMessage.SizeResponse;
 import org.apache.geode.internal.cache.partitioned.colocation.ColocationLogger;
 import org.apache.geode.internal.cache.partitioned.colocation.ColocationLoggerFactory;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 import org.apache.geode.internal.cache.persistence.PRPersistentConfig;
 import org.apache.geode.internal.cache.tier.InterestType;
 import org.apache.geode.internal.cache.tier.sockets.BaseCommand;
@@ -3354,6 +3356,24 @@ public class PartitionedRegion extends LocalRegion
     return value;
   }
 
+  /**
+   * Only values in a local bucket can be sent from their oplog.
+   */
+  @Override
+  public OplogFileRegion getValueFileRegionForClient(Object key, int minLength,
+      VersionTagHolder versionHolder) {
+    PartitionedRegionDataStore dataStore = getDataStore();
+    if (dataStore == null || isTX()) {
+      return null;
+    }
+    validateKey(key);
+    BucketRegion bucket = dataStore.getLocalBucketByKey(key);
+    if (bucket == null) {
+      return null;
+    }
+    return bucket.getValueFileRegionForClient(key, minLength, versionHolder);
+  }
+
   @Override
   protected long startGet() {
     return 0;
@@ -8638,29 +8658,63 @@ public class PartitionedRegion extends LocalRegion
     boolean throwException = false;
     if (getDataStore() != null && indexes.size() > 0) {
       Set localBuckets = getDataStore().getAllLocalBuckets();
-      for (final Object localBucket : localBuckets) {
-        Map.Entry entry = (Map.Entry) localBucket;
-        Region bucket = (Region) entry.getValue();
-
-        if (bucket == null) {
-          continue;
-        }
-        IndexManager bucketIndexManager = IndexUtils.getIndexManager(cache, bucket, true);
-        if (bucketIndexManager == null) {
-          cache.getCancelCriterion().checkCancelInProgress();
-        }
-        Set<Index> bucketIndexes = getBucketIndexesForPRIndexes(bucket, indexes);
-        try {
-          bucketIndexManager.populateIndexes(bucketIndexes);
-        } catch (MultiIndexCreationException ex) {
-          exceptionsMap.putAll(ex.getExceptionsMap());
-          throwException = true;
+      AtomicBoolean failed = new AtomicBoolean();
+      // the buckets are populated in parallel, each by a single pass over its entries
+      try (IndexCreationExecutor executor = new IndexCreationExecutor()) {
+        for (final Object localBucket : localBuckets) {
+          Map.Entry entry = (Map.Entry) localBucket;
+          Region bucket = (Region) entry.getValue();
+
+          if (bucket == null) {
+            continue;
+          }
+          IndexManager bucketIndexManager = IndexUtils.getIndexManager(cache, bucket, true);
+          if (bucketIndexManager == null) {
+            cache.getCancelCriterion().checkCancelInProgress();
+          }
+          Set<Index> bucketIndexes = getBucketIndexesForPRIndexes(bucket, indexes);
+          executor.submit(() -> {
+            try {
+              bucketIndexManager.populateIndexes(bucketIndexes);
+            } catch (MultiIndexCreationException ex) {
+              synchronized (exceptionsMap) {
+                exceptionsMap.putAll(ex.getExceptionsMap());
+              }
+              failed.set(true);
+            }
+          });
         }
+        executor.awaitCompletion();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IndexInvalidException(e);
+      } catch (Exception e) {
+        throw new IndexInvalidException(e);
       }
+      throwException = failed.get();
     }
     return throwException;
   }
 
+  /**
+   * Waits for the tasks creating bucket indexes, and throws the first of their failures.
+   */
+  private void awaitIndexCreation(IndexCreationExecutor executor)
+      throws IndexNameConflictException, IndexExistsException {
+    try {
+      executor.awaitCompletion();
+    } catch (IndexNameConflictException | IndexExistsException | RuntimeException e) {
+      throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IndexInvalidException(e);
+    } catch (Exception e) {
+      throw new IndexInvalidException(e);
+    }
+  }
+
   @VisibleForTesting
   Set<Index> getBucketIndexesForPRIndexes(Region bucket, Set<Index> indexes) {
     Set<Index> bucketIndexes = new HashSet<>();
@@ -9712,31 +9766,36 @@ public class PartitionedRegion extends LocalRegion
       if (!it.hasNext()) {
         parIndex.setPopulated(true);
       }
-      while (it.hasNext()) {
-        Map.Entry entry = (Map.Entry) it.next();
-        Region bucket = (Region) entry.getValue();
-
-        if (bucket == null) {
-          continue;
-        }
+      // the index of each bucket is created and loaded in parallel
+      try (IndexCreationExecutor executor = new IndexCreationExecutor()) {
+        while (it.hasNext()) {
+          Map.Entry entry = (Map.Entry) it.next();
+          Region bucket = (Region) entry.getValue();
 
-        ExecutionContext externalContext = new ExecutionContext(null, cache);
-        externalContext.setBucketRegion(PartitionedRegion.this, (BucketRegion) bucket);
-        IndexManager indMng = IndexUtils.getIndexManager(cache, bucket, true);
-        try {
-          Index bucketIndex = indMng.createIndex(indexName, indexType, indexedExpression,
-              fromClause, imports, externalContext, parIndex, loadEntries);
-          // parIndex.addToBucketIndexes(bucketIndex);
-        } catch (IndexNameConflictException ince) {
-          if (!remotelyOriginated) {
-            throw ince;
-          }
-        } catch (IndexExistsException iee) {
-          if (!remotelyOriginated) {
-            throw iee;
+          if (bucket == null) {
+            continue;
           }
-        }
-      } // End of bucket list
+
+          ExecutionContext externalContext = new ExecutionContext(null, cache);
+          externalContext.setBucketRegion(PartitionedRegion.this, (BucketRegion) bucket);
+          IndexManager indMng = IndexUtils.getIndexManager(cache, bucket, true);
+          executor.submit(() -> {
+            try {
+              indMng.createIndex(indexName, indexType, indexedExpression, fromClause, imports,
+                  externalContext, parIndex, loadEntries);
+            } catch (IndexNameConflictException ince) {
+              if (!remotelyOriginated) {
+                throw ince;
+              }
+            } catch (IndexExistsException iee) {
+              if (!remotelyOriginated) {
+                throw iee;
+              }
+            }
+          });
+        } // End of bucket list
+        awaitIndexCreation(executor);
+      }
       parIndex.markValid(true);
       return parIndex;
     }
@@ -34,6 +34,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.DiskAccessException;
@@ -72,6 +73,9 @@ public class PersistentOplogSet implements OplogSet {
   private final Map<Long, DiskRecoveryStore> pendingRecoveryMap = new HashMap<>();
   private final Map<Long, DiskRecoveryStore> currentRecoveryMap = new HashMap<>();
 
+  /** Reads oplog files ahead of the recovery in progress, if enabled. */
+  private RecoveryPrefetcher recoveryPrefetcher;
+
   private final AtomicBoolean alreadyRecoveredOnce = new AtomicBoolean(false);
 
   private final PrintStream out;
@@ -456,36 +460,48 @@ public class PersistentOplogSet implements OplogSet {
 
     if (!oplogSet.isEmpty()) {
       long startOpLogRecovery = System.currentTimeMillis();
-
-      // first figure out all entries that have been destroyed
-      boolean latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        byteCount += oplog.recoverDrf(deletedIds, getAlreadyRecoveredOnce().get(), latestOplog);
-        latestOplog = false;
-        if (!getAlreadyRecoveredOnce().get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+      int oplogsPending = oplogSet.size();
+      parent.getStats().incRecoveryOplogsPending(oplogsPending);
+      recoveryPrefetcher = createRecoveryPrefetcher(oplogSet);
+      try {
+        // first figure out all entries that have been destroyed
+        boolean latestOplog = true;
+        for (Oplog oplog : oplogSet) {
+          byteCount += oplog.recoverDrf(deletedIds, getAlreadyRecoveredOnce().get(), latestOplog);
+          latestOplog = false;
+          if (!getAlreadyRecoveredOnce().get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
         }
-      }
 
-      parent.incDeadRecordCount(deletedIds.size());
+        parent.incDeadRecordCount(deletedIds.size());
 
-      // now figure out live entries
-      latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        long startOpLogRead = parent.getStats().startOplogRead();
-        long bytesRead = oplog.recoverCrf(deletedIds, recoverValues(), recoverValuesSync(),
-            getAlreadyRecoveredOnce().get(), oplogsNeedingValueRecovery, latestOplog);
-        latestOplog = false;
-        if (!getAlreadyRecoveredOnce().get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+        // now figure out live entries
+        latestOplog = true;
+        for (Oplog oplog : oplogSet) {
+          long startOpLogRead = parent.getStats().startOplogRead();
+          long bytesRead = oplog.recoverCrf(deletedIds, recoverValues(), recoverValuesSync(),
+              getAlreadyRecoveredOnce().get(), oplogsNeedingValueRecovery, latestOplog);
+          latestOplog = false;
+          if (!getAlreadyRecoveredOnce().get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
+          byteCount += bytesRead;
+          parent.getStats().endOplogRead(startOpLogRead, bytesRead);
+          parent.getStats().incRecoveryOplogsPending(-1);
+          oplogsPending--;
+
+          // Callback to the disk regions to indicate the oplog is recovered
+          // Used for offline export
+          for (DiskRecoveryStore drs : currentRecoveryMap.values()) {
+            drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          }
         }
-        byteCount += bytesRead;
-        parent.getStats().endOplogRead(startOpLogRead, bytesRead);
-
-        // Callback to the disk regions to indicate the oplog is recovered
-        // Used for offline export
-        for (DiskRecoveryStore drs : currentRecoveryMap.values()) {
-          drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+      } finally {
+        parent.getStats().incRecoveryOplogsPending(-oplogsPending);
+        if (recoveryPrefetcher != null) {
+          recoveryPrefetcher.close();
+          recoveryPrefetcher = null;
         }
       }
 
@@ -538,6 +554,38 @@ public class PersistentOplogSet implements OplogSet {
     return byteCount;
   }
 
+  /**
+   * Returns a prefetcher for the files the first recovery of this disk store reads, in the order it
+   * reads them, or null if they are not to be prefetched.
+   */
+  @Nullable
+  private RecoveryPrefetcher createRecoveryPrefetcher(TreeSet<Oplog> oplogSet) {
+    if (getAlreadyRecoveredOnce().get() || parent.isOffline()) {
+      return null;
+    }
+    List<File> files = new ArrayList<>();
+    for (Oplog oplog : oplogSet) {
+      if (oplog.getDrfFile() != null) {
+        files.add(oplog.getDrfFile());
+      }
+    }
+    if (!recoverValuesSync()) {
+      for (Oplog oplog : oplogSet) {
+        files.add(oplog.getKrfFile());
+      }
+    }
+    return RecoveryPrefetcher.create(files, parent.getStats());
+  }
+
+  /**
+   * Returns the prefetcher of the recovery in progress, if any. Only to be used by the recovering
+   * thread.
+   */
+  @Nullable
+  RecoveryPrefetcher getRecoveryPrefetcher() {
+    return recoveryPrefetcher;
+  }
+
   private boolean recoverValuesSync() {
     return parent.RECOVER_VALUES_SYNC;
   }
@@ -76,6 +76,9 @@ public class PoolStats {
   private static final int clientOpTimedOutId;
   private static final int clientOpFailedId;
   private static final int clientOpDurationId;
+  private static final int batchedGetsId;
+  private static final int getBatchesId;
+  private static final int getBatchWaitTimeId;
 
   static {
     String statName = "PoolStats";
@@ -145,7 +148,15 @@ public class PoolStats {
             f.createLongCounter("clientOpSendTime",
                 "Total amount of time, in nanoseconds spent doing clientOp sends", "nanoseconds"),
             f.createLongCounter("clientOpTime",
-                "Total amount of time, in nanoseconds spent doing clientOps", "nanoseconds"),});
+                "Total amount of time, in nanoseconds spent doing clientOps", "nanoseconds"),
+            f.createLongCounter("batchedGets",
+                "Total number of single key gets that were sent to a server as part of a getAll batch",
+                "gets"),
+            f.createLongCounter("getBatches",
+                "Total number of getAll batches sent on behalf of single key gets", "batches"),
+            f.createLongCounter("getBatchWaitTime",
+                "Total amount of time, in nanoseconds, single key gets spent waiting for their batch to be sent",
+                "nanoseconds"),});
 
     // Initialize id fields
     _INITIAL_CONTACTS = _type.nameToId(INITIAL_CONTACTS);
@@ -181,6 +192,9 @@ public class PoolStats {
     clientOpTimedOutId = _type.nameToId("clientOpTimeouts");
     clientOpFailedId = _type.nameToId("clientOpFailures");
     clientOpDurationId = _type.nameToId("clientOpTime");
+    batchedGetsId = _type.nameToId("batchedGets");
+    getBatchesId = _type.nameToId("getBatches");
+    getBatchWaitTimeId = _type.nameToId("getBatchWaitTime");
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -370,4 +384,24 @@ public class PoolStats {
     _stats.incInt(endClientOpId, 1);
     _stats.incLong(clientOpDurationId, duration);
   }
+
+  /**
+   * Records that a getAll batch carrying the given number of single key gets was sent.
+   */
+  public void endGetBatch(int size) {
+    _stats.incLong(getBatchesId, 1);
+    _stats.incLong(batchedGetsId, size);
+  }
+
+  public void incGetBatchWaitTime(long duration) {
+    _stats.incLong(getBatchWaitTimeId, duration);
+  }
+
+  public long getBatchedGets() {
+    return _stats.getLong(batchedGetsId);
+  }
+
+  public long getGetBatches() {
+    return _stats.getLong(getBatchesId);
+  }
 }
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.jetbrains.annotations.Nullable;
+
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Reads the drf and krf files of the oplogs being recovered ahead of the thread that replays them.
+ * Replaying has to apply the oplogs one at a time and in order, but reading their files does not,
+ * so a pool of threads keeps the next few files in memory while the current one is applied.
+ *
+ * <p>
+ * The files are given in the order the recovery opens them. At most one file per prefetch thread
+ * is read ahead of the file being replayed, and files larger than {@value #MAX_FILE_SIZE_PROPERTY}
+ * bytes are left to be streamed from disk. A file that could not be prefetched for any reason is
+ * simply opened again, so that errors are reported exactly as without prefetching.
+ *
+ * <p>
+ * Only the raw bytes are read ahead. Parsing the drf, krf and crf records and applying them to the
+ * region maps stays on the recovering thread: a record's outcome depends on the deleted ids and
+ * the version vectors built from the records before it, and the entries of different buckets are
+ * interleaved within each krf.
+ *
+ * <p>
+ * Only used by the thread recovering the disk store.
+ *
+ * @since Geode 1.16
+ */
+class RecoveryPrefetcher implements AutoCloseable {
+  static final String THREADS_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.recoveryPrefetchThreads";
+
+  static final String MAX_FILE_SIZE_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.recoveryPrefetchMaxFileSize";
+
+  static final long DEFAULT_MAX_FILE_SIZE = 64 * 1024 * 1024;
+
+  private final List<File> files;
+  private final Map<File, Integer> indexes = new HashMap<>();
+  private final Map<File, Future<byte[]>> prefetches = new HashMap<>();
+  private final ExecutorService executor;
+  private final int window;
+  private final long maxFileSize;
+  private final DiskStoreStats stats;
+
+  /** The files before this index have been submitted for prefetching. */
+  private int submitted;
+
+  /** The files before this index have been opened or skipped by the recovery. */
+  private int consumed;
+
+  RecoveryPrefetcher(List<File> files, ExecutorService executor, int window, long maxFileSize,
+      DiskStoreStats stats) {
+    this.files = files;
+    this.executor = executor;
+    this.window = window;
+    this.maxFileSize = maxFileSize;
+    this.stats = stats;
+    for (int i = 0; i < files.size(); i++) {
+      indexes.putIfAbsent(files.get(i), i);
+    }
+    submitThrough(window);
+  }
+
+  /**
+   * Returns a prefetcher for the given files, in the order they will be opened, or null if
+   * prefetching is disabled or would not help.
+   */
+  static @Nullable RecoveryPrefetcher create(List<File> files, DiskStoreStats stats) {
+    int threads = Integer.getInteger(THREADS_PROPERTY, 0);
+    if (threads <= 0 || files.size() < 2) {
+      return null;
+    }
+    long maxFileSize = Long.getLong(MAX_FILE_SIZE_PROPERTY, DEFAULT_MAX_FILE_SIZE);
+    ExecutorService executor =
+        LoggingExecutors.newFixedThreadPool(threads, "DiskStoreRecoveryPrefetcher", true);
+    return new RecoveryPrefetcher(files, executor, threads, maxFileSize, stats);
+  }
+
+  /**
+   * Opens the given file for reading, from memory if it has been prefetched.
+   *
+   * @throws FileNotFoundException if the file does not exist, even if it was prefetched before it
+   *         was deleted
+   */
+  InputStream open(File file) throws FileNotFoundException {
+    Integer index = indexes.get(file);
+    if (index == null) {
+      return new FileInputStream(file);
+    }
+    // drop whatever the recovery skipped
+    while (consumed < index) {
+      discard(files.get(consumed++));
+    }
+    Future<byte[]> prefetch = prefetches.remove(file);
+    consumed = Math.max(consumed, index + 1);
+    submitThrough(consumed + window);
+
+    byte[] bytes = prefetch == null ? null : await(prefetch);
+    if (bytes == null || !file.exists()) {
+      return new FileInputStream(file);
+    }
+    return new ByteArrayInputStream(bytes);
+  }
+
+  private void submitThrough(int end) {
+    int last = Math.min(end, files.size());
+    for (; submitted < last; submitted++) {
+      File file = files.get(submitted);
+      prefetches.put(file, executor.submit(() -> read(file)));
+    }
+  }
+
+  private byte[] read(File file) throws IOException {
+    long length = file.length();
+    if (length == 0 || length > maxFileSize) {
+      return null;
+    }
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    stats.incRecoveryPrefetchedBytes(bytes.length);
+    return bytes;
+  }
+
+  private byte[] await(Future<byte[]> prefetch) {
+    boolean waiting = !prefetch.isDone();
+    long start = waiting ? System.nanoTime() : 0;
+    try {
+      return prefetch.get();
+    } catch (ExecutionException e) {
+      // opening the file again reports the failure
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } finally {
+      if (waiting) {
+        stats.incRecoveryPrefetchWaitTime(System.nanoTime() - start);
+      }
+    }
+  }
+
+  private void discard(File file) {
+    Future<byte[]> prefetch = prefetches.remove(file);
+    if (prefetch != null) {
+      prefetch.cancel(false);
+    }
+  }
+
+  @Override
+  public void close() {
+    for (Future<byte[]> prefetch : prefetches.values()) {
+      prefetch.cancel(false);
+    }
+    prefetches.clear();
+    executor.shutdownNow();
+  }
+}
@@ -86,6 +86,9 @@ public interface RegionMap extends EvictableMap {
 
     /** whether "api" statistics are enabled */
     boolean statisticsEnabled = false;
+
+    /** the key constraint of the region, if any */
+    Class<?> keyConstraint = null;
   }
 
   RegionEntryFactory getEntryFactory();
@@ -62,7 +62,7 @@ public class VMLRURegionMap extends AbstractRegionMap {
     initialize(owner, attr, internalRegionArgs);
     this.evictionController = evictionController;
     getEvictionController().setPerEntryOverhead(getEntryOverhead());
-    lruList = new EvictionListBuilder(getEvictionController()).create();
+    lruList = new EvictionListBuilder(getEvictionController(), owner.getNameForStats()).create();
   }
 
   private final EvictionController evictionController;
@@ -48,6 +48,7 @@ import org.apache.geode.internal.cache.eviction.EvictionController;
 import org.apache.geode.internal.cache.persistence.BytesAndBits;
 import org.apache.geode.internal.cache.persistence.DiskRecoveryStore;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 import org.apache.geode.internal.cache.versions.VersionStamp;
 import org.apache.geode.internal.cache.versions.VersionTag;
 import org.apache.geode.internal.offheap.AddressableMemoryManager;
@@ -250,6 +251,32 @@ public interface DiskEntry extends RegionEntry {
       }
     }
 
+    /**
+     * Returns the location in its oplog of the value of an entry that is only on disk, so that the
+     * value can be sent to a client without faulting it in. Returns null if the value is in memory,
+     * has not been written yet or is shorter than minLength.
+     */
+    public static OplogFileRegion getValueFileRegion(DiskEntry entry, DiskRegion dr,
+        int minLength) {
+      DiskId did = entry.getDiskId();
+      if (did == null) {
+        return null;
+      }
+      dr.acquireReadLock();
+      try {
+        synchronized (did) {
+          if (!entry.isValueNull() || did.isPendingAsync() || did.needsToBeWritten()
+              || (dr.isBackup() && did.getKeyId() == DiskRegion.INVALID_ID)
+              || did.getValueLength() < minLength) {
+            return null;
+          }
+        }
+        return dr.getFileRegion(did);
+      } finally {
+        dr.releaseReadLock();
+      }
+    }
+
     static boolean isOverflowedToDisk(DiskEntry de, DiskRegion dr,
         DistributedRegion.DiskPosition dp) {
       DiskId did;
@@ -23,11 +23,14 @@ package org.apache.geode.internal.cache.entries;
 #define KEY_TYPE long
 #elif defined(KEY_UUID)
 #define KEY_TYPE UUID
-#elif defined(KEY_STRING1) || defined(KEY_STRING2)
+#elif defined(KEY_STRING1) || defined(KEY_STRING2) || defined(KEY_STORED_STRING)
 #define KEY_TYPE String
 #else
 #error the KEY_TYPE macro must be defined    
 #endif
+#if defined(KEY_STORED_STRING) && !defined(OFFHEAP)
+#error the KEY_STORED_STRING macro requires OFFHEAP
+#endif
 
 #ifdef KEY_UUID
 import java.util.UUID;
@@ -36,6 +39,9 @@ import java.util.UUID;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 #endif
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+#ifdef KEY_STORED_STRING
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+#endif
 #if defined(VERSIONED)
 import org.apache.geode.cache.EntryEvent;
 import org.apache.geode.internal.cache.InternalRegion;
@@ -67,6 +73,11 @@ import org.apache.geode.internal.cache.versions.VersionTag;
 #ifdef OFFHEAP
 import org.apache.geode.internal.cache.Token;
 import org.apache.geode.internal.offheap.OffHeapRegionEntryHelper;
+#endif
+#ifdef KEY_STORED_STRING
+import org.apache.geode.internal.offheap.OffHeapStringKeyHelper;
+#endif
+#ifdef OFFHEAP
 import org.apache.geode.internal.offheap.annotations.Released;
 import org.apache.geode.internal.offheap.annotations.Retained;
 import org.apache.geode.internal.offheap.annotations.Unretained;
@@ -199,6 +210,25 @@ public class LEAF_CLASS extends PARENT_CLASS {
    * bits2 encodes character data
    */
   private final long bits2;
+#elif defined(KEY_STORED_STRING)
+  /**
+   * The address of the off-heap memory the key is stored in. It is 0 until the entry is installed
+   * in its region map and OffHeapStringKeyHelper.RELEASED once the memory is released. All access
+   * done using KEY_ADDRESS_UPDATER or the volatile field.
+   */
+  private volatile long keyAddress;
+
+  /**
+   * The key, only set while it is not stored in off-heap memory. All access done using KEY_UPDATER
+   * or the volatile field.
+   */
+  private volatile String key;
+
+  private static final AtomicLongFieldUpdater<LEAF_CLASS> KEY_ADDRESS_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(LEAF_CLASS.class, "keyAddress");
+
+  private static final AtomicReferenceFieldUpdater<LEAF_CLASS, String> KEY_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(LEAF_CLASS.class, String.class, "key");
 #endif
 
   public LEAF_CLASS (final RegionEntryContext context, final KEY_TYPE key,
@@ -280,6 +310,9 @@ public class LEAF_CLASS extends PARENT_CLASS {
     tempBits1 |= key.length();
     this.bits1 = tempBits1;
     this.bits2 = tempBits2;
+#elif defined(KEY_STORED_STRING)
+    // the key is only stored off-heap by storeKey, once this entry is in the region map
+    this.key = key;
 #endif
   }
 
@@ -942,6 +975,99 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+#elif defined(KEY_STORED_STRING)
+  @Override
+  public Object getKey() {
+    while (true) {
+      long address = this.keyAddress;
+      if (address == 0L || address == OffHeapStringKeyHelper.RELEASED) {
+        String heapKey = this.key;
+        if (heapKey != null) {
+          return heapKey;
+        }
+        // the key was just stored in off-heap memory
+      } else if (OffHeapStringKeyHelper.retain(address)) {
+        try {
+          // the address is only read if it was not released before it was retained
+          if (address == this.keyAddress) {
+            return OffHeapStringKeyHelper.read(address);
+          }
+        } finally {
+          OffHeapStringKeyHelper.release(address);
+        }
+      }
+    }
+  }
+
+  @Override
+  public boolean isKeyEqual(final Object key) {
+    if (!(key instanceof String)) {
+      return false;
+    }
+    while (true) {
+      long address = this.keyAddress;
+      if (address == 0L || address == OffHeapStringKeyHelper.RELEASED) {
+        String heapKey = this.key;
+        if (heapKey != null) {
+          return key.equals(heapKey);
+        }
+      } else if (OffHeapStringKeyHelper.retain(address)) {
+        try {
+          if (address == this.keyAddress) {
+            return OffHeapStringKeyHelper.keyEquals(address, (String) key);
+          }
+        } finally {
+          OffHeapStringKeyHelper.release(address);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void storeKey() {
+    String heapKey = this.key;
+    if (heapKey == null || this.keyAddress != 0L) {
+      return;
+    }
+    long address = OffHeapStringKeyHelper.allocate(heapKey);
+    if (KEY_ADDRESS_UPDATER.compareAndSet(this, 0L, address)) {
+      // fails if releaseKey already replaced the key with its own copy
+      KEY_UPDATER.compareAndSet(this, heapKey, null);
+    } else {
+      // the key was released before it could be stored
+      OffHeapStringKeyHelper.release(address);
+    }
+  }
+
+  @Override
+  public void releaseKey() {
+    long address;
+    while ((address = this.keyAddress) != OffHeapStringKeyHelper.RELEASED) {
+      if (address == 0L) {
+        if (KEY_ADDRESS_UPDATER.compareAndSet(this, 0L, OffHeapStringKeyHelper.RELEASED)) {
+          return;
+        }
+      } else if (OffHeapStringKeyHelper.retain(address)) {
+        try {
+          if (address == this.keyAddress) {
+            // keep a copy of the key on the heap for the threads still using this entry
+            this.key = OffHeapStringKeyHelper.read(address);
+            if (KEY_ADDRESS_UPDATER.compareAndSet(this, address, OffHeapStringKeyHelper.RELEASED)) {
+              OffHeapStringKeyHelper.release(address);
+            }
+          }
+        } finally {
+          OffHeapStringKeyHelper.release(address);
+        }
+      }
+    }
+  }
+
+  @Override
+  public long getKeyAddress() {
+    long address = this.keyAddress;
+    return address == OffHeapStringKeyHelper.RELEASED ? 0L : address;
+  }
 #endif
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -38,4 +38,26 @@ public interface OffHeapRegionEntry extends RegionEntry, Releasable {
    * @return newAddr OFF_HEAP_ADDRESS
    */
   boolean setAddress(long expectedAddr, long newAddr);
+
+  /**
+   * Moves the key of this entry to off-heap memory, if this entry keeps its key there. Called once
+   * the entry is installed in its region map.
+   */
+  default void storeKey() {}
+
+  /**
+   * Releases the off-heap memory holding the key of this entry, if it has one. Called once the
+   * entry is removed. The key is still returned by {@link #getKey()} afterwards.
+   */
+  default void releaseKey() {}
+
+  /**
+   * Returns the address of the off-heap memory holding the key of this entry, or 0 if its key is
+   * not stored off-heap.
+   *
+   * @return OFF_HEAP_ADDRESS
+   */
+  default long getKeyAddress() {
+    return 0L;
+  }
 }
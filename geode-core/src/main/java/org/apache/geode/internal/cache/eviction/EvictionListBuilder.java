@@ -23,20 +23,46 @@ public class EvictionListBuilder {
 
   private final boolean evictionScanAsync;
 
+  private final boolean striped;
+
   private final EvictionController controller;
 
   public EvictionListBuilder(EvictionController evictionController) {
+    this(evictionController, null);
+  }
+
+  /**
+   * @param regionPath the full path of the region the list is for, which selects a
+   *        {@link StripedLRUList} if it is one of those named by
+   *        {@link SystemPropertyHelper#EVICTION_STRIPED_LRU_REGIONS}
+   */
+  public EvictionListBuilder(EvictionController evictionController, String regionPath) {
     controller = evictionController;
     Optional<Boolean> asyncScan =
         SystemProperty.getProductBooleanProperty(SystemPropertyHelper.EVICTION_SCAN_ASYNC);
     evictionScanAsync = asyncScan.orElse(true);
+    striped = SystemProperty
+        .getProductStringProperty(SystemPropertyHelper.EVICTION_STRIPED_LRU_REGIONS)
+        .map(regionPaths -> isNamed(regionPath, regionPaths)).orElse(false);
+  }
+
+  private static boolean isNamed(String regionPath, String regionPaths) {
+    for (String path : regionPaths.split(",")) {
+      path = path.trim();
+      if (path.equals("*") || path.equals(regionPath)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public EvictionList create() {
     if (controller.getEvictionAlgorithm().isLIFO()) {
       return new LIFOList(controller);
     } else {
-      if (evictionScanAsync) {
+      if (striped) {
+        return new StripedLRUList(controller);
+      } else if (evictionScanAsync) {
         return new LRUListWithAsyncSorting(controller);
       } else {
         return new LRUListWithSyncSorting(controller);
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.lang.SystemProperty;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * An approximate LRU eviction list that has no list wide lock. Its nodes are spread by identity
+ * hash over a number of stripes, each a list with its own lock, so that entries added and removed
+ * by different threads rarely contend. Using an entry only sets its recently used bit.
+ *
+ * <p>
+ * Evictions take the least recently added node of the stripes in turn. A node that was recently
+ * used is given a second chance by clearing its bit and adding it back to its stripe, as
+ * {@link LRUListWithSyncSorting} does for the whole list. Since the nodes of each stripe are a
+ * random sample of all nodes, the evicted nodes are about as old as those of a single list.
+ *
+ * @since Geode 1.16
+ */
+public class StripedLRUList implements EvictionList {
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int MAX_STRIPES = 64;
+
+  private final EvictionController controller;
+
+  private final Stripe[] stripes;
+
+  private final int stripeMask;
+
+  /** The stripe the next eviction starts with */
+  private final AtomicInteger nextStripe = new AtomicInteger();
+
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final int maxEntries;
+
+  public StripedLRUList(EvictionController controller) {
+    this(controller, defaultStripes());
+  }
+
+  StripedLRUList(EvictionController controller, int stripeCount) {
+    this.controller = controller;
+    int count = Integer.highestOneBit(Math.max(stripeCount, 1));
+    stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe();
+    }
+    stripeMask = count - 1;
+    maxEntries = SystemProperty
+        .getProductIntegerProperty(SystemPropertyHelper.EVICTION_SEARCH_MAX_ENTRIES).orElse(-1);
+  }
+
+  private static int defaultStripes() {
+    int stripes = 1;
+    while (stripes < Runtime.getRuntime().availableProcessors() * 4 && stripes < MAX_STRIPES) {
+      stripes <<= 1;
+    }
+    return stripes;
+  }
+
+  @Override
+  public void closeStats() {
+    getStatistics().close();
+  }
+
+  @Override
+  public EvictionCounters getStatistics() {
+    return controller.getCounters();
+  }
+
+  @Override
+  public int size() {
+    return size.get();
+  }
+
+  @Override
+  public void appendEntry(EvictionNode evictionNode) {
+    if (stripeOf(evictionNode).append(evictionNode)) {
+      size.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void destroyEntry(EvictionNode evictionNode) {
+    if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+      logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "destroyEntry called for {}", evictionNode);
+    }
+    if (stripeOf(evictionNode).remove(evictionNode)) {
+      size.decrementAndGet();
+      getStatistics().incDestroys();
+    }
+  }
+
+  @Override
+  public EvictableEntry getEvictableEntry() {
+    long evaluations = 0;
+    // the number of stripes in a row found empty, so that the search ends once all of them are
+    int emptyStripes = 0;
+    while (emptyStripes < stripes.length) {
+      Stripe stripe = stripes[nextStripe.getAndIncrement() & stripeMask];
+      EvictionNode evictionNode = stripe.removeHead();
+      if (evictionNode == null) {
+        emptyStripes++;
+        continue;
+      }
+      emptyStripes = 0;
+      size.decrementAndGet();
+      evaluations++;
+
+      if (!isEvictable(evictionNode)) {
+        continue;
+      }
+      if (maxEntries > 0 && evaluations > maxEntries) {
+        getStatistics().incGreedyReturns(1);
+      } else if (evictionNode.isRecentlyUsed()) {
+        if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+          logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "skipping recently used entry {}",
+              evictionNode);
+        }
+        evictionNode.unsetRecentlyUsed();
+        appendEntry(evictionNode);
+        continue;
+      }
+      getStatistics().incEvaluations(evaluations);
+      return (EvictableEntry) evictionNode;
+    }
+    getStatistics().incEvaluations(evaluations);
+    return null;
+  }
+
+  @Override
+  public void clear(RegionVersionVector regionVersionVector, BucketRegion bucketRegion) {
+    if (regionVersionVector != null) {
+      return; // when concurrency checks are enabled the clear operation removes entries iteratively
+    }
+
+    synchronized (this) {
+      if (bucketRegion != null) {
+        getStatistics().decrementCounter(bucketRegion.getCounter());
+        bucketRegion.resetCounter();
+      } else {
+        getStatistics().resetCounter();
+      }
+      for (Stripe stripe : stripes) {
+        size.addAndGet(-stripe.clear());
+      }
+    }
+  }
+
+  @Override
+  public void incrementRecentlyUsed() {
+    // nothing needed
+  }
+
+  private Stripe stripeOf(EvictionNode evictionNode) {
+    int hash = System.identityHashCode(evictionNode);
+    return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+  }
+
+  private boolean isEvictable(EvictionNode evictionNode) {
+    if (evictionNode.isEvicted()) {
+      return false;
+    }
+    // If this Entry is part of a transaction, skip it since
+    // eviction should not cause commit conflicts
+    synchronized (evictionNode) {
+      return !evictionNode.isInUseByTransaction();
+    }
+  }
+
+  /**
+   * A doubly linked list of nodes between two guard nodes, guarded by its own lock.
+   */
+  private static class Stripe {
+    private final EvictionNode head = new GuardNode();
+
+    private final EvictionNode tail = new GuardNode();
+
+    private int size;
+
+    Stripe() {
+      head.setNext(tail);
+      tail.setPrevious(head);
+    }
+
+    synchronized boolean append(EvictionNode evictionNode) {
+      if (evictionNode.next() != null) {
+        // already in the list
+        return false;
+      }
+      evictionNode.setNext(tail);
+      tail.previous().setNext(evictionNode);
+      evictionNode.setPrevious(tail.previous());
+      tail.setPrevious(evictionNode);
+      size++;
+      return true;
+    }
+
+    synchronized boolean remove(EvictionNode evictionNode) {
+      if (evictionNode.next() == null) {
+        // not in the list anymore
+        return false;
+      }
+      unlink(evictionNode);
+      return true;
+    }
+
+    synchronized EvictionNode removeHead() {
+      EvictionNode evictionNode = head.next();
+      if (evictionNode == tail) {
+        return null;
+      }
+      unlink(evictionNode);
+      return evictionNode;
+    }
+
+    /** Empties the stripe, returning the number of nodes it held. */
+    synchronized int clear() {
+      int cleared = size;
+      head.setNext(tail);
+      tail.setPrevious(head);
+      size = 0;
+      return cleared;
+    }
+
+    private void unlink(EvictionNode evictionNode) {
+      EvictionNode next = evictionNode.next();
+      EvictionNode previous = evictionNode.previous();
+      next.setPrevious(previous);
+      previous.setNext(next);
+      evictionNode.setNext(null);
+      evictionNode.setPrevious(null);
+      size--;
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.persistence;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+import org.apache.geode.internal.HeapDataOutputStream;
+
+/**
+ * The bytes of a value record in an oplog file, used to send a value to a client without first
+ * reading it into a heap byte[]. Records are never modified once written, so the region stays
+ * valid for as long as the file exists, even if the oplog is compacted in the meantime.
+ *
+ * <p>
+ * The bytes are read with positional reads on the oplog's own crf channel while holding the
+ * oplog's lock, so that the channel is not closed in the middle of a read and no file has to be
+ * opened per value. If the oplog has closed its crf since the region was created, the file is
+ * opened for the one read.
+ *
+ * @since Geode 1.16
+ */
+public class OplogFileRegion {
+  private final Object lock;
+  private final Supplier<PositionalReadChannel> crfChannel;
+  private final File file;
+  private final long position;
+  private final int length;
+  private final byte userBits;
+
+  /** The number of bytes sent with {@link PositionalReadChannel#transferTo}. */
+  private long transferredBytes;
+
+  /**
+   * @param lock the oplog lock that keeps its crf from being closed while held
+   * @param crfChannel returns the open crf channel, or null if the crf has been closed; called
+   *        with the lock held
+   * @param file the crf, opened if the oplog has closed it
+   */
+  public OplogFileRegion(Object lock, Supplier<PositionalReadChannel> crfChannel, File file,
+      long position, int length, byte userBits) {
+    this.lock = lock;
+    this.crfChannel = crfChannel;
+    this.file = file;
+    this.position = position;
+    this.length = length;
+    this.userBits = userBits;
+  }
+
+  public int getLength() {
+    return length;
+  }
+
+  public byte getUserBits() {
+    return userBits;
+  }
+
+  public long getTransferredBytes() {
+    return transferredBytes;
+  }
+
+  /**
+   * Sends the bytes to the given channel with {@link PositionalReadChannel#transferTo} so that
+   * they do not have to be copied through the JVM.
+   */
+  public void transferTo(WritableByteChannel target) throws IOException {
+    read(channel -> {
+      long offset = position;
+      long remaining = length;
+      while (remaining > 0) {
+        long transferred = channel.transferTo(offset, remaining, target);
+        if (transferred <= 0 && offset >= channel.size()) {
+          throw new EOFException("Oplog record at " + position + " is shorter than " + length);
+        }
+        offset += transferred;
+        remaining -= transferred;
+        transferredBytes += transferred;
+      }
+    });
+  }
+
+  /**
+   * Copies the bytes into the given buffer, which must have room for all of them.
+   */
+  public void readInto(ByteBuffer buffer) throws IOException {
+    int limit = buffer.limit();
+    buffer.limit(buffer.position() + length);
+    try {
+      read(channel -> readFully(channel, buffer, position));
+    } finally {
+      buffer.limit(limit);
+    }
+  }
+
+  /**
+   * Copies the bytes to the given stream using the given buffer, for sockets that have no channel.
+   */
+  public void copyTo(OutputStream out, ByteBuffer buffer) throws IOException {
+    read(channel -> {
+      long offset = position;
+      int remaining = length;
+      while (remaining > 0) {
+        if (buffer.remaining() == 0) {
+          HeapDataOutputStream.flushStream(out, buffer);
+        }
+        int chunk = Math.min(remaining, buffer.remaining());
+        int limit = buffer.limit();
+        buffer.limit(buffer.position() + chunk);
+        try {
+          readFully(channel, buffer, offset);
+        } finally {
+          buffer.limit(limit);
+        }
+        offset += chunk;
+        remaining -= chunk;
+      }
+    });
+    HeapDataOutputStream.flushStream(out, buffer);
+  }
+
+  private void read(Read read) throws IOException {
+    synchronized (lock) {
+      PositionalReadChannel channel = crfChannel.get();
+      if (channel != null) {
+        read.from(channel);
+        return;
+      }
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      read.from(PositionalReadChannel.of(channel));
+    }
+  }
+
+  private void readFully(PositionalReadChannel channel, ByteBuffer buffer, long offset)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, offset);
+      if (read < 0) {
+        throw new EOFException("Oplog record at " + position + " is shorter than " + length);
+      }
+      offset += read;
+    }
+  }
+
+  private interface Read {
+    void from(PositionalReadChannel channel) throws IOException;
+  }
+
+  @Override
+  public String toString() {
+    return "OplogFileRegion[position=" + position + ", length=" + length + "]";
+  }
+}
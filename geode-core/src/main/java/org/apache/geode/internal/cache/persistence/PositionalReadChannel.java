@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The reads of a file channel that take a file position and leave the channel's own position
+ * unchanged, so that they can be done on a channel that is also being written.
+ *
+ * @since Geode 1.16
+ */
+public interface PositionalReadChannel {
+
+  int read(ByteBuffer dst, long position) throws IOException;
+
+  long transferTo(long position, long count, WritableByteChannel target) throws IOException;
+
+  long size() throws IOException;
+
+  static PositionalReadChannel of(FileChannel channel) {
+    return new PositionalReadChannel() {
+      @Override
+      public int read(ByteBuffer dst, long position) throws IOException {
+        return channel.read(dst, position);
+      }
+
+      @Override
+      public long transferTo(long position, long count, WritableByteChannel target)
+          throws IOException {
+        return channel.transferTo(position, count, target);
+      }
+
+      @Override
+      public long size() throws IOException {
+        return channel.size();
+      }
+    };
+  }
+}
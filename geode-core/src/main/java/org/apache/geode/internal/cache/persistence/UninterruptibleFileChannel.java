@@ -21,7 +21,8 @@ import java.nio.channels.ScatteringByteChannel;
 import java.nio.channels.SeekableByteChannel;
 
 public interface UninterruptibleFileChannel
-    extends Channel, SeekableByteChannel, GatheringByteChannel, ScatteringByteChannel {
+    extends Channel, SeekableByteChannel, GatheringByteChannel, ScatteringByteChannel,
+    PositionalReadChannel {
 
   void force(boolean b) throws IOException;
 
@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 public class UninterruptibleRandomAccessFile {
   private RandomAccessFile raf;
@@ -156,6 +157,17 @@ public class UninterruptibleRandomAccessFile {
       return (int) doUninterruptibly(channel -> channel.read(dst));
     }
 
+    @Override
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+      return (int) doUninterruptibly(channel -> channel.read(dst, position));
+    }
+
+    @Override
+    public long transferTo(final long position, final long count,
+        final WritableByteChannel target) throws IOException {
+      return doUninterruptibly(channel -> channel.transferTo(position, count, target));
+    }
+
     @Override
     public int write(final ByteBuffer src) throws IOException {
       return (int) doUninterruptibly(channel -> channel.write(src));
@@ -91,6 +91,8 @@ public interface Acceptor extends CommBufferPool {
 
   boolean isSelector();
 
+  boolean isVirtualThreads();
+
   InetAddress getServerInetAddress();
 
   void notifyCacheMembersOfClose();
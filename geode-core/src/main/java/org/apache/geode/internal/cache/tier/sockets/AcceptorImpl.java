@@ -92,6 +92,7 @@ import org.apache.geode.internal.cache.tier.sockets.ClientHealthMonitor.ClientHe
 import org.apache.geode.internal.cache.wan.GatewayReceiverStats;
 import org.apache.geode.internal.inet.LocalHostUtil;
 import org.apache.geode.internal.logging.CoreLoggingExecutors;
+import org.apache.geode.internal.logging.VirtualThreads;
 import org.apache.geode.internal.monitoring.ThreadsMonitoring;
 import org.apache.geode.internal.net.SocketCloser;
 import org.apache.geode.internal.net.SocketCreator;
@@ -487,6 +488,18 @@ public class AcceptorImpl implements Acceptor, Runnable {
           tmp_maxThreads = 0;
         }
       }
+      if (USE_VIRTUAL_THREADS) {
+        if (!VirtualThreads.isSupported()) {
+          logger.warn(
+              "Ignoring {} because this JVM does not support virtual threads. Using platform threads instead.",
+              VIRTUAL_THREADS_PROPERTY_NAME);
+        } else if (tmp_maxThreads > 0) {
+          logger.info(
+              "Ignoring max-threads setting of {} because {} is set. Each client connection will be serviced by its own virtual thread.",
+              tmp_maxThreads, VIRTUAL_THREADS_PROPERTY_NAME);
+          tmp_maxThreads = 0;
+        }
+      }
       this.maxThreads = tmp_maxThreads;
     }
     {
@@ -701,6 +714,14 @@ public class AcceptorImpl implements Acceptor, Runnable {
             MILLISECONDS, threadName, threadInitializer, commandWrapper,
             getStats().getCnxPoolHelper(), getThreadMonitorObj());
       }
+      if (USE_VIRTUAL_THREADS) {
+        ExecutorService virtualThreadPool =
+            CoreLoggingExecutors.newVirtualThreadPerTaskExecutor(threadName, maxConnections,
+                threadInitializer, commandWrapper);
+        if (virtualThreadPool != null) {
+          return virtualThreadPool;
+        }
+      }
       return CoreLoggingExecutors.newThreadPoolWithSynchronousFeed(MINIMUM_MAX_CONNECTIONS,
           maxConnections, 0L, SECONDS, threadName, threadInitializer, commandWrapper);
     } catch (IllegalArgumentException poolInitException) {
@@ -736,6 +757,25 @@ public class AcceptorImpl implements Acceptor, Runnable {
     return maxThreads > 0;
   }
 
+  /**
+   * Returns true if each client connection is serviced by its own virtual thread. Virtual thread
+   * mode is enabled with the {@value #VIRTUAL_THREADS_PROPERTY_NAME} system property and is only
+   * used if the JVM supports virtual threads. It replaces both the thread per connection and the
+   * selector modes and, unlike the selector, can be used with client/server SSL.
+   */
+  @Override
+  public boolean isVirtualThreads() {
+    return USE_VIRTUAL_THREADS && VirtualThreads.isSupported();
+  }
+
+  /**
+   * The system property that enables virtual thread mode. See {@link #isVirtualThreads()}.
+   */
+  static final String VIRTUAL_THREADS_PROPERTY_NAME = "BridgeServer.VIRTUAL_THREADS";
+
+  private static final boolean USE_VIRTUAL_THREADS =
+      Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY_NAME);
+
   /**
    * This system property is only used if max-threads == 0. This is for 5.0.2 backwards
    * compatibility.
@@ -19,7 +19,7 @@ import static org.apache.geode.internal.cache.tier.MessageType.RESPONSE;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Set;
 
 import org.apache.geode.cache.RegionDestroyedException;
@@ -211,11 +211,11 @@ public abstract class BaseCommandQuery extends BaseCommand {
           // from 7.0, if the object is in the form of serialized byte array,
           // send it as a part of ObjectPartList
           if (hasSerializedObjects) {
-            sendResultsAsObjectPartList(numberOfChunks, servConn, selectResults.asList(), isStructs,
-                collectionType, queryString, cqQuery, sendResults,
+            sendResultsAsObjectPartList(numberOfChunks, servConn, selectResults.iterator(),
+                isStructs, collectionType, queryString, cqQuery, sendResults,
                 securityService);
           } else {
-            sendResultsAsObjectArray(selectResults, numberOfChunks, servConn, isStructs,
+            sendResultsAsObjectArray(selectResults.iterator(), numberOfChunks, servConn, isStructs,
                 collectionType, queryString, cqQuery, sendResults);
           }
         }
@@ -335,39 +335,35 @@ public abstract class BaseCommandQuery extends BaseCommand {
     }
   }
 
-  private void sendResultsAsObjectArray(SelectResults<?> selectResults, int numberOfChunks,
+  /**
+   * Sends the results a chunk at a time as they are iterated over, so that no more than a chunk of
+   * them is copied for sending at once. Each chunk is written to the client before the next is
+   * made, so the client's reading paces the iteration.
+   */
+  private void sendResultsAsObjectArray(Iterator<?> objs, int numberOfChunks,
       ServerConnection servConn, boolean isStructs,
       CollectionType collectionType,
       String queryString, ServerCQ cqQuery,
       boolean sendResults)
       throws IOException {
     int resultIndex = 0;
-    // For CQ only as we dont want CQEntries which have null values.
-    int cqResultIndex = 0;
-    Object[] objs = selectResults.toArray();
-    for (int j = 0; j < numberOfChunks; j++) {
-      boolean incompleteArray = false;
+    for (int j = 0; objs.hasNext(); j++) {
       if (logger.isTraceEnabled()) {
         logger.trace("{}: Creating chunk: {}", servConn.getName(), j);
       }
       Object[] results = new Object[MAXIMUM_CHUNK_SIZE];
-      for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
-        if ((resultIndex) == objs.length) {
-          incompleteArray = true;
-          break;
-        }
+      int i = 0;
+      while (i < MAXIMUM_CHUNK_SIZE && objs.hasNext()) {
+        Object result = objs.next();
         if (logger.isTraceEnabled()) {
           logger.trace("{}: Adding entry [{}] to query results: {}", servConn.getName(),
-              resultIndex, objs[resultIndex]);
+              resultIndex, result);
         }
+        resultIndex++;
         if (cqQuery != null) {
-          CqEntry e = (CqEntry) objs[resultIndex];
+          CqEntry e = (CqEntry) result;
           // The value may have become null because of entry invalidation.
           if (e.getValue() == null) {
-            resultIndex++;
-            // i will get incremented anyway so we need to decrement it back so
-            // that results[i] is not null.
-            i--;
             continue;
           }
           // Add the key into CQ results cache.
@@ -380,73 +376,65 @@ public abstract class BaseCommandQuery extends BaseCommand {
           }
 
           // Add to the Results object array.
-          results[i] = e.getKeyValuePair();
+          results[i++] = e.getKeyValuePair();
         } else {
           // instance check added to fix bug 40516.
-          if (isStructs && (objs[resultIndex] instanceof Struct)) {
-            results[i] = ((Struct) objs[resultIndex]).getFieldValues();
+          if (isStructs && (result instanceof Struct)) {
+            results[i++] = ((Struct) result).getFieldValues();
           } else {
-            results[i] = objs[resultIndex];
+            results[i++] = result;
           }
         }
-        resultIndex++;
-        cqResultIndex++;
       }
       // Shrink array if necessary. This will occur if the number
       // of entries in the chunk does not divide evenly into the
       // number of entries in the result set.
-      if (incompleteArray) {
-        final Object[] newResults;
-        if (cqQuery == null) {
-          newResults = new Object[resultIndex % MAXIMUM_CHUNK_SIZE];
-        } else {
-          newResults = new Object[cqResultIndex % MAXIMUM_CHUNK_SIZE];
-        }
-        System.arraycopy(results, 0, newResults, 0, newResults.length);
+      if (i < MAXIMUM_CHUNK_SIZE) {
+        final Object[] newResults = new Object[i];
+        System.arraycopy(results, 0, newResults, 0, i);
         results = newResults;
       }
 
       if (sendResults) {
-        writeQueryResponseChunk(results, collectionType, (resultIndex == objs.length),
-            servConn);
+        writeQueryResponseChunk(results, collectionType, !objs.hasNext(), servConn);
 
         if (logger.isDebugEnabled()) {
           logger.debug("{}: Sent chunk ({} of {}) of query response for query: {}",
               servConn.getName(), (j + 1), numberOfChunks, queryString);
         }
       }
-      // If we have reached the last element of SelectResults then we should
-      // break out of loop here only.
-      if (resultIndex == objs.length) {
-        break;
-      }
     }
   }
 
+  /**
+   * Like {@link #sendResultsAsObjectArray}, but sends values that are kept serialized in the cache
+   * without deserializing them.
+   */
   private void sendResultsAsObjectPartList(int numberOfChunks, ServerConnection servConn,
-      List<?> objs,
+      Iterator<?> objs,
       boolean isStructs, CollectionType collectionType,
       String queryString, ServerCQ cqQuery,
       boolean sendResults,
       final SecurityService securityService)
       throws IOException {
     int resultIndex = 0;
-    for (int j = 0; j < numberOfChunks; j++) {
+    for (int j = 0; objs.hasNext(); j++) {
       if (logger.isTraceEnabled()) {
         logger.trace("{}: Creating chunk: {}", servConn.getName(), j);
       }
       ObjectPartList serializedObjs = new ObjectPartList(MAXIMUM_CHUNK_SIZE, false);
       for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
-        if ((resultIndex) == objs.size()) {
+        if (!objs.hasNext()) {
           break;
         }
+        Object next = objs.next();
         if (logger.isTraceEnabled()) {
           logger.trace("{}: Adding entry [{}] to query results: {}", servConn.getName(),
-              resultIndex, objs.get(resultIndex));
+              resultIndex, next);
         }
         Object result;
         if (cqQuery != null) {
-          CqEntry e = (CqEntry) objs.get(resultIndex);
+          CqEntry e = (CqEntry) next;
           // The value may have become null because of entry invalidation.
           if (e.getValue() == null) {
             resultIndex++;
@@ -465,7 +453,7 @@ public abstract class BaseCommandQuery extends BaseCommand {
           // Add to the Results object array.
           result = e.getKeyValuePair();
         } else {
-          result = objs.get(resultIndex);
+          result = next;
         }
         if (sendResults) {
           addToObjectPartList(serializedObjs, result, isStructs,
@@ -475,8 +463,7 @@ public abstract class BaseCommandQuery extends BaseCommand {
       }
 
       if (sendResults) {
-        writeQueryResponseChunk(serializedObjs, collectionType, ((j + 1) == numberOfChunks),
-            servConn);
+        writeQueryResponseChunk(serializedObjs, collectionType, !objs.hasNext(), servConn);
 
         if (logger.isDebugEnabled()) {
           logger.debug("{}: Sent chunk ({} of {}) of query response for query: {}",
@@ -200,6 +200,8 @@ public class CacheServerStats implements MessageStats {
 
   int receivedBytesId;
   int sentBytesId;
+  int getsServedFromOplogId;
+  int zeroCopyBytesSentId;
 
   int outOfOrderBatchIdsId;
   int abandonedWriteRequestsId;
@@ -214,6 +216,8 @@ public class CacheServerStats implements MessageStats {
   int acceptThreadStartsId;
   int connectionThreadStartsId;
   int connectionThreadsId;
+  int virtualConnectionThreadsMountedId;
+  int virtualConnectionThreadsParkedId;
 
   // Load callback stats
   int connectionLoadId;
@@ -444,6 +448,12 @@ public class CacheServerStats implements MessageStats {
             "Total number of bytes received from clients.", "bytes"),
         statisticsFactory.createLongCounter("sentBytes", "Total number of bytes sent to clients.",
             "bytes"),
+        statisticsFactory.createLongCounter("getsServedFromOplog",
+            "Number of get responses whose value was sent straight from an oplog file without being read into memory.",
+            "operations"),
+        statisticsFactory.createLongCounter("zeroCopyBytesSent",
+            "Total number of value bytes sent from oplog files to clients without being copied through the server's memory.",
+            "bytes"),
         statisticsFactory.createIntGauge("messagesBeingReceived",
             "Current number of message being received off the network or being processed after reception.",
             "messages"),
@@ -466,6 +476,12 @@ public class CacheServerStats implements MessageStats {
             "starts"),
         statisticsFactory.createIntGauge("connectionThreads",
             "Current number of threads dealing with a client connection.", "threads"),
+        statisticsFactory.createIntGauge("virtualConnectionThreadsMounted",
+            "Current number of virtual threads dealing with a client connection that are processing or replying to a message.",
+            "threads"),
+        statisticsFactory.createIntGauge("virtualConnectionThreadsParked",
+            "Current number of virtual threads dealing with a client connection that are parked waiting for the client to send a message.",
+            "threads"),
         statisticsFactory.createDoubleGauge("connectionLoad",
             "The load from client to server connections as reported by the load probe installed in this server",
             "load"),
@@ -586,6 +602,8 @@ public class CacheServerStats implements MessageStats {
 
     receivedBytesId = stats.nameToId("receivedBytes");
     sentBytesId = stats.nameToId("sentBytes");
+    getsServedFromOplogId = stats.nameToId("getsServedFromOplog");
+    zeroCopyBytesSentId = stats.nameToId("zeroCopyBytesSent");
 
     messagesBeingReceivedId = stats.nameToId("messagesBeingReceived");
     messageBytesBeingReceivedId = stats.nameToId("messageBytesBeingReceived");
@@ -595,6 +613,8 @@ public class CacheServerStats implements MessageStats {
     acceptThreadStartsId = stats.nameToId("acceptThreadStarts");
     connectionThreadStartsId = stats.nameToId("connectionThreadStarts");
     connectionThreadsId = stats.nameToId("connectionThreads");
+    virtualConnectionThreadsMountedId = stats.nameToId("virtualConnectionThreadsMounted");
+    virtualConnectionThreadsParkedId = stats.nameToId("virtualConnectionThreadsParked");
 
     connectionLoadId = stats.nameToId("connectionLoad");
     queueLoadId = stats.nameToId("queueLoad");
@@ -626,6 +646,55 @@ public class CacheServerStats implements MessageStats {
     stats.incInt(connectionThreadsId, -1);
   }
 
+  public void incVirtualConnectionThreadsMounted() {
+    stats.incInt(virtualConnectionThreadsMountedId, 1);
+  }
+
+  public void decVirtualConnectionThreadsMounted() {
+    stats.incInt(virtualConnectionThreadsMountedId, -1);
+  }
+
+  /**
+   * Moves a mounted virtual connection thread to the parked gauge. Called before a virtual
+   * connection thread blocks reading the next message from its client.
+   */
+  public void parkVirtualConnectionThread() {
+    stats.incInt(virtualConnectionThreadsMountedId, -1);
+    stats.incInt(virtualConnectionThreadsParkedId, 1);
+  }
+
+  /**
+   * Moves a parked virtual connection thread back to the mounted gauge.
+   */
+  public void unparkVirtualConnectionThread() {
+    stats.incInt(virtualConnectionThreadsParkedId, -1);
+    stats.incInt(virtualConnectionThreadsMountedId, 1);
+  }
+
+  public int getVirtualConnectionThreadsMounted() {
+    return stats.getInt(virtualConnectionThreadsMountedId);
+  }
+
+  public int getVirtualConnectionThreadsParked() {
+    return stats.getInt(virtualConnectionThreadsParkedId);
+  }
+
+  public void incGetsServedFromOplog() {
+    stats.incLong(getsServedFromOplogId, 1);
+  }
+
+  public long getGetsServedFromOplog() {
+    return stats.getLong(getsServedFromOplogId);
+  }
+
+  public void incZeroCopyBytesSent(long bytes) {
+    stats.incLong(zeroCopyBytesSentId, bytes);
+  }
+
+  public long getZeroCopyBytesSent() {
+    return stats.getLong(zeroCopyBytesSentId);
+  }
+
   public void incAbandonedWriteRequests() {
     stats.incInt(abandonedWriteRequestsId, 1);
   }
@@ -35,6 +35,7 @@ import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.HeapDataOutputStream;
 import org.apache.geode.internal.cache.TXManagerImpl;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.internal.offheap.annotations.Unretained;
@@ -362,6 +363,11 @@ public class Message {
       Part part = partsList[currentPart];
       part.setPartState((StoredObject) o, isObject);
       currentPart++;
+    } else if (o instanceof OplogFileRegion) {
+      messageModified = true;
+      Part part = partsList[currentPart];
+      part.setPartState((OplogFileRegion) o, isObject);
+      currentPart++;
     } else {
       serializeAndAddPart(o, false);
     }
@@ -26,6 +26,7 @@ import org.apache.geode.annotations.Immutable;
 import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 import org.apache.geode.internal.offheap.AddressableMemoryManager;
 import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.internal.serialization.DSCODE;
@@ -56,8 +57,8 @@ public class Part {
   private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
   /**
-   * The payload of this part. Could be null, a byte[] or a HeapDataOutputStream on the send side.
-   * Could be null, or a byte[] on the receiver side.
+   * The payload of this part. Could be null, a byte[], a HeapDataOutputStream, a StoredObject or
+   * an OplogFileRegion on the send side. Could be null, or a byte[] on the receiver side.
    */
   private Object part;
 
@@ -144,6 +145,15 @@ public class Part {
     }
   }
 
+  /**
+   * Sends the bytes of an oplog record as the payload of this part. The part takes ownership of the
+   * region and releases it when it is cleared.
+   */
+  public void setPartState(OplogFileRegion region, boolean isObject) {
+    typeCode = isObject ? OBJECT_CODE : BYTE_CODE;
+    part = region;
+  }
+
   public byte getTypeCode() {
     return typeCode;
   }
@@ -159,6 +169,8 @@ public class Part {
       return ((byte[]) part).length;
     } else if (part instanceof StoredObject) {
       return ((StoredObject) part).getDataSize();
+    } else if (part instanceof OplogFileRegion) {
+      return ((OplogFileRegion) part).getLength();
     } else {
       return ((HeapDataOutputStream) part).size();
     }
@@ -380,6 +392,8 @@ public class Part {
       if (part instanceof byte[]) {
         byte[] bytes = (byte[]) part;
         out.write(bytes, 0, bytes.length);
+      } else if (part instanceof OplogFileRegion) {
+        ((OplogFileRegion) part).copyTo(out, buf);
       } else if (part instanceof StoredObject) {
         StoredObject so = (StoredObject) part;
         ByteBuffer sobb = so.createDirectByteBuffer();
@@ -412,10 +426,12 @@ public class Part {
    * Write the contents of this part to the specified byte buffer. Precondition: caller has already
    * checked the length of this part and it will fit into "buf".
    */
-  public void writeTo(ByteBuffer buf) {
+  public void writeTo(ByteBuffer buf) throws IOException {
     if (getLength() > 0) {
       if (part instanceof byte[]) {
         buf.put((byte[]) part);
+      } else if (part instanceof OplogFileRegion) {
+        ((OplogFileRegion) part).readInto(buf);
       } else if (part instanceof StoredObject) {
         StoredObject c = (StoredObject) part;
         ByteBuffer bb = c.createDirectByteBuffer();
@@ -468,6 +484,9 @@ public class Part {
           }
           buf.clear();
         }
+      } else if (part instanceof OplogFileRegion) {
+        // the bytes go straight from the file to the socket
+        ((OplogFileRegion) part).transferTo(sc);
       } else if (part instanceof StoredObject) {
         // instead of copying the StoredObject to buf try to create a direct ByteBuffer and
         // just write it directly to the socket channel.
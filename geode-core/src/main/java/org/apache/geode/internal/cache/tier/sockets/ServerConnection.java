@@ -781,6 +781,7 @@ public class ServerConnection implements Runnable {
   private Throwable clientDisconnectedException;
   private int failureCount;
   private volatile boolean processMessages = true;
+  private boolean runningOnVirtualThread;
 
   public boolean getProcessMessages() {
     return processMessages;
@@ -815,7 +816,7 @@ public class ServerConnection implements Runnable {
       return;
     }
 
-    Message message = getMessage();
+    Message message = readMessage();
     if (!serverConnectionCollection.incrementConnectionsProcessing()) {
       // Client is being disconnected, don't try to process message.
       processMessages = false;
@@ -936,6 +937,22 @@ public class ServerConnection implements Runnable {
     return BaseCommand.readRequest(this);
   }
 
+  /**
+   * Reads the next message from the client. When running on a virtual thread the thread is
+   * accounted as parked for as long as it waits for the client.
+   */
+  private Message readMessage() {
+    if (!runningOnVirtualThread) {
+      return getMessage();
+    }
+    stats.parkVirtualConnectionThread();
+    try {
+      return getMessage();
+    } finally {
+      stats.unparkVirtualConnectionThread();
+    }
+  }
+
   private void suspendThreadMonitoring() {
     if (threadMonitorExecutor != null) {
       threadMonitorExecutor.suspendMonitoring();
@@ -1350,6 +1367,10 @@ public class ServerConnection implements Runnable {
       threadMonitorExecutor = threadMonitoring.createAbstractExecutor(ServerConnectionExecutor);
       suspendThreadMonitoring();
       threadMonitoring.register(threadMonitorExecutor);
+      runningOnVirtualThread = getAcceptor().isVirtualThreads();
+      if (runningOnVirtualThread) {
+        stats.incVirtualConnectionThreadsMounted();
+      }
       try {
         while (processMessages && !crHelper.isShutdown()) {
           try {
@@ -1362,6 +1383,9 @@ public class ServerConnection implements Runnable {
           }
         }
       } finally {
+        if (runningOnVirtualThread) {
+          stats.decVirtualConnectionThreadsMounted();
+        }
         threadMonitoring.unregister(threadMonitorExecutor);
         try {
           unsetRequestSpecificTimeout();
@@ -26,11 +26,13 @@ import org.apache.geode.cache.operations.internal.GetOperationContextImpl;
 import org.apache.geode.distributed.internal.DistributionStats;
 import org.apache.geode.internal.cache.CachePerfStats;
 import org.apache.geode.internal.cache.CachedDeserializable;
+import org.apache.geode.internal.cache.EntryBits;
 import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.Token;
 import org.apache.geode.internal.cache.VersionTagHolder;
+import org.apache.geode.internal.cache.persistence.OplogFileRegion;
 import org.apache.geode.internal.cache.tier.Command;
 import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.cache.tier.sockets.BaseCommand;
@@ -55,6 +57,13 @@ public class Get70 extends BaseCommand {
   @Immutable
   private static final Get70 singleton = new Get70();
 
+  /**
+   * Values that are only on disk and at least this many bytes long are sent to the client straight
+   * from their oplog instead of being read into memory first. Disabled unless positive.
+   */
+  static final int ZERO_COPY_MIN_VALUE_SIZE =
+      Integer.getInteger("BridgeServer.ZERO_COPY_MIN_VALUE_SIZE", 0);
+
   public static Command getCommand() {
     return singleton;
   }
@@ -146,6 +155,18 @@ public class Get70 extends BaseCommand {
       return;
     }
 
+    if (canSendValueFromOplog() && callbackArg == null
+        && serverConnection.getAuthzRequest() == null
+        && serverConnection.getPostAuthzRequest() == null
+        && !securityService.needPostProcess()
+        && writeResponseFromOplog(region, key, clientMessage, serverConnection, start)) {
+      CachePerfStats regionPerfStats = ((InternalRegion) region).getRegionPerfStats();
+      if (regionPerfStats != null) {
+        regionPerfStats.endGetForClient(startparam, false);
+      }
+      return;
+    }
+
     // Get the value and update the statistics. Do not deserialize
     // the value if it is a byte[].
     Entry entry;
@@ -227,6 +248,55 @@ public class Get70 extends BaseCommand {
     }
   }
 
+  /**
+   * Returns true if large values that are only on disk may be sent straight from their oplog.
+   * Subclasses that do not send the plain value return false.
+   */
+  protected boolean canSendValueFromOplog() {
+    return ZERO_COPY_MIN_VALUE_SIZE > 0;
+  }
+
+  /**
+   * Sends the value of the given key straight from its oplog if it is only on disk and large
+   * enough. Returns false, without having written anything, if the value has to be read with a
+   * normal get.
+   */
+  private boolean writeResponseFromOplog(Region<?, ?> region, Object key, Message clientMessage,
+      ServerConnection serverConnection, long start) throws IOException {
+    if (!(region instanceof LocalRegion)) {
+      return false;
+    }
+    VersionTagHolder versionHolder = new VersionTagHolder();
+    OplogFileRegion fileRegion;
+    try {
+      fileRegion = ((LocalRegion) region).getValueFileRegionForClient(key,
+          ZERO_COPY_MIN_VALUE_SIZE, versionHolder);
+    } catch (RuntimeException e) {
+      // let the normal get report the problem
+      return false;
+    }
+    if (fileRegion == null) {
+      return false;
+    }
+    serverConnection.setModificationInfo(true, region.getFullPath(), key);
+    final CacheServerStats stats = serverConnection.getCacheServerStats();
+    long processed = DistributionStats.getStatTime();
+    stats.incProcessGetTime(processed - start);
+    writeResponse(fileRegion, null, clientMessage,
+        EntryBits.isSerialized(fileRegion.getUserBits()), versionHolder.getVersionTag(), false,
+        serverConnection);
+    serverConnection.setAsTrue(RESPONDED);
+    stats.incGetsServedFromOplog();
+    stats.incZeroCopyBytesSent(fileRegion.getTransferredBytes());
+    stats.incWriteGetResponseTime(DistributionStats.getStatTime() - processed);
+    if (logger.isDebugEnabled()) {
+      logger.debug("{}: Wrote get response from {} back to {} for region {} key {}",
+          serverConnection.getName(), fileRegion, serverConnection.getSocketString(),
+          region.getFullPath(), key);
+    }
+    return true;
+  }
+
   /**
    * This method was added so that Get70 could, by default, call getEntryRetained, but the subclass
    * GetEntry70 could override it and call getValueAndIsObject. If we ever get to the point that no
@@ -40,6 +40,12 @@ public class GetEntry70 extends Get70 {
 
   protected GetEntry70() {}
 
+  @Override
+  protected boolean canSendValueFromOplog() {
+    // the reply carries an entry snapshot rather than the value
+    return false;
+  }
+
   @Override
   protected Get70.Entry getEntry(Region region, Object key, Object callbackArg,
       ServerConnection servConn) {
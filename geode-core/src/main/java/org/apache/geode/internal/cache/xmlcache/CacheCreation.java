@@ -2359,6 +2359,11 @@ public class CacheCreation implements InternalCache {
     throw new UnsupportedOperationException("Should not be invoked");
   }
 
+  @Override
+  public Executor getIndexMaintenanceExecutor() {
+    throw new UnsupportedOperationException("Should not be invoked");
+  }
+
   @Override
   public LocalRegion getReinitializingRegion(final String fullPath) {
     throw new UnsupportedOperationException("Should not be invoked");
@@ -17,6 +17,8 @@ package org.apache.geode.internal.lang;
 import static org.apache.geode.internal.lang.SystemProperty.getProductBooleanProperty;
 
 import org.apache.geode.internal.cache.eviction.LRUListWithAsyncSorting;
+import org.apache.geode.internal.cache.eviction.StripedLRUList;
+import org.apache.geode.internal.util.concurrent.PrimitiveKeyConcurrentHashMap;
 
 /**
  * The SystemPropertyHelper class is an helper class for accessing system properties used in geode.
@@ -54,10 +56,28 @@ public class SystemPropertyHelper {
    */
   public static final String EVICTION_SCAN_THRESHOLD_PERCENT = "EvictionScanThresholdPercent";
 
+  /**
+   * The full paths of the regions, as a comma separated list or "*" for all of them, that keep
+   * their LRU eviction list in lock striped segments instead of a single list. For more details see
+   * {@link StripedLRUList}.
+   *
+   * @since Geode 1.16
+   */
+  public static final String EVICTION_STRIPED_LRU_REGIONS = "EvictionStripedLRURegions";
+
   public static final String EVICTION_SEARCH_MAX_ENTRIES = "lru.maxSearchEntries";
 
   public static final String EARLY_ENTRY_EVENT_SERIALIZATION = "earlyEntryEventSerialization";
 
+  /**
+   * When set to "true" the entries of regions whose key constraint is Long or Integer are kept in a
+   * map specialized for those keys (defaults to false). For more details see
+   * {@link PrimitiveKeyConcurrentHashMap}.
+   *
+   * @since Geode 1.16
+   */
+  public static final String PRIMITIVE_KEY_REGION_MAP = "PrimitiveKeyRegionMap";
+
   public static final String DEFAULT_DISK_DIRS_PROPERTY = "defaultDiskDirs";
 
   public static final String HA_REGION_QUEUE_EXPIRY_TIME_PROPERTY = "MessageTimeToLive";
@@ -25,6 +25,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -43,6 +44,7 @@ import org.apache.geode.logging.internal.executors.LoggingExecutors;
 import org.apache.geode.logging.internal.executors.LoggingThreadFactory;
 import org.apache.geode.logging.internal.executors.LoggingThreadFactory.CommandWrapper;
 import org.apache.geode.logging.internal.executors.LoggingThreadFactory.ThreadInitializer;
+import org.apache.geode.logging.internal.executors.LoggingUncaughtExceptionHandler;
 
 /**
  * Utility class that creates instances of ExecutorService whose threads will always log uncaught
@@ -198,6 +200,45 @@ public class CoreLoggingExecutors {
         poolStatHelper, threadsMonitoring);
   }
 
+  /**
+   * Creates an executor that runs each command on a new virtual thread. At most
+   * {@code maximumPoolSize} commands run at a time; further commands are rejected with a
+   * {@link RejectedExecutionException}, like they are by a pool with a synchronous feed. Returns
+   * null if the JVM does not support virtual threads.
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String threadName,
+      int maximumPoolSize, ThreadInitializer threadInitializer, CommandWrapper commandWrapper) {
+    ThreadFactory virtualThreadFactory = VirtualThreads.newThreadFactory(threadName);
+    if (virtualThreadFactory == null) {
+      return null;
+    }
+    Semaphore running = new Semaphore(maximumPoolSize);
+    ThreadFactory threadFactory = runnable -> {
+      if (!running.tryAcquire()) {
+        throw new RejectedExecutionException(
+            "Already running " + maximumPoolSize + " " + threadName + " threads");
+      }
+      Runnable commandToRun = () -> {
+        try {
+          if (commandWrapper != null) {
+            commandWrapper.invoke(runnable);
+          } else {
+            runnable.run();
+          }
+        } finally {
+          running.release();
+        }
+      };
+      Thread thread = virtualThreadFactory.newThread(commandToRun);
+      LoggingUncaughtExceptionHandler.setOnThread(thread);
+      if (threadInitializer != null) {
+        threadInitializer.initialize(thread);
+      }
+      return thread;
+    };
+    return VirtualThreads.newThreadPerTaskExecutor(threadFactory);
+  }
+
   private CoreLoggingExecutors() {
     // no instances allowed
   }
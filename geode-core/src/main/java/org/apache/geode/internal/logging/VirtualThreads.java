@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.logging;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Access to the virtual thread API of newer JVMs. Geode is still compiled for Java 8 so the API is
+ * looked up reflectively once. When the running JVM does not provide virtual threads (or provides
+ * them only as a preview feature that has not been enabled) {@link #isSupported()} returns false
+ * and the factory methods return null so that callers can fall back to platform threads.
+ */
+public class VirtualThreads {
+  private static final Logger logger = LogService.getLogger();
+
+  private static final Method OF_VIRTUAL;
+  private static final Method BUILDER_NAME;
+  private static final Method BUILDER_FACTORY;
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+  private static final Method IS_VIRTUAL;
+
+  static {
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderFactory = null;
+    Method newThreadPerTaskExecutor = null;
+    Method isVirtual = null;
+    try {
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builderName = builderClass.getMethod("name", String.class, long.class);
+      builderFactory = builderClass.getMethod("factory");
+      newThreadPerTaskExecutor =
+          java.util.concurrent.Executors.class.getMethod("newThreadPerTaskExecutor",
+              ThreadFactory.class);
+      isVirtual = Thread.class.getMethod("isVirtual");
+      // preview releases throw UnsupportedOperationException unless --enable-preview is set
+      ofVirtual.invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      logger.debug("Virtual threads are not available in this JVM", e);
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = builderName;
+    BUILDER_FACTORY = builderFactory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    IS_VIRTUAL = isVirtual;
+  }
+
+  /**
+   * Returns true if the running JVM can create virtual threads.
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Returns true if the given thread is a virtual thread.
+   */
+  public static boolean isVirtual(Thread thread) {
+    if (!isSupported()) {
+      return false;
+    }
+    try {
+      return (Boolean) IS_VIRTUAL.invoke(thread);
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns a factory of unstarted virtual threads named {@code baseName} followed by a sequence
+   * number, or null if virtual threads are not supported.
+   */
+  public static ThreadFactory newThreadFactory(String baseName) {
+    if (!isSupported()) {
+      return null;
+    }
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      builder = BUILDER_NAME.invoke(builder, baseName, 1L);
+      return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      logger.warn("Unable to create a virtual thread factory", e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns an executor that starts a new thread from the given factory for each task, or null if
+   * virtual threads are not supported.
+   */
+  public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+    if (!isSupported()) {
+      return null;
+    }
+    try {
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+    } catch (ReflectiveOperationException e) {
+      logger.warn("Unable to create a thread per task executor", e);
+      return null;
+    }
+  }
+
+  private VirtualThreads() {
+    // no instances allowed
+  }
+}
@@ -53,7 +53,7 @@ public class FreeListManager {
       new ConcurrentSkipListSet<>();
   private final AtomicLong allocatedSize = new AtomicLong(0L);
 
-  private int getNearestTinyMultiple(int size) {
+  int getNearestTinyMultiple(int size) {
     return (size - 1) / TINY_MULTIPLE;
   }
 
@@ -155,6 +155,10 @@ public class FreeListManager {
     fillFragments();
   }
 
+  OffHeapMemoryStats getStats() {
+    return ma.getStats();
+  }
+
   /**
    * Create and return a Fragment. This method exists so that tests can override it.
    */
@@ -454,6 +458,7 @@ public class FreeListManager {
    */
   boolean doDefragment(int chunkSize) {
     boolean result = false;
+    releaseCachedChunks();
     ArrayList<LongStack> freeChunks = new ArrayList<>();
     collectFreeChunks(freeChunks);
     ResizableLongArray sorted = new ResizableLongArray();
@@ -536,9 +541,22 @@ public class FreeListManager {
     int elementCountFromHugeFreeLists =
         getElementCountFromHugeFreeLists();
 
-    return elementCountFromTinyFreeLists + elementCountFromHugeFreeLists;
+    return elementCountFromTinyFreeLists + elementCountFromHugeFreeLists + getCachedChunkCount();
   }
 
+  /**
+   * Returns the number of freed chunks kept out of the free lists by a subclass.
+   */
+  protected int getCachedChunkCount() {
+    return 0;
+  }
+
+  /**
+   * Subclasses that keep freed chunks out of the free lists add them back to the free lists here so
+   * that a defragmentation can combine them.
+   */
+  protected void releaseCachedChunks() {}
+
   private int getElementCountFromTinyFreeLists() {
     int fragmentCount = 0;
     for (int i = 0; i < tinyFreeLists.length(); i++) {
@@ -743,7 +761,7 @@ public class FreeListManager {
     return (int) ((((long) value + (multiple - 1)) / multiple) * multiple);
   }
 
-  private OffHeapStoredObject allocateTiny(int size, boolean useFragments) {
+  protected OffHeapStoredObject allocateTiny(int size, boolean useFragments) {
     return basicAllocate(getNearestTinyMultiple(size), TINY_MULTIPLE, 0, tinyFreeLists,
         useFragments);
   }
@@ -791,7 +809,7 @@ public class FreeListManager {
     }
   }
 
-  private void checkDataIntegrity(OffHeapStoredObject data) {
+  void checkDataIntegrity(OffHeapStoredObject data) {
     if (validateMemoryWithFill) {
       data.validateFill();
     }
@@ -841,7 +859,7 @@ public class FreeListManager {
     }
   }
 
-  private void freeTiny(long addr, int cSize) {
+  protected void freeTiny(long addr, int cSize) {
     basicFree(addr, getNearestTinyMultiple(cSize), tinyFreeLists);
   }
 
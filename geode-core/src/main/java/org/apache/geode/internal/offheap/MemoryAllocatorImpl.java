@@ -34,6 +34,7 @@ import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.PartitionedRegionDataStore;
 import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.entries.OffHeapRegionEntry;
 import org.apache.geode.internal.lang.SystemProperty;
 import org.apache.geode.internal.offheap.annotations.OffHeapIdentifier;
 import org.apache.geode.internal.offheap.annotations.Unretained;
@@ -190,6 +191,14 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
         null, () -> new DummyNonRealTimeStatsUpdater());
   }
 
+  private FreeListManager createFreeListManager(Slab[] slabs) {
+    if (ThreadCachingFreeListManager.THREAD_CACHE_SIZE > 0) {
+      return new ThreadCachingFreeListManager(this, slabs,
+          ThreadCachingFreeListManager.THREAD_CACHE_SIZE);
+    }
+    return new FreeListManager(this, slabs);
+  }
+
   private void reuse(OutOfOffHeapMemoryListener oooml, OffHeapMemoryStats newStats,
       long offHeapMemorySize, Slab[] slabs) {
     if (isClosed()) {
@@ -224,7 +233,7 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
     this.stats.setFragments(slabs.length);
     this.stats.setLargestFragment(slabs[0].getSize());
 
-    freeList = new FreeListManager(this, slabs);
+    freeList = createFreeListManager(slabs);
     memoryInspector = new MemoryInspectorImpl(freeList);
 
     this.stats.incMaxMemory(freeList.getTotalMemory());
@@ -304,6 +313,12 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
         if (value instanceof OffHeapStoredObject) {
           result.add((OffHeapStoredObject) value);
         }
+        if (re instanceof OffHeapRegionEntry) {
+          long keyAddress = ((OffHeapRegionEntry) re).getKeyAddress();
+          if (keyAddress != 0L) {
+            result.add(new OffHeapStoredObject(keyAddress));
+          }
+        }
       }
     }
   }
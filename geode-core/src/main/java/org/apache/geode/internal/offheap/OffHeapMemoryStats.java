@@ -45,6 +45,10 @@ public interface OffHeapMemoryStats {
 
   void setFreedChunks(long value);
 
+  void incThreadCacheHits();
+
+  void incThreadCacheMisses();
+
   long getFreeMemory();
 
   long getMaxMemory();
@@ -69,6 +73,10 @@ public interface OffHeapMemoryStats {
 
   long getDefragmentationTime();
 
+  long getThreadCacheHits();
+
+  long getThreadCacheMisses();
+
   Statistics getStats();
 
   void close();
@@ -184,6 +184,7 @@ class OffHeapRegionEntryHelperInstance {
     final long newAddress = TokenAddress.objectToAddress(Token.REMOVED_PHASE2);
     if (regionEntry.setAddress(oldAddress, newAddress)) {
       releaseAddress(oldAddress);
+      regionEntry.releaseKey();
     }
   }
 
@@ -344,6 +345,10 @@ class OffHeapRegionEntryHelperInstance {
     ReferenceCountHelper.setReferenceCountOwner(regionEntry);
     releaseAddress(oldAddress);
     ReferenceCountHelper.setReferenceCountOwner(null);
+    if (newAddress == REMOVED_PHASE2_ADDRESS) {
+      // a removed entry is never used again so its key is no longer needed off-heap
+      regionEntry.releaseKey();
+    }
   }
 
   public Token getValueAsToken(@Unretained OffHeapRegionEntry regionEntry) {
@@ -63,6 +63,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
   private static final int fragmentationId;
   private static final int defragmentationsInProgressId;
   private static final int freedChunksId;
+  private static final int threadCacheHitsId;
+  private static final int threadCacheMissesId;
   // NOTE!!!! When adding new stats make sure and update the initialize method on this class
 
   // creates and registers the statistics type
@@ -91,6 +93,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
         "The total number of reads of off-heap memory. Only reads of a full object increment this statistic. If only a part of the object is read this statistic is not incremented.";
     final String maxMemoryDesc =
         "The maximum amount of off-heap memory, in bytes. This is the amount of memory allocated at startup and does not change.";
+    final String threadCacheHitsDesc =
+        "The total number of off-heap memory allocations served by the chunks cached by the allocating thread. Only incremented when gemfire.OFF_HEAP_THREAD_CACHE_SIZE is set.";
+    final String threadCacheMissesDesc =
+        "The total number of off-heap memory allocations of a size cached by threads that the cache of the allocating thread could not serve. Only incremented when gemfire.OFF_HEAP_THREAD_CACHE_SIZE is set.";
 
     final String usedMemory = "usedMemory";
     final String defragmentations = "defragmentations";
@@ -104,6 +110,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String objects = "objects";
     final String reads = "reads";
     final String maxMemory = "maxMemory";
+    final String threadCacheHits = "threadCacheHits";
+    final String threadCacheMisses = "threadCacheMisses";
 
     statsType = f.createType(statsTypeName, statsTypeDescription,
         new StatisticDescriptor[] {f.createLongGauge(usedMemory, usedMemoryDesc, "bytes"),
@@ -118,7 +126,9 @@ public class OffHeapStorage implements OffHeapMemoryStats {
             f.createIntGauge(largestFragment, largestFragmentDesc, "bytes"),
             f.createIntGauge(objects, objectsDesc, "objects"),
             f.createLongCounter(reads, readsDesc, "operations"),
-            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),});
+            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),
+            f.createLongCounter(threadCacheHits, threadCacheHitsDesc, "operations"),
+            f.createLongCounter(threadCacheMisses, threadCacheMissesDesc, "operations"),});
 
     usedMemoryId = statsType.nameToId(usedMemory);
     defragmentationId = statsType.nameToId(defragmentations);
@@ -132,6 +142,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     objectsId = statsType.nameToId(objects);
     readsId = statsType.nameToId(reads);
     maxMemoryId = statsType.nameToId(maxMemory);
+    threadCacheHitsId = statsType.nameToId(threadCacheHits);
+    threadCacheMissesId = statsType.nameToId(threadCacheMisses);
   }
 
   public static long parseOffHeapMemorySize(String value) {
@@ -405,6 +417,26 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     return stats.getInt(fragmentationId);
   }
 
+  @Override
+  public void incThreadCacheHits() {
+    stats.incLong(threadCacheHitsId, 1);
+  }
+
+  @Override
+  public void incThreadCacheMisses() {
+    stats.incLong(threadCacheMissesId, 1);
+  }
+
+  @Override
+  public long getThreadCacheHits() {
+    return stats.getLong(threadCacheHitsId);
+  }
+
+  @Override
+  public long getThreadCacheMisses() {
+    return stats.getLong(threadCacheMissesId);
+  }
+
   @Override
   public Statistics getStats() {
     return stats;
@@ -428,10 +460,20 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     setLargestFragment(oldStats.getLargestFragment());
     setDefragmentationTime(oldStats.getDefragmentationTime());
     setFragmentation(oldStats.getFragmentation());
+    setThreadCacheHits(oldStats.getThreadCacheHits());
+    setThreadCacheMisses(oldStats.getThreadCacheMisses());
 
     oldStats.close();
   }
 
+  private void setThreadCacheHits(long value) {
+    stats.setLong(threadCacheHitsId, value);
+  }
+
+  private void setThreadCacheMisses(long value) {
+    stats.setLong(threadCacheMissesId, value);
+  }
+
   private void setDefragmentationTime(long value) {
     stats.setLong(defragmentationTimeId, value);
   }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import org.apache.geode.annotations.internal.MutableForTesting;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * No instances of this class. Just some static methods having to do with the string keys that
+ * off-heap region entries store in off-heap memory.
+ *
+ * <p>
+ * The first byte of the stored key tells how its characters are encoded: 0 for one byte per
+ * character, used when all the characters are <= 0xff, and 1 for two bytes per character.
+ *
+ * <p>
+ * An entry keeps its key on the heap until it is installed in its region map, so that the entries
+ * that lose a create race and are thrown away never allocate off-heap memory. The entry holding a
+ * key owns one reference to its memory. Readers must retain the memory and then check that the
+ * entry still holds the same address before reading it, like the readers of off-heap values do.
+ *
+ * @since Geode 1.16
+ */
+public class OffHeapStringKeyHelper {
+
+  /**
+   * Set this to "true" to store the string keys of off-heap region entries that can not be inlined
+   * in off-heap memory instead of on the heap.
+   */
+  @MutableForTesting
+  public static boolean OFF_HEAP_STRING_KEYS =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "OFF_HEAP_STRING_KEYS");
+
+  /**
+   * The key address of an entry whose key was released. Never a valid address since stored
+   * objects are aligned.
+   */
+  public static final long RELEASED = 1L;
+
+  private static final byte BYTE_ENCODED = 0;
+  private static final byte CHAR_ENCODED = 1;
+
+  private OffHeapStringKeyHelper() {
+    // no instances allowed
+  }
+
+  /**
+   * Stores the given key in off-heap memory and returns its address. The caller owns the one
+   * reference to the memory.
+   */
+  public static long allocate(String key) {
+    boolean byteEncoded = canBeByteEncoded(key);
+    int length = key.length();
+    int dataSize = 1 + (byteEncoded ? length : length * 2);
+    StoredObject storedKey = MemoryAllocatorImpl.getAllocator().allocate(dataSize);
+    long dataAddress = storedKey.getAddressForReadingData(0, dataSize);
+    if (byteEncoded) {
+      AddressableMemoryManager.writeByte(dataAddress, BYTE_ENCODED);
+      for (int i = 0; i < length; i++) {
+        AddressableMemoryManager.writeByte(dataAddress + 1 + i, (byte) key.charAt(i));
+      }
+    } else {
+      AddressableMemoryManager.writeByte(dataAddress, CHAR_ENCODED);
+      for (int i = 0; i < length; i++) {
+        char c = key.charAt(i);
+        AddressableMemoryManager.writeByte(dataAddress + 1 + i * 2, (byte) (c >> 8));
+        AddressableMemoryManager.writeByte(dataAddress + 2 + i * 2, (byte) c);
+      }
+    }
+    return storedKey.getAddress();
+  }
+
+  /**
+   * Returns the key stored at the given address, which the caller must have retained.
+   */
+  public static String read(long address) {
+    OffHeapStoredObject storedKey = new OffHeapStoredObject(address);
+    int dataSize = storedKey.getDataSize();
+    long dataAddress = storedKey.getAddressForReadingData(0, dataSize);
+    boolean byteEncoded = AddressableMemoryManager.readByte(dataAddress) == BYTE_ENCODED;
+    int length = byteEncoded ? dataSize - 1 : (dataSize - 1) / 2;
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = charAt(dataAddress, byteEncoded, i);
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Returns true if the key stored at the given address, which the caller must have retained, is
+   * equal to the given key. Unlike {@link #read(long)} this does not create a string.
+   */
+  public static boolean keyEquals(long address, String key) {
+    OffHeapStoredObject storedKey = new OffHeapStoredObject(address);
+    int dataSize = storedKey.getDataSize();
+    long dataAddress = storedKey.getAddressForReadingData(0, dataSize);
+    boolean byteEncoded = AddressableMemoryManager.readByte(dataAddress) == BYTE_ENCODED;
+    int length = byteEncoded ? dataSize - 1 : (dataSize - 1) / 2;
+    if (key.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (key.charAt(i) != charAt(dataAddress, byteEncoded, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds a reference to the key stored at the given address. Returns false if the memory was
+   * already released.
+   */
+  public static boolean retain(long address) {
+    return ReferenceCounter.retain(address);
+  }
+
+  /**
+   * Removes a reference to the key stored at the given address, freeing its memory once no
+   * references are left.
+   */
+  public static void release(long address) {
+    ReferenceCounter.release(address);
+  }
+
+  private static char charAt(long dataAddress, boolean byteEncoded, int index) {
+    if (byteEncoded) {
+      return (char) (AddressableMemoryManager.readByte(dataAddress + 1 + index) & 0xff);
+    }
+    int high = AddressableMemoryManager.readByte(dataAddress + 1 + index * 2) & 0xff;
+    int low = AddressableMemoryManager.readByte(dataAddress + 2 + index * 2) & 0xff;
+    return (char) ((high << 8) | low);
+  }
+
+  private static boolean canBeByteEncoded(String key) {
+    for (int i = 0; i < key.length(); i++) {
+      if (key.charAt(i) > 0xff) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
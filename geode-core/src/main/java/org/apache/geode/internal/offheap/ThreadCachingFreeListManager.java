@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * A FreeListManager that gives each thread a cache of the small chunks it freed, so that most small
+ * allocations and frees are served without touching the free lists shared by all threads.
+ *
+ * <p>
+ * Each thread caches up to a fixed number of chunks of each tiny size class no larger than
+ * {@link #MAX_CACHED_CHUNK_SIZE}. A chunk freed when its class is full in the cache of the thread,
+ * and a chunk allocated when it is empty, go to the shared free lists as they would without the
+ * cache. The caches of all threads, including threads that are no longer alive, are returned to
+ * the shared free lists before each defragmentation, so cached chunks never cause an allocation to
+ * fail.
+ *
+ * @since Geode 1.16
+ */
+public class ThreadCachingFreeListManager extends FreeListManager {
+
+  /**
+   * The number of chunks of each size class that a thread may cache. Setting it to a positive
+   * value makes the off-heap memory allocator use this class instead of {@link FreeListManager}.
+   */
+  public static final int THREAD_CACHE_SIZE =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "OFF_HEAP_THREAD_CACHE_SIZE", 0);
+
+  /**
+   * The largest chunk, including its header, that is cached by a thread.
+   */
+  public static final int MAX_CACHED_CHUNK_SIZE = 1024;
+
+  private final int cacheSize;
+
+  private final int cachedSizeClasses;
+
+  private final Queue<ThreadCache> threadCaches = new ConcurrentLinkedQueue<>();
+
+  private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(() -> {
+    ThreadCache cache = new ThreadCache();
+    threadCaches.add(cache);
+    return cache;
+  });
+
+  public ThreadCachingFreeListManager(MemoryAllocatorImpl ma, Slab[] slabs, int cacheSize) {
+    super(ma, slabs);
+    this.cacheSize = cacheSize;
+    cachedSizeClasses = Math.min(MAX_CACHED_CHUNK_SIZE / TINY_MULTIPLE, TINY_FREE_LIST_COUNT);
+  }
+
+  @Override
+  protected OffHeapStoredObject allocateTiny(int size, boolean useFragments) {
+    int sizeClass = getNearestTinyMultiple(size);
+    if (sizeClass < cachedSizeClasses) {
+      long addr = threadCache.get().poll(sizeClass);
+      OffHeapMemoryStats stats = getStats();
+      if (addr != 0L) {
+        stats.incThreadCacheHits();
+        OffHeapStoredObject result = new OffHeapStoredObject(addr);
+        checkDataIntegrity(result);
+        result.readyForAllocation();
+        return result;
+      }
+      stats.incThreadCacheMisses();
+    }
+    return super.allocateTiny(size, useFragments);
+  }
+
+  @Override
+  protected void freeTiny(long addr, int cSize) {
+    int sizeClass = getNearestTinyMultiple(cSize);
+    if (sizeClass < cachedSizeClasses && threadCache.get().offer(sizeClass, addr)) {
+      return;
+    }
+    super.freeTiny(addr, cSize);
+  }
+
+  @Override
+  protected int getCachedChunkCount() {
+    int count = 0;
+    for (ThreadCache cache : threadCaches) {
+      count += cache.size();
+    }
+    return count;
+  }
+
+  @Override
+  protected void releaseCachedChunks() {
+    Iterator<ThreadCache> iterator = threadCaches.iterator();
+    while (iterator.hasNext()) {
+      ThreadCache cache = iterator.next();
+      cache.release();
+      if (!cache.isOwnerAlive()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * The chunks cached by one thread, as a stack of addresses per size class. The stacks are only
+   * used by their thread, except when they are released, so their lock is not contended.
+   */
+  private class ThreadCache {
+    private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+
+    private final long[][] stacks = new long[cachedSizeClasses][];
+
+    private final int[] sizes = new int[cachedSizeClasses];
+
+    private int size;
+
+    synchronized long poll(int sizeClass) {
+      int stackSize = sizes[sizeClass];
+      if (stackSize == 0) {
+        return 0L;
+      }
+      sizes[sizeClass] = --stackSize;
+      size--;
+      return stacks[sizeClass][stackSize];
+    }
+
+    synchronized boolean offer(int sizeClass, long addr) {
+      int stackSize = sizes[sizeClass];
+      if (stackSize == cacheSize) {
+        return false;
+      }
+      long[] stack = stacks[sizeClass];
+      if (stack == null) {
+        stack = new long[cacheSize];
+        stacks[sizeClass] = stack;
+      }
+      stack[stackSize] = addr;
+      sizes[sizeClass] = stackSize + 1;
+      size++;
+      return true;
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    /** Returns the cached chunks to the shared free lists. */
+    synchronized void release() {
+      for (int sizeClass = 0; sizeClass < cachedSizeClasses; sizeClass++) {
+        long[] stack = stacks[sizeClass];
+        for (int i = 0; i < sizes[sizeClass]; i++) {
+          ThreadCachingFreeListManager.super.freeTiny(stack[i],
+              OffHeapStoredObject.getSize(stack[i]));
+        }
+        sizes[sizeClass] = 0;
+      }
+      size = 0;
+    }
+
+    boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+  }
+}
@@ -0,0 +1,707 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.geode.CancelException;
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.entries.OffHeapRegionEntry;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.offheap.OffHeapClearRequired;
+import org.apache.geode.logging.internal.executors.LoggingThread;
+
+/**
+ * A concurrent map whose keys are all {@link Long}s or all {@link Integer}s, kept unboxed in open
+ * addressing hash tables. A lookup probes an array of keys and an array of values, so it costs one
+ * or two cache misses and allocates nothing, unlike {@link CustomEntryConcurrentHashMap} which
+ * hashes the boxed key and walks a chain of entries.
+ *
+ * <p>
+ * Like {@link CustomEntryConcurrentHashMap}, the map is divided in segments that are locked by
+ * updates while retrievals do not lock. A key is stored at most once in the table of its segment.
+ * Removing it leaves its slot holding a removed marker, which is reused if the key is added again
+ * and dropped when the table is rehashed. So the key of a slot never changes, which lets a
+ * retrieval read it after the value of the slot without locking.
+ *
+ * <p>
+ * Keys of any other class are never in the map, and putting one throws
+ * {@link ClassCastException}. Null keys and values are not allowed. Iterators are weakly
+ * consistent, like those of {@link CustomEntryConcurrentHashMap}.
+ *
+ * @since Geode 1.16
+ */
+public class PrimitiveKeyConcurrentHashMap extends AbstractMap<Object, Object>
+    implements ConcurrentMapWithReusableEntries<Object, Object> {
+
+  static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  static final int MAX_SEGMENTS = 1 << 16;
+
+  /**
+   * Open addressing degrades quickly when the table is nearly full, so larger load factors are
+   * capped to this one.
+   */
+  static final float MAXIMUM_LOAD_FACTOR = 0.75f;
+
+  /**
+   * The value of a slot whose key was removed.
+   */
+  @Immutable
+  private static final Object REMOVED = new Object();
+
+  private final boolean intKeys;
+
+  private final float loadFactor;
+
+  private final Segment[] segments;
+
+  private final int segmentShift;
+
+  private final int segmentMask;
+
+  /**
+   * Returns true if this map can hold keys of the given class.
+   */
+  public static boolean isSupportedKeyClass(Class<?> keyClass) {
+    return keyClass == Long.class || keyClass == Integer.class;
+  }
+
+  /**
+   * @param keyClass the class of the keys, either Long or Integer
+   * @param initialCapacity the number of keys the map is sized for initially
+   * @param loadFactor the fraction of the slots of a table that may be used before it is resized
+   * @param concurrencyLevel the estimated number of concurrently updating threads
+   */
+  public PrimitiveKeyConcurrentHashMap(Class<?> keyClass, int initialCapacity, float loadFactor,
+      int concurrencyLevel) {
+    if (!isSupportedKeyClass(keyClass)) {
+      throw new IllegalArgumentException("Unsupported key class " + keyClass);
+    }
+    if (!(loadFactor > 0) || initialCapacity < 0 || concurrencyLevel <= 0) {
+      throw new IllegalArgumentException();
+    }
+    intKeys = keyClass == Integer.class;
+    this.loadFactor = Math.min(loadFactor, MAXIMUM_LOAD_FACTOR);
+
+    if (concurrencyLevel > MAX_SEGMENTS) {
+      concurrencyLevel = MAX_SEGMENTS;
+    }
+    int segmentBits = 0;
+    int segmentCount = 1;
+    while (segmentCount < concurrencyLevel) {
+      segmentBits++;
+      segmentCount <<= 1;
+    }
+    segmentShift = 32 - segmentBits;
+    segmentMask = segmentCount - 1;
+
+    if (initialCapacity > MAXIMUM_CAPACITY) {
+      initialCapacity = MAXIMUM_CAPACITY;
+    }
+    int keysPerSegment = (initialCapacity + segmentCount - 1) / segmentCount;
+    long slotsNeeded = (long) (keysPerSegment / this.loadFactor) + 1;
+    int capacity = 2;
+    while (capacity < slotsNeeded && capacity < MAXIMUM_CAPACITY) {
+      capacity <<= 1;
+    }
+    segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment(capacity);
+    }
+  }
+
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private Segment segmentFor(int hash) {
+    return segments[(hash >>> segmentShift) & segmentMask];
+  }
+
+  private boolean isKey(Object key) {
+    return key.getClass() == (intKeys ? Integer.class : Long.class);
+  }
+
+  private long toLong(Object key) {
+    return intKeys ? (Integer) key : (Long) key;
+  }
+
+  private Object toKey(long key) {
+    return intKeys ? Integer.valueOf((int) key) : Long.valueOf(key);
+  }
+
+  private long checkKey(Object key) {
+    if (!isKey(key)) {
+      Class<?> keyClass = intKeys ? Integer.class : Long.class;
+      throw new ClassCastException(key.getClass().getName() + " is not a " + keyClass.getName());
+    }
+    return toLong(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (!isKey(key)) {
+      return null;
+    }
+    long longKey = toLong(key);
+    int hash = hash(longKey);
+    return segmentFor(hash).get(longKey, hash);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public Object put(Object key, Object value) {
+    Objects.requireNonNull(value);
+    long longKey = checkKey(key);
+    int hash = hash(longKey);
+    return segmentFor(hash).put(longKey, hash, value, false);
+  }
+
+  @Override
+  public Object putIfAbsent(Object key, Object value) {
+    Objects.requireNonNull(value);
+    long longKey = checkKey(key);
+    int hash = hash(longKey);
+    return segmentFor(hash).put(longKey, hash, value, true);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    if (!isKey(key)) {
+      return null;
+    }
+    long longKey = toLong(key);
+    int hash = hash(longKey);
+    return segmentFor(hash).remove(longKey, hash, null);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    if (value == null || !isKey(key)) {
+      return false;
+    }
+    long longKey = toLong(key);
+    int hash = hash(longKey);
+    return segmentFor(hash).remove(longKey, hash, value) != null;
+  }
+
+  @Override
+  public boolean replace(Object key, Object oldValue, Object newValue) {
+    Objects.requireNonNull(oldValue);
+    Objects.requireNonNull(newValue);
+    if (!isKey(key)) {
+      return false;
+    }
+    long longKey = toLong(key);
+    int hash = hash(longKey);
+    return segmentFor(hash).replace(longKey, hash, oldValue, newValue) != null;
+  }
+
+  @Override
+  public Object replace(Object key, Object value) {
+    Objects.requireNonNull(value);
+    if (!isKey(key)) {
+      return null;
+    }
+    long longKey = toLong(key);
+    int hash = hash(longKey);
+    return segmentFor(hash).replace(longKey, hash, null, value);
+  }
+
+  @Override
+  public int size() {
+    long size = 0;
+    for (Segment segment : segments) {
+      size += segment.count;
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (Segment segment : segments) {
+      if (segment.count != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Set<Map.Entry<Object, Object>> entrySet() {
+    return new EntrySet(false);
+  }
+
+  @Override
+  public Set<Map.Entry<Object, Object>> entrySetWithReusableEntries() {
+    return new EntrySet(true);
+  }
+
+  @Override
+  public void clear() {
+    clearWithExecutor(null);
+  }
+
+  /**
+   * Clears the map like {@link CustomEntryConcurrentHashMap#clearWithExecutor(Executor)}, which
+   * releases the values of off-heap region entries asynchronously.
+   */
+  @Override
+  public void clearWithExecutor(Executor executor) {
+    boolean checkForGatewaySenderEvent = OffHeapClearRequired.doesClearNeedToCheckForOffHeap();
+    List<Object> clearedValues = null;
+    for (Segment segment : segments) {
+      clearedValues = segment.clear(clearedValues, checkForGatewaySenderEvent);
+    }
+    if (clearedValues == null || clearedValues.isEmpty()) {
+      return;
+    }
+    final List<Object> values = clearedValues;
+    Runnable runnable;
+    if (checkForGatewaySenderEvent) {
+      runnable = () -> {
+        for (Object value : values) {
+          if (value instanceof RegionEntry) {
+            synchronized (value) {
+              GatewaySenderEventImpl.release(((RegionEntry) value).getValue()); // OFFHEAP
+            }
+          }
+        }
+      };
+    } else {
+      runnable = () -> {
+        for (Object value : values) {
+          synchronized (value) {
+            ((OffHeapRegionEntry) value).release();
+          }
+        }
+      };
+    }
+    boolean submitted = false;
+    if (executor != null) {
+      try {
+        executor.execute(runnable);
+        submitted = true;
+      } catch (RejectedExecutionException | CancelException | NullPointerException e) {
+        // fall through with submitted false
+      }
+    }
+    if (!submitted) {
+      String name = getClass().getSimpleName() + "@" + hashCode() + " Clear Thread";
+      Thread thread = new LoggingThread(name, runnable);
+      thread.start();
+    }
+  }
+
+  /**
+   * The keys and values of a segment. The key of a slot is written before its value, and the slots
+   * of a table are only written with the lock of their segment held.
+   */
+  private static class Table {
+    private final long[] keys;
+
+    /**
+     * The value of each slot, null if the slot was never used and REMOVED if its key was removed.
+     */
+    private final AtomicReferenceArray<Object> values;
+
+    Table(int capacity) {
+      keys = new long[capacity];
+      values = new AtomicReferenceArray<>(capacity);
+    }
+
+    int capacity() {
+      return keys.length;
+    }
+
+    /**
+     * Returns the slot holding the given key, or the unused slot it would be put in.
+     */
+    int indexOf(long key, int hash) {
+      int mask = keys.length - 1;
+      int index = hash & mask;
+      while (values.get(index) != null && keys[index] != key) {
+        index = (index + 1) & mask;
+      }
+      return index;
+    }
+  }
+
+  private class Segment extends ReentrantLock {
+    private static final long serialVersionUID = -3530093434427417618L;
+
+    private volatile Table table;
+
+    /**
+     * The number of keys in the table.
+     */
+    private volatile int count;
+
+    /**
+     * The number of slots of the table that were used, including removed ones. Only accessed with
+     * the lock held.
+     */
+    private int usedSlots;
+
+    /**
+     * The number of used slots above which the table is rehashed. Only accessed with the lock held.
+     */
+    private int threshold;
+
+    Segment(int capacity) {
+      setTable(new Table(capacity));
+    }
+
+    private void setTable(Table newTable) {
+      // at least one slot is never used so that probing always ends
+      threshold = Math.min((int) (newTable.capacity() * loadFactor), newTable.capacity() - 1);
+      table = newTable;
+    }
+
+    Object get(long key, int hash) {
+      Table tab = table;
+      int mask = tab.capacity() - 1;
+      for (int index = hash & mask;; index = (index + 1) & mask) {
+        Object value = tab.values.get(index);
+        if (value == null) {
+          return null;
+        }
+        if (tab.keys[index] == key) {
+          return value == REMOVED ? null : value;
+        }
+      }
+    }
+
+    Object put(long key, int hash, Object value, boolean onlyIfAbsent) {
+      lock();
+      try {
+        Table tab = table;
+        int index = tab.indexOf(key, hash);
+        Object oldValue = tab.values.get(index);
+        if (oldValue == null) {
+          if (usedSlots >= threshold) {
+            rehash();
+            tab = table;
+            index = tab.indexOf(key, hash);
+          }
+          tab.keys[index] = key;
+          usedSlots++;
+        } else if (oldValue != REMOVED) {
+          if (!onlyIfAbsent) {
+            tab.values.set(index, value);
+          }
+          return oldValue;
+        }
+        tab.values.set(index, value);
+        count++;
+        return null;
+      } finally {
+        unlock();
+      }
+    }
+
+    /**
+     * Removes the key if its value equals the expected one, or whatever its value if the expected
+     * value is null. Returns the removed value.
+     */
+    Object remove(long key, int hash, Object expectedValue) {
+      lock();
+      try {
+        Table tab = table;
+        int index = tab.indexOf(key, hash);
+        Object value = tab.values.get(index);
+        if (value == null || value == REMOVED
+            || (expectedValue != null && !expectedValue.equals(value))) {
+          return null;
+        }
+        tab.values.set(index, REMOVED);
+        count--;
+        return value;
+      } finally {
+        unlock();
+      }
+    }
+
+    /**
+     * Replaces the value of the key if it equals the expected one, or whatever it is if the
+     * expected value is null. Returns the replaced value.
+     */
+    Object replace(long key, int hash, Object expectedValue, Object newValue) {
+      lock();
+      try {
+        Table tab = table;
+        int index = tab.indexOf(key, hash);
+        Object value = tab.values.get(index);
+        if (value == null || value == REMOVED
+            || (expectedValue != null && !expectedValue.equals(value))) {
+          return null;
+        }
+        tab.values.set(index, newValue);
+        return value;
+      } finally {
+        unlock();
+      }
+    }
+
+    /**
+     * Copies the keys to a new table, dropping the removed ones, and doubles its capacity unless
+     * most used slots were removed ones. Readers still probing the old table see it unchanged.
+     */
+    private void rehash() {
+      Table oldTable = table;
+      int capacity = oldTable.capacity();
+      if (count >= threshold / 2 && capacity < MAXIMUM_CAPACITY) {
+        capacity <<= 1;
+      }
+      Table newTable = new Table(capacity);
+      int mask = capacity - 1;
+      for (int i = 0; i < oldTable.capacity(); i++) {
+        Object value = oldTable.values.get(i);
+        if (value != null && value != REMOVED) {
+          long key = oldTable.keys[i];
+          int index = hash(key) & mask;
+          while (newTable.values.get(index) != null) {
+            index = (index + 1) & mask;
+          }
+          newTable.keys[index] = key;
+          newTable.values.lazySet(index, value);
+        }
+      }
+      usedSlots = count;
+      setTable(newTable);
+    }
+
+    /**
+     * Empties the segment. Its values are added to the given list, which is created if needed,
+     * when they may have to be released.
+     */
+    List<Object> clear(List<Object> clearedValues, boolean checkForGatewaySenderEvent) {
+      lock();
+      try {
+        Table tab = table;
+        if (usedSlots == 0) {
+          return clearedValues;
+        }
+        for (int i = 0; i < tab.capacity(); i++) {
+          Object value = tab.values.get(i);
+          if (value == null || value == REMOVED) {
+            continue;
+          }
+          if (clearedValues == null) {
+            if (!checkForGatewaySenderEvent && !(value instanceof OffHeapRegionEntry)) {
+              break;
+            }
+            clearedValues = new ArrayList<>();
+          }
+          clearedValues.add(value);
+        }
+        usedSlots = 0;
+        count = 0;
+        setTable(new Table(tab.capacity()));
+        return clearedValues;
+      } finally {
+        unlock();
+      }
+    }
+  }
+
+  private class EntrySet extends AbstractSet<Map.Entry<Object, Object>> {
+    private final boolean reuseEntries;
+
+    EntrySet(boolean reuseEntries) {
+      this.reuseEntries = reuseEntries;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Object, Object>> iterator() {
+      return new EntryIterator(reuseEntries);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+      Object value = get(entry.getKey());
+      return value != null && value.equals(entry.getValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+      return PrimitiveKeyConcurrentHashMap.this.remove(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public int size() {
+      return PrimitiveKeyConcurrentHashMap.this.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return PrimitiveKeyConcurrentHashMap.this.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+      PrimitiveKeyConcurrentHashMap.this.clear();
+    }
+  }
+
+  /**
+   * Iterates over the slots of the table each segment has when the iterator gets to it.
+   */
+  private class EntryIterator implements Iterator<Map.Entry<Object, Object>> {
+    private final IteratorEntry reusedEntry;
+
+    private int nextSegment;
+
+    private Table table;
+
+    private int nextSlot;
+
+    private long nextKey;
+
+    private Object nextValue;
+
+    private IteratorEntry lastReturned;
+
+    EntryIterator(boolean reuseEntries) {
+      reusedEntry = reuseEntries ? new IteratorEntry() : null;
+      advance();
+    }
+
+    private void advance() {
+      nextValue = null;
+      while (true) {
+        if (table != null) {
+          while (nextSlot < table.capacity()) {
+            int slot = nextSlot++;
+            Object value = table.values.get(slot);
+            if (value != null && value != REMOVED) {
+              nextKey = table.keys[slot];
+              nextValue = value;
+              return;
+            }
+          }
+        }
+        if (nextSegment == segments.length) {
+          return;
+        }
+        table = segments[nextSegment++].table;
+        nextSlot = 0;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextValue != null;
+    }
+
+    @Override
+    public Map.Entry<Object, Object> next() {
+      if (nextValue == null) {
+        throw new NoSuchElementException();
+      }
+      IteratorEntry entry = reusedEntry != null ? reusedEntry : new IteratorEntry();
+      entry.key = nextKey;
+      entry.value = nextValue;
+      lastReturned = entry;
+      advance();
+      return entry;
+    }
+
+    @Override
+    public void remove() {
+      if (lastReturned == null) {
+        throw new IllegalStateException();
+      }
+      long key = lastReturned.key;
+      int hash = hash(key);
+      segmentFor(hash).remove(key, hash, null);
+      lastReturned = null;
+    }
+  }
+
+  /**
+   * An entry returned by an iterator. Setting its value puts it in the map.
+   */
+  private class IteratorEntry implements Map.Entry<Object, Object> {
+    private long key;
+
+    private Object value;
+
+    @Override
+    public Object getKey() {
+      return toKey(key);
+    }
+
+    @Override
+    public Object getValue() {
+      return value;
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      Objects.requireNonNull(value);
+      Object oldValue = this.value;
+      this.value = value;
+      put(getKey(), value);
+      return oldValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+      return getKey().equals(entry.getKey()) && value.equals(entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+}
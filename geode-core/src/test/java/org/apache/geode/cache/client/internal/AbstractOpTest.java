@@ -65,6 +65,7 @@ public class AbstractOpTest {
     ChunkedMessage msg = mock(ChunkedMessage.class);
     doCallRealMethod().when(op).processChunkedResponse(any(ChunkedMessage.class), anyString(),
         any());
+    doCallRealMethod().when(op).readChunkedResponseHeader(any(ChunkedMessage.class), anyString());
     doNothing().when(msg).readHeader();
     when(msg.getMessageType()).thenReturn(MessageType.PING);
     op.processChunkedResponse(msg, "removeAll", null);
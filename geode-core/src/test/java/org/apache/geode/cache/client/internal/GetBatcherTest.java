@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.client.ServerConnectivityException;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PoolStats;
+import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
+
+public class GetBatcherTest {
+  private ExecutablePool pool;
+  private PoolStats stats;
+  private LocalRegion region;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    pool = mock(ExecutablePool.class);
+    stats = mock(PoolStats.class);
+    region = mock(LocalRegion.class);
+    when(region.getFullPath()).thenReturn("/region");
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void createIsDisabledByDefault() {
+    assertThat(GetBatcher.create(pool, stats)).isNull();
+  }
+
+  @Test
+  public void canBatchOnlyWithoutCallbackArgument() {
+    GetBatcher batcher = new GetBatcher(pool, stats, 1, 10);
+
+    assertThat(batcher.canBatch(null)).isTrue();
+    assertThat(batcher.canBatch("callback")).isFalse();
+  }
+
+  @Test
+  public void lonelyGetIsNotBatched() {
+    GetBatcher batcher = new GetBatcher(pool, stats, TimeUnit.MICROSECONDS.toNanos(10), 10);
+
+    assertThat(batcher.get(region, "key", null, null)).isSameAs(GetBatcher.NOT_BATCHED);
+    verify(pool, never()).execute(any());
+    assertThat(batcher.getOpenBatchCount()).isZero();
+  }
+
+  @Test
+  public void concurrentGetsAreSentAsOneGetAll() throws Exception {
+    when(pool.execute(any())).thenAnswer(invocation -> {
+      GetAllOp.GetAllOpImpl op = invocation.getArgument(0);
+      VersionedObjectList result = new VersionedObjectList(false);
+      for (Object key : (List<?>) op.getKeyList()) {
+        result.addObject(key, "value-" + key, null);
+      }
+      return result;
+    });
+    GetBatcher batcher = new GetBatcher(pool, stats, TimeUnit.MINUTES.toNanos(1), 2);
+
+    CompletableFuture<Object> first =
+        CompletableFuture.supplyAsync(() -> batcher.get(region, "a", null, null), executor);
+    CompletableFuture<Object> second =
+        CompletableFuture.supplyAsync(() -> batcher.get(region, "b", null, null), executor);
+
+    assertThat(first.get(1, TimeUnit.MINUTES)).isEqualTo("value-a");
+    assertThat(second.get(1, TimeUnit.MINUTES)).isEqualTo("value-b");
+    verify(pool, times(1)).execute(any());
+    verify(stats).endGetBatch(2);
+  }
+
+  @Test
+  public void failedBatchFallsBackToIndividualGets() throws Exception {
+    when(pool.execute(any())).thenThrow(new ServerConnectivityException("expected"));
+    GetBatcher batcher = new GetBatcher(pool, stats, TimeUnit.MINUTES.toNanos(1), 2);
+
+    CompletableFuture<Object> first =
+        CompletableFuture.supplyAsync(() -> batcher.get(region, "a", null, null), executor);
+    CompletableFuture<Object> second =
+        CompletableFuture.supplyAsync(() -> batcher.get(region, "b", null, null), executor);
+
+    assertThat(first.get(1, TimeUnit.MINUTES)).isSameAs(GetBatcher.NOT_BATCHED);
+    assertThat(second.get(1, TimeUnit.MINUTES)).isSameAs(GetBatcher.NOT_BATCHED);
+  }
+
+  @Test
+  public void waitTimeEndsWhenTheBatchIsSent() throws Exception {
+    long roundTripMillis = 500;
+    when(pool.execute(any())).thenAnswer(invocation -> {
+      Thread.sleep(roundTripMillis);
+      GetAllOp.GetAllOpImpl op = invocation.getArgument(0);
+      VersionedObjectList result = new VersionedObjectList(false);
+      for (Object key : (List<?>) op.getKeyList()) {
+        result.addObject(key, "value-" + key, null);
+      }
+      return result;
+    });
+    GetBatcher batcher = new GetBatcher(pool, stats, TimeUnit.MINUTES.toNanos(1), 2);
+
+    CompletableFuture<Object> first =
+        CompletableFuture.supplyAsync(() -> batcher.get(region, "a", null, null), executor);
+    CompletableFuture<Object> second =
+        CompletableFuture.supplyAsync(() -> batcher.get(region, "b", null, null), executor);
+    first.get(1, TimeUnit.MINUTES);
+    second.get(1, TimeUnit.MINUTES);
+
+    ArgumentCaptor<Long> waitTime = ArgumentCaptor.forClass(Long.class);
+    verify(stats, times(1)).incGetBatchWaitTime(waitTime.capture());
+    assertThat(waitTime.getValue())
+        .isGreaterThanOrEqualTo(0)
+        .isLessThan(TimeUnit.MILLISECONDS.toNanos(roundTripMillis));
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.Socket;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.distributed.internal.ServerLocation;
+
+public class PipelinedConnectionManagerTest {
+  private ConnectionFactory connectionFactory;
+  private ServerLocation server;
+  private PipelinedConnectionManager manager;
+
+  @Before
+  public void setUp() {
+    connectionFactory = mock(ConnectionFactory.class);
+    server = new ServerLocation("localhost", 40404);
+    when(connectionFactory.findBestServer(any(), any())).thenReturn(server);
+    when(connectionFactory.createClientToServerConnection(eq(server), eq(false)))
+        .thenAnswer(invocation -> createConnection(server));
+    manager = new PipelinedConnectionManager(connectionFactory, 2, 4, 1024);
+  }
+
+  private Connection createConnection(ServerLocation location) {
+    Connection connection = mock(Connection.class);
+    when(connection.getServer()).thenReturn(location);
+    when(connection.getSocket()).thenReturn(mock(Socket.class));
+    return connection;
+  }
+
+  @Test
+  public void createIsDisabledByDefault() {
+    assertThat(PipelinedConnectionManager.create(connectionFactory, 1024)).isNull();
+  }
+
+  @Test
+  public void idleConnectionIsReused() {
+    PipelinedConnection first = manager.borrowConnection(null);
+    PipelinedConnection second = manager.borrowConnection(server);
+
+    assertThat(second).isSameAs(first);
+    assertThat(manager.getConnections()).hasSize(1);
+  }
+
+  @Test
+  public void connectionIsNotCreatedForServerRequiringCredentials() {
+    ServerLocation secureServer = new ServerLocation("localhost", 40405);
+    secureServer.setRequiresCredentials(true);
+    when(connectionFactory.createClientToServerConnection(eq(secureServer), eq(false)))
+        .thenAnswer(invocation -> createConnection(secureServer));
+
+    assertThat(manager.borrowConnection(secureServer)).isNull();
+    assertThat(manager.getConnections()).isEmpty();
+  }
+
+  @Test
+  public void borrowAfterCloseReturnsNull() {
+    manager.close(false);
+
+    assertThat(manager.borrowConnection(null)).isNull();
+    verify(connectionFactory, times(0)).createClientToServerConnection(any(), eq(false));
+  }
+
+  @Test
+  public void destroyedConnectionIsReplaced() {
+    PipelinedConnection first = manager.borrowConnection(null);
+    when(first.getConnection().isDestroyed()).thenReturn(true);
+
+    PipelinedConnection second = manager.borrowConnection(null);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(manager.getConnections()).containsExactly(second);
+  }
+
+  @Test
+  public void canPipelineRejectsOpsThatAreNotPipelineable() {
+    assertThat(manager.canPipeline(mock(Op.class))).isFalse();
+  }
+}
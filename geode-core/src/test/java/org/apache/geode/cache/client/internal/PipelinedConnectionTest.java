@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.serialization.KnownVersion;
+
+public class PipelinedConnectionTest {
+  private static final int OPERATIONS = 4;
+
+  private ServerSocket serverSocket;
+  private Socket socket;
+  private ExecutorService executor;
+  private PipelinedConnection pipelinedConnection;
+
+  @Before
+  public void setUp() throws Exception {
+    serverSocket = new ServerSocket();
+    serverSocket.bind(new InetSocketAddress(InetAddress.getLocalHost(), 0));
+    executor = Executors.newFixedThreadPool(OPERATIONS + 1);
+    socket = new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+
+    Connection connection = mock(Connection.class);
+    when(connection.getSocket()).thenReturn(socket);
+    when(connection.getInputStream()).thenReturn(socket.getInputStream());
+    when(connection.getOutputStream()).thenReturn(socket.getOutputStream());
+    when(connection.getCommBuffer()).thenReturn(ByteBuffer.allocate(1024));
+    when(connection.getServer())
+        .thenReturn(new ServerLocation("localhost", serverSocket.getLocalPort()));
+    when(connection.getEndpoint()).thenReturn(mock(Endpoint.class));
+    pipelinedConnection = new PipelinedConnection(connection, 1024);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+    socket.close();
+    serverSocket.close();
+  }
+
+  @Test
+  public void eachOperationGetsItsOwnReply() throws Exception {
+    CompletableFuture<Void> server = CompletableFuture.runAsync(this::echoAfterAllRequests,
+        executor);
+    List<CompletableFuture<Object>> replies = new ArrayList<>();
+    for (int i = 0; i < OPERATIONS; i++) {
+      EchoOp op = new EchoOp("key-" + i);
+      replies.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return pipelinedConnection.execute(op);
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }, executor));
+    }
+
+    server.get(1, TimeUnit.MINUTES);
+    for (int i = 0; i < OPERATIONS; i++) {
+      assertThat(replies.get(i).get(1, TimeUnit.MINUTES)).isEqualTo("reply-key-" + i);
+    }
+    assertThat(pipelinedConnection.getNextTicket()).isEqualTo(OPERATIONS);
+    assertThat(pipelinedConnection.getInFlight()).isZero();
+  }
+
+  /**
+   * Reads every request before replying, so that all operations are in flight on the connection
+   * at once, then replies in the order the requests arrived like a server connection does.
+   */
+  private void echoAfterAllRequests() {
+    try (Socket accepted = serverSocket.accept()) {
+      ByteBuffer buffer = ByteBuffer.allocate(1024);
+      List<String> keys = new ArrayList<>();
+      for (int i = 0; i < OPERATIONS; i++) {
+        Message request = new Message(1, KnownVersion.CURRENT);
+        request.setComms(accepted, accepted.getInputStream(), accepted.getOutputStream(), buffer,
+            null);
+        request.receive();
+        keys.add(request.getPart(0).getString());
+        request.unsetComms();
+      }
+      for (String key : keys) {
+        Message reply = new Message(1, KnownVersion.CURRENT);
+        reply.setMessageType(MessageType.RESPONSE);
+        reply.addStringPart("reply-" + key);
+        reply.setComms(accepted, accepted.getInputStream(), accepted.getOutputStream(), buffer,
+            null);
+        reply.send();
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static class EchoOp extends AbstractOp {
+    EchoOp(String key) {
+      super(MessageType.REQUEST, 1);
+      getMessage().addStringPart(key);
+    }
+
+    @Override
+    protected Object processResponse(@NotNull Message msg) throws Exception {
+      return msg.getPart(0).getString();
+    }
+
+    @Override
+    protected boolean isErrorResponse(MessageType msgType) {
+      return false;
+    }
+
+    @Override
+    protected long startAttempt(ConnectionStats stats) {
+      return 0;
+    }
+
+    @Override
+    protected void endSendAttempt(ConnectionStats stats, long start) {}
+
+    @Override
+    protected void endAttempt(ConnectionStats stats, long start) {}
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.apache.geode.cache.Region.SEPARATOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.client.ServerOperationException;
+import org.apache.geode.cache.client.internal.QueryOp.CursorQueryOpImpl;
+import org.apache.geode.cache.client.internal.QueryOp.QueryResultCursor;
+import org.apache.geode.cache.query.Struct;
+import org.apache.geode.cache.query.internal.types.CollectionTypeImpl;
+import org.apache.geode.cache.query.internal.types.StructTypeImpl;
+import org.apache.geode.cache.query.internal.types.TypeUtils;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.cache.tier.sockets.ChunkedMessage;
+import org.apache.geode.internal.cache.tier.sockets.Part;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+
+@Category({ClientServerTest.class})
+public class QueryOpTest {
+  private PoolImpl pool;
+  private Connection connection;
+  private ChunkedMessage msg;
+  private Part resultPart;
+  private CursorQueryOpImpl op;
+  private QueryResultCursor cursor;
+
+  @Before
+  public void before() throws Exception {
+    pool = mock(PoolImpl.class);
+    connection = mock(Connection.class);
+    when(connection.getServer()).thenReturn(mock(ServerLocation.class));
+    msg = mock(ChunkedMessage.class);
+    Part typePart = mock(Part.class);
+    when(typePart.getObject())
+        .thenReturn(new CollectionTypeImpl(List.class, TypeUtils.OBJECT_TYPE));
+    resultPart = mock(Part.class);
+    when(msg.getPart(0)).thenReturn(typePart);
+    when(msg.getPart(1)).thenReturn(resultPart);
+    op = new CursorQueryOpImpl(pool, "SELECT * FROM " + SEPARATOR + "region");
+    cursor = new QueryResultCursor(op, connection, msg);
+  }
+
+  @Test
+  public void cursorReceivesChunksAsItIsIterated() throws Exception {
+    when(msg.isLastChunk()).thenReturn(false, true);
+    when(resultPart.getObject()).thenReturn(new Object[] {"a", "b"}, new Object[] {"c"});
+    cursor.readChunk();
+
+    assertThat(cursor.next()).isEqualTo("a");
+    assertThat(cursor.next()).isEqualTo("b");
+    verify(msg, times(1)).receiveChunk();
+    verify(pool, never()).returnConnection(connection);
+
+    assertThat(cursor.next()).isEqualTo("c");
+    assertThat(cursor.hasNext()).isFalse();
+    verify(msg, times(2)).receiveChunk();
+    verify(pool).returnConnection(connection);
+    verify(connection, never()).destroy();
+  }
+
+  @Test
+  public void processResponseReturnsCursorOverFirstChunk() throws Exception {
+    when(msg.getMessageType()).thenReturn(MessageType.RESPONSE);
+    when(msg.isLastChunk()).thenReturn(true);
+    when(resultPart.getObject()).thenReturn(new Object[] {"a"});
+
+    Object result = op.processResponse(msg, connection);
+
+    assertThat(result).isInstanceOf(QueryResultCursor.class);
+    QueryResultCursor opened = (QueryResultCursor) result;
+    assertThat(opened.next()).isEqualTo("a");
+    assertThat(opened.hasNext()).isFalse();
+    verify(pool).returnConnection(connection);
+  }
+
+  @Test
+  public void closingCursorEarlyDestroysConnection() throws Exception {
+    when(msg.isLastChunk()).thenReturn(false);
+    when(resultPart.getObject()).thenReturn(new Object[] {"a", "b"});
+    cursor.readChunk();
+    cursor.next();
+
+    cursor.close();
+
+    assertThat(cursor.hasNext()).isFalse();
+    verify(connection).destroy();
+    verify(pool).returnConnection(connection);
+  }
+
+  @Test
+  public void exceptionFromServerClosesCursor() throws Exception {
+    when(msg.isLastChunk()).thenReturn(false);
+    when(resultPart.getObject()).thenReturn(new Object[] {"a"},
+        new IllegalStateException("failed"));
+    cursor.readChunk();
+    cursor.next();
+
+    assertThatThrownBy(cursor::hasNext).isInstanceOf(ServerOperationException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    verify(connection).destroy();
+    verify(pool).returnConnection(connection);
+  }
+
+  @Test
+  public void structFieldValuesAreMadeIntoStructs() {
+    StructTypeImpl structType = new StructTypeImpl(new String[] {"id", "name"});
+
+    Object[] elements = QueryOp.QueryOpImpl.getResultElements(
+        new Object[] {new Object[] {1, "one"}, new Object[] {2, "two"}}, structType);
+
+    assertThat(elements).hasSize(2);
+    assertThat(((Struct) elements[1]).getFieldValues()).containsExactly(2, "two");
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+
+@Category({OQLQueryTest.class})
+public class QueryTest {
+  private final Object[] params = {1};
+  private Query query;
+
+  @Before
+  public void setUp() throws Exception {
+    query = mock(Query.class);
+    when(query.executeWithCursor(params)).thenCallRealMethod();
+  }
+
+  @Test
+  public void cursorIteratesOverSelectResults() throws Exception {
+    @SuppressWarnings("unchecked")
+    SelectResults<Object> results = mock(SelectResults.class);
+    when(results.iterator()).thenReturn(Arrays.<Object>asList("a", "b").iterator());
+    when(query.execute(params)).thenReturn(results);
+
+    QueryCursor<Object> cursor = query.executeWithCursor(params);
+
+    assertThat(cursor).toIterable().containsExactly("a", "b");
+    cursor.close();
+  }
+
+  @Test
+  public void cursorReturnsSingleResultOfNonSelectQuery() throws Exception {
+    when(query.execute(params)).thenReturn(2);
+
+    QueryCursor<Object> cursor = query.executeWithCursor(params);
+
+    assertThat(cursor).toIterable().containsExactly(2);
+  }
+
+  @Test
+  public void closedCursorHasNoMoreResults() throws Exception {
+    when(query.execute(params)).thenReturn(2);
+    QueryCursor<Object> cursor = query.executeWithCursor(params);
+
+    cursor.close();
+
+    assertThat(cursor.hasNext()).isFalse();
+  }
+}
@@ -470,6 +470,37 @@ public class AttributeDescriptorTest {
     assertThat(result).isEqualTo(attributeName);
   }
 
+  @Test
+  public void readReflectionShouldReturnUndefinedWhenAccessorThrowsEntryDestroyedException()
+      throws NameNotFoundException, QueryInvocationTargetException {
+    doReturn(true).when(methodInvocationAuthorizer).authorize(any(), any());
+    AttributeDescriptor attributeDescriptor = new AttributeDescriptor(typeRegistry, "destroyed");
+
+    assertThat(attributeDescriptor.readReflection(new FailingBean(), queryExecutionContext))
+        .isEqualTo(QueryService.UNDEFINED);
+  }
+
+  @Test
+  public void readReflectionShouldWrapErrorThrownByGeneratedAccessor() {
+    doReturn(true).when(methodInvocationAuthorizer).authorize(any(), any());
+    AttributeDescriptor attributeDescriptor = new AttributeDescriptor(typeRegistry, "error");
+
+    assertThatThrownBy(
+        () -> attributeDescriptor.readReflection(new FailingBean(), queryExecutionContext))
+            .isInstanceOf(QueryInvocationTargetException.class)
+            .hasRootCauseInstanceOf(AssertionError.class);
+  }
+
+  public static class FailingBean {
+    public Object getDestroyed() {
+      throw new EntryDestroyedException();
+    }
+
+    public Object getError() {
+      throw new AssertionError("failure");
+    }
+  }
+
   @SuppressWarnings("unused")
   private static class TestBean {
     public final String publicAttributeWithoutAccessors;
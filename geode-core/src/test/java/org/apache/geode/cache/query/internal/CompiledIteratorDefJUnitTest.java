@@ -14,11 +14,15 @@
  */
 package org.apache.geode.cache.query.internal;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.junit.Test;
 
 import org.apache.geode.cache.CacheClosedException;
@@ -46,4 +50,23 @@ public class CompiledIteratorDefJUnitTest {
       assertTrue(e instanceof CacheClosedException);
     }
   }
+
+  @Test
+  public void elementTypeInferredByEvaluationIsNotKeptForLaterEvaluations() throws Exception {
+    CompiledValue compiledValue = mock(CompiledValue.class);
+    CompiledIteratorDef compiledIteratorDef =
+        new CompiledIteratorDef("TestIterator", TypeUtils.OBJECT_TYPE, compiledValue);
+    ExecutionContext executionContext = mock(ExecutionContext.class);
+    when(executionContext.currentScope()).thenReturn(mock(QScope.class));
+    when(compiledValue.evaluate(executionContext)).thenReturn(new String[] {"a"},
+        Collections.singletonMap("key", "value"));
+
+    assertEquals(TypeUtils.getObjectType(String.class),
+        compiledIteratorDef.evaluateCollection(executionContext, null).getCollectionType()
+            .getElementType());
+    assertEquals(TypeUtils.getObjectType(Map.Entry.class),
+        compiledIteratorDef.evaluateCollection(executionContext, null).getCollectionType()
+            .getElementType());
+    assertEquals(TypeUtils.OBJECT_TYPE, compiledIteratorDef.getElementType());
+  }
 }
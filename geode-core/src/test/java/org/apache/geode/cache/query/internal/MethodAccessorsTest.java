@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+
+@Category(OQLQueryTest.class)
+public class MethodAccessorsTest {
+
+  @Test
+  public void accessorCallsGetter() throws Exception {
+    Function<Object, Object> accessor =
+        MethodAccessors.getAccessor(Bean.class.getMethod("getName"));
+
+    assertThat(accessor).isNotNull();
+    assertThat(accessor.apply(new Bean("bean"))).isEqualTo("bean");
+  }
+
+  @Test
+  public void accessorBoxesPrimitiveResult() throws Exception {
+    Function<Object, Object> accessor =
+        MethodAccessors.getAccessor(Bean.class.getMethod("getId"));
+
+    assertThat(accessor).isNotNull();
+    assertThat(accessor.apply(new Bean("bean"))).isEqualTo(4);
+  }
+
+  @Test
+  public void accessorCallsOverridingMethod() throws Exception {
+    Function<Object, Object> accessor =
+        MethodAccessors.getAccessor(Bean.class.getMethod("getName"));
+
+    assertThat(accessor.apply(new SubBean())).isEqualTo("sub");
+  }
+
+  @Test
+  public void accessorIsGeneratedOnce() throws Exception {
+    assertThat(MethodAccessors.getAccessor(Bean.class.getMethod("getName")))
+        .isSameAs(MethodAccessors.getAccessor(Bean.class.getMethod("getName")));
+  }
+
+  @Test
+  public void accessorThrowsCheckedExceptionOfMethod() throws Exception {
+    Function<Object, Object> accessor =
+        MethodAccessors.getAccessor(Bean.class.getMethod("getFailure"));
+
+    assertThatThrownBy(() -> accessor.apply(new Bean("bean"))).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void noAccessorForMethodWithArguments() throws Exception {
+    assertThat(MethodAccessors.getAccessor(Bean.class.getMethod("equals", Object.class))).isNull();
+  }
+
+  @Test
+  public void noAccessorForStaticOrVoidMethod() throws Exception {
+    assertThat(MethodAccessors.getAccessor(Bean.class.getMethod("create"))).isNull();
+    assertThat(MethodAccessors.getAccessor(Bean.class.getMethod("reset"))).isNull();
+  }
+
+  @Test
+  public void noAccessorForMethodOfNonPublicClass() throws Exception {
+    assertThat(MethodAccessors.getAccessor(HiddenBean.class.getMethod("getName"))).isNull();
+  }
+
+  public static class Bean {
+    private final String name;
+
+    public Bean(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getId() {
+      return name.length();
+    }
+
+    public Object getFailure() throws IOException {
+      throw new IOException("failure");
+    }
+
+    public static Bean create() {
+      return new Bean("created");
+    }
+
+    public void reset() {}
+  }
+
+  public static class SubBean extends Bean {
+    public SubBean() {
+      super("bean");
+    }
+
+    @Override
+    public String getName() {
+      return "sub";
+    }
+  }
+
+  static class HiddenBean {
+    public String getName() {
+      return "hidden";
+    }
+  }
+}
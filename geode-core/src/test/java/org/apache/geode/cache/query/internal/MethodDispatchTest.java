@@ -332,6 +332,24 @@ public class MethodDispatchTest {
     verify(methodInvocationAuthorizer, times(30)).authorize(any(), any());
   }
 
+  @Test
+  public void invokeShouldWrapErrorThrownByGeneratedAccessor() throws NameResolutionException {
+    doReturn(true).when(methodInvocationAuthorizer).authorize(any(), any());
+    MethodDispatch methodDispatch =
+        new MethodDispatch(FailingBean.class, "failingMethod", Collections.emptyList());
+
+    assertThatThrownBy(
+        () -> methodDispatch.invoke(new FailingBean(), emptyList, queryExecutionContext))
+            .isInstanceOf(QueryInvocationTargetException.class)
+            .hasRootCauseInstanceOf(AssertionError.class);
+  }
+
+  public static class FailingBean {
+    public Object failingMethod() {
+      throw new AssertionError("failure");
+    }
+  }
+
   @SuppressWarnings("unused")
   private static class TestBean {
     public String publicMethod() {
@@ -181,6 +181,23 @@ public class NWayMergeResultsTest {
     assertThat(mergedResults.size()).isEqualTo(limit);
   }
 
+  @Test
+  public void testEmptyAndUnevenSortedResults() throws Exception {
+    List<List<Integer>> listOfSortedLists = new ArrayList<>();
+    listOfSortedLists.add(Collections.emptyList());
+    listOfSortedLists.add(Arrays.asList(1, 1, 4, 9));
+    listOfSortedLists.add(Collections.emptyList());
+    listOfSortedLists.add(Arrays.asList(2));
+    listOfSortedLists.add(Arrays.asList(1, 3, 4, 5, 6, 7, 8));
+
+    assertThat(createSingleFieldMergedResult(listOfSortedLists, false, -1))
+        .containsExactly(1, 1, 1, 2, 3, 4, 4, 5, 6, 7, 8, 9);
+    assertThat(createSingleFieldMergedResult(listOfSortedLists, true, 5))
+        .containsExactly(1, 2, 3, 4, 5);
+    assertThat(createSingleFieldMergedResult(Collections.<List<Integer>>emptyList(), false, -1))
+        .isEmpty();
+  }
+
   @Test
   public void testLimitDistinct() throws Exception {
     final int numSortedLists = 40;
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.apache.geode.cache.Region.SEPARATOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.query.QueryInvalidException;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+
+@Category(OQLQueryTest.class)
+public class QueryPlanCacheTest {
+  private static final String QUERY_1 = "SELECT * FROM " + SEPARATOR + "region WHERE id = $1";
+  private static final String QUERY_2 = "SELECT * FROM " + SEPARATOR + "region WHERE id > $1";
+  private static final String QUERY_3 = "SELECT * FROM " + SEPARATOR + "region WHERE id < $1";
+
+  private InternalCache cache;
+  private CachePerfStats stats;
+
+  @Before
+  public void setUp() {
+    cache = mock(InternalCache.class);
+    stats = mock(CachePerfStats.class);
+  }
+
+  @Test
+  public void createReturnsCacheByDefault() {
+    assertThat(QueryPlanCache.create(stats)).isNotNull();
+  }
+
+  @Test
+  public void repeatedQueryIsCompiledOnce() {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(10, stats);
+
+    QueryPlanCache.Plan plan = queryPlanCache.getPlan(QUERY_1, cache);
+
+    assertThat(queryPlanCache.getPlan(QUERY_1, cache)).isSameAs(plan);
+    assertThat(plan.getCompiledQuery()).isInstanceOf(CompiledSelect.class);
+    verify(stats, times(1)).incQueryPlanCacheMisses();
+    verify(stats, times(1)).incQueryPlanCacheHits();
+  }
+
+  @Test
+  public void leastRecentlyUsedPlanIsEvicted() {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(2, stats);
+    QueryPlanCache.Plan plan1 = queryPlanCache.getPlan(QUERY_1, cache);
+    QueryPlanCache.Plan plan2 = queryPlanCache.getPlan(QUERY_2, cache);
+    queryPlanCache.getPlan(QUERY_1, cache);
+
+    queryPlanCache.getPlan(QUERY_3, cache);
+
+    assertThat(queryPlanCache.size()).isEqualTo(2);
+    assertThat(queryPlanCache.getPlan(QUERY_1, cache)).isSameAs(plan1);
+    assertThat(queryPlanCache.getPlan(QUERY_2, cache)).isNotSameAs(plan2);
+  }
+
+  @Test
+  public void clearRemovesAllPlans() {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(10, stats);
+    QueryPlanCache.Plan plan = queryPlanCache.getPlan(QUERY_1, cache);
+
+    queryPlanCache.clear();
+
+    assertThat(queryPlanCache.size()).isZero();
+    assertThat(queryPlanCache.getPlan(QUERY_1, cache)).isNotSameAs(plan);
+  }
+
+  @Test
+  public void queryNamingResolvedTypeIsNotCached() {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(10, stats);
+    String query = "IMPORT java.lang.Integer; SELECT * FROM " + SEPARATOR + "region r TYPE Integer";
+
+    QueryPlanCache.Plan plan = queryPlanCache.getPlan(query, cache);
+
+    assertThat(plan.isCacheable()).isFalse();
+    assertThat(queryPlanCache.size()).isZero();
+  }
+
+  @Test
+  public void queryWithNestedOrderByIsNotCached() {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(10, stats);
+    String query = "SELECT * FROM " + SEPARATOR + "region r WHERE r.id IN "
+        + "(SELECT DISTINCT p.id FROM " + SEPARATOR + "region p ORDER BY p.id)";
+
+    QueryPlanCache.Plan plan = queryPlanCache.getPlan(query, cache);
+
+    assertThat(plan.isCacheable()).isFalse();
+    assertThat(queryPlanCache.size()).isZero();
+  }
+
+  @Test
+  public void traceRequestIsKeptWithPlan() {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(10, stats);
+
+    assertThat(queryPlanCache.getPlan("<TRACE> " + QUERY_1, cache).isTraceRequested()).isTrue();
+    assertThat(queryPlanCache.getPlan(QUERY_1, cache).isTraceRequested()).isFalse();
+  }
+
+  @Test
+  public void invalidQueryIsNotCached() {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(10, stats);
+
+    assertThatThrownBy(() -> queryPlanCache.getPlan("SELECT * FROM", cache))
+        .isInstanceOf(QueryInvalidException.class);
+    assertThat(queryPlanCache.size()).isZero();
+    verify(stats, never()).incQueryPlanCacheHits();
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Comparator;
+
+import org.junit.Test;
+
+public class SortedResultsBagTest {
+
+  @Test
+  public void removeLastRemovesOneOccurrenceOfGreatestElement() {
+    SortedResultsBag<Integer> bag = new SortedResultsBag<>(Comparator.naturalOrder(), true);
+    bag.add(3);
+    bag.add(1);
+    bag.add(3);
+
+    assertThat(bag.removeLast()).isNull();
+    assertThat(bag.asList()).containsExactly(1, 3);
+    assertThat(bag.removeLast()).isEqualTo(3);
+    assertThat(bag.asList()).containsExactly(1);
+    assertThat(bag.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void removeLastRemovesNullsWhenTheyAreEmittedLast() {
+    SortedResultsBag<Integer> bag = new SortedResultsBag<>(Comparator.naturalOrder(), false);
+    bag.add(null);
+    bag.add(1);
+
+    assertThat(bag.removeLast()).isNull();
+    assertThat(bag.asList()).containsExactly(1);
+  }
+
+  @Test
+  public void removeLastKeepsNullsWhenTheyAreEmittedFirst() {
+    SortedResultsBag<Integer> bag = new SortedResultsBag<>(Comparator.naturalOrder(), true);
+    bag.add(null);
+    bag.add(1);
+
+    assertThat(bag.removeLast()).isEqualTo(1);
+    assertThat(bag.asList()).containsExactly((Integer) null);
+  }
+
+  @Test
+  public void removeLastIsNotSupportedForPreorderedData() {
+    SortedResultsBag<Integer> bag = new SortedResultsBag<>(true);
+    bag.add(1);
+
+    assertThatThrownBy(bag::removeLast).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.query.IndexExistsException;
+
+public class IndexCreationExecutorTest {
+
+  @Test
+  public void singleThreadRunsTasksWhenSubmitted() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    try (IndexCreationExecutor executor = new IndexCreationExecutor(1)) {
+      assertThat(executor.isParallel()).isFalse();
+
+      executor.submit(count::incrementAndGet);
+
+      assertThat(count.get()).isEqualTo(1);
+      executor.awaitCompletion();
+    }
+  }
+
+  @Test
+  public void allTasksCompleteBeforeAwaitReturns() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    try (IndexCreationExecutor executor = new IndexCreationExecutor(4)) {
+      assertThat(executor.isParallel()).isTrue();
+      for (int i = 0; i < 100; i++) {
+        executor.submit(() -> {
+          threads.add(Thread.currentThread());
+          Thread.sleep(1);
+          count.incrementAndGet();
+        });
+      }
+
+      executor.awaitCompletion();
+    }
+
+    assertThat(count.get()).isEqualTo(100);
+    assertThat(threads.size()).isGreaterThan(1);
+  }
+
+  @Test
+  public void firstFailureIsThrownOnceAllTasksComplete() {
+    AtomicInteger count = new AtomicInteger();
+    IndexExistsException failure = new IndexExistsException("exists");
+    try (IndexCreationExecutor executor = new IndexCreationExecutor(2)) {
+      executor.submit(() -> {
+        throw failure;
+      });
+      for (int i = 0; i < 10; i++) {
+        executor.submit(count::incrementAndGet);
+      }
+      executor.submit(() -> {
+        throw new IllegalStateException();
+      });
+
+      assertThatThrownBy(executor::awaitCompletion).isSameAs(failure);
+    }
+    assertThat(count.get()).isEqualTo(10);
+  }
+}
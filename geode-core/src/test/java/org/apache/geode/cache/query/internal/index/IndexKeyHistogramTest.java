@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class IndexKeyHistogramTest {
+
+  private final IndexKeyHistogram histogram = new IndexKeyHistogram();
+
+  @Test
+  public void estimatesRangesOfUniformKeys() {
+    for (int key = 1; key <= 10_000; key++) {
+      histogram.add(key);
+    }
+
+    assertThat(histogram.size()).isEqualTo(10_000);
+    assertThat(histogram.estimate(null, 1000)).isCloseTo(1000, within(200));
+    assertThat(histogram.estimate(9000, null)).isCloseTo(1000, within(200));
+    assertThat(histogram.estimate(4000, 6000)).isCloseTo(2000, within(200));
+    assertThat(histogram.estimate(null, 0)).isZero();
+    assertThat(histogram.estimate(20_000, null)).isZero();
+    assertThat(histogram.estimate(null, null)).isEqualTo(10_000);
+  }
+
+  @Test
+  public void estimatesReflectSkewedKeys() {
+    for (int i = 0; i < 9000; i++) {
+      histogram.add(1);
+    }
+    for (int key = 2; key <= 1001; key++) {
+      histogram.add(key);
+    }
+
+    assertThat(histogram.estimate(null, 100)).isGreaterThanOrEqualTo(9000);
+    assertThat(histogram.estimate(500, null)).isCloseTo(500, within(100));
+  }
+
+  @Test
+  public void rangeGrowsBelowAndAboveTheFirstKey() {
+    histogram.add(0.5);
+    histogram.add(-1_000_000L);
+    histogram.add(1_000_000.0);
+
+    assertThat(histogram.estimate(null, -500_000)).isEqualTo(1);
+    assertThat(histogram.estimate(500_000, null)).isEqualTo(1);
+    assertThat(histogram.estimate(-500_000, 500_000)).isEqualTo(1);
+  }
+
+  @Test
+  public void removedKeysAreNoLongerCounted() {
+    for (int key = 0; key < 100; key++) {
+      histogram.add(key);
+    }
+    for (int key = 0; key < 50; key++) {
+      histogram.remove(key);
+    }
+
+    assertThat(histogram.size()).isEqualTo(50);
+    assertThat(histogram.estimate(null, 40)).isZero();
+    assertThat(histogram.estimate(60, null)).isCloseTo(40, within(5));
+  }
+
+  @Test
+  public void rangeIsChosenAfreshOnceEmpty() {
+    histogram.add(-1_000_000);
+    histogram.add(1_000_000);
+    histogram.clear();
+    for (int key = 0; key < 100; key++) {
+      histogram.add(key);
+    }
+
+    assertThat(histogram.estimate(null, 10)).isCloseTo(10, within(2));
+  }
+
+  @Test
+  public void keysThatAreNotFiniteNumbersAreNotCounted() {
+    histogram.add("a");
+    histogram.add(IndexManager.NULL);
+    histogram.add(Double.NaN);
+    histogram.add(Double.POSITIVE_INFINITY);
+    histogram.remove("a");
+
+    assertThat(histogram.size()).isZero();
+    assertThat(histogram.estimate(null, 1)).isZero();
+  }
+
+  @Test
+  public void concurrentUpdatesOfCoveredKeysAreAllCounted() throws Exception {
+    histogram.add(0);
+    histogram.add(999);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(new Thread(() -> {
+        for (int key = 0; key < 1000; key++) {
+          histogram.add(key);
+          histogram.add(key);
+          histogram.remove(key);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(histogram.size()).isEqualTo(4002);
+    assertThat(histogram.estimate(null, 500)).isCloseTo(2001, within(100));
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.internal.index.AbstractIndex.InternalIndexStatistics;
+import org.apache.geode.internal.cache.RegionEntry;
+
+public class IndexUpdateQueueTest {
+
+  private final CompactRangeIndex index = mock(CompactRangeIndex.class);
+  private final InternalIndexStatistics stats = mock(InternalIndexStatistics.class);
+  private final RegionEntry entry = mock(RegionEntry.class);
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private IndexUpdateQueue queue;
+
+  @Before
+  public void setUp() {
+    when(index.isValid()).thenReturn(true);
+    queue = new IndexUpdateQueue(index, stats, tasks::add, 0);
+  }
+
+  @Test
+  public void updatesAreAppliedByExecutor() throws Exception {
+    queue.enqueue(entry);
+
+    verify(index, never()).addMapping(entry);
+    assertThat(queue.size()).isEqualTo(1);
+
+    runTasks();
+
+    verify(index).addMapping(entry);
+    assertThat(queue.size()).isZero();
+    verify(stats).incPendingUpdates(1);
+    verify(stats).incPendingUpdates(-1);
+  }
+
+  @Test
+  public void updatesOfAnEntryAlreadyQueuedAreCoalesced() throws Exception {
+    RegionEntry other = mock(RegionEntry.class);
+
+    queue.enqueue(entry);
+    queue.enqueue(other);
+    queue.enqueue(entry);
+    runTasks();
+
+    InOrder inOrder = inOrder(index);
+    inOrder.verify(index).addMapping(entry);
+    inOrder.verify(index).addMapping(other);
+    verify(index, times(1)).addMapping(entry);
+    verify(stats).incCoalescedUpdates();
+  }
+
+  @Test
+  public void entryChangedAfterItsUpdateIsAppliedIsQueuedAgain() throws Exception {
+    queue.enqueue(entry);
+    runTasks();
+    queue.enqueue(entry);
+    runTasks();
+
+    verify(index, times(2)).addMapping(entry);
+    verify(stats, never()).incCoalescedUpdates();
+  }
+
+  @Test
+  public void removedEntryIsRemovedFromIndex() throws Exception {
+    when(entry.isInvalidOrRemoved()).thenReturn(true);
+
+    queue.enqueue(entry);
+    runTasks();
+
+    verify(index).removeMapping(QueryService.UNDEFINED, entry);
+    verify(index, never()).addMapping(entry);
+  }
+
+  @Test
+  public void failedUpdateMarksIndexAsInvalid() throws Exception {
+    doThrow(new IMQException("failed")).when(index).addMapping(entry);
+
+    queue.enqueue(entry);
+    runTasks();
+
+    verify(index).markValid(false);
+    assertThat(queue.size()).isZero();
+  }
+
+  @Test
+  public void queryWaitsForQueuedUpdates() throws Exception {
+    queue.enqueue(entry);
+    Thread applier = new Thread(() -> {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException ignore) {
+        return;
+      }
+      runTasks();
+    });
+    applier.start();
+
+    queue.awaitUpdates();
+
+    verify(index).addMapping(entry);
+    applier.join();
+  }
+
+  @Test
+  public void queryDoesNotWaitForUpdatesWithinAllowedStaleness() throws Exception {
+    queue = new IndexUpdateQueue(index, stats, tasks::add, TimeUnit.MINUTES.toNanos(1));
+
+    queue.enqueue(entry);
+    queue.awaitUpdates();
+
+    verify(index, never()).addMapping(entry);
+  }
+
+  @Test
+  public void closeDiscardsQueuedUpdates() throws Exception {
+    queue.enqueue(entry);
+
+    queue.close();
+    queue.enqueue(mock(RegionEntry.class));
+    queue.awaitUpdates();
+    runTasks();
+
+    verify(index, never()).addMapping(entry);
+    assertThat(queue.size()).isZero();
+    verify(stats).incPendingUpdates(-1);
+  }
+
+  @Test
+  public void updatesRejectedByClosedExecutorAreNotApplied() throws Exception {
+    queue = new IndexUpdateQueue(index, stats, task -> {
+      throw new RejectedExecutionException("closed");
+    }, 0);
+
+    queue.enqueue(entry);
+
+    verify(index, never()).addMapping(entry);
+    assertThat(queue.size()).isEqualTo(1);
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+}
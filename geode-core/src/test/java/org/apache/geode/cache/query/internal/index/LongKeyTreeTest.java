@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+public class LongKeyTreeTest {
+
+  private final LongKeyTree tree = new LongKeyTree();
+
+  @Test
+  public void putIfAbsentKeepsExistingValue() {
+    assertThat(tree.putIfAbsent(1, "a")).isNull();
+    assertThat(tree.putIfAbsent(1, "b")).isEqualTo("a");
+
+    assertThat(tree.get(1)).isEqualTo("a");
+    assertThat(tree.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void replaceAndRemoveRequireEqualValue() {
+    tree.putIfAbsent(1, "a");
+
+    assertThat(tree.replace(1, "b", "c")).isFalse();
+    assertThat(tree.replace(1, "a", "c")).isTrue();
+    assertThat(tree.remove(1, "a")).isFalse();
+    assertThat(tree.remove(1, "c")).isTrue();
+
+    assertThat(tree.get(1)).isNull();
+    assertThat(tree.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void treeGrowsAndShrinksWithKeys() {
+    int count = LongKeyTree.NODE_CAPACITY * LongKeyTree.NODE_CAPACITY * 2;
+    for (long key = 0; key < count; key++) {
+      tree.putIfAbsent(key, key);
+    }
+    assertThat(tree.height()).isEqualTo(3);
+
+    for (long key = 0; key < count; key++) {
+      assertThat(tree.remove(key, key)).isTrue();
+    }
+    assertThat(tree.height()).isEqualTo(1);
+    assertThat(tree.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void cursorReturnsKeysInRangeInOrder() {
+    for (long key = -1000; key <= 1000; key += 2) {
+      tree.putIfAbsent(key, key);
+    }
+
+    assertThat(keys(tree.cursor(-11, 11, false)))
+        .containsExactly(-10L, -8L, -6L, -4L, -2L, 0L, 2L, 4L, 6L, 8L, 10L);
+    assertThat(keys(tree.cursor(995, Long.MAX_VALUE, true))).containsExactly(1000L, 998L, 996L);
+    assertThat(keys(tree.cursor(3, 3, false))).isEmpty();
+    assertThat(keys(tree.cursor(5, 1, false))).isEmpty();
+  }
+
+  @Test
+  public void cursorContinuesAfterTreeChanges() {
+    for (long key = 0; key < 1000; key++) {
+      tree.putIfAbsent(key, key);
+    }
+    LongKeyTree.Cursor cursor = tree.cursor(Long.MIN_VALUE, Long.MAX_VALUE, false);
+    List<Long> keys = new ArrayList<>();
+    while (cursor.hasNext()) {
+      cursor.next();
+      keys.add(cursor.key());
+      if (cursor.key() == 100) {
+        for (long key = 0; key < 1000; key += 2) {
+          tree.remove(key, key);
+        }
+      }
+    }
+
+    assertThat(keys).isSorted().doesNotHaveDuplicates().contains(0L, 100L, 999L)
+        .doesNotContain(900L);
+  }
+
+  @Test
+  public void matchesSortedMapUnderRandomChanges() {
+    NavigableMap<Long, Object> expected = new TreeMap<>();
+    Random random = new Random(0);
+    for (int i = 0; i < 100_000; i++) {
+      long key = random.nextInt(5000);
+      if (random.nextBoolean()) {
+        assertThat(tree.putIfAbsent(key, key)).isEqualTo(expected.putIfAbsent(key, key));
+      } else {
+        assertThat(tree.remove(key, key)).isEqualTo(expected.remove(key, key));
+      }
+    }
+
+    assertThat(tree.size()).isEqualTo(expected.size());
+    assertThat(keys(tree.cursor(1000, 4000, false)))
+        .containsExactlyElementsOf(expected.subMap(1000L, true, 4000L, true).keySet());
+    assertThat(keys(tree.cursor(1000, 4000, true)))
+        .containsExactlyElementsOf(expected.subMap(1000L, true, 4000L, true).descendingKeySet());
+    for (Map.Entry<Long, Object> entry : expected.entrySet()) {
+      assertThat(tree.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+
+  private static List<Long> keys(LongKeyTree.Cursor cursor) {
+    List<Long> keys = new ArrayList<>();
+    while (cursor.hasNext()) {
+      cursor.next();
+      keys.add(cursor.key());
+    }
+    return keys;
+  }
+}
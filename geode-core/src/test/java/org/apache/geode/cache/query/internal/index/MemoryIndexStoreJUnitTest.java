@@ -23,6 +23,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.IntStream;
 
@@ -52,6 +53,10 @@ public class MemoryIndexStoreJUnitTest {
     return mock(LocalRegion.class);
   }
 
+  protected MemoryIndexStore createStore() {
+    return new MemoryIndexStore(region, mockStats, cache);
+  }
+
   @Before
   public void setup() {
     subclassPreSetup();
@@ -59,7 +64,7 @@ public class MemoryIndexStoreJUnitTest {
     cache = mock(GemFireCacheImpl.class);
     mockStats = mock(AbstractIndex.InternalIndexStatistics.class);
 
-    store = new MemoryIndexStore(region, mockStats, cache);
+    store = createStore();
     store.setIndexOnValues(true);
     mockEntries = new RegionEntry[numMockEntries];
     IntStream.range(0, numMockEntries).forEach(i -> {
@@ -360,13 +365,9 @@ public class MemoryIndexStoreJUnitTest {
   }
 
   private boolean objectContainedIn(MemoryIndexStore store, Object o) {
-    Iterator iterator = store.valueToEntriesMap.values().iterator();
-    return objectContainedIn(iterator, o);
-  }
-
-  private boolean objectContainedIn(Iterator iterator, Object o) {
+    Iterator<Map.Entry<Object, Object>> iterator = store.valueToEntriesMap.iterator();
     while (iterator.hasNext()) {
-      if (iterator.next().equals(o)) {
+      if (iterator.next().getValue().equals(o)) {
         return true;
       }
     }
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.query.QueryService;
+
+public class PrimitiveKeyIndexStoreMapTest {
+
+  private final PrimitiveKeyIndexStoreMap map = new PrimitiveKeyIndexStoreMap();
+
+  @Test
+  public void equalNumbersOfOtherClassesFindTheSameMapping() {
+    map.putIfAbsent(5, "five");
+
+    assertThat(map.get(5L)).isEqualTo("five");
+    assertThat(map.get(5.0)).isEqualTo("five");
+    assertThat(map.putIfAbsent(5L, "other")).isEqualTo("five");
+    assertThat(map.remove(5.0, "five")).isTrue();
+    assertThat(map.get(5)).isNull();
+  }
+
+  @Test
+  public void numbersThatAreNotIntsAreKeptInOrder() {
+    map.putIfAbsent(2, "2");
+    map.putIfAbsent(1.5, "1.5");
+    map.putIfAbsent(Long.MAX_VALUE, "max");
+    map.putIfAbsent(1, "1");
+    map.putIfAbsent(IndexManager.NULL, "null");
+
+    assertThat(keys(map.iterator())).containsExactly(IndexManager.NULL, 1, 1.5, 2,
+        Long.MAX_VALUE);
+    assertThat(keys(map.iterator(1, false, 2, true, true))).containsExactly(2, 1.5);
+    assertThat(map.get(1.5)).isEqualTo("1.5");
+  }
+
+  @Test
+  public void boundsOfOtherClassesSelectTheSameKeys() {
+    for (int key = -5; key <= 5; key++) {
+      map.putIfAbsent(key, key);
+    }
+
+    assertThat(keys(map.iterator(-1.5, true, 1.0, false, false))).containsExactly(-1, 0);
+    assertThat(keys(map.iterator(-0.0, true, 2L, true, false))).containsExactly(0, 1, 2);
+    assertThat(keys(map.iterator(null, false, -0.0, true, false)))
+        .containsExactly(-5, -4, -3, -2, -1);
+    assertThat(keys(map.iterator(4, false, Double.NaN, false, false))).containsExactly(5);
+    assertThat(keys(map.iterator(Double.POSITIVE_INFINITY, true, null, false, false))).isEmpty();
+    assertThat(keys(map.iterator(QueryService.UNDEFINED, true, -4, true, false)))
+        .containsExactly(-5, -4);
+  }
+
+  @Test
+  public void doubleKeysAreOrderedAsDoubles() {
+    double[] keys = {Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, Double.MIN_VALUE, 2.5,
+        Double.POSITIVE_INFINITY, Double.NaN};
+    for (int i = keys.length - 1; i >= 0; i--) {
+      map.putIfAbsent(keys[i], i);
+    }
+    map.putIfAbsent(1, "1");
+
+    assertThat(keys(map.iterator())).containsExactly(Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0,
+        Double.MIN_VALUE, 1.0, 2.5, Double.POSITIVE_INFINITY, Double.NaN);
+    assertThat(keys(map.iterator(0.0, false, 2.5, false, false)))
+        .containsExactly(Double.MIN_VALUE, 1.0);
+  }
+
+  @Test
+  public void keysOfOtherTypesAreKeptInSkipList() {
+    map.putIfAbsent("b", "b");
+    map.putIfAbsent("a", "a");
+
+    assertThat(keys(map.iterator())).containsExactly("a", "b");
+    assertThat(keys(map.iterator("a", false, null, false, false))).containsExactly("b");
+  }
+
+  @Test
+  public void boundThatIsNotANumberIsRejected() {
+    map.putIfAbsent(1, "1");
+
+    assertThatThrownBy(() -> map.iterator("a", true, null, false, false))
+        .isInstanceOf(ClassCastException.class);
+  }
+
+  @Test
+  public void iteratorRemovesFromTreeAndSkipList() {
+    map.putIfAbsent(1, "1");
+    map.putIfAbsent(1.5, "1.5");
+    map.putIfAbsent(2, "2");
+
+    Iterator<Map.Entry<Object, Object>> iterator = map.iterator();
+    while (iterator.hasNext()) {
+      Object key = iterator.next().getKey();
+      if (!key.equals(2)) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(keys(map.iterator())).containsExactly(2);
+  }
+
+  @Test
+  public void iteratorRemovesTheLastEntryAfterHasNextMovedPastIt() {
+    map.putIfAbsent(1, "1");
+    map.putIfAbsent(2, "2");
+    map.putIfAbsent(3, "3");
+    map.putIfAbsent(1.5, "1.5");
+
+    Iterator<Map.Entry<Object, Object>> iterator = map.iterator();
+    assertThat(iterator.next().getKey()).isEqualTo(1);
+    assertThat(iterator.hasNext()).isTrue();
+    iterator.remove();
+
+    assertThatThrownBy(iterator::remove).isInstanceOf(IllegalStateException.class);
+    assertThat(keys(iterator)).containsExactly(1.5, 2, 3);
+    assertThat(keys(map.iterator())).containsExactly(1.5, 2, 3);
+  }
+
+  private static List<Object> keys(Iterator<Map.Entry<Object, Object>> iterator) {
+    List<Object> keys = new ArrayList<>();
+    iterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+    return keys;
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.DiskStoreImpl.AsyncDiskEntry;
+
+public class AsyncWriteQueueTest {
+  private long now = 1;
+  private ExecutorService executor;
+
+  @After
+  public void tearDown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private AsyncWriteQueue<Integer> createQueue(int capacity) {
+    return new AsyncWriteQueue<>(capacity, () -> now);
+  }
+
+  private static List<Integer> drain(AsyncWriteQueue<Integer> queue) {
+    List<Integer> drained = new ArrayList<>();
+    assertThat(queue.drainTo(drained)).isEqualTo(drained.size());
+    return drained;
+  }
+
+  @Test
+  public void drainReturnsItemsInOrder() {
+    AsyncWriteQueue<Integer> queue = createQueue(10);
+    for (int i = 0; i < 5; i++) {
+      queue.offer(i);
+    }
+
+    assertThat(queue.size()).isEqualTo(5);
+    assertThat(drain(queue)).containsExactly(0, 1, 2, 3, 4);
+    assertThat(queue.size()).isZero();
+    assertThat(drain(queue)).isEmpty();
+  }
+
+  @Test
+  public void offerFailsAtCapacity() {
+    AsyncWriteQueue<Integer> queue = createQueue(3);
+
+    assertThat(queue.offer(0)).isTrue();
+    assertThat(queue.offer(1)).isTrue();
+    assertThat(queue.offer(2)).isTrue();
+    assertThat(queue.offer(3)).isFalse();
+
+    assertThat(drain(queue)).containsExactly(0, 1, 2);
+    assertThat(queue.offer(3)).isTrue();
+  }
+
+  @Test
+  public void forcePutExceedsCapacity() {
+    AsyncWriteQueue<Integer> queue = createQueue(2);
+    queue.offer(0);
+    queue.offer(1);
+
+    queue.forcePut(2);
+    queue.forcePut(3);
+
+    assertThat(queue.size()).isEqualTo(4);
+    assertThat(drain(queue)).containsExactly(0, 1, 2, 3);
+  }
+
+  @Test
+  public void capacityLargerThanRingUsesOverflow() {
+    AsyncWriteQueue<Integer> queue = createQueue(AsyncWriteQueue.MAX_RING_SIZE + 10);
+    for (int i = 0; i < AsyncWriteQueue.MAX_RING_SIZE + 10; i++) {
+      assertThat(queue.offer(i)).isTrue();
+    }
+
+    assertThat(queue.offer(-1)).isFalse();
+    List<Integer> drained = drain(queue);
+    assertThat(drained).hasSize(AsyncWriteQueue.MAX_RING_SIZE + 10);
+    assertThat(drained).isSorted();
+  }
+
+  @Test
+  public void ringIsReusedAfterDrain() {
+    AsyncWriteQueue<Integer> queue = createQueue(4);
+    List<Integer> drained = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      queue.forcePut(i);
+      if (i % 3 == 0) {
+        queue.drainTo(drained);
+      }
+    }
+    queue.drainTo(drained);
+
+    assertThat(drained).hasSize(100).isSorted();
+  }
+
+  @Test
+  public void removedItemsAreNotDrained() {
+    AsyncWriteQueue<Integer> queue = createQueue(2);
+    Integer inRing = 1000;
+    Integer inOverflow = 2000;
+    queue.forcePut(0);
+    queue.forcePut(inRing);
+    queue.forcePut(inOverflow);
+    queue.forcePut(3);
+
+    assertThat(queue.remove(inRing)).isTrue();
+    assertThat(queue.remove(inOverflow)).isTrue();
+    assertThat(queue.remove(inRing)).isFalse();
+
+    assertThat(drain(queue)).containsExactly(0, 3);
+  }
+
+  @Test
+  public void clearingRegionRemovesItsQueuedEntriesFromRingAndOverflow() {
+    InternalRegion clearedRegion = mock(InternalRegion.class);
+    InternalRegion otherRegion = mock(InternalRegion.class);
+    AsyncWriteQueue<Object> queue = new AsyncWriteQueue<>(2, () -> now);
+    Object flushNotifier = new Object();
+    AsyncDiskEntry cleared1 = new AsyncDiskEntry(clearedRegion, null);
+    AsyncDiskEntry other1 = new AsyncDiskEntry(otherRegion, null);
+    AsyncDiskEntry cleared2 = new AsyncDiskEntry(clearedRegion, null);
+    AsyncDiskEntry other2 = new AsyncDiskEntry(otherRegion, null);
+    queue.forcePut(cleared1);
+    queue.forcePut(other1);
+    queue.forcePut(cleared2);
+    queue.forcePut(flushNotifier);
+    queue.forcePut(other2);
+
+    int removed = queue.removeIf(o -> o instanceof AsyncDiskEntry
+        && ((AsyncDiskEntry) o).region == clearedRegion);
+
+    assertThat(removed).isEqualTo(2);
+    List<Object> drained = new ArrayList<>();
+    queue.drainTo(drained);
+    assertThat(drained).containsExactly(other1, flushNotifier, other2);
+  }
+
+  @Test
+  public void firstQueuedTimeIsResetByDrain() {
+    AsyncWriteQueue<Integer> queue = createQueue(10);
+    assertThat(queue.getFirstQueuedTime()).isEqualTo(AsyncWriteQueue.NOT_QUEUED);
+
+    queue.offer(0);
+    now = 2;
+    queue.offer(1);
+    assertThat(queue.getFirstQueuedTime()).isEqualTo(1);
+
+    drain(queue);
+    assertThat(queue.getFirstQueuedTime()).isEqualTo(AsyncWriteQueue.NOT_QUEUED);
+    queue.offer(2);
+    assertThat(queue.getFirstQueuedTime()).isEqualTo(2);
+  }
+
+  @Test
+  public void concurrentProducersItemsAreDrainedOnceAndInOrder() throws Exception {
+    final int producers = 4;
+    final int itemsPerProducer = 20_000;
+    AsyncWriteQueue<Integer> queue = new AsyncWriteQueue<>(16);
+    executor = Executors.newFixedThreadPool(producers);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      final int producer = p;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < itemsPerProducer; i++) {
+          queue.forcePut(producer * itemsPerProducer + i);
+        }
+      }));
+    }
+
+    List<Integer> drained = new ArrayList<>();
+    long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+    while (drained.size() < producers * itemsPerProducer && System.nanoTime() < deadline) {
+      queue.drainTo(drained);
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+
+    assertThat(drained).hasSize(producers * itemsPerProducer).doesNotHaveDuplicates();
+    int[] last = new int[producers];
+    Arrays.fill(last, -1);
+    for (int item : drained) {
+      int producer = item / itemsPerProducer;
+      assertThat(item).isGreaterThan(last[producer]);
+      last[producer] = item;
+    }
+    assertThat(queue.size()).isZero();
+  }
+
+  @Test
+  public void concurrentOffersDoNotExceedCapacity() throws Exception {
+    final int producers = 8;
+    final int capacity = 100;
+    AsyncWriteQueue<Integer> queue = new AsyncWriteQueue<>(capacity);
+    CyclicBarrier barrier = new CyclicBarrier(producers);
+    executor = Executors.newFixedThreadPool(producers);
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      futures.add(executor.submit(() -> {
+        barrier.await();
+        int offered = 0;
+        for (int i = 0; i < capacity; i++) {
+          if (queue.offer(i)) {
+            offered++;
+          }
+        }
+        return offered;
+      }));
+    }
+    int offered = 0;
+    for (Future<Integer> future : futures) {
+      offered += future.get();
+    }
+
+    assertThat(offered).isEqualTo(capacity);
+    assertThat(queue.size()).isEqualTo(capacity);
+    assertThat(drain(queue)).hasSize(capacity);
+    assertThat(queue.size()).isZero();
+  }
+}
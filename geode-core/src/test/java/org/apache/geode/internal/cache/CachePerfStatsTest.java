@@ -48,6 +48,8 @@ import static org.apache.geode.internal.cache.CachePerfStats.putAllsId;
 import static org.apache.geode.internal.cache.CachePerfStats.putTimeId;
 import static org.apache.geode.internal.cache.CachePerfStats.putsId;
 import static org.apache.geode.internal.cache.CachePerfStats.queryExecutionsId;
+import static org.apache.geode.internal.cache.CachePerfStats.queryPlanCacheHitsId;
+import static org.apache.geode.internal.cache.CachePerfStats.queryPlanCacheMissesId;
 import static org.apache.geode.internal.cache.CachePerfStats.removeAllsId;
 import static org.apache.geode.internal.cache.CachePerfStats.retriesId;
 import static org.apache.geode.internal.cache.CachePerfStats.txCommitChangesId;
@@ -698,6 +700,22 @@ public class CachePerfStatsTest {
     assertThat(cachePerfStats.getQueryExecutions()).isNegative();
   }
 
+  @Test
+  public void incQueryPlanCacheHitsIncrementsQueryPlanCacheHits() {
+    cachePerfStats.incQueryPlanCacheHits();
+
+    assertThat(statistics.getLong(queryPlanCacheHitsId)).isEqualTo(1);
+    assertThat(cachePerfStats.getQueryPlanCacheHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void incQueryPlanCacheMissesIncrementsQueryPlanCacheMisses() {
+    cachePerfStats.incQueryPlanCacheMisses();
+
+    assertThat(statistics.getLong(queryPlanCacheMissesId)).isEqualTo(1);
+    assertThat(cachePerfStats.getQueryPlanCacheMisses()).isEqualTo(1);
+  }
+
   @Test
   public void getTxCommitsDelegatesToStatistics() {
     statistics.incLong(txCommitsId, Long.MAX_VALUE);
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompactionThrottleTest {
+  private static final long BYTES_PER_SECOND = 1_000_000;
+  private static final long SLICE_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(CompactionThrottle.SLICE_MILLIS);
+
+  private DiskStoreStats stats;
+  private long now;
+  private long slept;
+
+  @Before
+  public void setUp() {
+    stats = mock(DiskStoreStats.class);
+    now = 1;
+  }
+
+  private CompactionThrottle createThrottle(long pauseWriteLatencyNanos) {
+    return new CompactionThrottle(BYTES_PER_SECOND, pauseWriteLatencyNanos, stats, () -> now,
+        nanos -> {
+          now += nanos;
+          slept += nanos;
+        });
+  }
+
+  @Test
+  public void createIsDisabledByDefault() {
+    assertThat(CompactionThrottle.create(stats)).isNull();
+  }
+
+  @Test
+  public void doesNotSleepWithinBudget() {
+    CompactionThrottle throttle = createThrottle(0);
+
+    throttle.compacted(0, () -> true);
+    now += TimeUnit.MILLISECONDS.toNanos(10);
+    throttle.compacted(BYTES_PER_SECOND / 100, () -> true);
+
+    assertThat(slept).isZero();
+  }
+
+  @Test
+  public void sleepsUntilBytesAreWithinBudget() {
+    CompactionThrottle throttle = createThrottle(0);
+
+    throttle.compacted(BYTES_PER_SECOND / 2, () -> true);
+
+    assertThat(slept).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    verify(stats).incCompactionThrottleTime(TimeUnit.MILLISECONDS.toNanos(500));
+  }
+
+  @Test
+  public void stopsSleepingWhenCompactorStops() {
+    CompactionThrottle throttle = createThrottle(0);
+
+    throttle.compacted(BYTES_PER_SECOND, () -> slept < SLICE_NANOS);
+
+    assertThat(slept).isEqualTo(SLICE_NANOS);
+  }
+
+  @Test
+  public void pausesWhileWritesAreSlow() {
+    CompactionThrottle throttle = createThrottle(TimeUnit.MILLISECONDS.toNanos(1));
+    when(stats.getWrites()).thenReturn(0L, 10L, 20L, 20L);
+    when(stats.getWriteTime()).thenReturn(0L, TimeUnit.MILLISECONDS.toNanos(50),
+        TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(100));
+
+    throttle.compacted(0, () -> true);
+    now += SLICE_NANOS;
+    throttle.compacted(0, () -> true);
+
+    assertThat(slept).isEqualTo(2 * SLICE_NANOS);
+    verify(stats).incCompactionPauseTime(2 * SLICE_NANOS);
+  }
+
+  @Test
+  public void stopsPausingWhenCompactorStops() {
+    CompactionThrottle throttle = createThrottle(TimeUnit.MILLISECONDS.toNanos(1));
+    when(stats.getWrites()).thenReturn(0L, 10L, 20L, 30L);
+    when(stats.getWriteTime()).thenReturn(0L, TimeUnit.MILLISECONDS.toNanos(50),
+        TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(150));
+
+    throttle.compacted(0, () -> true);
+    now += SLICE_NANOS;
+    throttle.compacted(0, () -> slept < SLICE_NANOS);
+
+    assertThat(slept).isEqualTo(SLICE_NANOS);
+    verify(stats).incCompactionPauseTime(SLICE_NANOS);
+  }
+
+  @Test
+  public void doesNotPauseWhenWritesAreFast() {
+    CompactionThrottle throttle = createThrottle(TimeUnit.MILLISECONDS.toNanos(1));
+    when(stats.getWrites()).thenReturn(0L, 10L);
+    when(stats.getWriteTime()).thenReturn(0L, TimeUnit.MICROSECONDS.toNanos(100));
+
+    throttle.compacted(0, () -> true);
+    now += SLICE_NANOS;
+    throttle.compacted(0, () -> true);
+
+    assertThat(slept).isZero();
+    verify(stats, never()).incCompactionPauseTime(anyLong());
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GroupCommitterTest {
+  private DiskStoreStats stats;
+  private GroupCommitter.SyncTarget target;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    stats = mock(DiskStoreStats.class);
+    target = mock(GroupCommitter.SyncTarget.class);
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void createIsDisabledByDefault() {
+    assertThat(GroupCommitter.create(stats)).isNull();
+  }
+
+  @Test
+  public void deferringCannotBeNested() {
+    GroupCommitter committer = new GroupCommitter(stats, 0, 10);
+
+    assertThat(committer.beginDeferring()).isTrue();
+    assertThat(committer.isDeferring()).isTrue();
+    assertThat(committer.beginDeferring()).isFalse();
+
+    committer.abandon();
+    assertThat(committer.isDeferring()).isFalse();
+  }
+
+  @Test
+  public void commitWithoutWritesDoesNotSync() throws Exception {
+    GroupCommitter committer = new GroupCommitter(stats, 0, 10);
+
+    committer.beginDeferring();
+    committer.commit();
+
+    assertThat(committer.isDeferring()).isFalse();
+    verify(stats, never()).endGroupCommit(anyInt(), anyLong());
+  }
+
+  @Test
+  public void commitSyncsWrittenTargetOnce() throws Exception {
+    GroupCommitter committer = new GroupCommitter(stats, 0, 10);
+
+    committer.beginDeferring();
+    committer.written(target, true);
+    committer.written(target, true);
+    committer.commit();
+
+    verify(target, times(1)).sync();
+    verify(stats).endGroupCommit(eq(1), anyLong());
+    assertThat(committer.getCommittedTicket()).isEqualTo(1);
+  }
+
+  @Test
+  public void concurrentWritesAreSyncedAsOneGroup() throws Exception {
+    GroupCommitter committer = new GroupCommitter(stats, TimeUnit.MINUTES.toNanos(1), 2);
+
+    CompletableFuture<Void> first = CompletableFuture.runAsync(() -> write(committer), executor);
+    CompletableFuture<Void> second = CompletableFuture.runAsync(() -> write(committer), executor);
+
+    first.get(1, TimeUnit.MINUTES);
+    second.get(1, TimeUnit.MINUTES);
+    verify(target, times(1)).sync();
+    verify(stats).endGroupCommit(eq(2), anyLong());
+  }
+
+  @Test
+  public void failedSyncIsRetriedByNextCommit() throws Exception {
+    doThrow(new IOException("expected")).doNothing().when(target).sync();
+    GroupCommitter committer = new GroupCommitter(stats, 0, 10);
+
+    committer.beginDeferring();
+    committer.written(target, true);
+    assertThatThrownBy(committer::commit).isInstanceOf(IOException.class);
+    assertThat(committer.getCommittedTicket()).isZero();
+
+    committer.beginDeferring();
+    committer.written(target, false);
+    committer.commit();
+
+    verify(target, times(2)).sync();
+    assertThat(committer.getCommittedTicket()).isEqualTo(2);
+  }
+
+  private void write(GroupCommitter committer) {
+    committer.beginDeferring();
+    committer.written(target, true);
+    try {
+      committer.commit();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
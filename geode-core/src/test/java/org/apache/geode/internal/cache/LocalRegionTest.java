@@ -19,6 +19,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
@@ -54,6 +56,7 @@ import org.apache.geode.cache.MembershipAttributes;
 import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.cache.Scope;
 import org.apache.geode.cache.client.internal.ServerRegionProxy;
 import org.apache.geode.cache.query.Index;
 import org.apache.geode.cache.query.internal.QueryConfigurationService;
@@ -404,4 +407,82 @@ public class LocalRegionTest {
     verify(region).checkReadiness();
     verify(region).checkRegionDestroyed(true);
   }
+
+  @Test
+  public void getOfValidLocalEntryReadsRegionMapWithoutDataView() {
+    RegionMap regionMap = mock(RegionMap.class);
+    RegionEntry regionEntry = mock(RegionEntry.class);
+    when(regionMapConstructor.create(any(), any(), any())).thenReturn(regionMap);
+    LocalRegion region = spyRegionForGet();
+    when(regionMap.getEntry("key")).thenReturn(regionEntry);
+    when(regionEntry.getValue(region)).thenReturn("value");
+    doReturn(null).when(region).getTXState();
+
+    assertThat(region.get("key")).isEqualTo("value");
+
+    verify(region).endGet(0L, false);
+    verify(region, never()).getDataView();
+  }
+
+  @Test
+  public void getOfInvalidLocalEntryReadsRegionMapOnce() {
+    RegionMap regionMap = mock(RegionMap.class);
+    RegionEntry regionEntry = mock(RegionEntry.class);
+    when(regionMapConstructor.create(any(), any(), any())).thenReturn(regionMap);
+    when(regionAttributes.getScope()).thenReturn(Scope.LOCAL);
+    LocalRegion region = spyRegionForGet();
+    when(regionMap.getEntry("key")).thenReturn(regionEntry);
+    when(regionEntry.getValue(region)).thenReturn(Token.INVALID);
+    doReturn(null).when(region).getTXState();
+
+    assertThat(region.get("key")).isNull();
+
+    verify(region).endGet(0L, true);
+    verify(regionMap).getEntry("key");
+    verify(region, never()).getDataView();
+  }
+
+  @Test
+  public void getOfMissingLocalEntryReadsRegionMapOnce() {
+    RegionMap regionMap = mock(RegionMap.class);
+    when(regionMapConstructor.create(any(), any(), any())).thenReturn(regionMap);
+    when(regionAttributes.getScope()).thenReturn(Scope.LOCAL);
+    LocalRegion region = spyRegionForGet();
+    doReturn(null).when(region).getTXState();
+
+    assertThat(region.get("key")).isNull();
+
+    verify(region).endGet(0L, true);
+    verify(regionMap).getEntry("key");
+    verify(region, never()).getDataView();
+    verify(region, never()).recordMiss(any(), any());
+  }
+
+  @Test
+  public void getInTransactionUsesTransactionalDataView() {
+    RegionMap regionMap = mock(RegionMap.class);
+    TXStateProxy txState = mock(TXStateProxy.class);
+    when(regionMapConstructor.create(any(), any(), any())).thenReturn(regionMap);
+    LocalRegion region = spyRegionForGet();
+    doReturn(txState).when(region).getTXState();
+    when(txState.getDeserializedValue(any(), eq(region), anyBoolean(), anyBoolean(),
+        anyBoolean(), any(), anyBoolean(), anyBoolean(), anyBoolean())).thenReturn("txValue");
+
+    assertThat(region.get("key")).isEqualTo("txValue");
+
+    verify(region).endGet(0L, false);
+    verify(regionMap, never()).getEntry(any());
+  }
+
+  private LocalRegion spyRegionForGet() {
+    LocalRegion region =
+        spy(new LocalRegion("region", regionAttributes, null, cache, internalRegionArguments,
+            internalDataView, regionMapConstructor, serverRegionProxyConstructor, entryEventFactory,
+            poolFinder, regionPerfStatsFactory, disabledClock()));
+    doNothing().when(region).checkRegionDestroyed(true);
+    doNothing().when(region).discoverJTA();
+    doReturn(0L).when(region).startGet();
+    doNothing().when(region).endGet(anyLong(), anyBoolean());
+    return region;
+  }
 }
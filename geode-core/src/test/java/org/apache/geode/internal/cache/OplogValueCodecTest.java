@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class OplogValueCodecTest {
+  private DiskStoreStats stats;
+
+  @Before
+  public void setUp() {
+    stats = mock(DiskStoreStats.class);
+  }
+
+  private static byte[] compressible(int length) {
+    byte[] value = new byte[length];
+    Arrays.fill(value, (byte) 'a');
+    return value;
+  }
+
+  private static byte[] random(int length) {
+    byte[] value = new byte[length];
+    new Random(length).nextBytes(value);
+    return value;
+  }
+
+  @Test
+  public void createIsDisabledByDefault() {
+    assertThat(OplogValueCodec.create(stats)).isNull();
+  }
+
+  @Test
+  public void checksummedValueRoundTrips() throws Exception {
+    byte[] value = compressible(1000);
+
+    byte[] encoded = new OplogValueCodec(false, stats).encode(value);
+
+    assertThat(encoded[0]).isEqualTo(OplogValueCodec.NONE);
+    assertThat(encoded).hasSize(OplogValueCodec.HEADER_LENGTH + value.length);
+    assertThat(OplogValueCodec.decode(encoded)).isEqualTo(value);
+  }
+
+  @Test
+  public void compressedValueRoundTrips() throws Exception {
+    byte[] value = compressible(1000);
+
+    byte[] encoded = new OplogValueCodec(true, stats).encode(value);
+
+    assertThat(encoded[0]).isEqualTo(OplogValueCodec.SNAPPY);
+    assertThat(encoded.length).isLessThan(value.length);
+    assertThat(OplogValueCodec.decode(encoded)).isEqualTo(value);
+    verify(stats).incCompressedValueBytesSaved(
+        value.length - (encoded.length - OplogValueCodec.HEADER_LENGTH));
+  }
+
+  @Test
+  public void incompressibleValueIsStoredUncompressed() throws Exception {
+    byte[] value = random(1000);
+
+    byte[] encoded = new OplogValueCodec(true, stats).encode(value);
+
+    assertThat(encoded[0]).isEqualTo(OplogValueCodec.NONE);
+    assertThat(OplogValueCodec.decode(encoded)).isEqualTo(value);
+    verify(stats, never()).incCompressedValueBytesSaved(anyLong());
+  }
+
+  @Test
+  public void shortValueIsStoredUncompressed() throws Exception {
+    byte[] value = compressible(OplogValueCodec.MIN_COMPRESS_LENGTH - 1);
+
+    byte[] encoded = new OplogValueCodec(true, stats).encode(value);
+
+    assertThat(encoded[0]).isEqualTo(OplogValueCodec.NONE);
+    assertThat(OplogValueCodec.decode(encoded)).isEqualTo(value);
+  }
+
+  @Test
+  public void emptyValueRoundTrips() throws Exception {
+    byte[] encoded = new OplogValueCodec(true, stats).encode(new byte[0]);
+
+    assertThat(OplogValueCodec.decode(encoded)).isEmpty();
+  }
+
+  @Test
+  public void corruptedValueFailsChecksum() {
+    byte[] encoded = new OplogValueCodec(false, stats).encode(random(100));
+    encoded[encoded.length - 1]++;
+
+    assertThatThrownBy(() -> OplogValueCodec.decode(encoded))
+        .isInstanceOf(DataFormatException.class);
+  }
+
+  @Test
+  public void corruptedCompressedValueFailsChecksum() {
+    byte[] encoded = new OplogValueCodec(true, stats).encode(compressible(1000));
+    // the literal that the rest of the value is copied from follows the length and its tag
+    encoded[OplogValueCodec.HEADER_LENGTH + 3]++;
+
+    assertThatThrownBy(() -> OplogValueCodec.decode(encoded))
+        .isInstanceOf(DataFormatException.class);
+  }
+
+  @Test
+  public void truncatedValueFails() {
+    assertThatThrownBy(() -> OplogValueCodec.decode(new byte[OplogValueCodec.HEADER_LENGTH - 1]))
+        .isInstanceOf(DataFormatException.class);
+  }
+
+  @Test
+  public void unknownCodecFails() {
+    byte[] encoded = new OplogValueCodec(false, stats).encode(random(100));
+    encoded[0] = 99;
+
+    assertThatThrownBy(() -> OplogValueCodec.decode(encoded))
+        .isInstanceOf(DataFormatException.class);
+  }
+}
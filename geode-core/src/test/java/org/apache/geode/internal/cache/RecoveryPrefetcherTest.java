@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RecoveryPrefetcherTest {
+  @Rule
+  public TemporaryFolder tempDir = new TemporaryFolder();
+
+  private DiskStoreStats stats;
+  private File drf;
+  private File krf;
+  private File large;
+  private RecoveryPrefetcher prefetcher;
+
+  @Before
+  public void setUp() throws Exception {
+    stats = mock(DiskStoreStats.class);
+    drf = createFile("BACKUPds_1.drf", 10);
+    krf = createFile("BACKUPds_1.krf", 20);
+    large = createFile("BACKUPds_2.krf", 200);
+  }
+
+  @After
+  public void tearDown() {
+    if (prefetcher != null) {
+      prefetcher.close();
+    }
+  }
+
+  private File createFile(String name, int length) throws Exception {
+    File file = tempDir.newFile(name);
+    byte[] contents = new byte[length];
+    Arrays.fill(contents, (byte) length);
+    Files.write(file.toPath(), contents);
+    return file;
+  }
+
+  private RecoveryPrefetcher createPrefetcher(List<File> files) {
+    return new RecoveryPrefetcher(files, Executors.newFixedThreadPool(2), 2, 100, stats);
+  }
+
+  private static byte[] readAll(InputStream in) throws Exception {
+    try {
+      return IOUtils.toByteArray(in);
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void createIsDisabledByDefault() {
+    assertThat(RecoveryPrefetcher.create(Arrays.asList(drf, krf), stats)).isNull();
+  }
+
+  @Test
+  public void openReturnsPrefetchedContents() throws Exception {
+    prefetcher = createPrefetcher(Arrays.asList(drf, krf));
+
+    InputStream drfIn = prefetcher.open(drf);
+    InputStream krfIn = prefetcher.open(krf);
+
+    assertThat(drfIn).isInstanceOf(ByteArrayInputStream.class);
+    assertThat(readAll(drfIn)).isEqualTo(Files.readAllBytes(drf.toPath()));
+    assertThat(krfIn).isInstanceOf(ByteArrayInputStream.class);
+    assertThat(readAll(krfIn)).isEqualTo(Files.readAllBytes(krf.toPath()));
+    verify(stats).incRecoveryPrefetchedBytes(10);
+    verify(stats).incRecoveryPrefetchedBytes(20);
+  }
+
+  @Test
+  public void fileLargerThanMaxIsStreamedFromDisk() throws Exception {
+    prefetcher = createPrefetcher(Arrays.asList(drf, large));
+    prefetcher.open(drf).close();
+
+    InputStream in = prefetcher.open(large);
+
+    assertThat(in).isInstanceOf(FileInputStream.class);
+    assertThat(readAll(in)).isEqualTo(Files.readAllBytes(large.toPath()));
+    verify(stats, never()).incRecoveryPrefetchedBytes(200);
+  }
+
+  @Test
+  public void fileOpenedTwiceIsReadFromDiskTheSecondTime() throws Exception {
+    prefetcher = createPrefetcher(Arrays.asList(drf, krf));
+    prefetcher.open(krf).close();
+
+    InputStream in = prefetcher.open(krf);
+
+    assertThat(in).isInstanceOf(FileInputStream.class);
+    in.close();
+  }
+
+  @Test
+  public void fileDeletedAfterPrefetchIsNotFound() throws Exception {
+    prefetcher = createPrefetcher(Arrays.asList(drf, krf));
+    prefetcher.open(drf).close();
+    assertThat(krf.delete()).isTrue();
+
+    assertThatThrownBy(() -> prefetcher.open(krf)).isInstanceOf(FileNotFoundException.class);
+  }
+
+  @Test
+  public void unknownFileIsOpenedFromDisk() throws Exception {
+    prefetcher = createPrefetcher(Collections.singletonList(drf));
+
+    InputStream in = prefetcher.open(krf);
+
+    assertThat(in).isInstanceOf(FileInputStream.class);
+    in.close();
+    verify(stats, never()).incRecoveryPrefetchWaitTime(anyLong());
+  }
+}
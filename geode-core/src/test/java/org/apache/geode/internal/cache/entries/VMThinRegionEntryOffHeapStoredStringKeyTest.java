@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.entries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.RegionEntryContext;
+import org.apache.geode.internal.cache.Token;
+import org.apache.geode.internal.offheap.MemoryAllocatorImpl;
+import org.apache.geode.internal.offheap.NullOffHeapMemoryStats;
+import org.apache.geode.internal.offheap.NullOutOfOffHeapMemoryListener;
+import org.apache.geode.internal.offheap.Slab;
+import org.apache.geode.internal.offheap.SlabImpl;
+
+public class VMThinRegionEntryOffHeapStoredStringKeyTest {
+
+  private static final String KEY = "a key that is too long to be inlined";
+
+  private MemoryAllocatorImpl ma;
+  private VMThinRegionEntryOffHeapStoredStringKey entry;
+
+  @Before
+  public void setUp() {
+    ma = MemoryAllocatorImpl.createForUnitTest(new NullOutOfOffHeapMemoryListener(),
+        new NullOffHeapMemoryStats(), new Slab[] {new SlabImpl(1024 * 1024)});
+    entry = new VMThinRegionEntryOffHeapStoredStringKey(mock(RegionEntryContext.class), KEY,
+        Token.REMOVED_PHASE1);
+  }
+
+  @After
+  public void tearDown() {
+    MemoryAllocatorImpl.freeOffHeapMemory();
+  }
+
+  @Test
+  public void newEntryDoesNotAllocateKey() {
+    assertThat(ma.getUsedMemory()).isZero();
+    assertThat(entry.getKey()).isEqualTo(KEY);
+    assertThat(entry.isKeyEqual(KEY)).isTrue();
+  }
+
+  @Test
+  public void storeKeyMovesKeyOffHeapAndReleaseKeyFreesIt() {
+    entry.storeKey();
+    assertThat(ma.getUsedMemory()).isGreaterThan(0);
+    assertThat(entry.getKey()).isEqualTo(KEY);
+    assertThat(entry.isKeyEqual(KEY)).isTrue();
+    assertThat(entry.isKeyEqual("another key")).isFalse();
+
+    entry.releaseKey();
+    assertThat(ma.getUsedMemory()).isZero();
+    assertThat(entry.getKey()).isEqualTo(KEY);
+    assertThat(entry.isKeyEqual(KEY)).isTrue();
+  }
+
+  @Test
+  public void storeKeyTwiceAllocatesOnce() {
+    entry.storeKey();
+    long used = ma.getUsedMemory();
+
+    entry.storeKey();
+
+    assertThat(ma.getUsedMemory()).isEqualTo(used);
+  }
+
+  @Test
+  public void keyReleasedBeforeItIsStoredIsNeverStored() {
+    entry.releaseKey();
+    entry.storeKey();
+
+    assertThat(ma.getUsedMemory()).isZero();
+    assertThat(entry.getKey()).isEqualTo(KEY);
+  }
+}
@@ -15,6 +15,7 @@
 package org.apache.geode.internal.cache.eviction;
 
 import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_SCAN_ASYNC;
+import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_STRIPED_LRU_REGIONS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -28,9 +29,11 @@ import org.apache.geode.cache.EvictionAlgorithm;
 
 public class EvictionListBuilderTest {
   private static final String EVICTION_PROPERTY_NAME = "geode." + EVICTION_SCAN_ASYNC;
+  private static final String STRIPED_PROPERTY_NAME = "geode." + EVICTION_STRIPED_LRU_REGIONS;
 
   @Rule
-  public ClearSystemProperties clearProperties = new ClearSystemProperties(EVICTION_PROPERTY_NAME);
+  public ClearSystemProperties clearProperties =
+      new ClearSystemProperties(EVICTION_PROPERTY_NAME, STRIPED_PROPERTY_NAME);
 
   private EvictionListBuilder builder;
   private EvictionController controller;
@@ -74,4 +77,37 @@ public class EvictionListBuilderTest {
     assertThat(builder.create()).isInstanceOf(LRUListWithSyncSorting.class);
 
   }
+
+  @Test
+  public void createsStripedLruForRegionsConfiguredToUseIt() {
+    System.setProperty(STRIPED_PROPERTY_NAME, "/other, /region");
+    builder = new EvictionListBuilder(controller, "/region");
+
+    assertThat(builder.create()).isInstanceOf(StripedLRUList.class);
+  }
+
+  @Test
+  public void createsStripedLruForAllRegionsWhenConfiguredWithWildcard() {
+    System.setProperty(STRIPED_PROPERTY_NAME, "*");
+    builder = new EvictionListBuilder(controller, "/region");
+
+    assertThat(builder.create()).isInstanceOf(StripedLRUList.class);
+  }
+
+  @Test
+  public void createsAsyncLruForRegionsNotConfiguredToUseStripedLru() {
+    System.setProperty(STRIPED_PROPERTY_NAME, "/other");
+    builder = new EvictionListBuilder(controller, "/region");
+
+    assertThat(builder.create()).isInstanceOf(LRUListWithAsyncSorting.class);
+  }
+
+  @Test
+  public void createsLIFOListWhenAlgorithmIsLifoEvenIfConfiguredToUseStripedLru() {
+    System.setProperty(STRIPED_PROPERTY_NAME, "*");
+    when(controller.getEvictionAlgorithm()).thenReturn(EvictionAlgorithm.LIFO_ENTRY);
+    builder = new EvictionListBuilder(controller, "/region");
+
+    assertThat(builder.create()).isInstanceOf(LIFOList.class);
+  }
 }
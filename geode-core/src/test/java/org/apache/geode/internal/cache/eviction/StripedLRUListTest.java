@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+
+public class StripedLRUListTest {
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  private EvictionCounters stats;
+  private EvictionController controller;
+
+  @Before
+  public void setup() {
+    stats = mock(EvictionCounters.class);
+    controller = mock(EvictionController.class);
+    when(controller.getCounters()).thenReturn(stats);
+  }
+
+  @Test
+  public void evictingFromEmptyListReturnsNull() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void evictsEveryAppendedNodeOnce() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    Set<EvictableEntry> nodes = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      EvictableEntry node = linkableNode();
+      nodes.add(node);
+      list.appendEntry(node);
+      list.appendEntry(node);
+    }
+    assertThat(list.size()).isEqualTo(100);
+
+    Set<EvictableEntry> evicted = new HashSet<>();
+    EvictableEntry node;
+    while ((node = list.getEvictableEntry()) != null) {
+      assertThat(evicted.add(node)).isTrue();
+    }
+
+    assertThat(evicted).isEqualTo(nodes);
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void nodesOfAStripeAreEvictedInTheOrderAppended() {
+    StripedLRUList list = new StripedLRUList(controller, 1);
+    List<EvictableEntry> nodes = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      EvictableEntry node = linkableNode();
+      nodes.add(node);
+      list.appendEntry(node);
+    }
+
+    for (EvictableEntry node : nodes) {
+      assertThat(list.getEvictableEntry()).isSameAs(node);
+    }
+  }
+
+  @Test
+  public void recentlyUsedNodeIsGivenASecondChance() {
+    StripedLRUList list = new StripedLRUList(controller, 1);
+    EvictableEntry recentlyUsedNode = linkableNode();
+    recentlyUsedNode.setRecentlyUsed(null);
+    EvictableEntry node = linkableNode();
+    list.appendEntry(recentlyUsedNode);
+    list.appendEntry(node);
+
+    assertThat(list.getEvictableEntry()).isSameAs(node);
+    assertThat(recentlyUsedNode.isRecentlyUsed()).isFalse();
+    assertThat(list.size()).isEqualTo(1);
+    assertThat(list.getEvictableEntry()).isSameAs(recentlyUsedNode);
+  }
+
+  @Test
+  public void recentlyUsedNodeIsReturnedOnceMaxEntriesAreEvaluated() {
+    System.setProperty("geode." + SystemPropertyHelper.EVICTION_SEARCH_MAX_ENTRIES, "1");
+    StripedLRUList list = new StripedLRUList(controller, 1);
+    EvictableEntry first = linkableNode();
+    first.setRecentlyUsed(null);
+    EvictableEntry second = linkableNode();
+    second.setRecentlyUsed(null);
+    list.appendEntry(first);
+    list.appendEntry(second);
+
+    assertThat(list.getEvictableEntry()).isSameAs(second);
+    verify(stats).incGreedyReturns(1);
+  }
+
+  @Test
+  public void nodeInUseByTransactionIsNotEvicted() {
+    StripedLRUList list = new StripedLRUList(controller, 1);
+    EvictableEntry inUse = linkableNode();
+    when(inUse.isInUseByTransaction()).thenReturn(true);
+    list.appendEntry(inUse);
+
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void destroyedNodeIsNotEvicted() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    EvictableEntry destroyed = linkableNode();
+    EvictableEntry node = linkableNode();
+    list.appendEntry(destroyed);
+    list.appendEntry(node);
+
+    list.destroyEntry(destroyed);
+    list.destroyEntry(destroyed);
+
+    verify(stats).incDestroys();
+    assertThat(list.size()).isEqualTo(1);
+    assertThat(list.getEvictableEntry()).isSameAs(node);
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  @Test
+  public void clearEmptiesAllStripes() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    for (int i = 0; i < 10; i++) {
+      list.appendEntry(linkableNode());
+    }
+
+    list.clear(null, null);
+
+    verify(stats).resetCounter();
+    assertThat(list.size()).isZero();
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  @Test
+  public void clearOfBucketDecrementsCounterByBucketCount() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    BucketRegion bucketRegion = mock(BucketRegion.class);
+    when(bucketRegion.getCounter()).thenReturn(5L);
+    list.appendEntry(linkableNode());
+
+    list.clear(null, bucketRegion);
+
+    verify(stats).decrementCounter(5L);
+    verify(bucketRegion).resetCounter();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void clearWithVersionVectorLeavesEntries() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    list.appendEntry(linkableNode());
+
+    list.clear(mock(RegionVersionVector.class), null);
+
+    assertThat(list.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void concurrentAppendsAndEvictionsKeepSizeConsistent() throws Exception {
+    StripedLRUList list = new StripedLRUList(controller, 8);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          list.appendEntry(linkableNode());
+          if (i % 2 == 0) {
+            list.getEvictableEntry();
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    int remaining = 0;
+    while (list.getEvictableEntry() != null) {
+      remaining++;
+    }
+    assertThat(remaining).isEqualTo(2000);
+    assertThat(list.size()).isZero();
+  }
+
+  /**
+   * Returns a mocked entry that keeps the links and the recently used bit it is given.
+   */
+  private static EvictableEntry linkableNode() {
+    EvictableEntry node = mock(EvictableEntry.class);
+    AtomicReference<EvictionNode> next = new AtomicReference<>();
+    AtomicReference<EvictionNode> previous = new AtomicReference<>();
+    AtomicBoolean recentlyUsed = new AtomicBoolean();
+    doAnswer(invocation -> {
+      next.set(invocation.getArgument(0));
+      return null;
+    }).when(node).setNext(any());
+    doAnswer(invocation -> {
+      previous.set(invocation.getArgument(0));
+      return null;
+    }).when(node).setPrevious(any());
+    when(node.next()).thenAnswer(invocation -> next.get());
+    when(node.previous()).thenAnswer(invocation -> previous.get());
+    doAnswer(invocation -> {
+      recentlyUsed.set(true);
+      return null;
+    }).when(node).setRecentlyUsed(any());
+    doAnswer(invocation -> {
+      recentlyUsed.set(false);
+      return null;
+    }).when(node).unsetRecentlyUsed();
+    when(node.isRecentlyUsed()).thenAnswer(invocation -> recentlyUsed.get());
+    return node;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OplogFileRegionTest {
+  private static final int POSITION = 7;
+  private static final int LENGTH = 1000;
+
+  @Rule
+  public TemporaryFolder tempDir = new TemporaryFolder();
+
+  private final Object lock = new Object();
+  private File file;
+  private byte[] contents;
+  private UninterruptibleRandomAccessFile raf;
+
+  @Before
+  public void setUp() throws Exception {
+    contents = new byte[2000];
+    for (int i = 0; i < contents.length; i++) {
+      contents[i] = (byte) i;
+    }
+    file = tempDir.newFile("test.crf");
+    Files.write(file.toPath(), contents);
+    raf = new UninterruptibleRandomAccessFile(file, "r");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    raf.close();
+  }
+
+  private OplogFileRegion createRegion(long position) {
+    return new OplogFileRegion(lock, raf::getChannel, file, position, LENGTH, (byte) 0);
+  }
+
+  private byte[] expected() {
+    return Arrays.copyOfRange(contents, POSITION, POSITION + LENGTH);
+  }
+
+  @Test
+  public void transferToSendsTheRecord() throws Exception {
+    OplogFileRegion region = createRegion(POSITION);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    region.transferTo(Channels.newChannel(out));
+
+    assertThat(out.toByteArray()).isEqualTo(expected());
+    assertThat(region.getTransferredBytes()).isEqualTo(LENGTH);
+  }
+
+  @Test
+  public void readIntoCopiesOnlyTheRecord() throws Exception {
+    OplogFileRegion region = createRegion(POSITION);
+    ByteBuffer buffer = ByteBuffer.allocate(LENGTH + 10);
+    region.readInto(buffer);
+
+    assertThat(buffer.position()).isEqualTo(LENGTH);
+    assertThat(buffer.limit()).isEqualTo(LENGTH + 10);
+    buffer.flip();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    assertThat(bytes).isEqualTo(expected());
+  }
+
+  @Test
+  public void copyToUsesBufferSmallerThanRecord() throws Exception {
+    OplogFileRegion region = createRegion(POSITION);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    region.copyTo(out, ByteBuffer.allocate(64));
+
+    assertThat(out.toByteArray()).isEqualTo(expected());
+  }
+
+  @Test
+  public void recordPastEndOfFileThrowsEOFException() throws Exception {
+    OplogFileRegion region = createRegion(contents.length - 10);
+
+    assertThatThrownBy(() -> region.copyTo(new ByteArrayOutputStream(), ByteBuffer.allocate(64)))
+        .isInstanceOf(EOFException.class);
+  }
+
+  @Test
+  public void readsUseTheOplogChannelWithoutMovingIt() throws Exception {
+    raf.seek(3);
+    OplogFileRegion region = createRegion(POSITION);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    region.transferTo(Channels.newChannel(out));
+
+    assertThat(out.toByteArray()).isEqualTo(expected());
+    assertThat(raf.getFilePointer()).isEqualTo(3);
+    assertThat(raf.getChannel().isOpen()).isTrue();
+  }
+
+  @Test
+  public void fileIsOpenedIfTheOplogChannelWasClosed() throws Exception {
+    raf.close();
+    OplogFileRegion region =
+        new OplogFileRegion(lock, () -> null, file, POSITION, LENGTH, (byte) 0);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    region.copyTo(out, ByteBuffer.allocate(64));
+
+    assertThat(out.toByteArray()).isEqualTo(expected());
+  }
+}
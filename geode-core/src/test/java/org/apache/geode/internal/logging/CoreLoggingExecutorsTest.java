@@ -17,16 +17,25 @@ package org.apache.geode.internal.logging;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -578,4 +587,62 @@ public class CoreLoggingExecutorsTest {
     assertThat(thread).isInstanceOf(LoggingThread.class);
     assertThat(thread.getName()).contains(threadName);
   }
+
+  @Test
+  public void newVirtualThreadPerTaskExecutorReturnsNullIfVirtualThreadsAreNotSupported() {
+    assumeFalse(VirtualThreads.isSupported());
+
+    ExecutorService executorService = CoreLoggingExecutors
+        .newVirtualThreadPerTaskExecutor("thread", 1, threadInitializer, commandWrapper);
+
+    assertThat(executorService).isNull();
+  }
+
+  @Test
+  public void newVirtualThreadPerTaskExecutorRunsEachCommandOnAVirtualThread() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    String threadName = "thread";
+    AtomicReference<Thread> threadRef = new AtomicReference<>();
+    CommandWrapper recordingWrapper = command -> {
+      threadRef.set(Thread.currentThread());
+      command.run();
+    };
+
+    ExecutorService executorService = CoreLoggingExecutors
+        .newVirtualThreadPerTaskExecutor(threadName, 1, threadInitializer, recordingWrapper);
+    executorService.submit(runnable).get(1, MINUTES);
+    executorService.shutdown();
+
+    verify(runnable).run();
+    verify(threadInitializer).initialize(threadRef.get());
+    assertThat(VirtualThreads.isVirtual(threadRef.get())).isTrue();
+    assertThat(threadRef.get().getName()).contains(threadName);
+  }
+
+  @Test
+  public void newVirtualThreadPerTaskExecutorRejectsCommandsBeyondMaximumPoolSize()
+      throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    CountDownLatch release = new CountDownLatch(1);
+    Callable<Void> blocked = () -> {
+      release.await();
+      return null;
+    };
+
+    ExecutorService executorService = CoreLoggingExecutors
+        .newVirtualThreadPerTaskExecutor("thread", 2, threadInitializer, Runnable::run);
+    Future<?> first = executorService.submit(blocked);
+    Future<?> second = executorService.submit(blocked);
+
+    assertThatThrownBy(() -> executorService.execute(runnable))
+        .isInstanceOf(RejectedExecutionException.class);
+
+    release.countDown();
+    first.get(1, MINUTES);
+    second.get(1, MINUTES);
+    executorService.submit(runnable).get(1, MINUTES);
+    executorService.shutdown();
+
+    verify(runnable).run();
+  }
 }
@@ -31,6 +31,7 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -849,6 +850,49 @@ public class OffHeapRegionEntryHelperInstanceTest {
         .setValue(regionEntry, Token.REMOVED_PHASE2);
   }
 
+  @Test
+  public void setValueToRemovePhase2ShouldReleaseKey() {
+    OffHeapRegionEntry regionEntry = mock(OffHeapRegionEntry.class);
+
+    when(regionEntry.getAddress())
+        .thenReturn(NULL_ADDRESS);
+    when(regionEntry.setAddress(NULL_ADDRESS, REMOVED_PHASE2_ADDRESS))
+        .thenReturn(Boolean.TRUE);
+
+    offHeapRegionEntryHelperInstance.setValue(regionEntry, Token.REMOVED_PHASE2);
+
+    verify(regionEntry).releaseKey();
+  }
+
+  @Test
+  public void setValueToRemovePhase1ShouldNotReleaseKey() {
+    OffHeapRegionEntry regionEntry = mock(OffHeapRegionEntry.class);
+
+    when(regionEntry.getAddress())
+        .thenReturn(NULL_ADDRESS);
+    when(regionEntry.setAddress(NULL_ADDRESS, REMOVED_PHASE1_ADDRESS))
+        .thenReturn(Boolean.TRUE);
+
+    offHeapRegionEntryHelperInstance.setValue(regionEntry, Token.REMOVED_PHASE1);
+
+    verify(regionEntry, never()).releaseKey();
+  }
+
+  @Test
+  public void releaseEntryWithExpectedValueShouldReleaseKey() {
+    OffHeapRegionEntry regionEntry = mock(OffHeapRegionEntry.class);
+    OffHeapStoredObject expectedValue = mock(OffHeapStoredObject.class);
+
+    when(expectedValue.getAddress())
+        .thenReturn(1L);
+    when(regionEntry.setAddress(1L, REMOVED_PHASE2_ADDRESS))
+        .thenReturn(Boolean.TRUE);
+
+    offHeapRegionEntryHelperInstance.releaseEntry(regionEntry, expectedValue);
+
+    verify(regionEntry).releaseKey();
+  }
+
   @Test
   public void releaseEntryShouldSetValueToRemovePhase2AndSetsAsyncToFalseForDiskEntry() {
     OffHeapRegionEntry regionEntry = mock(VersionedStatsDiskRegionEntryOffHeap.class);
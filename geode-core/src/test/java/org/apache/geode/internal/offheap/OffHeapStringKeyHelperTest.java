@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OffHeapStringKeyHelperTest {
+
+  private MemoryAllocatorImpl ma;
+
+  @Before
+  public void setUp() {
+    ma = MemoryAllocatorImpl.createForUnitTest(new NullOutOfOffHeapMemoryListener(),
+        new NullOffHeapMemoryStats(), new Slab[] {new SlabImpl(1024 * 1024)});
+  }
+
+  @After
+  public void tearDown() {
+    MemoryAllocatorImpl.freeOffHeapMemory();
+  }
+
+  @Test
+  public void byteEncodedKeyIsReadBack() {
+    String key = "a key with only latin1 characters \u00e9";
+    long address = OffHeapStringKeyHelper.allocate(key);
+
+    assertThat(OffHeapStringKeyHelper.read(address)).isEqualTo(key);
+    assertThat(new OffHeapStoredObject(address).getDataSize()).isEqualTo(1 + key.length());
+  }
+
+  @Test
+  public void charEncodedKeyIsReadBack() {
+    String key = "a key with a wide character \u20ac";
+    long address = OffHeapStringKeyHelper.allocate(key);
+
+    assertThat(OffHeapStringKeyHelper.read(address)).isEqualTo(key);
+    assertThat(new OffHeapStoredObject(address).getDataSize()).isEqualTo(1 + key.length() * 2);
+  }
+
+  @Test
+  public void emptyKeyIsReadBack() {
+    long address = OffHeapStringKeyHelper.allocate("");
+
+    assertThat(OffHeapStringKeyHelper.read(address)).isEmpty();
+    assertThat(OffHeapStringKeyHelper.keyEquals(address, "")).isTrue();
+  }
+
+  @Test
+  public void keyEqualsComparesCharacters() {
+    long byteEncoded = OffHeapStringKeyHelper.allocate("customer-0001");
+    long charEncoded = OffHeapStringKeyHelper.allocate("customer-\u20ac001");
+
+    assertThat(OffHeapStringKeyHelper.keyEquals(byteEncoded, "customer-0001")).isTrue();
+    assertThat(OffHeapStringKeyHelper.keyEquals(byteEncoded, "customer-0002")).isFalse();
+    assertThat(OffHeapStringKeyHelper.keyEquals(byteEncoded, "customer-001")).isFalse();
+    assertThat(OffHeapStringKeyHelper.keyEquals(charEncoded, "customer-\u20ac001")).isTrue();
+    assertThat(OffHeapStringKeyHelper.keyEquals(charEncoded, "customer-0001")).isFalse();
+  }
+
+  @Test
+  public void releasingLastReferenceFreesKey() {
+    long address = OffHeapStringKeyHelper.allocate("customer-0001");
+    assertThat(ma.getUsedMemory()).isGreaterThan(0);
+
+    assertThat(OffHeapStringKeyHelper.retain(address)).isTrue();
+    OffHeapStringKeyHelper.release(address);
+    assertThat(ma.getUsedMemory()).isGreaterThan(0);
+
+    OffHeapStringKeyHelper.release(address);
+    assertThat(ma.getUsedMemory()).isZero();
+    assertThat(OffHeapStringKeyHelper.retain(address)).isFalse();
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThreadCachingFreeListManagerTest {
+
+  private static final int SLAB_SIZE = 4096;
+  private static final int CHUNK_SIZE = 64;
+  private static final int DATA_SIZE = CHUNK_SIZE - OffHeapStoredObject.HEADER_SIZE;
+
+  private final MemoryAllocatorImpl ma = mock(MemoryAllocatorImpl.class);
+  private final OffHeapMemoryStats stats = mock(OffHeapMemoryStats.class);
+  private ThreadCachingFreeListManager freeListManager;
+
+  @Before
+  public void setUp() {
+    when(ma.getStats()).thenReturn(stats);
+  }
+
+  @After
+  public void tearDown() {
+    if (freeListManager != null) {
+      freeListManager.freeSlabs();
+    }
+  }
+
+  private void createFreeListManager(int cacheSize) {
+    freeListManager =
+        new ThreadCachingFreeListManager(ma, new Slab[] {new SlabImpl(SLAB_SIZE)}, cacheSize);
+  }
+
+  @Test
+  public void chunkFreedByThreadIsReusedFromItsCache() {
+    createFreeListManager(4);
+    OffHeapStoredObject chunk = freeListManager.allocate(DATA_SIZE);
+    ReferenceCounter.release(chunk.getAddress(), freeListManager);
+
+    assertThat(freeListManager.getCachedChunkCount()).isEqualTo(1);
+    assertThat(freeListManager.getFreedChunks()).isEqualTo(1);
+
+    OffHeapStoredObject reused = freeListManager.allocate(DATA_SIZE);
+
+    assertThat(reused.getAddress()).isEqualTo(chunk.getAddress());
+    assertThat(reused.getDataSize()).isEqualTo(DATA_SIZE);
+    assertThat(freeListManager.getCachedChunkCount()).isZero();
+    verify(stats).incThreadCacheHits();
+  }
+
+  @Test
+  public void chunkCachedByThreadIsNotAllocatedByOtherThreads() throws Exception {
+    createFreeListManager(4);
+    OffHeapStoredObject chunk = freeListManager.allocate(DATA_SIZE);
+    ReferenceCounter.release(chunk.getAddress(), freeListManager);
+
+    AtomicLong otherAddress = new AtomicLong();
+    Thread other = new Thread(
+        () -> otherAddress.set(freeListManager.allocate(DATA_SIZE).getAddress()));
+    other.start();
+    other.join();
+
+    assertThat(otherAddress.get()).isNotEqualTo(chunk.getAddress());
+    verify(stats, never()).incThreadCacheHits();
+  }
+
+  @Test
+  public void chunkFreedWhenCacheIsFullIsSharedWithOtherThreads() throws Exception {
+    createFreeListManager(1);
+    OffHeapStoredObject cached = freeListManager.allocate(DATA_SIZE);
+    OffHeapStoredObject shared = freeListManager.allocate(DATA_SIZE);
+    ReferenceCounter.release(cached.getAddress(), freeListManager);
+    ReferenceCounter.release(shared.getAddress(), freeListManager);
+
+    assertThat(freeListManager.getCachedChunkCount()).isEqualTo(1);
+    assertThat(freeListManager.getFreedChunks()).isEqualTo(2);
+
+    AtomicLong otherAddress = new AtomicLong();
+    Thread other = new Thread(
+        () -> otherAddress.set(freeListManager.allocate(DATA_SIZE).getAddress()));
+    other.start();
+    other.join();
+
+    assertThat(otherAddress.get()).isEqualTo(shared.getAddress());
+  }
+
+  @Test
+  public void chunksLargerThanMaxCachedChunkSizeAreNotCached() {
+    createFreeListManager(4);
+    OffHeapStoredObject chunk = freeListManager
+        .allocate(ThreadCachingFreeListManager.MAX_CACHED_CHUNK_SIZE);
+    ReferenceCounter.release(chunk.getAddress(), freeListManager);
+
+    assertThat(freeListManager.getCachedChunkCount()).isZero();
+    assertThat(freeListManager.getFreedChunks()).isEqualTo(1);
+  }
+
+  @Test
+  public void cachedChunksAreCombinedByDefragmentation() {
+    createFreeListManager(SLAB_SIZE / CHUNK_SIZE);
+    List<OffHeapStoredObject> chunks = new ArrayList<>();
+    for (int i = 0; i < SLAB_SIZE / CHUNK_SIZE; i++) {
+      chunks.add(freeListManager.allocate(DATA_SIZE));
+    }
+    for (OffHeapStoredObject chunk : chunks) {
+      ReferenceCounter.release(chunk.getAddress(), freeListManager);
+    }
+    assertThat(freeListManager.getCachedChunkCount()).isEqualTo(chunks.size());
+
+    OffHeapStoredObject large =
+        freeListManager.allocate(SLAB_SIZE - OffHeapStoredObject.HEADER_SIZE);
+
+    assertThat(large.getSize()).isEqualTo(SLAB_SIZE);
+    assertThat(freeListManager.getCachedChunkCount()).isZero();
+  }
+
+  @Test
+  public void cachesOfThreadsThatEndedAreReleased() throws Exception {
+    createFreeListManager(4);
+    Thread other = new Thread(() -> {
+      OffHeapStoredObject chunk = freeListManager.allocate(DATA_SIZE);
+      ReferenceCounter.release(chunk.getAddress(), freeListManager);
+    });
+    other.start();
+    other.join();
+    assertThat(freeListManager.getCachedChunkCount()).isEqualTo(1);
+
+    freeListManager.releaseCachedChunks();
+
+    assertThat(freeListManager.getCachedChunkCount()).isZero();
+    assertThat(freeListManager.getFreedChunks()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class PrimitiveKeyConcurrentHashMapTest {
+
+  private final PrimitiveKeyConcurrentHashMap map =
+      new PrimitiveKeyConcurrentHashMap(Long.class, 16, 0.75f, 4);
+
+  @Test
+  public void putAndGetLongKeys() {
+    assertThat(map.put(1L, "one")).isNull();
+    assertThat(map.put(-1L, "minus one")).isNull();
+    assertThat(map.put(1L, "uno")).isEqualTo("one");
+
+    assertThat(map.get(1L)).isEqualTo("uno");
+    assertThat(map.get(-1L)).isEqualTo("minus one");
+    assertThat(map.get(2L)).isNull();
+    assertThat(map.containsKey(1L)).isTrue();
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void keysOfAnotherClassAreNotFound() {
+    map.put(1L, "one");
+
+    assertThat(map.get(1)).isNull();
+    assertThat(map.get("1")).isNull();
+    assertThat(map.remove(1)).isNull();
+    assertThat(map.remove(1, "one")).isFalse();
+    assertThat(map.get(1L)).isEqualTo("one");
+  }
+
+  @Test
+  public void putOfKeyOfAnotherClassThrows() {
+    assertThatThrownBy(() -> map.put(1, "one")).isInstanceOf(ClassCastException.class);
+    assertThatThrownBy(() -> map.putIfAbsent("1", "one")).isInstanceOf(ClassCastException.class);
+  }
+
+  @Test
+  public void integerKeysAreSupported() {
+    PrimitiveKeyConcurrentHashMap intMap =
+        new PrimitiveKeyConcurrentHashMap(Integer.class, 16, 0.75f, 1);
+    intMap.put(Integer.MIN_VALUE, "min");
+    intMap.put(7, "seven");
+
+    assertThat(intMap.get(Integer.MIN_VALUE)).isEqualTo("min");
+    assertThat(intMap.get(7)).isEqualTo("seven");
+    assertThat(intMap.get(7L)).isNull();
+    assertThat(intMap.keySet()).containsExactlyInAnyOrder(Integer.MIN_VALUE, 7);
+  }
+
+  @Test
+  public void unsupportedKeyClassIsRejected() {
+    assertThat(PrimitiveKeyConcurrentHashMap.isSupportedKeyClass(Long.class)).isTrue();
+    assertThat(PrimitiveKeyConcurrentHashMap.isSupportedKeyClass(Integer.class)).isTrue();
+    assertThat(PrimitiveKeyConcurrentHashMap.isSupportedKeyClass(String.class)).isFalse();
+    assertThat(PrimitiveKeyConcurrentHashMap.isSupportedKeyClass(null)).isFalse();
+    assertThatThrownBy(() -> new PrimitiveKeyConcurrentHashMap(String.class, 16, 0.75f, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void putIfAbsentKeepsExistingValue() {
+    assertThat(map.putIfAbsent(1L, "one")).isNull();
+    assertThat(map.putIfAbsent(1L, "uno")).isEqualTo("one");
+
+    assertThat(map.get(1L)).isEqualTo("one");
+  }
+
+  @Test
+  public void removedKeyCanBeAddedAgain() {
+    map.put(1L, "one");
+
+    assertThat(map.remove(1L, "uno")).isFalse();
+    assertThat(map.remove(1L, "one")).isTrue();
+    assertThat(map.get(1L)).isNull();
+    assertThat(map.isEmpty()).isTrue();
+
+    assertThat(map.putIfAbsent(1L, "uno")).isNull();
+    assertThat(map.get(1L)).isEqualTo("uno");
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void replaceOnlyReplacesExistingKeys() {
+    assertThat(map.replace(1L, "one")).isNull();
+    assertThat(map.containsKey(1L)).isFalse();
+
+    map.put(1L, "one");
+    assertThat(map.replace(1L, "two", "uno")).isFalse();
+    assertThat(map.replace(1L, "one", "uno")).isTrue();
+    assertThat(map.replace(1L, "eins")).isEqualTo("uno");
+    assertThat(map.get(1L)).isEqualTo("eins");
+  }
+
+  @Test
+  public void growsPastInitialCapacity() {
+    for (long key = 0; key < 10_000; key++) {
+      map.put(key * 31, key);
+    }
+
+    assertThat(map.size()).isEqualTo(10_000);
+    for (long key = 0; key < 10_000; key++) {
+      assertThat(map.get(key * 31)).isEqualTo(key);
+    }
+  }
+
+  @Test
+  public void repeatedPutsAndRemovesReuseRemovedSlots() {
+    for (long key = 0; key < 10_000; key++) {
+      map.put(key, key);
+      map.remove(key);
+    }
+    map.put(3L, "three");
+
+    assertThat(map.size()).isEqualTo(1);
+    assertThat(map.get(3L)).isEqualTo("three");
+    assertThat(map.get(9_999L)).isNull();
+  }
+
+  @Test
+  public void iteratesOverAllEntries() {
+    Map<Object, Object> expected = new HashMap<>();
+    for (long key = 0; key < 100; key++) {
+      map.put(key, "value" + key);
+      expected.put(key, "value" + key);
+    }
+
+    assertThat(map).isEqualTo(expected);
+    assertThat(map.values()).hasSize(100);
+  }
+
+  @Test
+  public void iteratorRemoveRemovesEntry() {
+    map.put(1L, "one");
+    map.put(2L, "two");
+
+    Iterator<Map.Entry<Object, Object>> iterator = map.entrySet().iterator();
+    Map.Entry<Object, Object> removed = iterator.next();
+    iterator.remove();
+
+    assertThat(map.containsKey(removed.getKey())).isFalse();
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void entrySetValueUpdatesMap() {
+    map.put(1L, "one");
+
+    map.entrySet().iterator().next().setValue("uno");
+
+    assertThat(map.get(1L)).isEqualTo("uno");
+  }
+
+  @Test
+  public void reusableEntriesAreReused() {
+    map.put(1L, "one");
+    map.put(2L, "two");
+
+    List<Object> keys = new ArrayList<>();
+    Map.Entry<Object, Object> first = null;
+    for (Map.Entry<Object, Object> entry : map.entrySetWithReusableEntries()) {
+      if (first == null) {
+        first = entry;
+      }
+      assertThat(entry).isSameAs(first);
+      keys.add(entry.getKey());
+    }
+
+    assertThat(keys).containsExactlyInAnyOrder(1L, 2L);
+  }
+
+  @Test
+  public void clearRemovesAllEntries() {
+    for (long key = 0; key < 100; key++) {
+      map.put(key, key);
+    }
+
+    map.clear();
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(1L)).isNull();
+    assertThat(map.entrySet()).isEmpty();
+    map.put(1L, "one");
+    assertThat(map.get(1L)).isEqualTo("one");
+  }
+
+  @Test
+  public void concurrentPutsAndRemovesKeepMapConsistent() throws Exception {
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      final long base = t * 100_000L;
+      threads.add(new Thread(() -> {
+        for (long key = base; key < base + 10_000; key++) {
+          map.put(key, key);
+          if (key % 2 == 0) {
+            map.remove(key);
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(map.size()).isEqualTo(4 * 5_000);
+    for (int t = 0; t < 4; t++) {
+      assertThat(map.get(t * 100_000L + 1)).isEqualTo(t * 100_000L + 1);
+      assertThat(map.get(t * 100_000L + 2)).isNull();
+    }
+  }
+}
@@ -119,6 +119,22 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
     return 0;
   }
 
+  @Override
+  public void incThreadCacheHits() {}
+
+  @Override
+  public void incThreadCacheMisses() {}
+
+  @Override
+  public long getThreadCacheHits() {
+    return 0;
+  }
+
+  @Override
+  public long getThreadCacheMisses() {
+    return 0;
+  }
+
   @Override
   public Statistics getStats() {
     return null;